@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.benchmark;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
+import org.apache.paimon.lookup.hash.HashLookupStoreReader;
+import org.apache.paimon.lookup.hash.HashLookupStoreWriter;
+import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.table.sink.CommitMessage;
+import org.apache.paimon.table.sink.StreamTableCommit;
+import org.apache.paimon.table.sink.StreamTableWrite;
+import org.apache.paimon.table.sink.StreamWriteBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Benchmark for the page cache and memory mapped files of lookup. */
+public class LookupReaderBenchmark extends TableBenchmark {
+
+    private static final int KEY_COUNT = 500_000;
+    private static final int VALUE_LENGTH = 100;
+
+    @Test
+    public void testLookupStore() throws Exception {
+        File file = new File(tempFile.toFile(), "lookup");
+        HashLookupStoreWriter writer =
+                new HashLookupStoreFactory(
+                                new CacheManager(1024, MemorySize.ofMebiBytes(1)), 0.75)
+                        .createWriter(file);
+        byte[] value = new byte[VALUE_LENGTH];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            ThreadLocalRandom.current().nextBytes(value);
+            writer.put(toBytes(i), value);
+        }
+        writer.close();
+
+        long valuesPerIteration = 1_000_000;
+        Benchmark benchmark =
+                new Benchmark("lookup-store", valuesPerIteration)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        // the file is about 55 mb, the first cache holds all its pages
+        addLookupCase(
+                benchmark,
+                "cache-all",
+                new CacheManager(1024, MemorySize.ofMebiBytes(256)),
+                file,
+                valuesPerIteration);
+        addLookupCase(
+                benchmark,
+                "cache-tenth",
+                new CacheManager(1024, MemorySize.ofMebiBytes(6)),
+                file,
+                valuesPerIteration);
+        addLookupCase(
+                benchmark,
+                "mmap",
+                new CacheManager(1024, MemorySize.ofMebiBytes(6), true),
+                file,
+                valuesPerIteration);
+        benchmark.run();
+    }
+
+    @Test
+    public void testLookupChangelogCache() throws Exception {
+        innerTestLookupChangelog("cache", false);
+    }
+
+    @Test
+    public void testLookupChangelogMmap() throws Exception {
+        innerTestLookupChangelog("mmap", true);
+    }
+
+    private void addLookupCase(
+            Benchmark benchmark,
+            String name,
+            CacheManager cacheManager,
+            File file,
+            long valuesPerIteration)
+            throws IOException {
+        HashLookupStoreReader reader =
+                new HashLookupStoreFactory(cacheManager, 0.75).createReader(file);
+        benchmark.addCase(
+                name,
+                5,
+                () -> {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    for (int i = 0; i < valuesPerIteration; i++) {
+                        try {
+                            reader.lookup(toBytes(rnd.nextInt(KEY_COUNT)));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+    }
+
+    private void innerTestLookupChangelog(String name, boolean mmapEnabled) throws Exception {
+        Options options = new Options();
+        options.set(CoreOptions.CHANGELOG_PRODUCER, CoreOptions.ChangelogProducer.LOOKUP);
+        options.set(CoreOptions.LOOKUP_CACHE_MAX_MEMORY_SIZE, MemorySize.ofMebiBytes(8));
+        options.set(CoreOptions.LOOKUP_CACHE_MMAP_ENABLED, mmapEnabled);
+        StreamWriteBuilder writeBuilder = createTable(options).newStreamWriteBuilder();
+        StreamTableWrite write = writeBuilder.newWrite();
+        StreamTableCommit commit = writeBuilder.newCommit();
+        long valuesPerIteration = 300_000;
+        Benchmark benchmark =
+                new Benchmark(name, valuesPerIteration)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        AtomicInteger writeCount = new AtomicInteger(0);
+        AtomicInteger commitIdentifier = new AtomicInteger(0);
+        benchmark.addCase(
+                "lookup_changelog_write",
+                5,
+                () -> {
+                    for (int i = 0; i < valuesPerIteration; i++) {
+                        try {
+                            write.write(newRandomRow());
+                            writeCount.incrementAndGet();
+                            if (writeCount.get() % 10_000 == 0) {
+                                List<CommitMessage> commitMessages =
+                                        write.prepareCommit(false, commitIdentifier.get());
+                                commit.commit(commitIdentifier.get(), commitMessages);
+                                commitIdentifier.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+        benchmark.run();
+        write.close();
+    }
+
+    private static byte[] toBytes(int i) {
+        return new byte[] {(byte) (i >>> 24), (byte) (i >>> 16), (byte) (i >>> 8), (byte) i};
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.benchmark;
+
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
+import org.apache.paimon.predicate.PredicateFilter;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Benchmark for the interpreted and the generated {@link PredicateFilter}. */
+public class PredicateFilterBenchmark {
+
+    private static final int ROW_COUNT = 1_000_000;
+
+    private static final RowType ROW_TYPE =
+            RowType.of(DataTypes.INT(), DataTypes.BIGINT(), DataTypes.STRING(), DataTypes.DOUBLE());
+
+    @Test
+    public void testPredicateFilter() {
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        Predicate predicate =
+                PredicateBuilder.and(
+                        builder.greaterThan(0, 100),
+                        PredicateBuilder.or(
+                                builder.lessThan(1, 500L),
+                                builder.startsWith(2, BinaryString.fromString("key-1"))),
+                        builder.isNotNull(3));
+
+        InternalRowSerializer serializer = new InternalRowSerializer(ROW_TYPE);
+        BinaryRow[] rows = new BinaryRow[ROW_COUNT];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            GenericRow row =
+                    GenericRow.of(
+                            random.nextInt(1000),
+                            (long) random.nextInt(1000),
+                            BinaryString.fromString("key-" + random.nextInt(1000)),
+                            random.nextDouble());
+            rows[i] = serializer.toBinaryRow(row).copy();
+        }
+
+        Benchmark benchmark =
+                new Benchmark("predicate-filter", ROW_COUNT)
+                        .setNumWarmupIters(1)
+                        .setOutputPerIteration(true);
+        addFilterCase(benchmark, "interpreted", new PredicateFilter(ROW_TYPE, predicate), rows);
+        addFilterCase(benchmark, "generated", CodeGenUtils.newPredicateFilter(predicate), rows);
+        benchmark.run();
+    }
+
+    private void addFilterCase(
+            Benchmark benchmark, String name, PredicateFilter filter, BinaryRow[] rows) {
+        benchmark.addCase(
+                name,
+                5,
+                () -> {
+                    int matched = 0;
+                    for (BinaryRow row : rows) {
+                        if (filter.test(row)) {
+                            matched++;
+                        }
+                    }
+                    if (matched == 0) {
+                        throw new IllegalStateException("No rows matched.");
+                    }
+                });
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.paimon.codegen;
 
+import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.TypeUtils;
@@ -61,6 +62,11 @@ public class CodeGeneratorImpl implements CodeGenerator {
                 .generateRecordEqualiser(name);
     }
 
+    @Override
+    public GeneratedClass<RecordFilter> generatePredicate(Predicate predicate, String name) {
+        return PredicateCodeGenerator.gen(name, predicate);
+    }
+
     private SortSpec getAscendingSortSpec(int numFields) {
         SortSpec.SortSpecBuilder builder = SortSpec.builder();
         for (int i = 0; i < numFields; i++) {
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.paimon.codegen
+
+import org.apache.paimon.codegen.GenerateUtils._
+import org.apache.paimon.predicate.{CompareUtils, FieldRef, FunctionVisitor, In, Predicate}
+import org.apache.paimon.types.DataType
+import org.apache.paimon.types.DataTypeRoot._
+
+import java.util.{ArrayList => JArrayList, HashSet => JHashSet, List => JList, Set => JSet}
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * A code generator for generating [[RecordFilter]] from a [[Predicate]]. Each leaf of the predicate
+ * is generated to a method reading the field with its primitive type, and the compound functions
+ * are generated to short circuit boolean expressions of the leaf methods.
+ *
+ * <p>The generated filter has the same semantics as [[Predicate#test]] on the converted objects.
+ */
+object PredicateCodeGenerator {
+
+  private val INPUT_TERM = "row"
+
+  /**
+   * Max number of literals of an IN or NOT IN predicate compared one by one. Larger lists are
+   * tested by a lookup in a set of literals, so the size of the generated method does not grow with
+   * the list and stays within the 64KB limit of the JVM.
+   */
+  private val MAX_EXPANDED_IN_LITERALS = 20
+
+  /**
+   * Generates a [[RecordFilter]] that can be passed to a Java compiler.
+   *
+   * @param name
+   *   Class name of the function. Does not need to be unique but has to be a valid Java class
+   *   identifier.
+   * @param predicate
+   *   the predicate to test rows.
+   * @return
+   *   A GeneratedRecordFilter
+   */
+  def gen(name: String, predicate: Predicate): GeneratedClass[RecordFilter] = {
+    val className = newName(name)
+    val baseClass = classOf[RecordFilter]
+
+    val ctx = new CodeGeneratorContext()
+    val visitor = new FilterCodeVisitor(ctx)
+    val testCode = predicate.visit(visitor)
+
+    val code =
+      s"""
+      public final class $className implements ${baseClass.getCanonicalName} {
+
+        ${ctx.reuseMemberCode()}
+
+        public $className(Object[] references) throws Exception {
+          ${ctx.reuseInitCode()}
+        }
+
+        @Override
+        public boolean test($ROW_DATA $INPUT_TERM) {
+          return $testCode;
+        }
+
+        ${visitor.leafMethods.mkString("\n")}
+      }
+      """.stripMargin
+
+    new GeneratedClass(className, code, ctx.references.toArray)
+  }
+
+  /** Visits the predicate to a boolean expression of the input row. */
+  private class FilterCodeVisitor(ctx: CodeGeneratorContext) extends FunctionVisitor[String] {
+
+    val leafMethods: ArrayBuffer[String] = ArrayBuffer()
+
+    override def visitIsNotNull(fieldRef: FieldRef): String =
+      s"!$INPUT_TERM.isNullAt(${fieldRef.index})"
+
+    override def visitIsNull(fieldRef: FieldRef): String =
+      s"$INPUT_TERM.isNullAt(${fieldRef.index})"
+
+    override def visitStartsWith(fieldRef: FieldRef, literal: AnyRef): String = {
+      if (literal == null) {
+        return "false"
+      }
+
+      fieldRef.`type`.getTypeRoot match {
+        case CHAR | VARCHAR =>
+          val literalTerm = addReusableLiteral(fieldRef.`type`, literal)
+          generateLeafMethod(fieldRef, fieldTerm => s"$fieldTerm.startsWith($literalTerm)")
+        case _ =>
+          throw new CodeGenException(s"Unsupported type for startsWith: ${fieldRef.`type`}")
+      }
+    }
+
+    override def visitLessThan(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, "<")
+
+    override def visitGreaterOrEqual(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, ">=")
+
+    override def visitNotEqual(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, "!=")
+
+    override def visitLessOrEqual(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, "<=")
+
+    override def visitEqual(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, "==")
+
+    override def visitGreaterThan(fieldRef: FieldRef, literal: AnyRef): String =
+      generateCompare(fieldRef, literal, ">")
+
+    override def visitIn(fieldRef: FieldRef, literals: JList[AnyRef]): String = {
+      val nonNullLiterals = literals.asScala.filter(_ != null)
+      if (nonNullLiterals.isEmpty) {
+        return "false"
+      }
+
+      if (nonNullLiterals.size > MAX_EXPANDED_IN_LITERALS) {
+        return generateLeafMethod(
+          fieldRef,
+          generateContainsCode(fieldRef.`type`, _, nonNullLiterals))
+      }
+
+      val literalTerms = nonNullLiterals.map(addReusableLiteral(fieldRef.`type`, _))
+      generateLeafMethod(
+        fieldRef,
+        fieldTerm =>
+          literalTerms
+            .map(generateCompareCode(fieldRef.`type`, fieldTerm, _, "=="))
+            .mkString(" || "))
+    }
+
+    override def visitNotIn(fieldRef: FieldRef, literals: JList[AnyRef]): String = {
+      if (literals.contains(null)) {
+        return "false"
+      }
+
+      if (literals.size > MAX_EXPANDED_IN_LITERALS) {
+        return generateLeafMethod(
+          fieldRef,
+          fieldTerm => s"!${generateContainsCode(fieldRef.`type`, fieldTerm, literals.asScala)}")
+      }
+
+      val literalTerms = literals.asScala.map(addReusableLiteral(fieldRef.`type`, _))
+      generateLeafMethod(
+        fieldRef,
+        fieldTerm =>
+          if (literalTerms.isEmpty) {
+            "true"
+          } else {
+            literalTerms
+              .map(generateCompareCode(fieldRef.`type`, fieldTerm, _, "!="))
+              .mkString(" && ")
+          }
+      )
+    }
+
+    override def visitAnd(children: JList[String]): String =
+      children.asScala.mkString("(", " && ", ")")
+
+    override def visitOr(children: JList[String]): String =
+      children.asScala.mkString("(", " || ", ")")
+
+    private def generateCompare(fieldRef: FieldRef, literal: AnyRef, operator: String): String = {
+      // binary functions never match null fields or null literals
+      if (literal == null) {
+        return "false"
+      }
+
+      val literalTerm = addReusableLiteral(fieldRef.`type`, literal)
+      generateLeafMethod(
+        fieldRef,
+        fieldTerm => generateCompareCode(fieldRef.`type`, fieldTerm, literalTerm, operator))
+    }
+
+    /** Compares the field with the literal the same as [[CompareUtils]]. */
+    private def generateCompareCode(
+        fieldType: DataType,
+        fieldTerm: String,
+        literalTerm: String,
+        operator: String): String = fieldType.getTypeRoot match {
+      case TINYINT | SMALLINT | INTEGER | DATE | TIME_WITHOUT_TIME_ZONE | BIGINT =>
+        s"$fieldTerm $operator $literalTerm"
+      case BOOLEAN =>
+        s"${className[java.lang.Boolean]}.compare($fieldTerm, $literalTerm) $operator 0"
+      case FLOAT =>
+        s"${className[java.lang.Float]}.compare($fieldTerm, $literalTerm) $operator 0"
+      case DOUBLE =>
+        s"${className[java.lang.Double]}.compare($fieldTerm, $literalTerm) $operator 0"
+      case CHAR | VARCHAR | DECIMAL | TIMESTAMP_WITHOUT_TIME_ZONE |
+          TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+        s"$fieldTerm.compareTo($literalTerm) $operator 0"
+      case _ =>
+        val typeTerm = ctx.addReusableObject(fieldType, "type", className[DataType])
+        s"${className[CompareUtils]}.compareLiteral($typeTerm, $fieldTerm, $literalTerm) " +
+          s"$operator 0"
+    }
+
+    /**
+     * Tests whether the field equals any of the non-null literals. Types whose [[Object#equals]]
+     * and [[Object#hashCode]] agree with [[CompareUtils]] are looked up in a hash set, the others
+     * are tested by the interpreted [[In]] function.
+     */
+    private def generateContainsCode(
+        fieldType: DataType,
+        fieldTerm: String,
+        literals: Seq[AnyRef]): String = fieldType.getTypeRoot match {
+      case BOOLEAN | TINYINT | SMALLINT | INTEGER | DATE | TIME_WITHOUT_TIME_ZONE | BIGINT |
+          FLOAT | DOUBLE =>
+        val setTerm = addReusableLiteralSet(literals)
+        s"$setTerm.contains(${boxedTypeTermForType(fieldType)}.valueOf($fieldTerm))"
+      case CHAR | VARCHAR | TIMESTAMP_WITHOUT_TIME_ZONE | TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+        val setTerm = addReusableLiteralSet(literals)
+        s"$setTerm.contains($fieldTerm)"
+      case _ =>
+        // the hash code of decimals depends on the scale, and byte arrays are not hashable
+        val typeTerm = ctx.addReusableObject(fieldType, "type", className[DataType])
+        val literalList = new JArrayList[AnyRef](literals.asJava)
+        val literalsTerm = ctx.addReusableObject(literalList, "literals", className[JList[AnyRef]])
+        s"${className[In]}.INSTANCE.test($typeTerm, $fieldTerm, $literalsTerm)"
+    }
+
+    private def addReusableLiteralSet(literals: Seq[AnyRef]): String = {
+      val literalSet = new JHashSet[AnyRef](literals.asJava)
+      ctx.addReusableObject(literalSet, "literalSet", className[JSet[AnyRef]])
+    }
+
+    private def addReusableLiteral(fieldType: DataType, literal: AnyRef): String =
+      fieldType.getTypeRoot match {
+        case BOOLEAN | TINYINT | SMALLINT | INTEGER | DATE | TIME_WITHOUT_TIME_ZONE | BIGINT |
+            FLOAT | DOUBLE =>
+          // unbox the literal once
+          val boxedTerm = ctx.addReusableObject(literal, "boxedLiteral")
+          val literalTerm = newName("literal")
+          ctx.addReusableMember(s"private ${primitiveTypeTermForType(fieldType)} $literalTerm;")
+          ctx.addReusableInitStatement(s"$literalTerm = $boxedTerm;")
+          literalTerm
+        case CHAR | VARCHAR | DECIMAL | TIMESTAMP_WITHOUT_TIME_ZONE |
+            TIMESTAMP_WITH_LOCAL_TIME_ZONE =>
+          ctx.addReusableObject(literal, "literal", boxedTypeTermForType(fieldType))
+        case _ =>
+          ctx.addReusableObject(literal, "literal", "Object")
+      }
+
+    /** Generates a method to test the field if it is not null, returns the call of it. */
+    private def generateLeafMethod(fieldRef: FieldRef, condition: String => String): String = {
+      val methodName = newName("testLeaf")
+      val fieldType = fieldRef.`type`
+      val fieldTerm = newName("field")
+      val fieldTypeTerm = fieldType.getTypeRoot match {
+        case BINARY | VARBINARY | ARRAY | MULTISET | MAP | ROW => "Object"
+        case _ => primitiveTypeTermForType(fieldType)
+      }
+      val fieldReadCode = rowFieldReadAccess(fieldRef.index, INPUT_TERM, fieldType)
+      leafMethods +=
+        s"""
+           |private boolean $methodName($ROW_DATA $INPUT_TERM) {
+           |  if ($INPUT_TERM.isNullAt(${fieldRef.index})) {
+           |    return false;
+           |  }
+           |  $fieldTypeTerm $fieldTerm = $fieldReadCode;
+           |  return ${condition(fieldTerm)};
+           |}
+           |""".stripMargin
+      s"$methodName($INPUT_TERM)"
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.codegen;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link PredicateCodeGenerator}. */
+public class PredicateCodeGeneratorTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    DataTypes.INT(),
+                    DataTypes.BIGINT(),
+                    DataTypes.DOUBLE(),
+                    DataTypes.STRING(),
+                    DataTypes.DECIMAL(10, 2),
+                    DataTypes.BOOLEAN(),
+                    DataTypes.VARBINARY(10),
+                    DataTypes.TIMESTAMP(3));
+
+    private final PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+
+    @RepeatedTest(10)
+    public void testRandomRows() {
+        List<Predicate> predicates =
+                Arrays.asList(
+                        builder.equal(0, 5),
+                        builder.notEqual(0, 5),
+                        builder.lessThan(1, 5L),
+                        builder.greaterOrEqual(1, 5L),
+                        builder.lessOrEqual(2, 0.5),
+                        builder.greaterThan(2, 0.5),
+                        builder.equal(3, BinaryString.fromString("s5")),
+                        builder.lessThan(3, BinaryString.fromString("s5")),
+                        builder.startsWith(3, BinaryString.fromString("s1")),
+                        builder.greaterThan(4, Decimal.fromUnscaledLong(500, 10, 2)),
+                        builder.equal(5, true),
+                        builder.lessThan(6, new byte[] {5}),
+                        builder.lessOrEqual(7, Timestamp.fromEpochMillis(5)),
+                        builder.isNull(0),
+                        builder.isNotNull(3),
+                        builder.equal(0, null),
+                        builder.in(0, Arrays.asList(1, 3, null, 5)),
+                        builder.notIn(1, Arrays.asList(1L, 3L, 5L)),
+                        builder.notIn(1, Arrays.asList(1L, null)),
+                        // more than 20 literals are not expanded to equals
+                        builder.in(1, manyLiterals()),
+                        builder.notIn(1, manyLiterals()),
+                        PredicateBuilder.and(
+                                builder.greaterThan(0, 2),
+                                builder.startsWith(3, BinaryString.fromString("s"))),
+                        PredicateBuilder.or(
+                                builder.lessThan(0, 2),
+                                PredicateBuilder.and(builder.isNull(1), builder.equal(5, false))));
+
+        Random random = ThreadLocalRandom.current();
+        for (Predicate predicate : predicates) {
+            RecordFilter filter =
+                    new CodeGeneratorImpl()
+                            .generatePredicate(predicate, "TestFilter")
+                            .newInstance(Thread.currentThread().getContextClassLoader());
+            for (int i = 0; i < 100; i++) {
+                Object[] values = randomValues(random);
+                assertThat(filter.test(GenericRow.of(values)))
+                        .as(predicate.toString())
+                        .isEqualTo(predicate.test(values));
+            }
+        }
+    }
+
+    @Test
+    public void testNaN() {
+        RecordFilter filter =
+                new CodeGeneratorImpl()
+                        .generatePredicate(builder.greaterThan(2, 0.5), "TestFilter")
+                        .newInstance(Thread.currentThread().getContextClassLoader());
+        // the same order as Double#compareTo
+        assertThat(filter.test(GenericRow.of(null, null, Double.NaN, null, null, null, null, null)))
+                .isTrue();
+    }
+
+    @Test
+    public void testHugeInList() {
+        List<Object> ints = new ArrayList<>();
+        List<Object> strings = new ArrayList<>();
+        List<Object> decimals = new ArrayList<>();
+        for (int i = 0; i < 10000; i += 2) {
+            ints.add(i);
+            strings.add(BinaryString.fromString("s" + i));
+            decimals.add(Decimal.fromUnscaledLong(i, 10, 2));
+        }
+
+        // each literal generates code, these would exceed the size limit of a method
+        List<Predicate> predicates =
+                Arrays.asList(
+                        builder.in(0, ints),
+                        builder.notIn(0, ints),
+                        builder.in(3, strings),
+                        builder.notIn(3, strings),
+                        builder.in(4, decimals),
+                        builder.notIn(4, decimals));
+
+        Random random = ThreadLocalRandom.current();
+        for (Predicate predicate : predicates) {
+            RecordFilter filter =
+                    new CodeGeneratorImpl()
+                            .generatePredicate(predicate, "TestFilter")
+                            .newInstance(Thread.currentThread().getContextClassLoader());
+            for (int i = 0; i < 100; i++) {
+                Object[] values = randomValues(random);
+                assertThat(filter.test(GenericRow.of(values)))
+                        .as(predicate.getClass().getSimpleName())
+                        .isEqualTo(predicate.test(values));
+            }
+        }
+    }
+
+    private static List<Object> manyLiterals() {
+        List<Object> literals = new ArrayList<>();
+        for (long i = 0; i < 30; i += 2) {
+            literals.add(i);
+            literals.add(i + 100);
+        }
+        return literals;
+    }
+
+    private static Object[] randomValues(Random random) {
+        Object[] values = new Object[ROW_TYPE.getFieldCount()];
+        values[0] = random.nextInt(10);
+        values[1] = (long) random.nextInt(10);
+        values[2] = random.nextDouble();
+        values[3] = BinaryString.fromString("s" + random.nextInt(20));
+        values[4] = Decimal.fromUnscaledLong(random.nextInt(1000), 10, 2);
+        values[5] = random.nextBoolean();
+        values[6] = new byte[] {(byte) random.nextInt(10)};
+        values[7] = Timestamp.fromEpochMillis(random.nextInt(10));
+        for (int i = 0; i < values.length; i++) {
+            if (random.nextInt(10) == 0) {
+                values[i] = null;
+            }
+        }
+        return values;
+    }
+}
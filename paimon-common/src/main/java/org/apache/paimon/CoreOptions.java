@@ -233,6 +233,23 @@ public class CoreOptions implements Serializable {
                     .defaultValue(MemorySize.parse("64 mb"))
                     .withDescription("Amount of data to spill records to disk in spilled sort.");
 
+    public static final ConfigOption<Boolean> SPILL_ASYNC_IO_ENABLED =
+            key("spill.async-io.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether spill files are written and read ahead by background I/O threads. "
+                                    + "If disabled, spill files are written and read by the calling thread.");
+
+    public static final ConfigOption<MemorySize> SPILL_ASYNC_IO_MAX_MEMORY =
+            key("spill.async-io.max-memory")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64 mb"))
+                    .withDescription(
+                            "Max heap memory of the blocks pending to be written or read ahead by "
+                                    + "background I/O threads, shared by all spill files of a writer. "
+                                    + "When it is exhausted, blocks are written and read by the calling thread.");
+
     @Immutable
     public static final ConfigOption<WriteMode> WRITE_MODE =
             key("write-mode")
@@ -277,6 +294,30 @@ public class CoreOptions implements Serializable {
                     .withDescription(
                             "Whether the write buffer can be spillable. Enabled by default when using object storage.");
 
+    public static final ConfigOption<Boolean> WRITE_BUFFER_ASYNC_FLUSH =
+            key("write-buffer-async-flush")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to flush the full write buffer of a primary key table in a background thread. "
+                                    + "If enabled, the write buffer memory is divided into two buffers, "
+                                    + "records are written into one buffer while the other one is being flushed.");
+
+    public static final ConfigOption<Boolean> WRITE_BUFFER_OFF_HEAP =
+            key("write-buffer-off-heap")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to allocate the memory of write buffer, local merge buffer and sort spill buffer "
+                                    + "outside of the Java heap. Off-heap pages are reused by all writers of a JVM, "
+                                    + "which reduces garbage collection pauses for large write buffers.");
+
+    public static final ConfigOption<WriteBufferType> WRITE_BUFFER_TYPE =
+            key("write-buffer-type")
+                    .enumType(WriteBufferType.class)
+                    .defaultValue(WriteBufferType.SORT)
+                    .withDescription("Specify the write buffer type for table with primary key.");
+
     public static final ConfigOption<MemorySize> WRITE_MANIFEST_CACHE =
             key("write-manifest-cache")
                     .memoryType()
@@ -321,6 +362,19 @@ public class CoreOptions implements Serializable {
                             "The number of sorted runs that trigger the stopping of writes,"
                                     + " the default value is 'num-sorted-run.compaction-trigger' + 1.");
 
+    public static final ConfigOption<Duration> NUM_SORTED_RUNS_SLOWDOWN_MAX_DELAY =
+            key("num-sorted-run.slowdown-max-delay")
+                    .durationType()
+                    .defaultValue(Duration.ZERO)
+                    .withDescription(
+                            "The max time a flush of the write buffer is delayed for the running "
+                                    + "compaction to catch up, when the number of sorted runs is "
+                                    + "between 'num-sorted-run.compaction-trigger' and "
+                                    + "'num-sorted-run.stop-trigger'. The delay grows with the number "
+                                    + "of sorted runs and ends as soon as the compaction finishes, so "
+                                    + "writes are slowed down gradually before they are stopped. "
+                                    + "Zero disables the slowdown.");
+
     public static final ConfigOption<Integer> NUM_LEVELS =
             key("num-levels")
                     .intType()
@@ -334,6 +388,15 @@ public class CoreOptions implements Serializable {
                     .defaultValue(false)
                     .withDescription("Whether to force a compaction before commit.");
 
+    public static final ConfigOption<Integer> COMMIT_PREPARE_PARALLELISM =
+            key("commit.prepare-parallelism")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The parallelism of preparing commit for the writers of a task. "
+                                    + "Writers flush their write buffers and wait for compaction concurrently "
+                                    + "if it is larger than 1, which reduces checkpoint time when a task writes many buckets.");
+
     public static final ConfigOption<Integer> COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT =
             key("compaction.max-size-amplification-percent")
                     .intType()
@@ -342,6 +405,28 @@ public class CoreOptions implements Serializable {
                             "The size amplification is defined as the amount (in percentage) of additional storage "
                                     + "needed to store a single byte of data in the merge tree for changelog mode table.");
 
+    public static final ConfigOption<CompactionStyle> COMPACTION_STYLE =
+            key("compaction.style")
+                    .enumType(CompactionStyle.class)
+                    .defaultValue(CompactionStyle.UNIVERSAL)
+                    .withDescription("Specify the compaction style for table with primary key.");
+
+    public static final ConfigOption<MemorySize> COMPACTION_LEVELED_BASE_LEVEL_SIZE =
+            key("compaction.leveled.base-level-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("256 mb"))
+                    .withDescription(
+                            "The target size of level 1 for leveled compaction. The target size of "
+                                    + "each following level is multiplied by "
+                                    + "'compaction.leveled.level-size-multiplier'.");
+
+    public static final ConfigOption<Integer> COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER =
+            key("compaction.leveled.level-size-multiplier")
+                    .intType()
+                    .defaultValue(10)
+                    .withDescription(
+                            "The ratio of the target sizes of two adjacent levels for leveled compaction.");
+
     public static final ConfigOption<Integer> COMPACTION_SIZE_RATIO =
             key("compaction.size-ratio")
                     .intType()
@@ -351,6 +436,35 @@ public class CoreOptions implements Serializable {
                                     + "size is 1% smaller than the next sorted run's size, then include next sorted run "
                                     + "into this candidate set.");
 
+    public static final ConfigOption<Integer> COMPACTION_THREADS =
+            key("compaction.threads")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of threads compacting the buckets of a writer task. Compactions "
+                                    + "are scheduled by priority, buckets closer to stopping writes are "
+                                    + "compacted first.");
+
+    public static final ConfigOption<MemorySize> COMPACTION_IO_RATE_LIMIT =
+            key("compaction.io-rate-limit")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max number of bytes per second read and written by the compactions "
+                                    + "of a writer task, shared by all buckets of the task. The limit is "
+                                    + "lifted while writes wait for compaction, for example when the "
+                                    + "number of sorted runs exceeds 'num-sorted-run.stop-trigger'. "
+                                    + "No limit by default.");
+
+    public static final ConfigOption<Integer> COMPACTION_MAX_SUBCOMPACTIONS =
+            key("compaction.max-subcompactions")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of subcompactions a compaction of primary key table "
+                                    + "is split into. Subcompactions rewrite disjoint key ranges "
+                                    + "concurrently and their output files still form one sorted run.");
+
     public static final ConfigOption<Integer> COMPACTION_MIN_FILE_NUM =
             key("compaction.min.file-num")
                     .intType()
@@ -624,18 +738,135 @@ public class CoreOptions implements Serializable {
                     .defaultValue(MemorySize.parse("256 mb"))
                     .withDescription("Max memory size for lookup cache.");
 
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_MMAP_ENABLED =
+            key("lookup.cache-mmap-enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to memory map the local lookup files instead of caching "
+                                    + "their pages in the lookup memory cache. Mapped pages are "
+                                    + "cached by the operating system and are not limited by "
+                                    + "'lookup.cache-max-memory-size'.");
+
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_SHARED =
+            key("lookup.cache-shared")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the lookup caches of all buckets and tables in a process "
+                                    + "share one budget. If enabled, 'lookup.cache-max-disk-size' "
+                                    + "limits the local lookup files of all buckets and "
+                                    + "'lookup.cache-max-memory-size' limits the cached pages of "
+                                    + "all tables, the least recently used files and pages are "
+                                    + "evicted first. The budget is taken from the options of the "
+                                    + "first table using the cache. If disabled, the disk size is "
+                                    + "limited per bucket and the memory size per writer.");
+
+    public static final ConfigOption<Boolean> LOOKUP_BLOOM_FILTER_ENABLED =
+            key("lookup.bloom-filter.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether to keep a bloom filter of the keys of each local lookup file "
+                                    + "in memory, so lookups of missing keys do not read the file. "
+                                    + "The filter is built together with the lookup file, its "
+                                    + "memory is counted in 'lookup.cache-max-disk-size' and it is "
+                                    + "evicted together with the lookup file.");
+
+    public static final ConfigOption<Double> LOOKUP_BLOOM_FILTER_FPP =
+            key("lookup.bloom-filter.fpp")
+                    .doubleType()
+                    .defaultValue(0.05)
+                    .withDescription(
+                            "The false positive probability of the bloom filters for lookup.");
+
+    public static final ConfigOption<Boolean> LOOKUP_REMOTE_INDEX_ENABLED =
+            key("lookup.remote-index.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to write the lookup index of the data files produced by "
+                                    + "compactions of the 'lookup' changelog producer next to "
+                                    + "the data files. Lookups download the index instead of "
+                                    + "building it from the data file on the local disk. It is "
+                                    + "not supported by the 'first-row' merge engine.");
+
+    public static final ConfigOption<LookupLocalFileType> LOOKUP_LOCAL_FILE_TYPE =
+            key("lookup.local-file-type")
+                    .enumType(LookupLocalFileType.class)
+                    .defaultValue(LookupLocalFileType.HASH)
+                    .withDescription("The type of the local files for lookup.");
+
+    public static final ConfigOption<MemorySize> LOOKUP_SORT_BLOCK_SIZE =
+            key("lookup.sort.block-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4 kb"))
+                    .withDescription(
+                            "The size of the data blocks of the 'sort' local files for lookup.");
+
+    public static final ConfigOption<String> LOOKUP_SORT_COMPRESSION =
+            key("lookup.sort.compression")
+                    .stringType()
+                    .defaultValue("lz4")
+                    .withDescription(
+                            "The compression of the data blocks of the 'sort' local files for "
+                                    + "lookup, can be 'lz4' or 'none'.");
+
     public static final ConfigOption<Integer> READ_BATCH_SIZE =
             key("read.batch-size")
                     .intType()
                     .defaultValue(1024)
                     .withDescription("Read batch size for orc and parquet.");
 
+    public static final ConfigOption<Boolean> READ_BATCH_FILTER_ENABLED =
+            key("read.batch-filter.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to filter the rows of append-only tables by the pushed down "
+                                    + "filters when reading orc and parquet files. The filters "
+                                    + "are evaluated column by column on the read batches, "
+                                    + "otherwise filters are only used to skip files, stripes "
+                                    + "and row groups.");
+
+    public static final ConfigOption<Integer> READ_PREFETCH_FILES =
+            key("read.prefetch-files")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "The number of upcoming files of a sequential read to open in "
+                                    + "advance on a background I/O pool while the current file "
+                                    + "is consumed. Each prefetched file holds the data read "
+                                    + "for its first batch in memory, which is a whole row "
+                                    + "group for Parquet and a stripe for ORC, so the memory "
+                                    + "grows with this number times the row group or stripe "
+                                    + "size. 0 means files are opened one by one when they are "
+                                    + "read.");
+
     public static final ConfigOption<Integer> ORC_WRITE_BATCH_SIZE =
             key("orc.write.batch-size")
                     .intType()
                     .defaultValue(1024)
                     .withDescription("write batch size for orc.");
 
+    public static final ConfigOption<Boolean> ORC_READ_VECTORED_ENABLED =
+            key("orc.read.vectored.enabled")
+                    .booleanType()
+                    .defaultValue(true)
+                    .withDescription(
+                            "Whether to serve the large positioned reads of orc, such as the "
+                                    + "streams of a stripe, by vectored reads on object stores, "
+                                    + "which fetch a range by concurrent requests.");
+
+    public static final ConfigOption<MemorySize> ORC_READ_VECTORED_MIN_SIZE =
+            key("orc.read.vectored.min-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ofMebiBytes(2))
+                    .withDescription(
+                            "The min size of a positioned read of orc to be served by a vectored "
+                                    + "read, smaller reads are read from the file stream "
+                                    + "directly, as they are fetched by a single request anyway.");
+
     public static final ConfigOption<String> CONSUMER_ID =
             key("consumer-id")
                     .stringType()
@@ -988,6 +1219,18 @@ public class CoreOptions implements Serializable {
         return options.getOptional(WRITE_BUFFER_SPILLABLE).orElse(usingObjectStore || !isStreaming);
     }
 
+    public boolean writeBufferAsyncFlush() {
+        return options.get(WRITE_BUFFER_ASYNC_FLUSH);
+    }
+
+    public boolean writeBufferOffHeap() {
+        return options.get(WRITE_BUFFER_OFF_HEAP);
+    }
+
+    public WriteBufferType writeBufferType() {
+        return options.get(WRITE_BUFFER_TYPE);
+    }
+
     public long sortSpillBufferSize() {
         return options.get(SORT_SPILL_BUFFER_SIZE).getBytes();
     }
@@ -996,6 +1239,14 @@ public class CoreOptions implements Serializable {
         return options.get(CONTINUOUS_DISCOVERY_INTERVAL);
     }
 
+    public boolean spillAsyncIOEnabled() {
+        return options.get(SPILL_ASYNC_IO_ENABLED);
+    }
+
+    public long spillAsyncIOMaxMemory() {
+        return options.get(SPILL_ASYNC_IO_MAX_MEMORY).getBytes();
+    }
+
     public int localSortMaxNumFileHandles() {
         return options.get(LOCAL_SORT_MAX_NUM_FILE_HANDLES);
     }
@@ -1027,6 +1278,10 @@ public class CoreOptions implements Serializable {
         return Math.max(numSortedRunCompactionTrigger(), stopTrigger);
     }
 
+    public Duration numSortedRunSlowdownMaxDelay() {
+        return options.get(NUM_SORTED_RUNS_SLOWDOWN_MAX_DELAY);
+    }
+
     public int numLevels() {
         // By default, this ensures that the compaction does not fall to level 0, but at least to
         // level 1
@@ -1039,6 +1294,10 @@ public class CoreOptions implements Serializable {
         return options.get(COMMIT_FORCE_COMPACT);
     }
 
+    public int commitPrepareParallelism() {
+        return options.get(COMMIT_PREPARE_PARALLELISM);
+    }
+
     public int maxSizeAmplificationPercent() {
         return options.get(COMPACTION_MAX_SIZE_AMPLIFICATION_PERCENT);
     }
@@ -1047,6 +1306,30 @@ public class CoreOptions implements Serializable {
         return options.get(COMPACTION_SIZE_RATIO);
     }
 
+    public int compactionThreads() {
+        return options.get(COMPACTION_THREADS);
+    }
+
+    public MemorySize compactionIoRateLimit() {
+        return options.get(COMPACTION_IO_RATE_LIMIT);
+    }
+
+    public int compactionMaxSubcompactions() {
+        return options.get(COMPACTION_MAX_SUBCOMPACTIONS);
+    }
+
+    public CompactionStyle compactionStyle() {
+        return options.get(COMPACTION_STYLE);
+    }
+
+    public long leveledCompactionBaseLevelSize() {
+        return options.get(COMPACTION_LEVELED_BASE_LEVEL_SIZE).getBytes();
+    }
+
+    public int leveledCompactionLevelSizeMultiplier() {
+        return options.get(COMPACTION_LEVELED_LEVEL_SIZE_MULTIPLIER);
+    }
+
     public int compactionMinFileNum() {
         return options.get(COMPACTION_MIN_FILE_NUM);
     }
@@ -1187,6 +1470,14 @@ public class CoreOptions implements Serializable {
         return options.get(READ_BATCH_SIZE);
     }
 
+    public boolean readBatchFilterEnabled() {
+        return options.get(READ_BATCH_FILTER_ENABLED);
+    }
+
+    public int readPrefetchFiles() {
+        return options.get(READ_PREFETCH_FILES);
+    }
+
     public String consumerId() {
         return options.get(CONSUMER_ID);
     }
@@ -1461,6 +1752,34 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the type of the local files for lookup. */
+    public enum LookupLocalFileType implements DescribedEnum {
+        HASH("hash", "Hash files, which are built from the records in any order."),
+
+        SORT(
+                "sort",
+                "Files of sorted blocks, which are built in a single pass and are smaller than "
+                        + "hash files. Lookups binary search the blocks.");
+
+        private final String value;
+        private final String description;
+
+        LookupLocalFileType(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** Specifies the file format type for store. */
     public enum FileFormatType implements DescribedEnum {
         ORC("orc", "ORC file format."),
@@ -1667,6 +1986,65 @@ public class CoreOptions implements Serializable {
         }
     }
 
+    /** Specifies the write buffer type for table with primary key. */
+    public enum WriteBufferType implements DescribedEnum {
+        SORT("sort", "Keep all records in the write buffer and merge them when flushing."),
+        HASH(
+                "hash",
+                "Merge records with the same key when they are written into the write buffer, "
+                        + "only the merged record of each key is kept. It saves memory for tables with frequently updated keys. "
+                        + "Sequence field and input changelog producer are not supported.");
+
+        private final String value;
+        private final String description;
+
+        WriteBufferType(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
+    /** Specifies the compaction style of merge tree. */
+    public enum CompactionStyle implements DescribedEnum {
+        UNIVERSAL(
+                "universal",
+                "Compact whole sorted runs, which has lower write amplification but higher "
+                        + "space amplification."),
+        LEVELED(
+                "leveled",
+                "Keep a target size for each level and compact a file with the overlapping files "
+                        + "of the next level, which has lower space amplification and steadier "
+                        + "compaction I/O for update-heavy tables with uniformly distributed keys.");
+
+        private final String value;
+        private final String description;
+
+        CompactionStyle(String value, String description) {
+            this.value = value;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return text(description);
+        }
+    }
+
     /** Specifies the way of making up time precision for sequence field. */
     public enum SequenceAutoPadding implements DescribedEnum {
         ROW_KIND_FLAG(
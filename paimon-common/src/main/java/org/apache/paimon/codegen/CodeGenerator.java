@@ -18,6 +18,7 @@
 
 package org.apache.paimon.codegen;
 
+import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowType;
 
@@ -57,4 +58,12 @@ public interface CodeGenerator {
      *     fields are compared in ascending order.
      */
     GeneratedClass<RecordEqualiser> generateRecordEqualiser(List<DataType> fieldTypes, String name);
+
+    /**
+     * Generate a {@link RecordFilter}.
+     *
+     * @param predicate The predicate to test rows, its field indexes are the field indexes of the
+     *     input rows.
+     */
+    GeneratedClass<RecordFilter> generatePredicate(Predicate predicate, String name);
 }
@@ -58,6 +58,10 @@ public final class ColumnarRow implements InternalRow, DataSetters, Serializable
         this.rowId = 0;
     }
 
+    public VectorizedColumnBatch getVectorizedColumnBatch() {
+        return vectorizedColumnBatch;
+    }
+
     public void setRowId(int rowId) {
         this.rowId = rowId;
     }
@@ -19,6 +19,7 @@
 package org.apache.paimon.data.columnar;
 
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.predicate.VectorizedPredicateFilter;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.RecyclableIterator;
 
@@ -35,6 +36,10 @@ public class ColumnarRowIterator extends RecyclableIterator<InternalRow> {
     private int num;
     private int pos;
 
+    // positions of the rows to return, all rows are returned if it is null
+    @Nullable private int[] selected;
+    private int[] selectedBuffer = new int[0];
+
     public ColumnarRowIterator(ColumnarRow rowData, @Nullable Runnable recycler) {
         super(recycler);
         this.rowData = rowData;
@@ -43,13 +48,26 @@ public class ColumnarRowIterator extends RecyclableIterator<InternalRow> {
     public void set(int num) {
         this.num = num;
         this.pos = 0;
+        this.selected = null;
+    }
+
+    /**
+     * Skips the rows of the current batch which do not match the filter. It must be called after
+     * {@link #set} and before iterating the rows.
+     */
+    public void filter(VectorizedPredicateFilter filter) {
+        if (selectedBuffer.length < num) {
+            selectedBuffer = new int[num];
+        }
+        num = filter.filter(rowData.getVectorizedColumnBatch(), num, selectedBuffer);
+        selected = selectedBuffer;
     }
 
     @Nullable
     @Override
     public InternalRow next() {
         if (pos < num) {
-            rowData.setRowId(pos++);
+            rowData.setRowId(selected == null ? pos++ : selected[pos++]);
             return rowData;
         } else {
             return null;
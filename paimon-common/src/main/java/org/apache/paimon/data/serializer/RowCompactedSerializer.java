@@ -35,6 +35,7 @@ import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.SortUtil;
 import org.apache.paimon.utils.VarLengthIntUtils;
 
 import javax.annotation.Nullable;
@@ -42,6 +43,7 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
 
 import static org.apache.paimon.data.BinaryRow.HEADER_SIZE_IN_BITS;
@@ -159,6 +161,27 @@ public class RowCompactedSerializer implements Serializer<InternalRow> {
         return row;
     }
 
+    /**
+     * Creates a comparator of serialized rows, which compares the fields in ascending order with
+     * nulls first, like the generated key comparators, without deserializing the rows. Returns
+     * null if a field type cannot be compared in serialized form, such as an array, a map or a
+     * row.
+     *
+     * <p>The comparator is not thread-safe, create one for each thread.
+     */
+    @Nullable
+    public Comparator<byte[]> createSerializedComparator() {
+        FieldComparator[] comparators = new FieldComparator[rowType.getFieldCount()];
+        for (int i = 0; i < comparators.length; i++) {
+            comparators[i] = createFieldComparator(rowType.getTypeAt(i));
+            if (comparators[i] == null) {
+                return null;
+            }
+        }
+        return new SerializedRowComparator(
+                calculateBitSetInBytes(comparators.length), comparators);
+    }
+
     private static FieldWriter createFieldWriter(DataType fieldType) {
         final FieldWriter fieldWriter;
         switch (fieldType.getTypeRoot()) {
@@ -314,6 +337,69 @@ public class RowCompactedSerializer implements Serializer<InternalRow> {
         };
     }
 
+    @Nullable
+    private static FieldComparator createFieldComparator(DataType fieldType) {
+        // same semantics as the generated comparators
+        switch (fieldType.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+                return RowReader::compareBinary;
+            case DECIMAL:
+                final int decimalPrecision = getPrecision(fieldType);
+                final int decimalScale = getScale(fieldType);
+                if (Decimal.isCompact(decimalPrecision)) {
+                    return (reader1, reader2) ->
+                            Long.compare(reader1.readLong(), reader2.readLong());
+                }
+                return (reader1, reader2) ->
+                        reader1.readDecimal(decimalPrecision, decimalScale)
+                                .compareTo(reader2.readDecimal(decimalPrecision, decimalScale));
+            case BOOLEAN:
+                return (reader1, reader2) ->
+                        Boolean.compare(reader1.readBoolean(), reader2.readBoolean());
+            case TINYINT:
+                return (reader1, reader2) -> Byte.compare(reader1.readByte(), reader2.readByte());
+            case SMALLINT:
+                return (reader1, reader2) ->
+                        Short.compare(reader1.readShort(), reader2.readShort());
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return (reader1, reader2) -> Integer.compare(reader1.readInt(), reader2.readInt());
+            case BIGINT:
+                return (reader1, reader2) -> Long.compare(reader1.readLong(), reader2.readLong());
+            case FLOAT:
+                return (reader1, reader2) -> {
+                    float value1 = reader1.readFloat();
+                    float value2 = reader2.readFloat();
+                    return value1 > value2 ? 1 : value1 < value2 ? -1 : 0;
+                };
+            case DOUBLE:
+                return (reader1, reader2) -> {
+                    double value1 = reader1.readDouble();
+                    double value2 = reader2.readDouble();
+                    return value1 > value2 ? 1 : value1 < value2 ? -1 : 0;
+                };
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                if (Timestamp.isCompact(getPrecision(fieldType))) {
+                    return (reader1, reader2) ->
+                            Long.compare(reader1.readLong(), reader2.readLong());
+                }
+                return (reader1, reader2) -> {
+                    int cmp = Long.compare(reader1.readLong(), reader2.readLong());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    return reader1.readUnsignedInt() - reader2.readUnsignedInt();
+                };
+            default:
+                return null;
+        }
+    }
+
     private interface FieldWriter extends Serializable {
         void writeField(RowWriter writer, int pos, Object value);
     }
@@ -322,6 +408,45 @@ public class RowCompactedSerializer implements Serializer<InternalRow> {
         Object readField(RowReader reader, int pos);
     }
 
+    private interface FieldComparator {
+        int compareField(RowReader reader1, RowReader reader2);
+    }
+
+    private static class SerializedRowComparator implements Comparator<byte[]> {
+
+        private final FieldComparator[] comparators;
+        private final RowReader reader1;
+        private final RowReader reader2;
+
+        private SerializedRowComparator(int headerSizeInBytes, FieldComparator[] comparators) {
+            this.comparators = comparators;
+            this.reader1 = new RowReader(headerSizeInBytes);
+            this.reader2 = new RowReader(headerSizeInBytes);
+        }
+
+        @Override
+        public int compare(byte[] o1, byte[] o2) {
+            reader1.pointTo(o1);
+            reader2.pointTo(o2);
+            for (int i = 0; i < comparators.length; i++) {
+                boolean isNull1 = reader1.isNullAt(i);
+                boolean isNull2 = reader2.isNullAt(i);
+                if (isNull1 || isNull2) {
+                    if (isNull1 && isNull2) {
+                        continue;
+                    }
+                    // nulls first, null fields are not written
+                    return isNull1 ? -1 : 1;
+                }
+                int cmp = comparators[i].compareField(reader1, reader2);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+    }
+
     private static class RowWriter {
 
         // Including RowKind and null bits.
@@ -511,8 +636,11 @@ public class RowCompactedSerializer implements Serializer<InternalRow> {
         }
 
         private void pointTo(byte[] bytes) {
-            this.segment = MemorySegment.wrap(bytes);
-            this.segments = new MemorySegment[] {segment};
+            // the same bytes are compared many times in a binary search
+            if (segment == null || segment.getArray() != bytes) {
+                this.segment = MemorySegment.wrap(bytes);
+                this.segments = new MemorySegment[] {segment};
+            }
             this.position = headerSizeInBytes;
         }
 
@@ -603,6 +731,22 @@ public class RowCompactedSerializer implements Serializer<InternalRow> {
             return bytes;
         }
 
+        private int compareBinary(RowReader other) {
+            int length1 = readUnsignedInt();
+            int length2 = other.readUnsignedInt();
+            int cmp =
+                    SortUtil.compareBinary(
+                            segment.getArray(),
+                            position,
+                            length1,
+                            other.segment.getArray(),
+                            other.position,
+                            length2);
+            position += length1;
+            other.position += length2;
+            return cmp;
+        }
+
         private InternalArray readArray() {
             BinaryArray value = new BinaryArray();
             int length = readUnsignedInt();
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.annotation.Public;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A range of a file to read by {@link SeekableInputStream#readVectored}, the read bytes are
+ * completed in {@link #getData()}.
+ *
+ * @since 0.6.0
+ */
+@Public
+public class FileRange {
+
+    private final long offset;
+    private final int length;
+    private final CompletableFuture<byte[]> data;
+
+    private FileRange(long offset, int length) {
+        this.offset = offset;
+        this.length = length;
+        this.data = new CompletableFuture<>();
+    }
+
+    public static FileRange createFileRange(long offset, int length) {
+        return new FileRange(offset, length);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getEnd() {
+        return offset + length;
+    }
+
+    public CompletableFuture<byte[]> getData() {
+        return data;
+    }
+
+    @Override
+    public String toString() {
+        return "FileRange{offset=" + offset + ", length=" + length + '}';
+    }
+}
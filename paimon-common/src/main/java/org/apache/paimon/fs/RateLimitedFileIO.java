@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.catalog.CatalogContext;
+import org.apache.paimon.utils.RateLimiter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * A {@link FileIO} which limits the bytes read from its input streams and written to its output
+ * streams by a {@link RateLimiter}. Other operations are not limited.
+ */
+public class RateLimitedFileIO implements FileIO {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FileIO fileIO;
+    private final RateLimiter rateLimiter;
+
+    public RateLimitedFileIO(FileIO fileIO, RateLimiter rateLimiter) {
+        this.fileIO = fileIO;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean isObjectStore() {
+        return fileIO.isObjectStore();
+    }
+
+    @Override
+    public void configure(CatalogContext context) {
+        fileIO.configure(context);
+    }
+
+    @Override
+    public SeekableInputStream newInputStream(Path path) throws IOException {
+        return new RateLimitedInputStream(fileIO.newInputStream(path));
+    }
+
+    @Override
+    public PositionOutputStream newOutputStream(Path path, boolean overwrite) throws IOException {
+        return new RateLimitedOutputStream(fileIO.newOutputStream(path, overwrite));
+    }
+
+    @Override
+    public FileStatus getFileStatus(Path path) throws IOException {
+        return fileIO.getFileStatus(path);
+    }
+
+    @Override
+    public FileStatus[] listStatus(Path path) throws IOException {
+        return fileIO.listStatus(path);
+    }
+
+    @Override
+    public boolean exists(Path path) throws IOException {
+        return fileIO.exists(path);
+    }
+
+    @Override
+    public boolean delete(Path path, boolean recursive) throws IOException {
+        return fileIO.delete(path, recursive);
+    }
+
+    @Override
+    public boolean mkdirs(Path path) throws IOException {
+        return fileIO.mkdirs(path);
+    }
+
+    @Override
+    public boolean rename(Path src, Path dst) throws IOException {
+        return fileIO.rename(src, dst);
+    }
+
+    private void acquire(long bytes) throws IOException {
+        try {
+            rateLimiter.acquire(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limiter.");
+        }
+    }
+
+    private class RateLimitedInputStream extends SeekableInputStreamWrapper {
+
+        private RateLimitedInputStream(SeekableInputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                acquire(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                acquire(n);
+            }
+            return n;
+        }
+    }
+
+    private class RateLimitedOutputStream extends PositionOutputStreamWrapper {
+
+        private RateLimitedOutputStream(PositionOutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            acquire(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            acquire(b.length);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            acquire(len);
+            out.write(b, off, len);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.paimon.annotation.Public;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 
 /**
  * {@code SeekableInputStream} provides seek methods.
@@ -56,6 +57,21 @@ public abstract class SeekableInputStream extends InputStream {
      */
     public abstract int read(byte[] b, int off, int len) throws IOException;
 
+    /**
+     * Reads the given ranges of the file, the data of each range is completed in {@link
+     * FileRange#getData()}, possibly asynchronously. Implementations can merge nearby ranges into
+     * one request and read disjoint ranges concurrently. The position of this stream is not
+     * changed after the call.
+     *
+     * <p>By default, the ranges are read one by one from this stream.
+     *
+     * @param ranges the ranges to read
+     * @throws IOException Thrown if an I/O error occurred while reading the ranges.
+     */
+    public void readVectored(List<? extends FileRange> ranges) throws IOException {
+        VectoredReadUtils.readVectored(this, ranges);
+    }
+
     /**
      * Closes this input stream and releases any system resources associated with the stream.
      *
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.utils.IOUtils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Utils for {@link SeekableInputStream#readVectored}. */
+public class VectoredReadUtils {
+
+    /** Ranges with gaps not larger than this are merged and read by one request. */
+    public static final int DEFAULT_MIN_SEEK_FOR_VECTORED_READS = 4 * 1024;
+
+    /** Merged ranges are not larger than this, single ranges larger than this are not split. */
+    public static final int DEFAULT_MAX_READ_SIZE_FOR_VECTORED_READS = 1024 * 1024;
+
+    private static final int IO_THREADS = 32;
+
+    private static volatile ExecutorService ioExecutor;
+
+    private VectoredReadUtils() {}
+
+    /**
+     * Reads the ranges one by one from the given stream, nearby ranges are merged into one read.
+     * The position of the stream is restored after reading.
+     */
+    public static void readVectored(SeekableInputStream in, List<? extends FileRange> ranges)
+            throws IOException {
+        long pos = in.getPos();
+        try {
+            for (CombinedRange range :
+                    mergeRanges(
+                            ranges,
+                            DEFAULT_MIN_SEEK_FOR_VECTORED_READS,
+                            DEFAULT_MAX_READ_SIZE_FOR_VECTORED_READS)) {
+                byte[] buffer = new byte[range.length()];
+                in.seek(range.offset);
+                IOUtils.readFully(in, buffer, 0, buffer.length);
+                range.complete(buffer);
+            }
+        } catch (Throwable t) {
+            ranges.forEach(range -> range.getData().completeExceptionally(t));
+            throw t;
+        }
+        in.seek(pos);
+    }
+
+    /**
+     * Reads the ranges concurrently, each merged range is read by a new stream on the executor and
+     * merged ranges larger than {@code maxReadSize} are split into parts read concurrently. This
+     * method returns without waiting for the reads, the data is completed in {@link
+     * FileRange#getData()}.
+     */
+    public static void readVectored(
+            List<? extends FileRange> ranges,
+            StreamFactory streamFactory,
+            ExecutorService executor,
+            int minSeek,
+            int maxReadSize) {
+        for (CombinedRange range : mergeRanges(ranges, minSeek, maxReadSize)) {
+            byte[] buffer = new byte[range.length()];
+            List<CompletableFuture<Void>> parts = new ArrayList<>();
+            for (int start = 0; start < buffer.length; start += maxReadSize) {
+                int offset = start;
+                int length = Math.min(maxReadSize, buffer.length - start);
+                parts.add(
+                        CompletableFuture.runAsync(
+                                () -> {
+                                    try (SeekableInputStream in = streamFactory.open()) {
+                                        in.seek(range.offset + offset);
+                                        IOUtils.readFully(in, buffer, offset, length);
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                },
+                                executor));
+            }
+            CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                    .whenComplete(
+                            (ignored, t) -> {
+                                if (t == null) {
+                                    range.complete(buffer);
+                                } else {
+                                    Throwable cause = t.getCause() == null ? t : t.getCause();
+                                    range.ranges.forEach(
+                                            r -> r.getData().completeExceptionally(cause));
+                                }
+                            });
+        }
+    }
+
+    /** Waits for the data of a range read by {@link SeekableInputStream#readVectored}. */
+    public static byte[] awaitData(FileRange range) throws IOException {
+        try {
+            return range.getData().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading " + range);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof RuntimeException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to read " + range, cause);
+        }
+    }
+
+    /** A shared executor for the concurrent reads of object stores. */
+    public static ExecutorService ioExecutor() {
+        if (ioExecutor == null) {
+            synchronized (VectoredReadUtils.class) {
+                if (ioExecutor == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    ThreadPoolExecutor executor =
+                            new ThreadPoolExecutor(
+                                    IO_THREADS,
+                                    IO_THREADS,
+                                    60,
+                                    TimeUnit.SECONDS,
+                                    new LinkedBlockingQueue<>(),
+                                    runnable -> {
+                                        Thread thread = new Thread(runnable);
+                                        thread.setName(
+                                                "paimon-vectored-read-" + count.getAndIncrement());
+                                        thread.setDaemon(true);
+                                        return thread;
+                                    });
+                    executor.allowCoreThreadTimeOut(true);
+                    ioExecutor = executor;
+                }
+            }
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * Sorts the ranges by offset and merges the ranges whose gap is not larger than {@code
+     * minSeek}, as long as the merged range is not larger than {@code maxReadSize}.
+     */
+    public static List<CombinedRange> mergeRanges(
+            List<? extends FileRange> ranges, int minSeek, int maxReadSize) {
+        List<FileRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(FileRange::getOffset));
+
+        List<CombinedRange> result = new ArrayList<>();
+        CombinedRange current = null;
+        for (FileRange range : sorted) {
+            if (current == null
+                    || range.getOffset() - current.end > minSeek
+                    || Math.max(current.end, range.getEnd()) - current.offset > maxReadSize) {
+                current = new CombinedRange(range.getOffset());
+                result.add(current);
+            }
+            current.add(range);
+        }
+        return result;
+    }
+
+    /** A range merged from several {@link FileRange}s. */
+    public static class CombinedRange {
+
+        private final long offset;
+        private final List<FileRange> ranges;
+        private long end;
+
+        private CombinedRange(long offset) {
+            this.offset = offset;
+            this.ranges = new ArrayList<>();
+            this.end = offset;
+        }
+
+        private void add(FileRange range) {
+            ranges.add(range);
+            end = Math.max(end, range.getEnd());
+        }
+
+        public long offset() {
+            return offset;
+        }
+
+        public int length() {
+            return (int) (end - offset);
+        }
+
+        public List<FileRange> ranges() {
+            return ranges;
+        }
+
+        private void complete(byte[] buffer) {
+            if (ranges.size() == 1) {
+                ranges.get(0).getData().complete(buffer);
+                return;
+            }
+
+            for (FileRange range : ranges) {
+                byte[] data = new byte[range.getLength()];
+                System.arraycopy(buffer, (int) (range.getOffset() - offset), data, 0, data.length);
+                range.getData().complete(data);
+            }
+        }
+    }
+
+    /** Factory to open a new stream of the file to read. */
+    @FunctionalInterface
+    public interface StreamFactory {
+        SeekableInputStream open() throws IOException;
+    }
+}
@@ -27,19 +27,32 @@ import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Caff
 import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.RemovalCause;
 import org.apache.paimon.shade.guava30.com.google.common.util.concurrent.MoreExecutors;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Objects;
 import java.util.function.Consumer;
 
-/** Cache manager to cache bytes to paged {@link MemorySegment}s. */
+/**
+ * Cache manager to cache bytes to paged {@link MemorySegment}s. If mmap is enabled, files are
+ * memory mapped instead and their pages are cached by the operating system.
+ */
 public class CacheManager {
 
     private final int pageSize;
+    private final boolean mmapEnabled;
     private final Cache<CacheKey, CacheValue> cache;
 
     public CacheManager(int pageSize, MemorySize maxMemorySize) {
+        this(pageSize, maxMemorySize, false);
+    }
+
+    public CacheManager(int pageSize, MemorySize maxMemorySize, boolean mmapEnabled) {
         this.pageSize = pageSize;
+        this.mmapEnabled = mmapEnabled;
         this.cache =
                 Caffeine.newBuilder()
                         .weigher(this::weigh)
@@ -58,6 +71,13 @@ public class CacheManager {
         return pageSize;
     }
 
+    /** Creates a {@link RandomInputView} to read the local file. */
+    public RandomInputView createInputView(File file) throws IOException {
+        return mmapEnabled
+                ? new MappedRandomInputView(file)
+                : new CachedRandomInputView(file, this);
+    }
+
     public MemorySegment getPage(
             RandomAccessFile file, int pageNumber, Consumer<Integer> cleanCallback) {
         CacheKey key = new CacheKey(file, pageNumber);
@@ -106,8 +126,14 @@ public class CacheManager {
             long pageAddress = (long) pageNumber * pageSize;
             int len = (int) Math.min(pageSize, length - pageAddress);
             byte[] bytes = new byte[len];
-            file.seek(pageAddress);
-            file.readFully(bytes);
+            // positional reads do not change the position of the file
+            FileChannel channel = file.getChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, pageAddress + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
             return MemorySegment.wrap(bytes);
         }
 
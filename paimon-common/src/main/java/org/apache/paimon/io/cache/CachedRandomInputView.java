@@ -19,11 +19,9 @@
 package org.apache.paimon.io.cache;
 
 import org.apache.paimon.data.AbstractPagedInputView;
-import org.apache.paimon.io.SeekableDataInputView;
 import org.apache.paimon.memory.MemorySegment;
 import org.apache.paimon.utils.MathUtils;
 
-import java.io.Closeable;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -35,11 +33,10 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * A {@link SeekableDataInputView} to read bytes from {@link RandomAccessFile}, the bytes can be
- * cached to {@link MemorySegment}s in {@link CacheManager}.
+ * A {@link RandomInputView} to read bytes from {@link RandomAccessFile}, the bytes can be cached to
+ * {@link MemorySegment}s in {@link CacheManager}.
  */
-public class CachedRandomInputView extends AbstractPagedInputView
-        implements SeekableDataInputView, Closeable {
+public class CachedRandomInputView extends AbstractPagedInputView implements RandomInputView {
 
     private final RandomAccessFile file;
     private final long fileLength;
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.io.cache;
+
+import org.apache.paimon.data.AbstractPagedInputView;
+import org.apache.paimon.memory.MemorySegment;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link RandomInputView} to read bytes from a memory mapped file. The file is mapped to regions
+ * of at most 1 GB, the pages of the regions are cached by the operating system. The regions are
+ * unmapped when the view is closed, the view must not be read afterwards.
+ */
+public class MappedRandomInputView extends AbstractPagedInputView implements RandomInputView {
+
+    private static final int REGION_SIZE_BITS = 30;
+    private static final long REGION_SIZE_MASK = (1L << REGION_SIZE_BITS) - 1;
+
+    private MemorySegment[] regions;
+
+    private int currentRegionIndex;
+
+    public MappedRandomInputView(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            int numRegions = (int) ((fileLength + REGION_SIZE_MASK) >>> REGION_SIZE_BITS);
+            this.regions = new MemorySegment[numRegions];
+            for (int i = 0; i < numRegions; i++) {
+                long position = (long) i << REGION_SIZE_BITS;
+                long size = Math.min(REGION_SIZE_MASK + 1, fileLength - position);
+                regions[i] =
+                        MemorySegment.wrapOffHeapMemory(
+                                channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+            }
+        }
+        this.currentRegionIndex = -1;
+    }
+
+    @Override
+    public void setReadPosition(long position) {
+        this.currentRegionIndex = (int) (position >>> REGION_SIZE_BITS);
+        MemorySegment segment = regions[currentRegionIndex];
+        seekInput(segment, (int) (position & REGION_SIZE_MASK), segment.size());
+    }
+
+    @Override
+    protected MemorySegment nextSegment(MemorySegment current) throws EOFException {
+        currentRegionIndex++;
+        if (currentRegionIndex >= regions.length) {
+            throw new EOFException();
+        }
+        return regions[currentRegionIndex];
+    }
+
+    @Override
+    protected int getLimitForSegment(MemorySegment segment) {
+        return segment.size();
+    }
+
+    @Override
+    public void close() {
+        if (regions == null) {
+            return;
+        }
+
+        // unmap at once instead of waiting for the garbage collector to release the mappings, the
+        // regions of evicted lookup files would otherwise hold address space and file handles
+        for (MemorySegment region : regions) {
+            region.free();
+        }
+        regions = null;
+        clear();
+    }
+}
@@ -19,7 +19,7 @@
 package org.apache.paimon.lookup.hash;
 
 import org.apache.paimon.io.cache.CacheManager;
-import org.apache.paimon.io.cache.CachedRandomInputView;
+import org.apache.paimon.io.cache.RandomInputView;
 import org.apache.paimon.lookup.LookupStoreReader;
 import org.apache.paimon.utils.MurmurHashUtils;
 import org.apache.paimon.utils.VarLengthIntUtils;
@@ -58,7 +58,7 @@ public class HashLookupStoreReader
     // Offset of the data for different key length
     private final long[] dataOffsets;
     // File input view
-    private CachedRandomInputView inputView;
+    private RandomInputView inputView;
     // Buffers
     private final byte[] slotBuffer;
 
@@ -127,7 +127,7 @@ public class HashLookupStoreReader
         }
 
         // Create Mapped file in read-only mode
-        inputView = new CachedRandomInputView(file, cacheManager);
+        inputView = cacheManager.createInputView(file);
 
         // logging
         DecimalFormat integerFormat = new DecimalFormat("#,##0.00");
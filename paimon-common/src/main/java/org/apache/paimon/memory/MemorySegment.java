@@ -96,6 +96,17 @@ public final class MemorySegment {
         return heapMemory == null;
     }
 
+    /**
+     * Releases the off-heap memory of this segment at once. The segment must not be accessed
+     * afterwards. Heap segments are left to the garbage collector.
+     */
+    public void free() {
+        if (offHeapBuffer != null) {
+            MemoryUtils.releaseDirectBuffer(offHeapBuffer);
+            offHeapBuffer = null;
+        }
+    }
+
     public byte[] getArray() {
         if (heapMemory != null) {
             return heapMemory;
@@ -21,6 +21,7 @@ package org.apache.paimon.memory;
 import org.apache.paimon.utils.Preconditions;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -38,6 +39,8 @@ public class MemoryUtils {
     private static final long BUFFER_ADDRESS_FIELD_OFFSET =
             getClassFieldOffset(Buffer.class, "address");
 
+    private static final BufferCleaner BUFFER_CLEANER = createBufferCleaner();
+
     @SuppressWarnings("restriction")
     private static sun.misc.Unsafe getUnsafe() {
         try {
@@ -123,6 +126,55 @@ public class MemoryUtils {
         return offHeapAddress;
     }
 
+    /**
+     * Releases the native memory of a direct or mapped {@link ByteBuffer} immediately instead of
+     * waiting for the buffer to be garbage collected. The buffer must not be accessed afterwards.
+     *
+     * @return whether the memory is released, false if this JVM does not support releasing
+     */
+    public static boolean releaseDirectBuffer(ByteBuffer buffer) {
+        Preconditions.checkArgument(buffer.isDirect(), "Can't release a non-direct ByteBuffer.");
+        if (BUFFER_CLEANER == null) {
+            return false;
+        }
+
+        try {
+            BUFFER_CLEANER.clean(buffer);
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private static BufferCleaner createBufferCleaner() {
+        try {
+            // Java 9+
+            Method invokeCleaner = UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+            return buffer -> invokeCleaner.invoke(UNSAFE, buffer);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            try {
+                Method cleanerMethod =
+                        Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return buffer -> {
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if (cleaner != null) {
+                        cleanMethod.invoke(cleaner);
+                    }
+                };
+            } catch (Throwable t) {
+                return null;
+            }
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private interface BufferCleaner {
+        void clean(ByteBuffer buffer) throws Exception;
+    }
+
     /** Should not be instantiated. */
     private MemoryUtils() {}
 }
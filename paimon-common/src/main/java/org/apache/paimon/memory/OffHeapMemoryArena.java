@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.memory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * An arena of off-heap {@link MemorySegment}s shared by {@link OffHeapMemorySegmentPool}s. Released
+ * segments are kept and handed out again, so the cost of allocating direct memory is only paid once
+ * for each page. At most {@code maxFreeBytes} of released segments are kept, segments released
+ * beyond this cap are freed at once.
+ *
+ * <p>This class is thread safe.
+ */
+public class OffHeapMemoryArena {
+
+    /** Default cap of the free memory kept by an arena. */
+    public static final long DEFAULT_MAX_FREE_BYTES = 256 * 1024 * 1024;
+
+    private static final OffHeapMemoryArena SHARED = new OffHeapMemoryArena();
+
+    private final long maxFreeBytes;
+    private final Map<Integer, Queue<MemorySegment>> freeSegments;
+    private final AtomicLong allocatedBytes;
+    private final AtomicLong freeBytes;
+
+    public OffHeapMemoryArena() {
+        this(DEFAULT_MAX_FREE_BYTES);
+    }
+
+    public OffHeapMemoryArena(long maxFreeBytes) {
+        checkArgument(maxFreeBytes >= 0, "Max free bytes should not be negative.");
+        this.maxFreeBytes = maxFreeBytes;
+        this.freeSegments = new ConcurrentHashMap<>();
+        this.allocatedBytes = new AtomicLong(0);
+        this.freeBytes = new AtomicLong(0);
+    }
+
+    /** Returns the arena shared by all pools of this JVM. */
+    public static OffHeapMemoryArena shared() {
+        return SHARED;
+    }
+
+    /** Takes a free segment of the given size, allocates a new one if there is none. */
+    public MemorySegment allocate(int pageSize) {
+        Queue<MemorySegment> segments = freeSegments.get(pageSize);
+        MemorySegment segment = segments == null ? null : segments.poll();
+        if (segment != null) {
+            freeBytes.addAndGet(-pageSize);
+            return segment;
+        }
+
+        segment = MemorySegment.allocateOffHeapMemory(pageSize);
+        allocatedBytes.addAndGet(pageSize);
+        return segment;
+    }
+
+    /**
+     * Gives segments back to this arena so that they can be reused, segments exceeding the cap of
+     * free memory are freed.
+     */
+    public void release(Collection<MemorySegment> segments) {
+        for (MemorySegment segment : segments) {
+            checkArgument(segment.isOffHeap(), "Only off-heap segments can be released to arena.");
+            int size = segment.size();
+            if (freeBytes.addAndGet(size) > maxFreeBytes) {
+                freeBytes.addAndGet(-size);
+                allocatedBytes.addAndGet(-size);
+                segment.free();
+            } else {
+                freeSegments
+                        .computeIfAbsent(size, k -> new ConcurrentLinkedQueue<>())
+                        .add(segment);
+            }
+        }
+    }
+
+    /** Total bytes of off-heap memory allocated by this arena and not freed. */
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /** Bytes of off-heap memory which are released and not taken again. */
+    public long freeBytes() {
+        return freeBytes.get();
+    }
+}
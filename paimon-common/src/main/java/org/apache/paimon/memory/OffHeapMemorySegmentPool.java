@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * MemorySegment pool from off-heap memory. Pages are taken from and returned to an {@link
+ * OffHeapMemoryArena}, this pool only limits the number of pages in use.
+ *
+ * <p>All pages should be returned before the pool is closed, pages still in use on closing are
+ * reported as leaked.
+ *
+ * <p>This class is thread safe.
+ */
+public class OffHeapMemorySegmentPool implements MemorySegmentPool, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapMemorySegmentPool.class);
+
+    private final OffHeapMemoryArena arena;
+    private final int maxPages;
+    private final int pageSize;
+
+    private int numPage;
+    private boolean closed;
+
+    public OffHeapMemorySegmentPool(long maxMemory, int pageSize) {
+        this(OffHeapMemoryArena.shared(), maxMemory, pageSize);
+    }
+
+    public OffHeapMemorySegmentPool(OffHeapMemoryArena arena, long maxMemory, int pageSize) {
+        this.arena = arena;
+        this.maxPages = (int) (maxMemory / pageSize);
+        this.pageSize = pageSize;
+        this.numPage = 0;
+        this.closed = false;
+    }
+
+    @Override
+    public synchronized MemorySegment nextSegment() {
+        if (closed) {
+            throw new IllegalStateException("Memory segment pool is closed.");
+        }
+
+        if (numPage < maxPages) {
+            numPage++;
+            return arena.allocate(pageSize);
+        }
+
+        return null;
+    }
+
+    @Override
+    public int pageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public synchronized void returnAll(List<MemorySegment> memory) {
+        numPage -= memory.size();
+        arena.release(memory);
+    }
+
+    @Override
+    public synchronized int freePages() {
+        return maxPages - numPage;
+    }
+
+    /** Number of pages taken from this pool and not returned. */
+    public synchronized int usedPages() {
+        return numPage;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        if (numPage > 0) {
+            LOG.warn(
+                    "Off-heap memory segment pool is closed with {} pages ({} bytes) not returned, "
+                            + "these pages are leaked from the shared arena.",
+                    numPage,
+                    (long) numPage * pageSize);
+        }
+    }
+}
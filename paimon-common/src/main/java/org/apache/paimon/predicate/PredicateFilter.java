@@ -18,6 +18,7 @@
 
 package org.apache.paimon.predicate;
 
+import org.apache.paimon.codegen.RecordFilter;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.RowDataToObjectArrayConverter;
@@ -26,23 +27,34 @@ import javax.annotation.Nullable;
 
 import java.util.List;
 
-/** A {@link java.util.function.Predicate} to filter {@link InternalRow}. */
+/**
+ * A {@link java.util.function.Predicate} to filter {@link InternalRow}. The predicate is either
+ * interpreted on the fields converted to objects, or tested by a generated {@link RecordFilter}.
+ */
 public class PredicateFilter implements java.util.function.Predicate<InternalRow> {
 
-    private final RowDataToObjectArrayConverter arrayConverter;
-    @Nullable private final Predicate predicate;
+    private final RecordFilter filter;
 
     public PredicateFilter(RowType rowType, List<Predicate> predicates) {
         this(rowType, predicates.isEmpty() ? null : PredicateBuilder.and(predicates));
     }
 
     public PredicateFilter(RowType rowType, @Nullable Predicate predicate) {
-        this.arrayConverter = new RowDataToObjectArrayConverter(rowType);
-        this.predicate = predicate;
+        if (predicate == null) {
+            this.filter = row -> true;
+        } else {
+            RowDataToObjectArrayConverter arrayConverter =
+                    new RowDataToObjectArrayConverter(rowType);
+            this.filter = row -> predicate.test(arrayConverter.convert(row));
+        }
+    }
+
+    public PredicateFilter(RecordFilter filter) {
+        this.filter = filter;
     }
 
     @Override
     public boolean test(InternalRow rowData) {
-        return predicate == null || predicate.test(arrayConverter.convert(rowData));
+        return filter.test(rowData);
     }
 }
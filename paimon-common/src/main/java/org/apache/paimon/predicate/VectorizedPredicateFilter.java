@@ -0,0 +1,597 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.predicate;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.columnar.BooleanColumnVector;
+import org.apache.paimon.data.columnar.ByteColumnVector;
+import org.apache.paimon.data.columnar.BytesColumnVector;
+import org.apache.paimon.data.columnar.ColumnVector;
+import org.apache.paimon.data.columnar.DoubleColumnVector;
+import org.apache.paimon.data.columnar.FloatColumnVector;
+import org.apache.paimon.data.columnar.IntColumnVector;
+import org.apache.paimon.data.columnar.LongColumnVector;
+import org.apache.paimon.data.columnar.ShortColumnVector;
+import org.apache.paimon.data.columnar.VectorizedColumnBatch;
+
+import java.util.List;
+
+/**
+ * A filter to evaluate a {@link Predicate} on a {@link VectorizedColumnBatch} column by column.
+ * Each leaf of the predicate narrows down the selected rows by a loop over the primitive values of
+ * its {@link ColumnVector}, instead of testing the whole predicate row by row.
+ *
+ * <p>The field indexes of the predicate are the column indexes of the batch. Leaves which can not
+ * be evaluated on vectors, such as leaves on decimal or timestamp fields, match all rows. So the
+ * filter may keep unmatched rows, but never drops matched rows.
+ */
+public class VectorizedPredicateFilter {
+
+    private static final Evaluator ALL = (batch, selected, numSelected) -> numSelected;
+
+    private static final Evaluator NONE = (batch, selected, numSelected) -> 0;
+
+    private final Evaluator evaluator;
+
+    public VectorizedPredicateFilter(Predicate predicate) {
+        this.evaluator = predicate.visit(new EvaluatorBuilder());
+    }
+
+    /**
+     * Filters the first {@code numRows} rows of the batch.
+     *
+     * @param selected array to put the positions of the matched rows in ascending order, its length
+     *     must not be less than {@code numRows}
+     * @return the number of matched rows
+     */
+    public int filter(VectorizedColumnBatch batch, int numRows, int[] selected) {
+        for (int i = 0; i < numRows; i++) {
+            selected[i] = i;
+        }
+        return evaluator.evaluate(batch, selected, numRows);
+    }
+
+    /** Evaluates a predicate on the selected rows of a batch. */
+    private interface Evaluator {
+
+        /**
+         * Moves the positions of the matched rows to the front of {@code selected}, keeping their
+         * order, and returns the number of them.
+         */
+        int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected);
+    }
+
+    private static class EvaluatorBuilder implements FunctionVisitor<Evaluator> {
+
+        @Override
+        public Evaluator visitIsNotNull(FieldRef fieldRef) {
+            int column = fieldRef.index();
+            return (batch, selected, numSelected) -> {
+                ColumnVector vector = batch.columns[column];
+                int matched = 0;
+                for (int i = 0; i < numSelected; i++) {
+                    int row = selected[i];
+                    if (!vector.isNullAt(row)) {
+                        selected[matched++] = row;
+                    }
+                }
+                return matched;
+            };
+        }
+
+        @Override
+        public Evaluator visitIsNull(FieldRef fieldRef) {
+            int column = fieldRef.index();
+            return (batch, selected, numSelected) -> {
+                ColumnVector vector = batch.columns[column];
+                int matched = 0;
+                for (int i = 0; i < numSelected; i++) {
+                    int row = selected[i];
+                    if (vector.isNullAt(row)) {
+                        selected[matched++] = row;
+                    }
+                }
+                return matched;
+            };
+        }
+
+        @Override
+        public Evaluator visitStartsWith(FieldRef fieldRef, Object literal) {
+            if (literal == null) {
+                return NONE;
+            }
+            switch (fieldRef.type().getTypeRoot()) {
+                case CHAR:
+                case VARCHAR:
+                    return new StartsWithEvaluator(
+                            fieldRef.index(), ((BinaryString) literal).toBytes());
+                default:
+                    return ALL;
+            }
+        }
+
+        @Override
+        public Evaluator visitLessThan(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.LT);
+        }
+
+        @Override
+        public Evaluator visitGreaterOrEqual(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.GE);
+        }
+
+        @Override
+        public Evaluator visitNotEqual(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.NE);
+        }
+
+        @Override
+        public Evaluator visitLessOrEqual(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.LE);
+        }
+
+        @Override
+        public Evaluator visitEqual(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.EQ);
+        }
+
+        @Override
+        public Evaluator visitGreaterThan(FieldRef fieldRef, Object literal) {
+            return compare(fieldRef, literal, CompareOp.GT);
+        }
+
+        @Override
+        public Evaluator visitIn(FieldRef fieldRef, List<Object> literals) {
+            Evaluator[] children = new Evaluator[literals.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = visitEqual(fieldRef, literals.get(i));
+            }
+            return children.length == 0 ? NONE : new OrEvaluator(children);
+        }
+
+        @Override
+        public Evaluator visitNotIn(FieldRef fieldRef, List<Object> literals) {
+            Evaluator[] children = new Evaluator[literals.size()];
+            for (int i = 0; i < children.length; i++) {
+                children[i] = visitNotEqual(fieldRef, literals.get(i));
+            }
+            return new AndEvaluator(children);
+        }
+
+        @Override
+        public Evaluator visitAnd(List<Evaluator> children) {
+            return new AndEvaluator(children.toArray(new Evaluator[0]));
+        }
+
+        @Override
+        public Evaluator visitOr(List<Evaluator> children) {
+            return new OrEvaluator(children.toArray(new Evaluator[0]));
+        }
+
+        private Evaluator compare(FieldRef fieldRef, Object literal, CompareOp op) {
+            if (literal == null) {
+                return NONE;
+            }
+
+            int column = fieldRef.index();
+            switch (fieldRef.type().getTypeRoot()) {
+                case BOOLEAN:
+                    return new BooleanCompareEvaluator(column, (Boolean) literal, op);
+                case TINYINT:
+                    return new ByteCompareEvaluator(column, (Byte) literal, op);
+                case SMALLINT:
+                    return new ShortCompareEvaluator(column, (Short) literal, op);
+                case INTEGER:
+                case DATE:
+                case TIME_WITHOUT_TIME_ZONE:
+                    return new IntCompareEvaluator(column, (Integer) literal, op);
+                case BIGINT:
+                    return new LongCompareEvaluator(column, (Long) literal, op);
+                case FLOAT:
+                    return new FloatCompareEvaluator(column, (Float) literal, op);
+                case DOUBLE:
+                    return new DoubleCompareEvaluator(column, (Double) literal, op);
+                case CHAR:
+                case VARCHAR:
+                    return new BytesCompareEvaluator(
+                            column, ((BinaryString) literal).toBytes(), op);
+                default:
+                    return ALL;
+            }
+        }
+    }
+
+    private static class AndEvaluator implements Evaluator {
+
+        private final Evaluator[] children;
+
+        private AndEvaluator(Evaluator[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            for (Evaluator child : children) {
+                if (numSelected == 0) {
+                    break;
+                }
+                numSelected = child.evaluate(batch, selected, numSelected);
+            }
+            return numSelected;
+        }
+    }
+
+    /** Rows matched by a child are not evaluated by the following children. */
+    private static class OrEvaluator implements Evaluator {
+
+        private final Evaluator[] children;
+
+        private int[] remaining = new int[0];
+        private int[] childMatched = new int[0];
+        private int[] matched = new int[0];
+        private int[] merged = new int[0];
+
+        private OrEvaluator(Evaluator[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            if (remaining.length < numSelected) {
+                remaining = new int[numSelected];
+                childMatched = new int[numSelected];
+                matched = new int[numSelected];
+                merged = new int[numSelected];
+            }
+
+            System.arraycopy(selected, 0, remaining, 0, numSelected);
+            int numRemaining = numSelected;
+            int numMatched = 0;
+            for (Evaluator child : children) {
+                if (numRemaining == 0) {
+                    break;
+                }
+
+                System.arraycopy(remaining, 0, childMatched, 0, numRemaining);
+                int numChildMatched = child.evaluate(batch, childMatched, numRemaining);
+                if (numChildMatched == 0) {
+                    continue;
+                }
+
+                // merge the matched positions, and remove them from the remaining positions
+                int i = 0;
+                int j = 0;
+                int numMerged = 0;
+                int newNumRemaining = 0;
+                for (int k = 0; k < numRemaining; k++) {
+                    int row = remaining[k];
+                    while (i < numMatched && matched[i] < row) {
+                        merged[numMerged++] = matched[i++];
+                    }
+                    if (j < numChildMatched && childMatched[j] == row) {
+                        merged[numMerged++] = row;
+                        j++;
+                    } else {
+                        remaining[newNumRemaining++] = row;
+                    }
+                }
+                while (i < numMatched) {
+                    merged[numMerged++] = matched[i++];
+                }
+
+                int[] swap = matched;
+                matched = merged;
+                merged = swap;
+                numMatched = numMerged;
+                numRemaining = newNumRemaining;
+            }
+
+            System.arraycopy(matched, 0, selected, 0, numMatched);
+            return numMatched;
+        }
+    }
+
+    /** Operator to compare the field with the literal. */
+    private enum CompareOp {
+        EQ,
+        NE,
+        LT,
+        LE,
+        GT,
+        GE;
+
+        private boolean test(int compareResult) {
+            switch (this) {
+                case EQ:
+                    return compareResult == 0;
+                case NE:
+                    return compareResult != 0;
+                case LT:
+                    return compareResult < 0;
+                case LE:
+                    return compareResult <= 0;
+                case GT:
+                    return compareResult > 0;
+                default:
+                    return compareResult >= 0;
+            }
+        }
+    }
+
+    private static class BooleanCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final boolean literal;
+        private final CompareOp op;
+
+        private BooleanCompareEvaluator(int column, boolean literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            BooleanColumnVector vector = (BooleanColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row)
+                        && op.test(Boolean.compare(vector.getBoolean(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class ByteCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final byte literal;
+        private final CompareOp op;
+
+        private ByteCompareEvaluator(int column, byte literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            ByteColumnVector vector = (ByteColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row) && op.test(Byte.compare(vector.getByte(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class ShortCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final short literal;
+        private final CompareOp op;
+
+        private ShortCompareEvaluator(int column, short literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            ShortColumnVector vector = (ShortColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row)
+                        && op.test(Short.compare(vector.getShort(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class IntCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final int literal;
+        private final CompareOp op;
+
+        private IntCompareEvaluator(int column, int literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            IntColumnVector vector = (IntColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row)
+                        && op.test(Integer.compare(vector.getInt(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class LongCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final long literal;
+        private final CompareOp op;
+
+        private LongCompareEvaluator(int column, long literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            LongColumnVector vector = (LongColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row) && op.test(Long.compare(vector.getLong(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class FloatCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final float literal;
+        private final CompareOp op;
+
+        private FloatCompareEvaluator(int column, float literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            FloatColumnVector vector = (FloatColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row)
+                        && op.test(Float.compare(vector.getFloat(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class DoubleCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final double literal;
+        private final CompareOp op;
+
+        private DoubleCompareEvaluator(int column, double literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            DoubleColumnVector vector = (DoubleColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row)
+                        && op.test(Double.compare(vector.getDouble(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+    }
+
+    private static class BytesCompareEvaluator implements Evaluator {
+
+        private final int column;
+        private final byte[] literal;
+        private final CompareOp op;
+
+        private BytesCompareEvaluator(int column, byte[] literal, CompareOp op) {
+            this.column = column;
+            this.literal = literal;
+            this.op = op;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            BytesColumnVector vector = (BytesColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row) && op.test(compare(vector.getBytes(row), literal))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+
+        /** Compares unsigned bytes, the same as {@link BinaryString#compareTo}. */
+        private static int compare(BytesColumnVector.Bytes bytes, byte[] literal) {
+            int len = Math.min(bytes.len, literal.length);
+            for (int i = 0; i < len; i++) {
+                int res = (bytes.data[bytes.offset + i] & 0xFF) - (literal[i] & 0xFF);
+                if (res != 0) {
+                    return res;
+                }
+            }
+            return bytes.len - literal.length;
+        }
+    }
+
+    private static class StartsWithEvaluator implements Evaluator {
+
+        private final int column;
+        private final byte[] prefix;
+
+        private StartsWithEvaluator(int column, byte[] prefix) {
+            this.column = column;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public int evaluate(VectorizedColumnBatch batch, int[] selected, int numSelected) {
+            BytesColumnVector vector = (BytesColumnVector) batch.columns[column];
+            int matched = 0;
+            for (int i = 0; i < numSelected; i++) {
+                int row = selected[i];
+                if (!vector.isNullAt(row) && startsWith(vector.getBytes(row))) {
+                    selected[matched++] = row;
+                }
+            }
+            return matched;
+        }
+
+        private boolean startsWith(BytesColumnVector.Bytes bytes) {
+            if (bytes.len < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (bytes.data[bytes.offset + i] != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.io.DataInputView;
+import org.apache.paimon.io.DataOutputView;
+
+import java.io.IOException;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * A bloom filter of byte arrays. A key is hashed to {@code numHashFunctions} bits by double
+ * hashing with murmur hash, see "Less Hashing, Same Performance: Building a Better Bloom Filter".
+ *
+ * <p>{@link #mightContain} never returns false for added keys, and returns true for other keys with
+ * about the false positive probability the filter is created with.
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashFunctions;
+
+    private BloomFilter(long[] bits, int numHashFunctions) {
+        this.bits = bits;
+        this.numBits = (long) bits.length * 64;
+        this.numHashFunctions = numHashFunctions;
+    }
+
+    /** Creates a bloom filter sized for the expected number of keys. */
+    public static BloomFilter create(long expectedEntries, double fpp) {
+        checkArgument(fpp > 0 && fpp < 1, "False positive probability must be in (0, 1).");
+        long entries = Math.max(1, expectedEntries);
+        long numBits = (long) (-entries * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        // bounded by the max length of an array
+        numBits = Math.min(Math.max(64, numBits), (long) Integer.MAX_VALUE * 64);
+        int numHashFunctions =
+                Math.max(1, (int) Math.round((double) numBits / entries * Math.log(2)));
+        return new BloomFilter(new long[(int) ((numBits + 63) / 64)], numHashFunctions);
+    }
+
+    /** The hash of a key, filters can be built from the hashes without keeping the keys. */
+    public static int hash(byte[] key) {
+        return MurmurHashUtils.hashBytes(key);
+    }
+
+    public void add(byte[] key) {
+        addHash(hash(key));
+    }
+
+    public boolean mightContain(byte[] key) {
+        return mightContainHash(hash(key));
+    }
+
+    public void addHash(int hash) {
+        long hash1 = Integer.toUnsignedLong(hash);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long index = (hash1 + i * hash2) % numBits;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    public boolean mightContainHash(int hash) {
+        long hash1 = Integer.toUnsignedLong(hash);
+        long hash2 = secondHash(hash1);
+        for (int i = 0; i < numHashFunctions; i++) {
+            long index = (hash1 + i * hash2) % numBits;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long secondHash(long hash1) {
+        return Integer.toUnsignedLong(MurmurHashUtils.fmix((int) hash1 ^ 0x9E3779B9));
+    }
+
+    /** Memory used by the bits of this filter in bytes. */
+    public long memorySize() {
+        return (long) bits.length * 8;
+    }
+
+    public void serialize(DataOutputView out) throws IOException {
+        out.writeInt(numHashFunctions);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    public static BloomFilter deserialize(DataInputView in) throws IOException {
+        int numHashFunctions = in.readInt();
+        long[] bits = new long[in.readInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bits, numHashFunctions);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+import static org.apache.paimon.utils.Preconditions.checkState;
+
+/**
+ * A token bucket rate limiter shared by threads. The bucket is refilled with {@code
+ * permitsPerSecond} permits every second and holds at most the permits of one second, so a burst
+ * after an idle period is bounded.
+ *
+ * <p>Acquiring more permits than available goes into debt, the caller sleeps until the debt is
+ * paid off. Throttling can be suspended, for example when the acquirer must finish as soon as
+ * possible; {@link #suspend} and {@link #resume} can be nested.
+ */
+public class RateLimiter {
+
+    private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final long permitsPerSecond;
+    private final AtomicInteger suspended;
+
+    private long availablePermits;
+    private long lastRefillNanos;
+
+    public RateLimiter(long permitsPerSecond) {
+        checkArgument(permitsPerSecond > 0, "Permits per second must be positive.");
+        this.permitsPerSecond = permitsPerSecond;
+        this.suspended = new AtomicInteger(0);
+        this.availablePermits = permitsPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public long permitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /** Acquires the given number of permits, blocking until they are available. */
+    public void acquire(long permits) throws InterruptedException {
+        if (permits <= 0 || isSuspended()) {
+            return;
+        }
+
+        long waitNanos = reserve(permits);
+        long deadline = System.nanoTime() + waitNanos;
+        // sleep in slices to stop waiting as soon as throttling is suspended
+        while (waitNanos > 0 && !isSuspended()) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, MAX_SLEEP_NANOS));
+            waitNanos = deadline - System.nanoTime();
+        }
+    }
+
+    /** Suspends throttling, acquiring permits does not block until {@link #resume} is called. */
+    public void suspend() {
+        suspended.incrementAndGet();
+    }
+
+    /** Resumes throttling suspended by {@link #suspend}. */
+    public void resume() {
+        int count = suspended.decrementAndGet();
+        checkState(count >= 0, "Rate limiter is resumed more than suspended.");
+    }
+
+    public boolean isSuspended() {
+        return suspended.get() > 0;
+    }
+
+    /** Takes the permits from the bucket and returns the nanoseconds to wait for the debt. */
+    private synchronized long reserve(long permits) {
+        long now = System.nanoTime();
+        long refill = (long) ((now - lastRefillNanos) * permitsPerNano());
+        if (refill > 0) {
+            availablePermits = Math.min(permitsPerSecond, availablePermits + refill);
+            lastRefillNanos = now;
+        }
+
+        availablePermits -= permits;
+        return availablePermits >= 0 ? 0 : (long) (-availablePermits / permitsPerNano());
+    }
+
+    private double permitsPerNano() {
+        return (double) permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    }
+}
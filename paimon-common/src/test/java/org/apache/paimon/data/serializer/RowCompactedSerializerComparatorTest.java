@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.paimon.data.serializer;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.InternalRow.FieldGetter;
+import org.apache.paimon.data.Timestamp;
+import org.apache.paimon.types.DataTypeRoot;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.InternalRowUtils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link RowCompactedSerializer#createSerializedComparator()}. */
+public class RowCompactedSerializerComparatorTest {
+
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    DataTypes.BOOLEAN(),
+                    DataTypes.TINYINT(),
+                    DataTypes.INT(),
+                    DataTypes.BIGINT(),
+                    DataTypes.DOUBLE(),
+                    DataTypes.STRING(),
+                    DataTypes.BYTES(),
+                    DataTypes.DECIMAL(5, 2),
+                    DataTypes.DECIMAL(25, 2),
+                    DataTypes.TIMESTAMP(3),
+                    DataTypes.TIMESTAMP(9));
+
+    @Test
+    public void testCompare() {
+        RowCompactedSerializer serializer = new RowCompactedSerializer(ROW_TYPE);
+        Comparator<byte[]> comparator = serializer.createSerializedComparator();
+        assertThat(comparator).isNotNull();
+
+        Random random = new Random();
+        List<InternalRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            rows.add(randomRow(random));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            byte[] bytes1 = serializer.serializeToBytes(rows.get(i));
+            for (int j = 0; j < rows.size(); j += 7) {
+                byte[] bytes2 = serializer.serializeToBytes(rows.get(j));
+                assertThat(Integer.signum(comparator.compare(bytes1, bytes2)))
+                        .isEqualTo(Integer.signum(compare(rows.get(i), rows.get(j))));
+            }
+        }
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        RowType rowType = RowType.of(DataTypes.INT(), DataTypes.ARRAY(DataTypes.INT()));
+        assertThat(new RowCompactedSerializer(rowType).createSerializedComparator()).isNull();
+    }
+
+    private static InternalRow randomRow(Random random) {
+        // few distinct values, so that the following fields are compared as well
+        GenericRow row = new GenericRow(ROW_TYPE.getFieldCount());
+        row.setField(0, random.nextBoolean());
+        row.setField(1, (byte) (random.nextInt(3) - 1));
+        row.setField(2, random.nextInt(3) - 1);
+        row.setField(3, (long) random.nextInt(3) - 1);
+        row.setField(4, random.nextInt(3) - 1.5);
+        row.setField(5, BinaryString.fromString(randomString(random)));
+        row.setField(6, randomString(random).getBytes(StandardCharsets.UTF_8));
+        row.setField(7, Decimal.fromUnscaledLong(random.nextInt(3) - 1, 5, 2));
+        row.setField(8, Decimal.fromBigDecimal(new BigDecimal(random.nextInt(3) - 1), 25, 2));
+        row.setField(9, Timestamp.fromEpochMillis(random.nextInt(3) - 1));
+        row.setField(10, Timestamp.fromEpochMillis(random.nextInt(3), random.nextInt(3)));
+        for (int i = 0; i < row.getFieldCount(); i++) {
+            if (random.nextInt(10) == 0) {
+                row.setField(i, null);
+            }
+        }
+        return row;
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            // include a character which is negative as a signed byte
+            builder.append(random.nextBoolean() ? 'a' : '\u00e9');
+        }
+        return builder.toString();
+    }
+
+    private static int compare(InternalRow row1, InternalRow row2) {
+        for (int i = 0; i < ROW_TYPE.getFieldCount(); i++) {
+            FieldGetter getter = InternalRow.createFieldGetter(ROW_TYPE.getTypeAt(i), i);
+            Object field1 = getter.getFieldOrNull(row1);
+            Object field2 = getter.getFieldOrNull(row2);
+            int cmp;
+            if (field1 == null || field2 == null) {
+                cmp = field1 == null ? (field2 == null ? 0 : -1) : 1;
+            } else {
+                DataTypeRoot root = ROW_TYPE.getTypeAt(i).getTypeRoot();
+                if (root == DataTypeRoot.BOOLEAN) {
+                    cmp = Boolean.compare((boolean) field1, (boolean) field2);
+                } else if (root == DataTypeRoot.VARCHAR) {
+                    cmp = ((BinaryString) field1).compareTo((BinaryString) field2);
+                } else {
+                    cmp = InternalRowUtils.compare(field1, field2, root);
+                }
+            }
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.fs;
+
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link VectoredReadUtils}. */
+public class VectoredReadUtilsTest {
+
+    private static final long LATENCY_MILLIS = 100;
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private final FileIO fileIO = LocalFileIO.create();
+
+    private Path path;
+    private byte[] content;
+
+    @BeforeEach
+    public void before() throws IOException {
+        path = new Path(tempDir.toString(), "file");
+        content = new byte[64 * 1024];
+        new Random().nextBytes(content);
+        try (PositionOutputStream out = fileIO.newOutputStream(path, false)) {
+            out.write(content);
+        }
+    }
+
+    @Test
+    public void testMergeRanges() {
+        List<FileRange> ranges =
+                Arrays.asList(
+                        FileRange.createFileRange(82, 10),
+                        FileRange.createFileRange(0, 10),
+                        FileRange.createFileRange(12, 10),
+                        FileRange.createFileRange(30, 50));
+
+        List<VectoredReadUtils.CombinedRange> combined =
+                VectoredReadUtils.mergeRanges(ranges, 4, 60);
+        assertThat(combined).hasSize(3);
+        assertThat(combined.get(0).offset()).isEqualTo(0);
+        assertThat(combined.get(0).length()).isEqualTo(22);
+        assertThat(combined.get(0).ranges()).containsExactly(ranges.get(1), ranges.get(2));
+        // the gap is too large
+        assertThat(combined.get(1).offset()).isEqualTo(30);
+        assertThat(combined.get(1).length()).isEqualTo(50);
+        // the merged range would be too large
+        assertThat(combined.get(2).offset()).isEqualTo(82);
+        assertThat(combined.get(2).ranges()).containsExactly(ranges.get(0));
+    }
+
+    @Test
+    public void testReadVectoredByStream() throws IOException {
+        List<FileRange> ranges = randomRanges(20);
+        try (SeekableInputStream in = fileIO.newInputStream(path)) {
+            in.seek(7);
+            in.readVectored(ranges);
+            assertThat(in.getPos()).isEqualTo(7);
+        }
+        assertData(ranges);
+    }
+
+    @Test
+    public void testReadVectoredConcurrently() throws IOException {
+        // disjoint ranges which can not be merged
+        List<FileRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ranges.add(FileRange.createFileRange(i * 8 * 1024, 1024));
+        }
+
+        AtomicInteger requests = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            long start = System.currentTimeMillis();
+            VectoredReadUtils.readVectored(
+                    ranges, () -> slowStream(requests), executor, 1024, 4 * 1024);
+            assertData(ranges);
+            long elapsed = System.currentTimeMillis() - start;
+
+            assertThat(requests.get()).isEqualTo(8);
+            // reading the ranges one by one costs at least 8 latencies
+            assertThat(elapsed).isLessThan(8 * LATENCY_MILLIS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMergeAndSplitRanges() throws IOException {
+        List<FileRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ranges.add(FileRange.createFileRange(i * 1024 + 100, 1000));
+        }
+        ranges.add(FileRange.createFileRange(32 * 1024, 10000));
+
+        AtomicInteger requests = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            VectoredReadUtils.readVectored(
+                    ranges, () -> slowStream(requests), executor, 1024, 4 * 1024);
+            assertData(ranges);
+            // the small ranges are merged into one read, the large range is read by 3 parts
+            assertThat(requests.get()).isEqualTo(4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadFailure() {
+        FileRange range = FileRange.createFileRange(0, 1024);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            VectoredReadUtils.readVectored(
+                    Arrays.asList(range),
+                    () -> {
+                        throw new IOException("Expected failure.");
+                    },
+                    executor,
+                    1024,
+                    4 * 1024);
+            assertThatThrownBy(() -> VectoredReadUtils.awaitData(range))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Expected failure.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<FileRange> randomRanges(int num) {
+        Random random = new Random();
+        List<FileRange> ranges = new ArrayList<>();
+        int step = content.length / num;
+        for (int i = 0; i < num; i++) {
+            ranges.add(FileRange.createFileRange(i * step, random.nextInt(step) + 1));
+        }
+        return ranges;
+    }
+
+    private void assertData(List<FileRange> ranges) throws IOException {
+        for (FileRange range : ranges) {
+            int offset = (int) range.getOffset();
+            assertThat(VectoredReadUtils.awaitData(range))
+                    .isEqualTo(Arrays.copyOfRange(content, offset, offset + range.getLength()));
+        }
+    }
+
+    /** A stream of which the first read costs a latency, like a request to an object store. */
+    private SeekableInputStream slowStream(AtomicInteger requests) throws IOException {
+        requests.incrementAndGet();
+        return new SeekableInputStreamWrapper(fileIO.newInputStream(path)) {
+
+            private boolean requested = false;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (!requested) {
+                    requested = true;
+                    try {
+                        Thread.sleep(LATENCY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                }
+                return super.read(b, off, len);
+            }
+        };
+    }
+}
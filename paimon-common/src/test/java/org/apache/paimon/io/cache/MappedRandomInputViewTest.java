@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.io.cache;
+
+import org.apache.paimon.memory.MemorySegment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link MappedRandomInputView}. */
+public class MappedRandomInputViewTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    public void testRandomRead() throws IOException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        byte[] bytes = new byte[rnd.nextInt(5000, 100000)];
+        rnd.nextBytes(bytes);
+        MemorySegment segment = MemorySegment.wrap(bytes);
+        File file = new File(tempDir.toFile(), "file");
+        Files.write(file.toPath(), bytes);
+
+        MappedRandomInputView view = new MappedRandomInputView(file);
+        view.setReadPosition(0);
+        assertThat(view.readLong()).isEqualTo(segment.getLongBigEndian(0));
+
+        for (int i = 0; i < 10000; i++) {
+            int position = rnd.nextInt(bytes.length - 8);
+            view.setReadPosition(position);
+            assertThat(view.readLong()).isEqualTo(segment.getLongBigEndian(position));
+        }
+
+        view.setReadPosition(bytes.length - 1);
+        assertThat(view.readByte()).isEqualTo(bytes[bytes.length - 1]);
+        assertThatThrownBy(view::readByte).isInstanceOf(EOFException.class);
+        view.close();
+    }
+}
@@ -286,6 +286,14 @@ public class HashLookupStoreFactoryTest {
         }
     }
 
+    @Test
+    public void testMmap() throws IOException {
+        factory =
+                new HashLookupStoreFactory(
+                        new CacheManager(1024, new MemorySize(8096), true), 0.75d);
+        testReadKeyToString(generateStringKeys(1000));
+    }
+
     @Test
     public void testIterate() throws IOException {
         Integer[] keys = generateIntKeys(100);
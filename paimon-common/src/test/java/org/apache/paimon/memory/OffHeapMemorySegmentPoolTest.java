@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link OffHeapMemorySegmentPool} and {@link OffHeapMemoryArena}. */
+public class OffHeapMemorySegmentPoolTest {
+
+    private static final int PAGE_SIZE = 1024;
+
+    @Test
+    public void testMaxPages() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        OffHeapMemorySegmentPool pool =
+                new OffHeapMemorySegmentPool(arena, 4 * PAGE_SIZE, PAGE_SIZE);
+
+        List<MemorySegment> segments = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MemorySegment segment = pool.nextSegment();
+            assertThat(segment).isNotNull();
+            assertThat(segment.isOffHeap()).isTrue();
+            assertThat(segment.size()).isEqualTo(PAGE_SIZE);
+            segments.add(segment);
+        }
+        assertThat(pool.nextSegment()).isNull();
+        assertThat(pool.freePages()).isEqualTo(0);
+
+        pool.returnAll(segments.subList(0, 2));
+        assertThat(pool.freePages()).isEqualTo(2);
+        assertThat(pool.usedPages()).isEqualTo(2);
+    }
+
+    @Test
+    public void testReuseSegmentsAcrossPools() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        OffHeapMemorySegmentPool pool1 =
+                new OffHeapMemorySegmentPool(arena, 2 * PAGE_SIZE, PAGE_SIZE);
+        OffHeapMemorySegmentPool pool2 =
+                new OffHeapMemorySegmentPool(arena, 2 * PAGE_SIZE, PAGE_SIZE);
+
+        MemorySegment segment = pool1.nextSegment();
+        segment.putLong(0, 42L);
+        pool1.returnAll(Collections.singletonList(segment));
+        pool1.close();
+        assertThat(arena.allocatedBytes()).isEqualTo(PAGE_SIZE);
+        assertThat(arena.freeBytes()).isEqualTo(PAGE_SIZE);
+
+        // the released page is handed out to another pool
+        assertThat(pool2.nextSegment()).isSameAs(segment);
+        assertThat(arena.freeBytes()).isEqualTo(0);
+
+        pool2.nextSegment();
+        assertThat(arena.allocatedBytes()).isEqualTo(2 * PAGE_SIZE);
+    }
+
+    @Test
+    public void testDifferentPageSizes() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        OffHeapMemorySegmentPool pool1 = new OffHeapMemorySegmentPool(arena, PAGE_SIZE, PAGE_SIZE);
+        OffHeapMemorySegmentPool pool2 =
+                new OffHeapMemorySegmentPool(arena, 2 * PAGE_SIZE, 2 * PAGE_SIZE);
+
+        pool1.returnAll(Collections.singletonList(pool1.nextSegment()));
+        assertThat(pool2.nextSegment().size()).isEqualTo(2 * PAGE_SIZE);
+        assertThat(arena.freeBytes()).isEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        OffHeapMemorySegmentPool pool =
+                new OffHeapMemorySegmentPool(arena, 2 * PAGE_SIZE, PAGE_SIZE);
+
+        MemorySegment segment = pool.nextSegment();
+        // closing with a page in use only reports a leak
+        pool.close();
+        assertThat(pool.usedPages()).isEqualTo(1);
+        assertThatThrownBy(pool::nextSegment).isInstanceOf(IllegalStateException.class);
+
+        // pages returned after closing still go back to the arena
+        pool.returnAll(Collections.singletonList(segment));
+        assertThat(pool.usedPages()).isEqualTo(0);
+        assertThat(arena.freeBytes()).isEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    public void testFreeBeyondCap() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena(2 * PAGE_SIZE);
+        OffHeapMemorySegmentPool pool =
+                new OffHeapMemorySegmentPool(arena, 4 * PAGE_SIZE, PAGE_SIZE);
+
+        List<MemorySegment> segments = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            segments.add(pool.nextSegment());
+        }
+        assertThat(arena.allocatedBytes()).isEqualTo(4 * PAGE_SIZE);
+
+        // only two pages are kept for reuse, the others are freed
+        pool.returnAll(segments);
+        assertThat(arena.freeBytes()).isEqualTo(2 * PAGE_SIZE);
+        assertThat(arena.allocatedBytes()).isEqualTo(2 * PAGE_SIZE);
+        assertThat(pool.nextSegment()).isIn(segments.subList(0, 2));
+        pool.close();
+    }
+
+    @Test
+    public void testConcurrentPool() throws Exception {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        OffHeapMemorySegmentPool pool =
+                new OffHeapMemorySegmentPool(arena, 16 * PAGE_SIZE, PAGE_SIZE);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                for (int j = 0; j < 1000; j++) {
+                                    List<MemorySegment> segments = new ArrayList<>();
+                                    for (int k = 0; k < 4; k++) {
+                                        segments.add(pool.nextSegment());
+                                    }
+                                    pool.returnAll(segments);
+                                }
+                            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(pool.usedPages()).isEqualTo(0);
+        assertThat(pool.freePages()).isEqualTo(16);
+        assertThat(arena.freeBytes()).isEqualTo(arena.allocatedBytes());
+        pool.close();
+    }
+
+    @Test
+    public void testReleaseHeapSegment() {
+        OffHeapMemoryArena arena = new OffHeapMemoryArena();
+        assertThatThrownBy(
+                        () ->
+                                arena.release(
+                                        Collections.singletonList(
+                                                MemorySegment.allocateHeapMemory(PAGE_SIZE))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.predicate;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.Decimal;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.columnar.ColumnVector;
+import org.apache.paimon.data.columnar.ColumnarRow;
+import org.apache.paimon.data.columnar.ColumnarRowIterator;
+import org.apache.paimon.data.columnar.VectorizedColumnBatch;
+import org.apache.paimon.data.columnar.heap.HeapBytesVector;
+import org.apache.paimon.data.columnar.heap.HeapIntVector;
+import org.apache.paimon.data.columnar.heap.HeapLongVector;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link VectorizedPredicateFilter}. */
+public class VectorizedPredicateFilterTest {
+
+    private static final int NUM_ROWS = 1000;
+
+    private final PredicateBuilder builder =
+            new PredicateBuilder(
+                    RowType.of(DataTypes.INT(), DataTypes.BIGINT(), DataTypes.STRING()));
+
+    private Object[][] rows;
+    private VectorizedColumnBatch batch;
+
+    @BeforeEach
+    public void before() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HeapIntVector ints = new HeapIntVector(NUM_ROWS);
+        HeapLongVector longs = new HeapLongVector(NUM_ROWS);
+        HeapBytesVector strings = new HeapBytesVector(NUM_ROWS);
+        rows = new Object[NUM_ROWS][];
+        for (int i = 0; i < NUM_ROWS; i++) {
+            Object[] row = new Object[3];
+            if (random.nextInt(10) == 0) {
+                ints.setNullAt(i);
+            } else {
+                row[0] = random.nextInt(100);
+                ints.setInt(i, (Integer) row[0]);
+            }
+            if (random.nextInt(10) == 0) {
+                longs.setNullAt(i);
+            } else {
+                row[1] = (long) random.nextInt(100);
+                longs.setLong(i, (Long) row[1]);
+            }
+            if (random.nextInt(10) == 0) {
+                strings.setNullAt(i);
+            } else {
+                row[2] = BinaryString.fromString("s" + random.nextInt(100));
+                byte[] bytes = ((BinaryString) row[2]).toBytes();
+                strings.appendBytes(i, bytes, 0, bytes.length);
+            }
+            rows[i] = row;
+        }
+        batch = new VectorizedColumnBatch(new ColumnVector[] {ints, longs, strings});
+        batch.setNumRows(NUM_ROWS);
+    }
+
+    @Test
+    public void testLeafPredicates() {
+        List<Predicate> predicates =
+                Arrays.asList(
+                        builder.equal(0, 50),
+                        builder.notEqual(0, 50),
+                        builder.lessThan(0, 30),
+                        builder.lessOrEqual(0, 30),
+                        builder.greaterThan(1, 70L),
+                        builder.greaterOrEqual(1, 70L),
+                        builder.isNull(0),
+                        builder.isNotNull(2),
+                        builder.equal(2, BinaryString.fromString("s42")),
+                        builder.lessThan(2, BinaryString.fromString("s5")),
+                        builder.greaterOrEqual(2, BinaryString.fromString("s50")),
+                        builder.startsWith(2, BinaryString.fromString("s1")),
+                        builder.in(0, Arrays.asList(1, 3, 5, null)),
+                        builder.notIn(1, Arrays.asList(2L, 4L, 6L)),
+                        builder.notIn(1, Arrays.asList(2L, null)),
+                        builder.equal(0, null));
+        for (Predicate predicate : predicates) {
+            assertFilter(predicate);
+        }
+    }
+
+    @Test
+    public void testCompoundPredicates() {
+        assertFilter(
+                PredicateBuilder.and(
+                        builder.greaterThan(0, 20),
+                        builder.lessThan(1, 80L),
+                        builder.startsWith(2, BinaryString.fromString("s2"))));
+        assertFilter(
+                PredicateBuilder.or(
+                        builder.lessThan(0, 10),
+                        builder.isNull(1),
+                        builder.equal(2, BinaryString.fromString("s7"))));
+        assertFilter(
+                PredicateBuilder.or(
+                        PredicateBuilder.and(builder.lessThan(0, 50), builder.greaterThan(1, 50L)),
+                        PredicateBuilder.and(
+                                builder.greaterOrEqual(0, 50), builder.lessOrEqual(1, 50L))));
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        PredicateBuilder decimalBuilder = new PredicateBuilder(RowType.of(DataTypes.DECIMAL(5, 2)));
+        Predicate predicate = decimalBuilder.equal(0, Decimal.fromUnscaledLong(100, 5, 2));
+        int[] selected = new int[NUM_ROWS];
+        // leaves which can not be evaluated on vectors match all rows
+        assertThat(new VectorizedPredicateFilter(predicate).filter(batch, NUM_ROWS, selected))
+                .isEqualTo(NUM_ROWS);
+    }
+
+    @Test
+    public void testColumnarRowIterator() throws IOException {
+        Predicate predicate = builder.lessThan(0, 30);
+        ColumnarRowIterator iterator = new ColumnarRowIterator(new ColumnarRow(batch), null);
+        iterator.set(NUM_ROWS);
+        iterator.filter(new VectorizedPredicateFilter(predicate));
+
+        List<Integer> result = new ArrayList<>();
+        InternalRow row;
+        while ((row = iterator.next()) != null) {
+            result.add(row.getInt(0));
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (Object[] r : rows) {
+            if (predicate.test(r)) {
+                expected.add((Integer) r[0]);
+            }
+        }
+        assertThat(result).isEqualTo(expected);
+    }
+
+    private void assertFilter(Predicate predicate) {
+        int[] selected = new int[NUM_ROWS];
+        int numSelected =
+                new VectorizedPredicateFilter(predicate).filter(batch, NUM_ROWS, selected);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < NUM_ROWS; i++) {
+            if (predicate.test(rows[i])) {
+                expected.add(i);
+            }
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < numSelected; i++) {
+            result.add(selected[i]);
+        }
+        assertThat(result).as(predicate.toString()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.io.DataInputDeserializer;
+import org.apache.paimon.io.DataOutputSerializer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link BloomFilter}. */
+public class BloomFilterTest {
+
+    @Test
+    public void testFalsePositiveProbability() {
+        int numKeys = 10000;
+        BloomFilter filter = BloomFilter.create(numKeys, 0.01);
+        for (int i = 0; i < numKeys; i++) {
+            filter.add(key(i));
+        }
+
+        // no false negatives
+        for (int i = 0; i < numKeys; i++) {
+            assertThat(filter.mightContain(key(i))).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = numKeys; i < numKeys * 2; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(numKeys * 3 / 100);
+    }
+
+    @Test
+    public void testMemorySize() {
+        // about 9.6 bits per key for 1% false positives
+        assertThat(BloomFilter.create(10000, 0.01).memorySize()).isBetween(11000L, 13000L);
+        assertThat(BloomFilter.create(0, 0.01).memorySize()).isEqualTo(8);
+    }
+
+    @Test
+    public void testSerialization() throws IOException {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(key(i));
+        }
+
+        DataOutputSerializer out = new DataOutputSerializer(1024);
+        filter.serialize(out);
+        BloomFilter copy =
+                BloomFilter.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+        assertThat(copy.memorySize()).isEqualTo(filter.memorySize());
+        for (int i = 0; i < 2000; i++) {
+            assertThat(copy.mightContain(key(i))).isEqualTo(filter.mightContain(key(i)));
+        }
+    }
+
+    private static byte[] key(int i) {
+        return ("key-" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.utils;
+
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.PositionOutputStream;
+import org.apache.paimon.fs.RateLimitedFileIO;
+import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link RateLimiter}. */
+public class RateLimiterTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    @Test
+    public void testAcquire() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1000);
+
+        // the permits of one second are available at first
+        long start = System.nanoTime();
+        rateLimiter.acquire(1000);
+        assertThat(elapsedMillis(start)).isLessThan(500);
+
+        start = System.nanoTime();
+        rateLimiter.acquire(500);
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(400);
+    }
+
+    @Test
+    public void testSuspend() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1);
+        rateLimiter.suspend();
+        rateLimiter.suspend();
+        rateLimiter.resume();
+        assertThat(rateLimiter.isSuspended()).isTrue();
+
+        long start = System.nanoTime();
+        rateLimiter.acquire(1000);
+        assertThat(elapsedMillis(start)).isLessThan(500);
+
+        rateLimiter.resume();
+        assertThat(rateLimiter.isSuspended()).isFalse();
+        assertThatThrownBy(rateLimiter::resume).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testSuspendWhileWaiting() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1);
+        CompletableFuture<Void> future =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                // waits for about one hour unless suspended
+                                rateLimiter.acquire(3600);
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        rateLimiter.suspend();
+        future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRateLimitedFileIO() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1024);
+        RateLimitedFileIO fileIO = new RateLimitedFileIO(new LocalFileIO(), rateLimiter);
+        Path path = new Path(tempDir.toString(), "file");
+        byte[] bytes = new byte[1024];
+
+        long start = System.nanoTime();
+        try (PositionOutputStream out = fileIO.newOutputStream(path, false)) {
+            out.write(bytes);
+        }
+        try (SeekableInputStream in = fileIO.newInputStream(path)) {
+            assertThat(in.read(new byte[2048], 0, 2048)).isEqualTo(1024);
+        }
+        // the second kilobyte is limited to one second
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(900);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
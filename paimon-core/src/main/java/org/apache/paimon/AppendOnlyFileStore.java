@@ -75,7 +75,9 @@ public class AppendOnlyFileStore extends AbstractFileStore<InternalRow> {
                 schemaId,
                 rowType,
                 FileFormatDiscover.of(options),
-                pathFactory());
+                pathFactory(),
+                options.readBatchFilterEnabled(),
+                options.readPrefetchFiles());
     }
 
     @Override
@@ -24,6 +24,7 @@ import org.apache.paimon.format.FileFormatDiscover;
 import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.index.HashIndexMaintainer;
 import org.apache.paimon.index.IndexMaintainer;
+import org.apache.paimon.io.KeyValueFileReaderFactory;
 import org.apache.paimon.manifest.ManifestCacheFilter;
 import org.apache.paimon.mergetree.compact.MergeFunctionFactory;
 import org.apache.paimon.operation.KeyValueFileStoreRead;
@@ -104,6 +105,18 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
         return newScan(false);
     }
 
+    public RowType keyType() {
+        return keyType;
+    }
+
+    public RowType valueType() {
+        return valueType;
+    }
+
+    public MergeFunctionFactory<KeyValue> mfFactory() {
+        return mfFactory;
+    }
+
     @Override
     public KeyValueFileStoreRead newRead() {
         return new KeyValueFileStoreRead(
@@ -119,6 +132,18 @@ public class KeyValueFileStore extends AbstractFileStore<KeyValue> {
                 keyValueFieldsExtractor);
     }
 
+    public KeyValueFileReaderFactory.Builder newReaderFactoryBuilder() {
+        return KeyValueFileReaderFactory.builder(
+                fileIO,
+                schemaManager,
+                schemaId,
+                keyType,
+                valueType,
+                FileFormatDiscover.of(options),
+                pathFactory(),
+                keyValueFieldsExtractor);
+    }
+
     @Override
     public KeyValueFileStoreWrite newWrite(String commitUser) {
         return newWrite(commitUser, null);
@@ -90,7 +90,10 @@ public class AppendOnlyCompactManager extends CompactFutureManager {
             return;
         }
 
-        taskFuture = executor.submit(new FullCompactTask(toCompact, targetFileSize, rewriter));
+        taskFuture =
+                executor.submit(
+                        new FullCompactTask(toCompact, targetFileSize, rewriter)
+                                .withPriority(compactionPriority()));
         compacting = new ArrayList<>(toCompact);
         toCompact.clear();
     }
@@ -102,10 +105,21 @@ public class AppendOnlyCompactManager extends CompactFutureManager {
         Optional<List<DataFileMeta>> picked = pickCompactBefore();
         if (picked.isPresent()) {
             compacting = picked.get();
-            taskFuture = executor.submit(new AutoCompactTask(compacting, rewriter));
+            taskFuture =
+                    executor.submit(
+                            new AutoCompactTask(compacting, rewriter)
+                                    .withPriority(compactionPriority()));
         }
     }
 
+    /**
+     * Priority of the compaction, which is the percentage of files to the max number of files to
+     * compact, so buckets with more small files are compacted first.
+     */
+    private int compactionPriority() {
+        return (int) (100L * allFiles().size() / maxFileNum);
+    }
+
     @Override
     public boolean shouldWaitForLatestCompaction() {
         return false;
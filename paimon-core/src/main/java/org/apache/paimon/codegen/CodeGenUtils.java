@@ -19,9 +19,14 @@
 package org.apache.paimon.codegen;
 
 import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
+import org.apache.paimon.predicate.PredicateFilter;
 import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowType;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 /** Utils for code generations. */
@@ -66,4 +71,20 @@ public class CodeGenUtils {
         return generateRecordComparator(fieldTypes, name)
                 .newInstance(CodeGenUtils.class.getClassLoader());
     }
+
+    public static RecordFilter newRecordFilter(Predicate predicate, String name) {
+        return CodeGenLoader.getCodeGenerator()
+                .generatePredicate(predicate, name)
+                .newInstance(CodeGenUtils.class.getClassLoader());
+    }
+
+    /** Creates a {@link PredicateFilter} testing rows by a generated {@link RecordFilter}. */
+    public static PredicateFilter newPredicateFilter(@Nullable Predicate predicate) {
+        return new PredicateFilter(
+                predicate == null ? row -> true : newRecordFilter(predicate, "PredicateFilter"));
+    }
+
+    public static PredicateFilter newPredicateFilter(List<Predicate> predicates) {
+        return newPredicateFilter(predicates.isEmpty() ? null : PredicateBuilder.and(predicates));
+    }
 }
@@ -19,14 +19,19 @@
 package org.apache.paimon.compact;
 
 import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.utils.RateLimiter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /** Base implementation of {@link CompactManager} which runs compaction in a separate thread. */
 public abstract class CompactFutureManager implements CompactManager {
@@ -35,6 +40,17 @@ public abstract class CompactFutureManager implements CompactManager {
 
     protected Future<CompactResult> taskFuture;
 
+    @Nullable private RateLimiter rateLimiter;
+
+    /**
+     * Sets the rate limiter of the compaction I/O, which is suspended while the writer is blocked
+     * by the compaction, so that throttling never prolongs a write stall.
+     */
+    public CompactFutureManager withRateLimiter(@Nullable RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
     @Override
     public void cancelCompaction() {
         // TODO this method may leave behind orphan files if compaction is actually finished
@@ -49,12 +65,19 @@ public abstract class CompactFutureManager implements CompactManager {
         if (taskFuture != null) {
             if (blocking || taskFuture.isDone()) {
                 CompactResult result;
+                boolean suspendRateLimiter = rateLimiter != null && !taskFuture.isDone();
+                if (suspendRateLimiter) {
+                    rateLimiter.suspend();
+                }
                 try {
                     result = obtainCompactResult();
                 } catch (CancellationException e) {
                     return Optional.empty();
                 } finally {
                     taskFuture = null;
+                    if (suspendRateLimiter) {
+                        rateLimiter.resume();
+                    }
                 }
                 return Optional.of(result);
             }
@@ -62,6 +85,28 @@ public abstract class CompactFutureManager implements CompactManager {
         return Optional.empty();
     }
 
+    /**
+     * Waits at most the given milliseconds for the running compaction to finish. The result or
+     * failure of the compaction is left to {@link #getCompactionResult}.
+     */
+    protected final void awaitCompaction(long timeoutMillis) throws InterruptedException {
+        if (taskFuture == null || taskFuture.isDone()) {
+            return;
+        }
+
+        if (rateLimiter != null) {
+            rateLimiter.suspend();
+        }
+        try {
+            taskFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException ignored) {
+        } finally {
+            if (rateLimiter != null) {
+                rateLimiter.resume();
+            }
+        }
+    }
+
     @VisibleForTesting
     protected CompactResult obtainCompactResult() throws InterruptedException, ExecutionException {
         return taskFuture.get();
@@ -49,6 +49,12 @@ public interface CompactManager extends Closeable {
     Optional<CompactResult> getCompactionResult(boolean blocking)
             throws ExecutionException, InterruptedException;
 
+    /**
+     * Delay writes for the running compaction to catch up, so that writes are slowed down gradually
+     * before {@link #shouldWaitForLatestCompaction()} stops them.
+     */
+    default void delayWrites() throws InterruptedException {}
+
     /** Cancel currently running compaction task. */
     void cancelCompaction();
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.compact;
+
+import org.apache.paimon.metrics.DescriptiveStatisticsHistogram;
+import org.apache.paimon.metrics.Gauge;
+import org.apache.paimon.metrics.Histogram;
+import org.apache.paimon.metrics.MetricGroup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * An executor shared by the compact managers of a writer task. Compactions are run by a fixed
+ * number of threads, queued {@link CompactTask}s with higher {@link CompactTask#priority()} are
+ * executed first and tasks with the same priority are executed in submission order.
+ *
+ * <p>A compact manager has at most one compaction in flight, so buckets share the threads fairly.
+ */
+public class CompactScheduler extends ThreadPoolExecutor {
+
+    private static final int HISTOGRAM_WINDOW_SIZE = 100;
+
+    public static final String QUEUE_DEPTH = "compactionQueueDepth";
+    public static final String ACTIVE_THREADS = "compactionActiveThreads";
+    public static final String WAIT_TIME = "compactionWaitTime";
+
+    private final AtomicLong sequence;
+    private final Histogram waitTime;
+
+    public CompactScheduler(int numThreads, ThreadFactory threadFactory) {
+        super(
+                numThreads,
+                numThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                threadFactory);
+        checkArgument(numThreads > 0, "Number of compaction threads must be positive.");
+        this.sequence = new AtomicLong(0);
+        this.waitTime = new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW_SIZE);
+    }
+
+    /** Number of compactions waiting for a thread. */
+    public int queueDepth() {
+        return getQueue().size();
+    }
+
+    /** Histogram of milliseconds compactions wait in the queue before they are started. */
+    public Histogram waitTime() {
+        return waitTime;
+    }
+
+    public void registerMetrics(MetricGroup group) {
+        group.gauge(QUEUE_DEPTH, (Gauge<Integer>) this::queueDepth);
+        group.gauge(ACTIVE_THREADS, (Gauge<Integer>) this::getActiveCount);
+        group.histogram(WAIT_TIME, waitTime);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // the priority queue only accepts comparable tasks
+        super.execute(
+                command instanceof PrioritizedTask
+                        ? command
+                        : (PrioritizedTask<?>) newTaskFor(command, null));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        int priority = callable instanceof CompactTask ? ((CompactTask) callable).priority() : 0;
+        return new PrioritizedTask<>(callable, priority, sequence.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new PrioritizedTask<>(
+                () -> {
+                    runnable.run();
+                    return value;
+                },
+                0,
+                sequence.getAndIncrement());
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        if (r instanceof PrioritizedTask) {
+            waitTime.update(System.currentTimeMillis() - ((PrioritizedTask<?>) r).submitMillis);
+        }
+    }
+
+    /** A {@link FutureTask} ordered by priority and then by submission order. */
+    private static class PrioritizedTask<T> extends FutureTask<T>
+            implements Comparable<PrioritizedTask<?>> {
+
+        private final int priority;
+        private final long sequence;
+        private final long submitMillis;
+
+        private PrioritizedTask(Callable<T> callable, int priority, long sequence) {
+            super(callable);
+            this.priority = priority;
+            this.sequence = sequence;
+            this.submitMillis = System.currentTimeMillis();
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> other) {
+            int result = Integer.compare(other.priority, priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -31,6 +31,21 @@ public abstract class CompactTask implements Callable<CompactResult> {
 
     private static final Logger LOG = LoggerFactory.getLogger(CompactTask.class);
 
+    private int priority = 0;
+
+    /**
+     * Sets the priority of this task, tasks with higher priority are executed first by {@link
+     * CompactScheduler}.
+     */
+    public CompactTask withPriority(int priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public int priority() {
+        return priority;
+    }
+
     @Override
     public CompactResult call() throws Exception {
         long startMillis = System.currentTimeMillis();
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.compact;
+
+import org.apache.paimon.metrics.Gauge;
+import org.apache.paimon.metrics.MetricGroup;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the time writes wait for compactions, shared by the compact managers of a writer
+ * task. Writes are slowed down when the number of sorted runs gets close to the stop trigger and
+ * are stopped when it exceeds the stop trigger.
+ */
+public class WriteStallMetrics {
+
+    public static final String WRITE_SLOWDOWN_TIME = "writeSlowdownTime";
+    public static final String WRITE_SLOWDOWN_COUNT = "writeSlowdownCount";
+    public static final String WRITE_STOP_TIME = "writeStopTime";
+    public static final String WRITE_STOP_COUNT = "writeStopCount";
+
+    private final AtomicLong slowdownMillis = new AtomicLong(0);
+    private final AtomicLong slowdownCount = new AtomicLong(0);
+    private final AtomicLong stopMillis = new AtomicLong(0);
+    private final AtomicLong stopCount = new AtomicLong(0);
+
+    public void reportSlowdown(long millis) {
+        slowdownMillis.addAndGet(millis);
+        slowdownCount.incrementAndGet();
+    }
+
+    public void reportStop(long millis) {
+        stopMillis.addAndGet(millis);
+        stopCount.incrementAndGet();
+    }
+
+    /** Total milliseconds writes are delayed for compactions to catch up. */
+    public long slowdownMillis() {
+        return slowdownMillis.get();
+    }
+
+    public long slowdownCount() {
+        return slowdownCount.get();
+    }
+
+    /** Total milliseconds writes are stopped until compactions finish. */
+    public long stopMillis() {
+        return stopMillis.get();
+    }
+
+    public long stopCount() {
+        return stopCount.get();
+    }
+
+    public void registerMetrics(MetricGroup group) {
+        group.gauge(WRITE_SLOWDOWN_TIME, (Gauge<Long>) this::slowdownMillis);
+        group.gauge(WRITE_SLOWDOWN_COUNT, (Gauge<Long>) this::slowdownCount);
+        group.gauge(WRITE_STOP_TIME, (Gauge<Long>) this::stopMillis);
+        group.gauge(WRITE_STOP_COUNT, (Gauge<Long>) this::stopCount);
+    }
+}
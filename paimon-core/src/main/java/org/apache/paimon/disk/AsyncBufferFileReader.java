@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.disk;
+
+import org.apache.paimon.memory.Buffer;
+import org.apache.paimon.memory.MemorySegment;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * An asynchronous {@link BufferFileReader} implementation. Once the first block is requested, the
+ * following blocks are read ahead by the I/O thread of the spilling directory, at most {@code
+ * maxPendingBlocks} blocks are read but not consumed.
+ *
+ * <p>Reading starts with the first {@link #readInto} call, so the file should be completely written
+ * before that.
+ *
+ * <p>The blocks read ahead are counted against an {@link IOMemoryBudget}. If no memory is left and
+ * no block is pending, the next block is read by the caller.
+ */
+public class AsyncBufferFileReader extends AbstractFileIOChannel implements BufferFileReader {
+
+    private final BufferFileChannelReader reader;
+    private final ExecutorService ioExecutor;
+    private final int maxPendingBlocks;
+    private final IOMemoryBudget memoryBudget;
+
+    private final BlockingQueue<ReadBlock> readBlocks;
+    private final Queue<MemorySegment> freeSegments;
+
+    // accessed by the I/O thread, and by the closing thread of the I/O manager
+    private volatile boolean noMoreBlocks;
+
+    private int blockCapacity;
+    private int numRequested;
+    private int numConsumed;
+    private boolean hasReachedEndOfFile;
+
+    // bytes reserved from the memory budget
+    private long reservedBytes;
+
+    protected AsyncBufferFileReader(
+            ID channelID,
+            ExecutorService ioExecutor,
+            int maxPendingBlocks,
+            IOMemoryBudget memoryBudget)
+            throws IOException {
+        super(channelID, false);
+        this.reader = new BufferFileChannelReader(fileChannel);
+        this.ioExecutor = ioExecutor;
+        this.maxPendingBlocks = maxPendingBlocks;
+        this.memoryBudget = memoryBudget;
+        this.readBlocks = new LinkedBlockingQueue<>();
+        this.freeSegments = new ConcurrentLinkedQueue<>();
+        this.noMoreBlocks = false;
+        this.blockCapacity = -1;
+        this.numRequested = 0;
+        this.numConsumed = 0;
+        this.hasReachedEndOfFile = false;
+        this.reservedBytes = 0;
+    }
+
+    @Override
+    public void readInto(Buffer buffer) throws IOException {
+        checkArgument(!hasReachedEndOfFile, "Channel %s has reached end of file.", id);
+        checkArgument(buffer.getSize() == 0, "Buffer not empty");
+        if (blockCapacity < 0) {
+            blockCapacity = buffer.getMaxCapacity();
+        }
+        requestBlocks();
+        if (numRequested == numConsumed) {
+            // no memory for reading ahead, nothing is pending in the I/O thread
+            hasReachedEndOfFile = reader.readBufferFromFileChannel(buffer);
+            return;
+        }
+
+        ReadBlock block = takeBlock();
+        numConsumed++;
+        if (block.failure != null) {
+            hasReachedEndOfFile = true;
+            throw new IOException("Failed to read block from channel " + id, block.failure);
+        }
+
+        if (block.size > buffer.getMaxCapacity()) {
+            throw new IllegalStateException(
+                    "Buffer is too small for data: "
+                            + buffer.getMaxCapacity()
+                            + " bytes available, but "
+                            + block.size
+                            + " needed.");
+        }
+        block.segment.copyTo(0, buffer.getMemorySegment(), 0, block.size);
+        buffer.setSize(block.size);
+        freeSegments.add(block.segment);
+        hasReachedEndOfFile = block.lastBlock;
+    }
+
+    @Override
+    public boolean hasReachedEndOfFile() {
+        return hasReachedEndOfFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            // wait for outstanding reads before closing the file channel
+            while (numConsumed < numRequested) {
+                takeBlock();
+                numConsumed++;
+            }
+        } finally {
+            freeSegments.clear();
+            memoryBudget.release(reservedBytes);
+            reservedBytes = 0;
+            super.close();
+        }
+    }
+
+    private void requestBlocks() throws IOException {
+        while (!hasReachedEndOfFile && numRequested - numConsumed < maxPendingBlocks) {
+            MemorySegment segment = freeSegments.poll();
+            if (segment == null) {
+                if (!memoryBudget.tryReserve(blockCapacity)) {
+                    return;
+                }
+                reservedBytes += blockCapacity;
+                segment = MemorySegment.allocateHeapMemory(blockCapacity);
+            }
+
+            ReadRequest request = new ReadRequest(segment);
+            try {
+                ioExecutor.execute(request);
+            } catch (RejectedExecutionException e) {
+                freeSegments.add(segment);
+                throw new IOException("I/O thread of channel " + id + " has been shut down.", e);
+            }
+            numRequested++;
+        }
+    }
+
+    private ReadBlock takeBlock() throws IOException {
+        try {
+            return readBlocks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while waiting for blocks of channel " + id);
+        }
+    }
+
+    /** Reads a block in the I/O thread, blocks of one channel are read in the order of requests. */
+    private class ReadRequest implements IORequest {
+
+        private final MemorySegment segment;
+
+        private ReadRequest(MemorySegment segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        public void run() {
+            if (noMoreBlocks) {
+                freeSegments.add(segment);
+                readBlocks.add(ReadBlock.END);
+                return;
+            }
+
+            try {
+                Buffer buffer = Buffer.create(segment);
+                boolean lastBlock = reader.readBufferFromFileChannel(buffer);
+                noMoreBlocks = lastBlock;
+                readBlocks.add(new ReadBlock(segment, buffer.getSize(), lastBlock, null));
+            } catch (Throwable t) {
+                fail(t);
+            }
+        }
+
+        @Override
+        public void fail(Throwable cause) {
+            noMoreBlocks = true;
+            freeSegments.add(segment);
+            readBlocks.add(new ReadBlock(null, 0, true, cause));
+        }
+    }
+
+    /** A block read by the I/O thread. */
+    private static class ReadBlock {
+
+        private static final ReadBlock END = new ReadBlock(null, 0, true, null);
+
+        private final MemorySegment segment;
+        private final int size;
+        private final boolean lastBlock;
+        private final Throwable failure;
+
+        private ReadBlock(MemorySegment segment, int size, boolean lastBlock, Throwable failure) {
+            this.segment = segment;
+            this.size = size;
+            this.lastBlock = lastBlock;
+            this.failure = failure;
+        }
+    }
+}
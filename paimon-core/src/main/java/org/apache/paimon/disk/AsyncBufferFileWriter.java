@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.disk;
+
+import org.apache.paimon.memory.Buffer;
+import org.apache.paimon.memory.MemorySegment;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An asynchronous {@link BufferFileWriter} implementation. Blocks are copied and written by the I/O
+ * thread of the spilling directory, the caller only blocks when too many blocks are pending. All
+ * pending blocks are written when the writer is closed.
+ *
+ * <p>The copied blocks are counted against an {@link IOMemoryBudget}. If no memory is left, the
+ * block is written by the caller after all pending blocks.
+ */
+public class AsyncBufferFileWriter extends BufferFileWriterImpl {
+
+    private final ExecutorService ioExecutor;
+    private final int maxPendingBlocks;
+    private final IOMemoryBudget memoryBudget;
+    private final Semaphore pendingPermits;
+    private final Queue<MemorySegment> freeSegments;
+
+    private volatile Throwable failure;
+
+    // bytes reserved from the memory budget, accessed by the caller only
+    private long reservedBytes;
+
+    protected AsyncBufferFileWriter(
+            ID channelID,
+            ExecutorService ioExecutor,
+            int maxPendingBlocks,
+            IOMemoryBudget memoryBudget)
+            throws IOException {
+        super(channelID);
+        this.ioExecutor = ioExecutor;
+        this.maxPendingBlocks = maxPendingBlocks;
+        this.memoryBudget = memoryBudget;
+        this.pendingPermits = new Semaphore(maxPendingBlocks);
+        this.freeSegments = new ConcurrentLinkedQueue<>();
+        this.reservedBytes = 0;
+    }
+
+    @Override
+    public void writeBlock(Buffer buffer) throws IOException {
+        checkFailure();
+        acquire(1);
+
+        // the caller may reuse the buffer once this method returns, so copy it
+        int size = buffer.getSize();
+        MemorySegment segment = freeSegments.poll();
+        if (segment != null && segment.size() < size) {
+            memoryBudget.release(segment.size());
+            reservedBytes -= segment.size();
+            segment = null;
+        }
+        if (segment == null) {
+            if (!memoryBudget.tryReserve(size)) {
+                pendingPermits.release();
+                writeBlockSync(buffer);
+                return;
+            }
+            reservedBytes += size;
+            segment = MemorySegment.allocateHeapMemory(size);
+        }
+        buffer.getMemorySegment().copyTo(0, segment, 0, size);
+
+        WriteRequest request = new WriteRequest(segment, size);
+        try {
+            ioExecutor.execute(request);
+        } catch (RejectedExecutionException e) {
+            request.fail(e);
+            throw new IOException("I/O thread of channel " + id + " has been shut down.", e);
+        }
+    }
+
+    @Override
+    public long getSize() throws IOException {
+        waitPendingBlocks();
+        return super.getSize();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            waitPendingBlocks();
+        } finally {
+            freeSegments.clear();
+            memoryBudget.release(reservedBytes);
+            reservedBytes = 0;
+            super.close();
+        }
+    }
+
+    private void writeBlockSync(Buffer buffer) throws IOException {
+        waitPendingBlocks();
+        super.writeBlock(buffer);
+    }
+
+    private void waitPendingBlocks() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        acquire(maxPendingBlocks);
+        pendingPermits.release(maxPendingBlocks);
+        checkFailure();
+    }
+
+    private void acquire(int permits) throws IOException {
+        try {
+            pendingPermits.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while waiting for pending writes of channel " + id);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure;
+        if (t != null) {
+            throw new IOException("Failed to write block to channel " + id, t);
+        }
+    }
+
+    /** Writes a copied block in the I/O thread. */
+    private class WriteRequest implements IORequest {
+
+        private final MemorySegment segment;
+        private final int size;
+
+        private WriteRequest(MemorySegment segment, int size) {
+            this.segment = segment;
+            this.size = size;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (failure == null) {
+                    AsyncBufferFileWriter.super.writeBlock(Buffer.create(segment, size));
+                }
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                complete();
+            }
+        }
+
+        @Override
+        public void fail(Throwable cause) {
+            if (failure == null) {
+                failure = cause;
+            }
+            complete();
+        }
+
+        private void complete() {
+            freeSegments.add(segment);
+            pendingPermits.release();
+        }
+    }
+}
@@ -112,6 +112,11 @@ public interface FileIOChannel {
             return path;
         }
 
+        /** Returns the number of the spilling directory of the underlying temporary file. */
+        public int getBucketNum() {
+            return bucketNum;
+        }
+
         @Override
         public boolean equals(Object obj) {
             if (obj instanceof ID) {
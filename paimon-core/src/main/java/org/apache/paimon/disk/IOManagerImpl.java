@@ -18,18 +18,26 @@
 
 package org.apache.paimon.disk;
 
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.disk.FileIOChannel.Enumerator;
 import org.apache.paimon.disk.FileIOChannel.ID;
+import org.apache.paimon.utils.ExecutorThreadFactory;
 import org.apache.paimon.utils.Preconditions;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /** The facade for the provided I/O manager services. */
@@ -38,8 +46,16 @@ public class IOManagerImpl implements IOManager {
 
     private static final String DIR_NAME_PREFIX = "io";
 
+    /** Max number of blocks written or read ahead by the I/O thread for one channel. */
+    private static final int MAX_PENDING_BLOCKS = 4;
+
     private final FileChannelManager fileChannelManager;
 
+    /** One I/O thread for each spilling directory, null if asynchronous I/O is disabled. */
+    @Nullable private final ExecutorService[] ioExecutors;
+
+    private final IOMemoryBudget memoryBudget;
+
     // -------------------------------------------------------------------------
     //               Constructors / Destructors
     // -------------------------------------------------------------------------
@@ -50,8 +66,39 @@ public class IOManagerImpl implements IOManager {
      * @param tempDirs The basic directories for files underlying anonymous channels.
      */
     public IOManagerImpl(String... tempDirs) {
+        this(
+                tempDirs,
+                CoreOptions.SPILL_ASYNC_IO_ENABLED.defaultValue(),
+                CoreOptions.SPILL_ASYNC_IO_MAX_MEMORY.defaultValue().getBytes());
+    }
+
+    /**
+     * Constructs a new IOManager.
+     *
+     * @param tempDirs The basic directories for files underlying anonymous channels.
+     * @param asyncIO Whether channels are written and read ahead by background I/O threads.
+     * @param asyncIOMaxMemory Max heap memory of the blocks pending in background I/O threads.
+     */
+    public IOManagerImpl(String[] tempDirs, boolean asyncIO, long asyncIOMaxMemory) {
         this.fileChannelManager =
                 new FileChannelManagerImpl(Preconditions.checkNotNull(tempDirs), DIR_NAME_PREFIX);
+        this.memoryBudget = new IOMemoryBudget(asyncIOMaxMemory);
+        if (asyncIO) {
+            this.ioExecutors = new ExecutorService[fileChannelManager.getPaths().length];
+            for (int i = 0; i < ioExecutors.length; i++) {
+                // threads exit when idle, an I/O manager which is never closed leaks no thread
+                ioExecutors[i] =
+                        new ThreadPoolExecutor(
+                                0,
+                                1,
+                                60L,
+                                TimeUnit.SECONDS,
+                                new LinkedBlockingQueue<>(),
+                                new ExecutorThreadFactory("paimon-spill-io-" + i));
+            }
+        } else {
+            this.ioExecutors = null;
+        }
         if (LOG.isInfoEnabled()) {
             LOG.info(
                     "Created a new {} for spilling of task related data to disk (joins, sorting, ...). Used directories:\n\t{}",
@@ -65,9 +112,22 @@ public class IOManagerImpl implements IOManager {
     /** Removes all temporary files. */
     @Override
     public void close() throws Exception {
+        if (ioExecutors != null) {
+            for (ExecutorService executor : ioExecutors) {
+                shutdownIOExecutor(executor);
+            }
+        }
         fileChannelManager.close();
     }
 
+    /** Fails the requests which never run, so that no channel waits for them forever. */
+    @VisibleForTesting
+    static void shutdownIOExecutor(ExecutorService executor) {
+        for (Runnable request : executor.shutdownNow()) {
+            ((IORequest) request).fail(new IOException("I/O manager has been closed."));
+        }
+    }
+
     @Override
     public ID createChannel() {
         return fileChannelManager.createChannel();
@@ -117,12 +177,29 @@ public class IOManagerImpl implements IOManager {
 
     @Override
     public BufferFileWriter createBufferFileWriter(FileIOChannel.ID channelID) throws IOException {
-        return new BufferFileWriterImpl(channelID);
+        if (ioExecutors == null) {
+            return new BufferFileWriterImpl(channelID);
+        }
+        return new AsyncBufferFileWriter(
+                channelID, ioExecutor(channelID), MAX_PENDING_BLOCKS, memoryBudget);
     }
 
     @Override
     public BufferFileReader createBufferFileReader(FileIOChannel.ID channelID) throws IOException {
-        return new BufferFileReaderImpl(channelID);
+        if (ioExecutors == null) {
+            return new BufferFileReaderImpl(channelID);
+        }
+        return new AsyncBufferFileReader(
+                channelID, ioExecutor(channelID), MAX_PENDING_BLOCKS, memoryBudget);
+    }
+
+    @VisibleForTesting
+    IOMemoryBudget memoryBudget() {
+        return memoryBudget;
+    }
+
+    private ExecutorService ioExecutor(FileIOChannel.ID channelID) {
+        return ioExecutors[Math.floorMod(channelID.getBucketNum(), ioExecutors.length)];
     }
 
     public static String[] splitPaths(@Nonnull String separatedPaths) {
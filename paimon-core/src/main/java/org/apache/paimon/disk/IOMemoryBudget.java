@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.disk;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory budget for the heap blocks held by {@link AsyncBufferFileWriter}s and {@link
+ * AsyncBufferFileReader}s of an I/O manager. A channel falls back to synchronous I/O when the budget
+ * is exhausted instead of waiting for memory.
+ */
+public class IOMemoryBudget {
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes;
+
+    public IOMemoryBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.usedBytes = new AtomicLong(0);
+    }
+
+    /** Reserves the given bytes, returns false and reserves nothing if the budget is exceeded. */
+    public boolean tryReserve(long bytes) {
+        while (true) {
+            long used = usedBytes.get();
+            if (used + bytes > maxBytes) {
+                return false;
+            }
+            if (usedBytes.compareAndSet(used, used + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+}
@@ -40,6 +40,8 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -62,6 +64,7 @@ public class KeyValueDataFileWriter
     private final FieldStatsArraySerializer keyStatsConverter;
     private final FieldStatsArraySerializer valueStatsConverter;
     private final InternalRowSerializer keySerializer;
+    @Nullable private final LookupIndexFileWriter lookupIndexWriter;
 
     private BinaryRow minKey = null;
     private InternalRow maxKey = null;
@@ -79,7 +82,8 @@ public class KeyValueDataFileWriter
             long schemaId,
             int level,
             String compression,
-            CoreOptions options) {
+            CoreOptions options,
+            @Nullable LookupIndexFileWriter lookupIndexWriter) {
         super(
                 fileIO,
                 factory,
@@ -99,12 +103,22 @@ public class KeyValueDataFileWriter
         this.keyStatsConverter = new FieldStatsArraySerializer(keyType);
         this.valueStatsConverter = new FieldStatsArraySerializer(valueType);
         this.keySerializer = new InternalRowSerializer(keyType);
+        this.lookupIndexWriter = lookupIndexWriter;
     }
 
     @Override
     public void write(KeyValue kv) throws IOException {
         super.write(kv);
 
+        if (lookupIndexWriter != null) {
+            try {
+                lookupIndexWriter.write(kv);
+            } catch (IOException e) {
+                abort();
+                throw e;
+            }
+        }
+
         updateMinKey(kv);
         updateMaxKey(kv);
 
@@ -151,17 +165,62 @@ public class KeyValueDataFileWriter
                 Arrays.copyOfRange(rowStats, numKeyFields + 2, rowStats.length);
         BinaryTableStats valueStats = valueStatsConverter.toBinary(valFieldStats);
 
-        return new DataFileMeta(
-                path.getName(),
-                fileIO.getFileSize(path),
-                recordCount(),
-                minKey,
-                keySerializer.toBinaryRow(maxKey).copy(),
-                keyStats,
-                valueStats,
-                minSeqNumber,
-                maxSeqNumber,
-                schemaId,
-                level);
+        DataFileMeta meta =
+                new DataFileMeta(
+                        path.getName(),
+                        fileIO.getFileSize(path),
+                        recordCount(),
+                        minKey,
+                        keySerializer.toBinaryRow(maxKey).copy(),
+                        keyStats,
+                        valueStats,
+                        minSeqNumber,
+                        maxSeqNumber,
+                        schemaId,
+                        level);
+        return lookupIndexWriter == null
+                ? meta
+                : meta.copy(Collections.singletonList(lookupIndexWriter.path().getName()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            super.close();
+        } catch (IOException e) {
+            if (lookupIndexWriter != null) {
+                lookupIndexWriter.abort();
+            }
+            throw e;
+        }
+
+        if (lookupIndexWriter != null) {
+            try {
+                lookupIndexWriter.finish();
+            } catch (IOException e) {
+                LOG.warn("Exception occurs when uploading lookup index of " + path + ".", e);
+                abort();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void abort() {
+        super.abort();
+        if (lookupIndexWriter != null) {
+            lookupIndexWriter.abort();
+        }
+    }
+
+    @Override
+    protected List<Path> extraPaths() {
+        return lookupIndexWriter == null
+                ? Collections.emptyList()
+                : Collections.singletonList(lookupIndexWriter.path());
     }
 }
@@ -37,9 +37,9 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** Factory to create {@link RecordReader}s for reading {@link KeyValue} files. */
 public class KeyValueFileReaderFactory {
@@ -69,7 +69,7 @@ public class KeyValueFileReaderFactory {
         this.valueType = valueType;
         this.bulkFormatMappingBuilder = bulkFormatMappingBuilder;
         this.pathFactory = pathFactory;
-        this.bulkFormatMappings = new HashMap<>();
+        this.bulkFormatMappings = new ConcurrentHashMap<>();
     }
 
     public RecordReader<KeyValue> createRecordReader(long schemaId, String fileName, int level)
@@ -35,6 +35,8 @@ import org.apache.paimon.utils.StatsCollectorFactories;
 
 import javax.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -51,6 +53,8 @@ public class KeyValueFileWriterFactory {
     private final long suggestedFileSize;
     private final CoreOptions options;
 
+    @Nullable private LookupIndexFileWriter.Factory lookupIndexFactory;
+
     private KeyValueFileWriterFactory(
             FileIO fileIO,
             long schemaId,
@@ -81,9 +85,22 @@ public class KeyValueFileWriterFactory {
         return formatContext.pathFactory(level);
     }
 
+    /**
+     * Writes the lookup indexes of the data files above level 0 together with the data files, see
+     * {@link LookupIndexFileWriter}.
+     */
+    public KeyValueFileWriterFactory withLookupIndex(
+            @Nullable LookupIndexFileWriter.Factory lookupIndexFactory) {
+        this.lookupIndexFactory = lookupIndexFactory;
+        return this;
+    }
+
     public RollingFileWriter<KeyValue, DataFileMeta> createRollingMergeTreeFileWriter(int level) {
         return new RollingFileWriter<>(
-                () -> createDataFileWriter(formatContext.pathFactory(level).newPath(), level),
+                () -> {
+                    Path path = formatContext.pathFactory(level).newPath();
+                    return createDataFileWriter(path, level, createLookupIndexWriter(path, level));
+                },
                 suggestedFileSize);
     }
 
@@ -91,11 +108,24 @@ public class KeyValueFileWriterFactory {
         return new RollingFileWriter<>(
                 () ->
                         createDataFileWriter(
-                                formatContext.pathFactory(level).newChangelogPath(), level),
+                                formatContext.pathFactory(level).newChangelogPath(), level, null),
                 suggestedFileSize);
     }
 
-    private KeyValueDataFileWriter createDataFileWriter(Path path, int level) {
+    @Nullable
+    private LookupIndexFileWriter createLookupIndexWriter(Path path, int level) {
+        if (lookupIndexFactory == null || level == 0) {
+            return null;
+        }
+        try {
+            return lookupIndexFactory.create(fileIO, path, keyType, valueType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private KeyValueDataFileWriter createDataFileWriter(
+            Path path, int level, @Nullable LookupIndexFileWriter lookupIndexWriter) {
         KeyValueSerializer kvSerializer = new KeyValueSerializer(keyType, valueType);
         return new KeyValueDataFileWriter(
                 fileIO,
@@ -108,13 +138,23 @@ public class KeyValueFileWriterFactory {
                 schemaId,
                 level,
                 formatContext.compression(level),
-                options);
+                options,
+                lookupIndexWriter);
     }
 
     public void deleteFile(String filename, int level) {
         fileIO.deleteQuietly(formatContext.pathFactory(level).toPath(filename));
     }
 
+    /** Deletes the data file together with its extra files. */
+    public void deleteFile(DataFileMeta file) {
+        DataFilePathFactory pathFactory = formatContext.pathFactory(file.level());
+        fileIO.deleteQuietly(pathFactory.toPath(file.fileName()));
+        for (String extraFile : file.extraFiles()) {
+            fileIO.deleteQuietly(pathFactory.toPath(extraFile));
+        }
+    }
+
     public static Builder builder(
             FileIO fileIO,
             long schemaId,
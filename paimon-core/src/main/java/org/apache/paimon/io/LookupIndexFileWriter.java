@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.io;
+
+import org.apache.paimon.CoreOptions.LookupLocalFileType;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.PositionOutputStream;
+import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.lookup.LookupStoreWriter;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.FileIOUtils;
+import org.apache.paimon.utils.IOUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Writes the lookup index of a data file while the data file is written, so that lookups can
+ * download the index instead of building it from the data file. The index is built in a local file
+ * and uploaded next to the data file by {@link #finish}, its name is recorded in the extra files of
+ * the {@link DataFileMeta}.
+ */
+public class LookupIndexFileWriter {
+
+    public static final String LOOKUP_INDEX_SUFFIX = ".lookup";
+
+    private final FileIO fileIO;
+    private final Path path;
+    private final File localFile;
+    private final LookupStoreWriter writer;
+    private final LookupKeyValueSerializer serializer;
+
+    private boolean closed = false;
+
+    public LookupIndexFileWriter(
+            FileIO fileIO,
+            Path path,
+            File localFile,
+            LookupStoreFactory lookupStoreFactory,
+            RowType keyType,
+            RowType valueType)
+            throws IOException {
+        if (!localFile.createNewFile()) {
+            throw new IOException("Can not create new file: " + localFile);
+        }
+        this.fileIO = fileIO;
+        this.path = path;
+        this.localFile = localFile;
+        this.writer = lookupStoreFactory.createWriter(localFile);
+        this.serializer = new LookupKeyValueSerializer(keyType, valueType);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public void write(KeyValue kv) throws IOException {
+        writer.put(serializer.serializeKey(kv.key()), serializer.serializeValue(kv));
+    }
+
+    /** Closes the local index and uploads it. */
+    public void finish() throws IOException {
+        closed = true;
+        try {
+            writer.close();
+            PositionOutputStream out = fileIO.newOutputStream(path, false);
+            // closes the streams
+            IOUtils.copyBytes(new FileInputStream(localFile), out);
+        } catch (IOException e) {
+            fileIO.deleteQuietly(path);
+            throw e;
+        } finally {
+            FileIOUtils.deleteFileOrDirectory(localFile);
+        }
+    }
+
+    public void abort() {
+        if (!closed) {
+            closed = true;
+            IOUtils.closeQuietly(writer);
+            //noinspection ResultOfMethodCallIgnored
+            localFile.delete();
+        }
+        fileIO.deleteQuietly(path);
+    }
+
+    public static String lookupIndexFileName(String dataFileName, LookupLocalFileType fileType) {
+        return dataFileName + "." + fileType + LOOKUP_INDEX_SUFFIX;
+    }
+
+    /**
+     * Returns the name of the lookup index of the data file in the type of lookup files, or null if
+     * it has no such index.
+     */
+    @Nullable
+    public static String lookupIndexFile(DataFileMeta file, LookupLocalFileType fileType) {
+        String indexFile = lookupIndexFileName(file.fileName(), fileType);
+        return file.extraFiles().contains(indexFile) ? indexFile : null;
+    }
+
+    /** Creates {@link LookupIndexFileWriter}s for data files. */
+    public static class Factory {
+
+        private final Supplier<File> localFileFactory;
+        private final LookupLocalFileType fileType;
+        private final LookupStoreFactory lookupStoreFactory;
+
+        public Factory(
+                Supplier<File> localFileFactory,
+                LookupLocalFileType fileType,
+                LookupStoreFactory lookupStoreFactory) {
+            this.localFileFactory = localFileFactory;
+            this.fileType = fileType;
+            this.lookupStoreFactory = lookupStoreFactory;
+        }
+
+        public LookupIndexFileWriter create(
+                FileIO fileIO, Path dataFilePath, RowType keyType, RowType valueType)
+                throws IOException {
+            return new LookupIndexFileWriter(
+                    fileIO,
+                    new Path(
+                            dataFilePath.getParent(),
+                            lookupIndexFileName(dataFilePath.getName(), fileType)),
+                    localFileFactory.get(),
+                    lookupStoreFactory,
+                    keyType,
+                    valueType);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.io;
+
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.serializer.RowCompactedSerializer;
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+
+import java.io.IOException;
+
+/**
+ * Serializes {@link KeyValue}s to the keys and values of lookup stores. A value is the compacted
+ * value row followed by the sequence number and the row kind.
+ *
+ * <p>This serializer is not thread safe because the buffers are reused.
+ */
+public class LookupKeyValueSerializer {
+
+    private final RowCompactedSerializer keySerializer;
+    private final RowCompactedSerializer valueSerializer;
+    private final DataOutputSerializer valueOut;
+
+    public LookupKeyValueSerializer(RowType keyType, RowType valueType) {
+        this.keySerializer = new RowCompactedSerializer(keyType);
+        this.valueSerializer = new RowCompactedSerializer(valueType);
+        this.valueOut = new DataOutputSerializer(32);
+    }
+
+    public byte[] serializeKey(InternalRow key) {
+        return keySerializer.serializeToBytes(key);
+    }
+
+    public byte[] serializeValue(KeyValue kv) throws IOException {
+        valueOut.clear();
+        valueOut.write(valueSerializer.serializeToBytes(kv.value()));
+        valueOut.writeLong(kv.sequenceNumber());
+        valueOut.writeByte(kv.valueKind().toByteValue());
+        return valueOut.getCopyOfBuffer();
+    }
+
+    public KeyValue deserialize(InternalRow key, byte[] valueBytes) {
+        InternalRow value = valueSerializer.deserialize(valueBytes);
+        long sequenceNumber = MemorySegment.wrap(valueBytes).getLong(valueBytes.length - 9);
+        RowKind rowKind = RowKind.fromByteValue(valueBytes[valueBytes.length - 1]);
+        return new KeyValue().replace(key, sequenceNumber, rowKind, value);
+    }
+}
@@ -20,9 +20,12 @@ package org.apache.paimon.io;
 
 import org.apache.paimon.casting.CastFieldGetter;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.columnar.ColumnarRowIterator;
 import org.apache.paimon.format.FormatReaderFactory;
 import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.fs.Path;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.VectorizedPredicateFilter;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.utils.FileUtils;
 
@@ -36,6 +39,7 @@ public class RowDataFileRecordReader implements RecordReader<InternalRow> {
     private final RecordReader<InternalRow> reader;
     @Nullable private final int[] indexMapping;
     @Nullable private final CastFieldGetter[] castMapping;
+    @Nullable private final VectorizedPredicateFilter batchFilter;
 
     public RowDataFileRecordReader(
             FileIO fileIO,
@@ -44,15 +48,36 @@ public class RowDataFileRecordReader implements RecordReader<InternalRow> {
             @Nullable int[] indexMapping,
             @Nullable CastFieldGetter[] castMapping)
             throws IOException {
+        this(fileIO, path, readerFactory, indexMapping, castMapping, null);
+    }
+
+    /**
+     * Creates a reader which skips the rows not matching {@code batchFilter}, evaluated on the
+     * columns of the batches when the format reader returns columnar batches. The field indexes of
+     * the filter are the indexes of the fields read by {@code readerFactory}.
+     */
+    public RowDataFileRecordReader(
+            FileIO fileIO,
+            Path path,
+            FormatReaderFactory readerFactory,
+            @Nullable int[] indexMapping,
+            @Nullable CastFieldGetter[] castMapping,
+            @Nullable Predicate batchFilter)
+            throws IOException {
         this.reader = FileUtils.createFormatReader(fileIO, readerFactory, path);
         this.indexMapping = indexMapping;
         this.castMapping = castMapping;
+        this.batchFilter =
+                batchFilter == null ? null : new VectorizedPredicateFilter(batchFilter);
     }
 
     @Nullable
     @Override
     public RecordReader.RecordIterator<InternalRow> readBatch() throws IOException {
         RecordIterator<InternalRow> iterator = reader.readBatch();
+        if (batchFilter != null && iterator instanceof ColumnarRowIterator) {
+            ((ColumnarRowIterator) iterator).filter(batchFilter);
+        }
         return iterator == null
                 ? null
                 : new RowDataFileRecordIterator(iterator, indexMapping, castMapping);
@@ -32,6 +32,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -127,7 +130,15 @@ public abstract class SingleFileWriter<T, R> implements FileWriter<T, R> {
             throw new RuntimeException("Writer should be closed!");
         }
 
-        return new AbortExecutor(fileIO, path);
+        List<Path> paths = new ArrayList<>();
+        paths.add(path);
+        paths.addAll(extraPaths());
+        return new AbortExecutor(fileIO, paths);
+    }
+
+    /** Files written together with the file of this writer, which are aborted together. */
+    protected List<Path> extraPaths() {
+        return Collections.emptyList();
     }
 
     @Override
@@ -155,19 +166,19 @@ public abstract class SingleFileWriter<T, R> implements FileWriter<T, R> {
         }
     }
 
-    /** Abort executor to just have reference of path instead of whole writer. */
+    /** Abort executor to just have reference of paths instead of whole writer. */
     public static class AbortExecutor {
 
         private final FileIO fileIO;
-        private final Path path;
+        private final List<Path> paths;
 
-        private AbortExecutor(FileIO fileIO, Path path) {
+        private AbortExecutor(FileIO fileIO, List<Path> paths) {
             this.fileIO = fileIO;
-            this.path = path;
+            this.paths = paths;
         }
 
         public void abort() {
-            fileIO.deleteQuietly(path);
+            paths.forEach(fileIO::deleteQuietly);
         }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.lookup.sort;
+
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.LookupStoreFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+/**
+ * A {@link LookupStoreFactory} which stores sorted records in blocks and looks up records by binary
+ * search. Compared to the hash lookup store, it is built in a single pass without temporary files
+ * and the files are smaller, but the records must be written in the order of the key comparator.
+ *
+ * <p>Readers may be used by different threads, so each reader gets its own key comparator.
+ */
+public class SortLookupStoreFactory implements LookupStoreFactory {
+
+    private final CacheManager cacheManager;
+    private final Supplier<Comparator<byte[]>> keyComparatorSupplier;
+    private final int blockSize;
+    private final String compression;
+    @Nullable private final Double bloomFilterFpp;
+
+    public SortLookupStoreFactory(
+            CacheManager cacheManager,
+            Supplier<Comparator<byte[]>> keyComparatorSupplier,
+            int blockSize,
+            String compression,
+            @Nullable Double bloomFilterFpp) {
+        this.cacheManager = cacheManager;
+        this.keyComparatorSupplier = keyComparatorSupplier;
+        this.blockSize = blockSize;
+        this.compression = compression;
+        this.bloomFilterFpp = bloomFilterFpp;
+    }
+
+    @Override
+    public SortLookupStoreWriter createWriter(File file) throws IOException {
+        return new SortLookupStoreWriter(file, blockSize, compression, bloomFilterFpp);
+    }
+
+    @Override
+    public SortLookupStoreReader createReader(File file) throws IOException {
+        return new SortLookupStoreReader(cacheManager, file, keyComparatorSupplier.get());
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.lookup.sort;
+
+import org.apache.paimon.compression.BlockCompressionFactory;
+import org.apache.paimon.compression.BlockDecompressor;
+import org.apache.paimon.io.DataInputDeserializer;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.io.cache.RandomInputView;
+import org.apache.paimon.lookup.LookupStoreReader;
+import org.apache.paimon.utils.BloomFilter;
+import org.apache.paimon.utils.VarLengthIntUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Comparator;
+
+import static org.apache.paimon.lookup.sort.SortLookupStoreWriter.FOOTER_LENGTH;
+import static org.apache.paimon.lookup.sort.SortLookupStoreWriter.MAGIC_NUMBER;
+
+/**
+ * A {@link LookupStoreReader} for the files of {@link SortLookupStoreWriter}. The index and the
+ * bloom filter are kept in memory, a lookup reads at most one data block through the {@link
+ * CacheManager}.
+ */
+public class SortLookupStoreReader implements LookupStoreReader {
+
+    private final Comparator<byte[]> keyComparator;
+    private final RandomInputView inputView;
+    @Nullable private final BlockDecompressor decompressor;
+    @Nullable private final BloomFilter bloomFilter;
+
+    // last key, position, stored length and length of each data block
+    private final byte[][] lastKeys;
+    private final long[] positions;
+    private final int[] storedLengths;
+    private final int[] lengths;
+
+    private byte[] keyBuffer;
+
+    // the last read data block, which is likely to be read again by keys in ascending order
+    private int lastBlockIndex = -1;
+    private byte[] lastBlock;
+
+    SortLookupStoreReader(CacheManager cacheManager, File file, Comparator<byte[]> keyComparator)
+            throws IOException {
+        if (!file.exists()) {
+            throw new FileNotFoundException("File " + file.getAbsolutePath() + " not found");
+        }
+        this.keyComparator = keyComparator;
+        this.inputView = cacheManager.createInputView(file);
+        try {
+            inputView.setReadPosition(file.length() - FOOTER_LENGTH);
+            int numBlocks = inputView.readInt();
+            long indexOffset = inputView.readLong();
+            int indexLength = inputView.readInt();
+            long bloomFilterOffset = inputView.readLong();
+            int bloomFilterLength = inputView.readInt();
+            if (inputView.readLong() != MAGIC_NUMBER) {
+                throw new IOException("File " + file + " is not a sort lookup store file.");
+            }
+
+            DataInputDeserializer index = new DataInputDeserializer(read(indexOffset, indexLength));
+            BlockCompressionFactory compressionFactory =
+                    BlockCompressionFactory.create(index.readUTF());
+            this.decompressor =
+                    compressionFactory == null ? null : compressionFactory.getDecompressor();
+            this.lastKeys = new byte[numBlocks][];
+            this.positions = new long[numBlocks];
+            this.storedLengths = new int[numBlocks];
+            this.lengths = new int[numBlocks];
+            for (int i = 0; i < numBlocks; i++) {
+                lastKeys[i] = new byte[VarLengthIntUtils.decodeInt(index)];
+                index.readFully(lastKeys[i]);
+                positions[i] = index.readLong();
+                storedLengths[i] = index.readInt();
+                lengths[i] = index.readInt();
+            }
+
+            this.bloomFilter =
+                    bloomFilterLength == 0
+                            ? null
+                            : BloomFilter.deserialize(
+                                    new DataInputDeserializer(
+                                            read(bloomFilterOffset, bloomFilterLength)));
+        } catch (IOException e) {
+            inputView.close();
+            throw e;
+        }
+        this.keyBuffer = new byte[0];
+    }
+
+    @Nullable
+    @Override
+    public byte[] lookup(byte[] key) throws IOException {
+        if (bloomFilter != null && !bloomFilter.mightContain(key)) {
+            return null;
+        }
+
+        int blockIndex = findBlock(key);
+        if (blockIndex < 0) {
+            return null;
+        }
+
+        DataInputDeserializer block = new DataInputDeserializer(readBlock(blockIndex));
+        while (block.available() > 0) {
+            int shared = VarLengthIntUtils.decodeInt(block);
+            int unshared = VarLengthIntUtils.decodeInt(block);
+            int valueLength = VarLengthIntUtils.decodeInt(block);
+            int keyLength = shared + unshared;
+            if (keyBuffer.length < keyLength) {
+                byte[] newBuffer = new byte[Math.max(keyLength, keyBuffer.length * 2)];
+                System.arraycopy(keyBuffer, 0, newBuffer, 0, shared);
+                keyBuffer = newBuffer;
+            }
+            block.readFully(keyBuffer, shared, unshared);
+
+            if (equals(key, keyBuffer, keyLength)) {
+                byte[] value = new byte[valueLength];
+                block.readFully(value);
+                return value;
+            }
+            block.skipBytesToRead(valueLength);
+        }
+        return null;
+    }
+
+    /** Binary searches the first block whose last key is not less than the key. */
+    private int findBlock(byte[] key) {
+        int low = 0;
+        int high = lastKeys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyComparator.compare(lastKeys[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low < lastKeys.length ? low : -1;
+    }
+
+    private static boolean equals(byte[] key, byte[] buffer, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buffer[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] readBlock(int blockIndex) throws IOException {
+        if (blockIndex == lastBlockIndex) {
+            return lastBlock;
+        }
+
+        byte[] bytes = read(positions[blockIndex], storedLengths[blockIndex]);
+        if (decompressor != null) {
+            byte[] decompressed = new byte[lengths[blockIndex]];
+            decompressor.decompress(bytes, 0, bytes.length, decompressed, 0);
+            bytes = decompressed;
+        }
+        lastBlockIndex = blockIndex;
+        lastBlock = bytes;
+        return bytes;
+    }
+
+    private byte[] read(long position, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        inputView.setReadPosition(position);
+        inputView.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputView.close();
+    }
+}
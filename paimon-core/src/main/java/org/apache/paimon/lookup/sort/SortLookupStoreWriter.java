@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.lookup.sort;
+
+import org.apache.paimon.compression.BlockCompressionFactory;
+import org.apache.paimon.compression.BlockCompressor;
+import org.apache.paimon.io.DataOutputSerializer;
+import org.apache.paimon.lookup.LookupStoreWriter;
+import org.apache.paimon.utils.BloomFilter;
+import org.apache.paimon.utils.VarLengthIntUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@link LookupStoreWriter} which writes sorted keys and values into blocks in a single pass.
+ * Keys must be put in the order of the key comparator of the {@link SortLookupStoreReader}. The
+ * layout of the file is:
+ *
+ * <pre>
+ * +--------------+-----+--------------+-------+--------------+--------+
+ * | data block 0 | ... | data block n | index | bloom filter | footer |
+ * +--------------+-----+--------------+-------+--------------+--------+
+ * </pre>
+ *
+ * <p>Each key in a data block only stores the bytes not shared with the previous key of the block.
+ * Data blocks may be compressed. The index keeps the compression and the last key and the position
+ * of each data block, it is small enough to be kept in memory by readers.
+ */
+public class SortLookupStoreWriter implements LookupStoreWriter {
+
+    static final long MAGIC_NUMBER = 0x50414C4B53535431L;
+
+    // number of blocks, index offset and length, bloom filter offset and length, magic number
+    static final int FOOTER_LENGTH = 4 + 8 + 4 + 8 + 4 + 8;
+
+    private final DataOutputStream out;
+    private final int blockSize;
+    @Nullable private final BlockCompressor compressor;
+    @Nullable private final Double bloomFilterFpp;
+
+    private final DataOutputSerializer block;
+    private final DataOutputSerializer index;
+
+    @Nullable private byte[] lastKey;
+    private byte[] compressedBuffer;
+    private int[] keyHashes;
+    private int numKeys;
+    private int numBlocks;
+    private long position;
+
+    SortLookupStoreWriter(
+            File file, int blockSize, String compression, @Nullable Double bloomFilterFpp)
+            throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.blockSize = blockSize;
+        BlockCompressionFactory compressionFactory = BlockCompressionFactory.create(compression);
+        this.compressor = compressionFactory == null ? null : compressionFactory.getCompressor();
+        this.bloomFilterFpp = bloomFilterFpp;
+
+        this.block = new DataOutputSerializer(blockSize + 64);
+        this.index = new DataOutputSerializer(1024);
+        this.index.writeUTF(compression);
+        this.compressedBuffer = new byte[0];
+        this.keyHashes = new int[bloomFilterFpp == null ? 0 : 1024];
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) throws IOException {
+        int shared = lastKey == null ? 0 : sharedPrefixLength(lastKey, key);
+        VarLengthIntUtils.encodeInt(block, shared);
+        VarLengthIntUtils.encodeInt(block, key.length - shared);
+        VarLengthIntUtils.encodeInt(block, value.length);
+        block.write(key, shared, key.length - shared);
+        block.write(value);
+        lastKey = key;
+
+        if (bloomFilterFpp != null) {
+            if (numKeys == keyHashes.length) {
+                keyHashes = Arrays.copyOf(keyHashes, keyHashes.length * 2);
+            }
+            keyHashes[numKeys] = BloomFilter.hash(key);
+        }
+        numKeys++;
+
+        if (block.length() >= blockSize) {
+            flushBlock();
+        }
+    }
+
+    private static int sharedPrefixLength(byte[] key1, byte[] key2) {
+        int length = Math.min(key1.length, key2.length);
+        int i = 0;
+        while (i < length && key1[i] == key2[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private void flushBlock() throws IOException {
+        if (block.length() == 0) {
+            return;
+        }
+
+        int length = block.length();
+        int storedLength = length;
+        if (compressor == null) {
+            out.write(block.getSharedBuffer(), 0, length);
+        } else {
+            int maxCompressedLength = compressor.getMaxCompressedSize(length);
+            if (compressedBuffer.length < maxCompressedLength) {
+                compressedBuffer = new byte[maxCompressedLength];
+            }
+            storedLength =
+                    compressor.compress(block.getSharedBuffer(), 0, length, compressedBuffer, 0);
+            out.write(compressedBuffer, 0, storedLength);
+        }
+
+        VarLengthIntUtils.encodeInt(index, lastKey.length);
+        index.write(lastKey);
+        index.writeLong(position);
+        index.writeInt(storedLength);
+        index.writeInt(length);
+
+        position += storedLength;
+        numBlocks++;
+        block.clear();
+        // every block starts with a full key, so that blocks can be read independently
+        lastKey = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+
+            long indexOffset = position;
+            out.write(index.getSharedBuffer(), 0, index.length());
+            position += index.length();
+
+            long bloomFilterOffset = position;
+            int bloomFilterLength = 0;
+            if (bloomFilterFpp != null) {
+                BloomFilter bloomFilter = BloomFilter.create(numKeys, bloomFilterFpp);
+                for (int i = 0; i < numKeys; i++) {
+                    bloomFilter.addHash(keyHashes[i]);
+                }
+                DataOutputSerializer bloomFilterOut =
+                        new DataOutputSerializer((int) bloomFilter.memorySize() + 8);
+                bloomFilter.serialize(bloomFilterOut);
+                out.write(bloomFilterOut.getSharedBuffer(), 0, bloomFilterOut.length());
+                bloomFilterLength = bloomFilterOut.length();
+            }
+
+            out.writeInt(numBlocks);
+            out.writeLong(indexOffset);
+            out.writeInt(index.length());
+            out.writeLong(bloomFilterOffset);
+            out.writeInt(bloomFilterLength);
+            out.writeLong(MAGIC_NUMBER);
+        } finally {
+            out.close();
+        }
+    }
+}
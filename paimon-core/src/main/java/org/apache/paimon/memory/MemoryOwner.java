@@ -29,4 +29,12 @@ public interface MemoryOwner {
 
     /** Flush memory of owner, release memory. */
     void flushMemory() throws Exception;
+
+    /**
+     * Flush memory of owner if it is not in use by another thread. Otherwise the owner is requested
+     * to flush memory by itself before it takes more records.
+     *
+     * @return whether memory is flushed
+     */
+    boolean tryFlushMemory() throws Exception;
 }
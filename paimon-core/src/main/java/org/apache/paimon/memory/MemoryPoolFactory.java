@@ -19,9 +19,11 @@
 package org.apache.paimon.memory;
 
 import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.utils.Pair;
 
 import org.apache.paimon.shade.guava30.com.google.common.collect.Iterators;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.paimon.utils.Preconditions.checkNotNull;
@@ -67,26 +69,34 @@ public class MemoryPoolFactory {
     }
 
     private void preemptMemory(MemoryOwner owner) {
-        long maxMemory = -1;
-        MemoryOwner max = null;
+        List<Pair<MemoryOwner, Long>> others = new ArrayList<>();
         for (MemoryOwner other : owners) {
             // Don't preempt yourself! Write and flush at the same time, which may lead to
             // inconsistent state
-            if (other != owner && other.memoryOccupancy() > maxMemory) {
-                maxMemory = other.memoryOccupancy();
-                max = other;
+            long occupancy = other == owner ? 0 : other.memoryOccupancy();
+            if (occupancy > 0) {
+                others.add(Pair.of(other, occupancy));
             }
         }
 
-        if (max != null) {
+        // owners in use by other threads only flush later, so try the next largest one
+        others.sort((o1, o2) -> Long.compare(o2.getRight(), o1.getRight()));
+        for (Pair<MemoryOwner, Long> other : others) {
             try {
-                max.flushMemory();
+                if (other.getLeft().tryFlushMemory()) {
+                    return;
+                }
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
+    /**
+     * Memory pool of an owner. Owners may allocate and release memory concurrently when they are
+     * flushed in parallel, so accessing the inner pool is guarded by the factory. Other owners are
+     * preempted outside the lock, as flushing writes files.
+     */
     private class OwnerMemoryPool implements MemorySegmentPool {
 
         private final MemoryOwner owner;
@@ -104,26 +114,37 @@ public class MemoryPoolFactory {
 
         @Override
         public void returnAll(List<MemorySegment> memory) {
-            allocatedPages -= memory.size();
-            innerPool.returnAll(memory);
+            synchronized (MemoryPoolFactory.this) {
+                allocatedPages -= memory.size();
+                innerPool.returnAll(memory);
+            }
         }
 
         @Override
         public int freePages() {
-            return totalPages - allocatedPages;
+            synchronized (MemoryPoolFactory.this) {
+                return totalPages - allocatedPages;
+            }
         }
 
         @Override
         public MemorySegment nextSegment() {
-            MemorySegment segment = innerPool.nextSegment();
+            MemorySegment segment = allocate();
             if (segment == null) {
                 preemptMemory(owner);
-                segment = innerPool.nextSegment();
-            }
-            if (segment != null) {
-                allocatedPages++;
+                segment = allocate();
             }
             return segment;
         }
+
+        private MemorySegment allocate() {
+            synchronized (MemoryPoolFactory.this) {
+                MemorySegment segment = innerPool.nextSegment();
+                if (segment != null) {
+                    allocatedPages++;
+                }
+                return segment;
+            }
+        }
     }
 }
@@ -24,32 +24,21 @@ import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.data.serializer.RowCompactedSerializer;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.lookup.LookupStoreFactory;
-import org.apache.paimon.lookup.LookupStoreReader;
 import org.apache.paimon.lookup.LookupStoreWriter;
-import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.BloomFilter;
 import org.apache.paimon.utils.FileIOUtils;
 import org.apache.paimon.utils.IOFunction;
 
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cache;
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Caffeine;
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.RemovalCause;
-import org.apache.paimon.shade.guava30.com.google.common.util.concurrent.MoreExecutors;
-
 import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.time.Duration;
 import java.util.Comparator;
 import java.util.function.Supplier;
 
-import static org.apache.paimon.mergetree.LookupUtils.fileKibiBytes;
-import static org.apache.paimon.utils.Preconditions.checkArgument;
-
 /** Provide contains key. */
 public class ContainsLevels implements Levels.DropFileCallback, Closeable {
 
@@ -57,12 +46,14 @@ public class ContainsLevels implements Levels.DropFileCallback, Closeable {
 
     private final Levels levels;
     private final Comparator<InternalRow> keyComparator;
+    private final RowType keyType;
     private final RowCompactedSerializer keySerializer;
     private final IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory;
     private final Supplier<File> localFileFactory;
     private final LookupStoreFactory lookupStoreFactory;
+    @Nullable private final Double bloomFilterFpp;
 
-    private final Cache<String, ContainsFile> containsFiles;
+    private final LookupFileCache.Scope containsFiles;
 
     public ContainsLevels(
             Levels levels,
@@ -71,27 +62,22 @@ public class ContainsLevels implements Levels.DropFileCallback, Closeable {
             IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory,
             Supplier<File> localFileFactory,
             LookupStoreFactory lookupStoreFactory,
-            Duration fileRetention,
-            MemorySize maxDiskSize) {
+            LookupFileCache.Scope containsFiles,
+            @Nullable Double bloomFilterFpp) {
         this.levels = levels;
         this.keyComparator = keyComparator;
+        this.keyType = keyType;
         this.keySerializer = new RowCompactedSerializer(keyType);
         this.fileReaderFactory = fileReaderFactory;
         this.localFileFactory = localFileFactory;
         this.lookupStoreFactory = lookupStoreFactory;
-        this.containsFiles =
-                Caffeine.newBuilder()
-                        .expireAfterAccess(fileRetention)
-                        .maximumWeight(maxDiskSize.getKibiBytes())
-                        .weigher(this::fileWeigh)
-                        .removalListener(this::removalCallback)
-                        .executor(MoreExecutors.directExecutor())
-                        .build();
+        this.containsFiles = containsFiles;
+        this.bloomFilterFpp = bloomFilterFpp;
         levels.addDropFileCallback(this);
     }
 
     @VisibleForTesting
-    Cache<String, ContainsFile> containsFiles() {
+    LookupFileCache.Scope containsFiles() {
         return containsFiles;
     }
 
@@ -100,56 +86,67 @@ public class ContainsLevels implements Levels.DropFileCallback, Closeable {
         containsFiles.invalidate(file);
     }
 
-    public boolean contains(InternalRow key, int startLevel) throws IOException {
-        Boolean result = LookupUtils.lookup(levels, key, startLevel, this::contains);
-        return result != null && result;
+    /**
+     * Checks the key, checks are serialized because they share the serializer. Concurrent readers,
+     * such as the subcompactions of a bucket, should use their own {@link Checker} instead.
+     */
+    public synchronized boolean contains(InternalRow key, int startLevel) throws IOException {
+        return contains(key, startLevel, keySerializer);
     }
 
-    @Nullable
-    private Boolean contains(InternalRow key, SortedRun level) throws IOException {
-        return LookupUtils.lookup(keyComparator, key, level, this::contains);
+    /** Creates a {@link Checker} of the levels from the start level. */
+    public Checker checker(int startLevel) {
+        return new Checker(startLevel);
+    }
+
+    private boolean contains(InternalRow key, int startLevel, RowCompactedSerializer serializer)
+            throws IOException {
+        Boolean result =
+                LookupUtils.lookup(
+                        levels,
+                        key,
+                        startLevel,
+                        (k, level) ->
+                                LookupUtils.lookup(
+                                        keyComparator,
+                                        k,
+                                        level,
+                                        (k1, file) -> contains(k1, file, serializer)));
+        return result != null && result;
     }
 
     @Nullable
-    private Boolean contains(InternalRow key, DataFileMeta file) throws IOException {
-        ContainsFile containsFile = containsFiles.getIfPresent(file.fileName());
-        while (containsFile == null || containsFile.isClosed) {
-            containsFile = createContainsFile(file);
-            containsFiles.put(file.fileName(), containsFile);
-        }
-        if (containsFile.get(keySerializer.serializeToBytes(key)) != null) {
+    private Boolean contains(InternalRow key, DataFileMeta file, RowCompactedSerializer serializer)
+            throws IOException {
+        byte[] keyBytes = serializer.serializeToBytes(key);
+        if (containsFiles.lookup(file, keyBytes, f -> createContainsFile(f, serializer))
+                != null) {
             return true;
         }
         return null;
     }
 
-    private int fileWeigh(String file, ContainsFile containsFile) {
-        return fileKibiBytes(containsFile.localFile);
-    }
-
-    private void removalCallback(String key, ContainsFile file, RemovalCause cause) {
-        if (file != null) {
-            try {
-                file.close();
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
-        }
-    }
-
-    private ContainsFile createContainsFile(DataFileMeta file) throws IOException {
+    private LookupFile createContainsFile(DataFileMeta file, RowCompactedSerializer serializer)
+            throws IOException {
         File localFile = localFileFactory.get();
         if (!localFile.createNewFile()) {
             throw new IOException("Can not create new file: " + localFile);
         }
+        BloomFilter bloomFilter =
+                bloomFilterFpp == null
+                        ? null
+                        : BloomFilter.create(file.rowCount(), bloomFilterFpp);
         try (LookupStoreWriter kvWriter = lookupStoreFactory.createWriter(localFile);
                 RecordReader<KeyValue> reader = fileReaderFactory.apply(file)) {
             RecordReader.RecordIterator<KeyValue> batch;
             KeyValue kv;
             while ((batch = reader.readBatch()) != null) {
                 while ((kv = batch.next()) != null) {
-                    byte[] keyBytes = keySerializer.serializeToBytes(kv.key());
+                    byte[] keyBytes = serializer.serializeToBytes(kv.key());
                     kvWriter.put(keyBytes, EMPTY_VALUE);
+                    if (bloomFilter != null) {
+                        bloomFilter.add(keyBytes);
+                    }
                 }
                 batch.releaseBatch();
             }
@@ -158,37 +155,31 @@ public class ContainsLevels implements Levels.DropFileCallback, Closeable {
             throw e;
         }
 
-        return new ContainsFile(localFile, lookupStoreFactory.createReader(localFile));
-    }
-
-    @Override
-    public void close() throws IOException {
-        containsFiles.invalidateAll();
+        return new LookupFile(localFile, lookupStoreFactory.createReader(localFile), bloomFilter);
     }
 
-    private static class ContainsFile implements Closeable {
+    /**
+     * Checks keys of the levels from the start level. A {@link Checker} has its own serializer, so
+     * it is not thread safe itself, but the {@link Checker}s of different threads check the same
+     * levels concurrently.
+     */
+    public class Checker {
 
-        private final File localFile;
-        private final LookupStoreReader reader;
+        private final int startLevel;
+        private final RowCompactedSerializer serializer;
 
-        private boolean isClosed = false;
-
-        public ContainsFile(File localFile, LookupStoreReader reader) {
-            this.localFile = localFile;
-            this.reader = reader;
+        private Checker(int startLevel) {
+            this.startLevel = startLevel;
+            this.serializer = new RowCompactedSerializer(keyType);
         }
 
-        @Nullable
-        public byte[] get(byte[] key) throws IOException {
-            checkArgument(!isClosed);
-            return reader.lookup(key);
+        public boolean contains(InternalRow key) throws IOException {
+            return ContainsLevels.this.contains(key, startLevel, serializer);
         }
+    }
 
-        @Override
-        public void close() throws IOException {
-            reader.close();
-            isClosed = true;
-            FileIOUtils.deleteFileOrDirectory(localFile);
-        }
+    @Override
+    public void close() throws IOException {
+        containsFiles.close();
     }
 }
@@ -0,0 +1,523 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.KeyValueSerializer;
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.codegen.RecordComparator;
+import org.apache.paimon.data.AbstractPagedOutputView;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.RandomAccessInputView;
+import org.apache.paimon.data.SimpleCollectingOutputView;
+import org.apache.paimon.data.serializer.BinaryRowSerializer;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
+import org.apache.paimon.data.serializer.InternalSerializers;
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.sort.IndexedSortable;
+import org.apache.paimon.sort.QuickSort;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.MathUtils;
+import org.apache.paimon.utils.OffsetRow;
+
+import javax.annotation.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+import static org.apache.paimon.utils.Preconditions.checkState;
+
+/**
+ * A {@link WriteBuffer} which merges records with the same key at insert time. Only the merged
+ * record of each key is kept, so a buffer of frequently updated keys does not fill up with old
+ * versions. The surviving records are sorted by key when the buffer is flushed.
+ *
+ * <p>Records are stored in pages of the {@link MemorySegmentPool}, the hash index of keys is stored
+ * in pages too. Each bucket of the index holds the pointer of the record, the hash code of the key
+ * and a flag marking keys whose merged result is empty. A merged record is overwritten in place if
+ * its size does not change, otherwise it is appended and the old version is left as garbage until
+ * the buffer is cleared. When flushing, the live buckets are moved to the front of the index and
+ * sorted in place, so no extra memory is needed.
+ *
+ * <p>Records are merged in the order they are put, which must be the order of their sequence
+ * numbers.
+ */
+public class HashMergeWriteBuffer implements WriteBuffer {
+
+    private static final int BUCKET_SIZE = 16;
+    private static final int HASH_OFFSET = 8;
+    private static final int FLAG_OFFSET = 12;
+
+    private static final long EMPTY_POINTER = -1L;
+    private static final int FLAG_EMPTY_RESULT = 1;
+
+    private static final double LOAD_FACTOR = 0.5;
+
+    private final int keyArity;
+    private final MemorySegmentPool memoryPool;
+    private final int pageSize;
+    private final int bucketsPerSegment;
+    private final int bucketsPerSegmentBits;
+    private final MergeFunction<KeyValue> mergeFunction;
+
+    private final InternalRowSerializer keySerializer;
+    private final InternalRowSerializer rowSerializer;
+    private final BinaryRowSerializer binarySerializer;
+    private final KeyValueSerializer kvSerializer;
+    private final RecordComparator keyEquality;
+    private final KeyValue reusedKv;
+    private final BinaryRow reusedRow;
+    private final OffsetRow reusedStoredKey;
+
+    private final ArrayList<MemorySegment> recordSegments;
+    private final ArrayList<MemorySegment> bucketSegments;
+
+    private SimpleCollectingOutputView recordCollector;
+    private RandomAccessInputView recordReader;
+    private RandomAccessInputView recordReaderForComparison;
+    private RecordUpdater recordUpdater;
+
+    private long currentDataBufferOffset;
+    private int numBuckets;
+    private int numOccupiedBuckets;
+    private int numRecords;
+
+    private boolean initialized;
+    private boolean sorted;
+
+    public HashMergeWriteBuffer(
+            RowType keyType,
+            RowType valueType,
+            MemorySegmentPool memoryPool,
+            MergeFunction<KeyValue> mergeFunction) {
+        checkArgument(
+                memoryPool.pageSize() % BUCKET_SIZE == 0
+                        && Integer.bitCount(memoryPool.pageSize()) == 1,
+                "Page size should be a power of 2.");
+        if (memoryPool.freePages() < 3) {
+            throw new IllegalArgumentException(
+                    "Write buffer requires a minimum of 3 page memory, please increase write buffer memory size.");
+        }
+
+        this.keyArity = keyType.getFieldCount();
+        this.memoryPool = memoryPool;
+        this.pageSize = memoryPool.pageSize();
+        this.bucketsPerSegment = pageSize / BUCKET_SIZE;
+        this.bucketsPerSegmentBits = MathUtils.log2strict(bucketsPerSegment);
+        this.mergeFunction = mergeFunction;
+
+        this.keySerializer = new InternalRowSerializer(keyType);
+        this.rowSerializer = InternalSerializers.create(KeyValue.schema(keyType, valueType));
+        this.binarySerializer = new BinaryRowSerializer(rowSerializer.getArity());
+        this.kvSerializer = new KeyValueSerializer(keyType, valueType);
+        this.keyEquality =
+                CodeGenUtils.newRecordComparator(keyType.getFieldTypes(), "HashBufferKeyEquality");
+        this.reusedKv = new KeyValue();
+        this.reusedRow = new BinaryRow(rowSerializer.getArity());
+        this.reusedStoredKey = new OffsetRow(keyArity, 0);
+
+        this.recordSegments = new ArrayList<>();
+        this.bucketSegments = new ArrayList<>();
+        this.initialized = false;
+        this.sorted = false;
+    }
+
+    @Override
+    public boolean put(long sequenceNumber, RowKind valueKind, InternalRow key, InternalRow value)
+            throws IOException {
+        checkState(!sorted, "Write buffer has been flushed, it should be cleared first.");
+        if (!initialized && !initialize()) {
+            return false;
+        }
+
+        BinaryRow keyRow = keySerializer.toBinaryRow(key);
+        int hash = keyRow.hashCode();
+        int bucket = findBucket(keyRow, hash);
+        long pointer = pointer(bucket);
+        KeyValue kv = reusedKv.replace(key, sequenceNumber, valueKind, value);
+
+        if (pointer == EMPTY_POINTER) {
+            // reserve the bucket before appending the record, the index may need to grow
+            if (numOccupiedBuckets + 1 > numBuckets * LOAD_FACTOR) {
+                if (!growIndex()) {
+                    return false;
+                }
+                bucket = findBucket(keyRow, hash);
+            }
+
+            long newPointer = append(kvSerializer.toRow(kv));
+            if (newPointer < 0) {
+                return false;
+            }
+            setBucket(bucket, newPointer, hash, 0);
+            numOccupiedBuckets++;
+            numRecords++;
+            return true;
+        }
+
+        BinaryRow existing = readRecord(recordReader, pointer, reusedRow);
+        KeyValue merged;
+        if (flag(bucket) == FLAG_EMPTY_RESULT) {
+            // the previous records of this key have been merged to nothing
+            merged = kv;
+        } else {
+            mergeFunction.reset();
+            mergeFunction.add(kvSerializer.fromRow(existing));
+            mergeFunction.add(kv);
+            merged = mergeFunction.getResult();
+        }
+
+        if (merged == null) {
+            if (flag(bucket) != FLAG_EMPTY_RESULT) {
+                setFlag(bucket, FLAG_EMPTY_RESULT);
+                numRecords--;
+            }
+            return true;
+        }
+
+        BinaryRow mergedRow = rowSerializer.toBinaryRow(kvSerializer.toRow(merged));
+        if (mergedRow.getSizeInBytes() == existing.getSizeInBytes()) {
+            recordUpdater.overwrite(pointer, mergedRow);
+        } else {
+            long newPointer = append(mergedRow);
+            if (newPointer < 0) {
+                // the merged result is not stored, this record will be put again after flushing
+                return false;
+            }
+            setBucket(bucket, newPointer, hash, flag(bucket));
+        }
+
+        if (flag(bucket) == FLAG_EMPTY_RESULT) {
+            setFlag(bucket, 0);
+            numRecords++;
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return numRecords;
+    }
+
+    @Override
+    public long memoryOccupancy() {
+        return currentDataBufferOffset + (long) bucketSegments.size() * pageSize;
+    }
+
+    @Override
+    public boolean flushMemory() {
+        return false;
+    }
+
+    @Override
+    public void forEach(
+            Comparator<InternalRow> keyComparator,
+            MergeFunction<KeyValue> mergeFunction,
+            @Nullable KvConsumer rawConsumer,
+            KvConsumer mergedConsumer)
+            throws IOException {
+        // MergeTreeWriter never creates this buffer for 'input' changelog-producer
+        checkArgument(rawConsumer == null, "Hash write buffer does not keep raw records.");
+        if (!initialized || numRecords == 0) {
+            return;
+        }
+
+        // move live buckets to the front and sort them by key
+        int live = 0;
+        for (int bucket = 0; bucket < numBuckets; bucket++) {
+            if (pointer(bucket) != EMPTY_POINTER && flag(bucket) != FLAG_EMPTY_RESULT) {
+                if (bucket != live) {
+                    segment(bucket)
+                            .copyTo(offset(bucket), segment(live), offset(live), BUCKET_SIZE);
+                }
+                live++;
+            }
+        }
+        sorted = true;
+        new QuickSort().sort(new SortableBuckets(keyComparator, live));
+
+        BinaryRow row = new BinaryRow(rowSerializer.getArity());
+        for (int i = 0; i < live; i++) {
+            row = readRecord(recordReader, pointer(i), row);
+            mergedConsumer.accept(kvSerializer.fromRow(row));
+        }
+    }
+
+    @Override
+    public void clear() {
+        memoryPool.returnAll(recordSegments);
+        memoryPool.returnAll(bucketSegments);
+        recordSegments.clear();
+        bucketSegments.clear();
+        recordCollector = null;
+        recordReader = null;
+        recordReaderForComparison = null;
+        recordUpdater = null;
+        currentDataBufferOffset = 0;
+        numBuckets = 0;
+        numOccupiedBuckets = 0;
+        numRecords = 0;
+        initialized = false;
+        sorted = false;
+    }
+
+    private boolean initialize() {
+        if (memoryPool.freePages() < 2) {
+            return false;
+        }
+
+        MemorySegment bucketSegment = memoryPool.nextSegment();
+        initBuckets(bucketSegment);
+        bucketSegments.add(bucketSegment);
+        numBuckets = bucketsPerSegment;
+
+        recordCollector = new SimpleCollectingOutputView(recordSegments, memoryPool, pageSize);
+        recordReader = new RandomAccessInputView(recordSegments, pageSize);
+        recordReaderForComparison = new RandomAccessInputView(recordSegments, pageSize);
+        recordUpdater = new RecordUpdater(recordSegments.get(0));
+        initialized = true;
+        return true;
+    }
+
+    private long append(InternalRow row) throws IOException {
+        int skip;
+        try {
+            skip = rowSerializer.serializeToPages(row, recordCollector);
+        } catch (EOFException e) {
+            return -1;
+        }
+        long pointer = currentDataBufferOffset + skip;
+        currentDataBufferOffset = recordCollector.getCurrentOffset();
+        return pointer;
+    }
+
+    private BinaryRow readRecord(RandomAccessInputView reader, long pointer, BinaryRow reuse)
+            throws IOException {
+        reader.setReadPosition(pointer);
+        return binarySerializer.mapFromPages(reuse, reader);
+    }
+
+    // -------------------------------------------------------------------------
+    // Hash index
+    // -------------------------------------------------------------------------
+
+    /** Returns the bucket of the key, or the empty bucket where the key should be put. */
+    private int findBucket(BinaryRow keyRow, int hash) throws IOException {
+        int mask = numBuckets - 1;
+        int bucket = hash & mask;
+        while (true) {
+            long pointer = pointer(bucket);
+            if (pointer == EMPTY_POINTER) {
+                return bucket;
+            }
+            if (hash(bucket) == hash) {
+                BinaryRow stored = readRecord(recordReaderForComparison, pointer, reusedRow);
+                if (keyEquality.compare(reusedStoredKey.replace(stored), keyRow) == 0) {
+                    return bucket;
+                }
+            }
+            bucket = (bucket + 1) & mask;
+        }
+    }
+
+    private boolean growIndex() {
+        int newSegmentCount = bucketSegments.size() * 2;
+        List<MemorySegment> newSegments = new ArrayList<>(newSegmentCount);
+        for (int i = 0; i < newSegmentCount; i++) {
+            MemorySegment segment = memoryPool.nextSegment();
+            if (segment == null) {
+                memoryPool.returnAll(newSegments);
+                return false;
+            }
+            initBuckets(segment);
+            newSegments.add(segment);
+        }
+
+        List<MemorySegment> oldSegments = new ArrayList<>(bucketSegments);
+        int oldNumBuckets = numBuckets;
+        bucketSegments.clear();
+        bucketSegments.addAll(newSegments);
+        numBuckets = newSegmentCount * bucketsPerSegment;
+
+        int mask = numBuckets - 1;
+        for (int i = 0; i < oldNumBuckets; i++) {
+            MemorySegment oldSegment = oldSegments.get(i >>> bucketsPerSegmentBits);
+            int oldOffset = offset(i);
+            long pointer = oldSegment.getLong(oldOffset);
+            if (pointer != EMPTY_POINTER) {
+                int hash = oldSegment.getInt(oldOffset + HASH_OFFSET);
+                int bucket = hash & mask;
+                while (pointer(bucket) != EMPTY_POINTER) {
+                    bucket = (bucket + 1) & mask;
+                }
+                setBucket(bucket, pointer, hash, oldSegment.getInt(oldOffset + FLAG_OFFSET));
+            }
+        }
+        memoryPool.returnAll(oldSegments);
+        return true;
+    }
+
+    private void initBuckets(MemorySegment segment) {
+        for (int offset = 0; offset < pageSize; offset += BUCKET_SIZE) {
+            segment.putLong(offset, EMPTY_POINTER);
+        }
+    }
+
+    private MemorySegment segment(int bucket) {
+        return bucketSegments.get(bucket >>> bucketsPerSegmentBits);
+    }
+
+    private int offset(int bucket) {
+        return (bucket & (bucketsPerSegment - 1)) * BUCKET_SIZE;
+    }
+
+    private long pointer(int bucket) {
+        return segment(bucket).getLong(offset(bucket));
+    }
+
+    private int hash(int bucket) {
+        return segment(bucket).getInt(offset(bucket) + HASH_OFFSET);
+    }
+
+    private int flag(int bucket) {
+        return segment(bucket).getInt(offset(bucket) + FLAG_OFFSET);
+    }
+
+    private void setFlag(int bucket, int flag) {
+        segment(bucket).putInt(offset(bucket) + FLAG_OFFSET, flag);
+    }
+
+    private void setBucket(int bucket, long pointer, int hash, int flag) {
+        MemorySegment segment = segment(bucket);
+        int offset = offset(bucket);
+        segment.putLong(offset, pointer);
+        segment.putInt(offset + HASH_OFFSET, hash);
+        segment.putInt(offset + FLAG_OFFSET, flag);
+    }
+
+    // -------------------------------------------------------------------------
+    // Inner classes
+    // -------------------------------------------------------------------------
+
+    /** Overwrites a stored record with a new record of the same size. */
+    private class RecordUpdater extends AbstractPagedOutputView {
+
+        private int segmentIndex;
+
+        private RecordUpdater(MemorySegment initialSegment) {
+            super(initialSegment, pageSize);
+        }
+
+        private void overwrite(long pointer, BinaryRow row) throws IOException {
+            segmentIndex = (int) (pointer / pageSize);
+            seekOutput(recordSegments.get(segmentIndex), (int) (pointer % pageSize));
+            writeInt(row.getSizeInBytes());
+            BinaryRowSerializer.serializeWithoutLengthSlow(row, this);
+        }
+
+        @Override
+        protected MemorySegment nextSegment(MemorySegment current, int positionInCurrent) {
+            return recordSegments.get(++segmentIndex);
+        }
+    }
+
+    /** Sorts the first live buckets of the index by the keys of their records. */
+    private class SortableBuckets implements IndexedSortable {
+
+        private final Comparator<InternalRow> keyComparator;
+        private final int size;
+        private final byte[] swapBuffer;
+
+        private final BinaryRow rowI;
+        private final BinaryRow rowJ;
+        private final OffsetRow keyI;
+        private final OffsetRow keyJ;
+
+        private SortableBuckets(Comparator<InternalRow> keyComparator, int size) {
+            this.keyComparator = keyComparator;
+            this.size = size;
+            this.swapBuffer = new byte[BUCKET_SIZE];
+            this.rowI = new BinaryRow(rowSerializer.getArity());
+            this.rowJ = new BinaryRow(rowSerializer.getArity());
+            this.keyI = new OffsetRow(keyArity, 0);
+            this.keyJ = new OffsetRow(keyArity, 0);
+        }
+
+        @Override
+        public int compare(int i, int j) {
+            return compare(
+                    i >>> bucketsPerSegmentBits, offset(i), j >>> bucketsPerSegmentBits, offset(j));
+        }
+
+        @Override
+        public int compare(
+                int segmentNumberI, int segmentOffsetI, int segmentNumberJ, int segmentOffsetJ) {
+            long pointerI = bucketSegments.get(segmentNumberI).getLong(segmentOffsetI);
+            long pointerJ = bucketSegments.get(segmentNumberJ).getLong(segmentOffsetJ);
+            try {
+                readRecord(recordReader, pointerI, rowI);
+                readRecord(recordReaderForComparison, pointerJ, rowJ);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return keyComparator.compare(keyI.replace(rowI), keyJ.replace(rowJ));
+        }
+
+        @Override
+        public void swap(int i, int j) {
+            swap(i >>> bucketsPerSegmentBits, offset(i), j >>> bucketsPerSegmentBits, offset(j));
+        }
+
+        @Override
+        public void swap(
+                int segmentNumberI, int segmentOffsetI, int segmentNumberJ, int segmentOffsetJ) {
+            bucketSegments
+                    .get(segmentNumberI)
+                    .swapBytes(
+                            swapBuffer,
+                            bucketSegments.get(segmentNumberJ),
+                            segmentOffsetI,
+                            segmentOffsetJ,
+                            BUCKET_SIZE);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int recordSize() {
+            return BUCKET_SIZE;
+        }
+
+        @Override
+        public int recordsPerSegment() {
+            return bucketsPerSegment;
+        }
+    }
+}
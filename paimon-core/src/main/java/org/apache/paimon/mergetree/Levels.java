@@ -114,6 +114,10 @@ public class Levels {
         return numberOfSortedRuns;
     }
 
+    public int numberOfLevel0Files() {
+        return level0.size();
+    }
+
     /** @return the highest non-empty level or -1 if all levels empty. */
     public int nonEmptyHighestLevel() {
         int i;
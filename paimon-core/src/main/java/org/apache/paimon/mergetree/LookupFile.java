@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.lookup.LookupStoreReader;
+import org.apache.paimon.utils.BloomFilter;
+import org.apache.paimon.utils.FileIOUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+import static org.apache.paimon.mergetree.LookupUtils.fileKibiBytes;
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * A local file to look up the keys of a data file, created by {@link LookupLevels} or {@link
+ * ContainsLevels} and cached in a {@link LookupFileCache}.
+ *
+ * <p>A lookup file may have a bloom filter of its keys in memory, so missing keys do not probe the
+ * local file. The memory of the filter is added to the weight of the file in the cache and the
+ * filter is dropped together with the file.
+ */
+public class LookupFile implements Closeable {
+
+    private final File localFile;
+    private final LookupStoreReader reader;
+    @Nullable private final BloomFilter bloomFilter;
+    private final int kibiBytes;
+
+    private boolean isClosed = false;
+
+    public LookupFile(File localFile, LookupStoreReader reader) {
+        this(localFile, reader, null);
+    }
+
+    public LookupFile(
+            File localFile, LookupStoreReader reader, @Nullable BloomFilter bloomFilter) {
+        this.localFile = localFile;
+        this.reader = reader;
+        this.bloomFilter = bloomFilter;
+        this.kibiBytes =
+                fileKibiBytes(localFile)
+                        + (bloomFilter == null ? 0 : (int) (bloomFilter.memorySize() >> 10));
+    }
+
+    @Nullable
+    public byte[] get(byte[] key) throws IOException {
+        checkArgument(!isClosed);
+        if (bloomFilter != null && !bloomFilter.mightContain(key)) {
+            return null;
+        }
+        return reader.lookup(key);
+    }
+
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    public int kibiBytes() {
+        return kibiBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        reader.close();
+        isClosed = true;
+        FileIOUtils.deleteFileOrDirectory(localFile);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.utils.IOFunction;
+
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cache;
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.paimon.shade.guava30.com.google.common.util.concurrent.MoreExecutors;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A cache of {@link LookupFile}s limited by the disk size of the local files, the least recently
+ * used files are evicted first. A cache can be shared by the {@link LookupLevels} and {@link
+ * ContainsLevels} of many buckets and tables, each of them looks up its files through its own
+ * {@link Scope}.
+ */
+public class LookupFileCache {
+
+    private final Cache<FileKey, LookupFile> cache;
+
+    public LookupFileCache(Duration fileRetention, MemorySize maxDiskSize) {
+        this.cache =
+                Caffeine.newBuilder()
+                        .expireAfterAccess(fileRetention)
+                        .maximumWeight(maxDiskSize.getKibiBytes())
+                        .weigher(this::fileWeigh)
+                        .removalListener(this::removalCallback)
+                        .executor(MoreExecutors.directExecutor())
+                        .build();
+    }
+
+    /** Creates a scope for the files of one bucket of the table. */
+    public Scope createScope(String table) {
+        return new Scope(table);
+    }
+
+    private int fileWeigh(FileKey key, LookupFile file) {
+        return file.kibiBytes();
+    }
+
+    private void removalCallback(FileKey key, LookupFile file, RemovalCause cause) {
+        if (file != null) {
+            key.scope.kibiBytes.addAndGet(-file.kibiBytes());
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** The files of a {@link LookupFileCache} which belong to one owner. */
+    public class Scope implements Closeable {
+
+        private final String table;
+        private final AtomicLong kibiBytes;
+
+        private volatile boolean isClosed = false;
+
+        private Scope(String table) {
+            this.table = table;
+            this.kibiBytes = new AtomicLong(0);
+        }
+
+        /** The disk size of the cached files of this scope. */
+        public MemorySize diskSize() {
+            return MemorySize.ofKibiBytes(kibiBytes.get());
+        }
+
+        /**
+         * Looks up the key in the local file of the data file, the local file is created by the
+         * factory if it is not cached. Concurrent lookups of a missing file wait for one thread to
+         * create it.
+         */
+        @Nullable
+        public byte[] lookup(
+                DataFileMeta file, byte[] key, IOFunction<DataFileMeta, LookupFile> fileFactory)
+                throws IOException {
+            FileKey fileKey = new FileKey(this, file.fileName());
+            while (true) {
+                LookupFile lookupFile;
+                try {
+                    lookupFile = cache.get(fileKey, k -> createFile(file, fileFactory));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+
+                // the file may be evicted and closed by the owner of another scope
+                synchronized (lookupFile) {
+                    if (!lookupFile.isClosed()) {
+                        return lookupFile.get(key);
+                    }
+                }
+            }
+        }
+
+        private LookupFile createFile(
+                DataFileMeta file, IOFunction<DataFileMeta, LookupFile> fileFactory) {
+            LookupFile lookupFile;
+            try {
+                lookupFile = fileFactory.apply(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            kibiBytes.addAndGet(lookupFile.kibiBytes());
+            return lookupFile;
+        }
+
+        public void invalidate(String fileName) {
+            cache.invalidate(new FileKey(this, fileName));
+        }
+
+        public void invalidateAll() {
+            cache.invalidateAll(keys());
+        }
+
+        public boolean isClosed() {
+            return isClosed;
+        }
+
+        /** Invalidates the files of this scope, the scope is not used by its owner anymore. */
+        @Override
+        public void close() {
+            isClosed = true;
+            invalidateAll();
+        }
+
+        @VisibleForTesting
+        long estimatedSize() {
+            return keys().size();
+        }
+
+        private List<FileKey> keys() {
+            return cache.asMap().keySet().stream()
+                    .filter(key -> key.scope == this)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static class FileKey {
+
+        private final Scope scope;
+        private final String fileName;
+
+        private FileKey(Scope scope, String fileName) {
+            this.scope = scope;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileKey fileKey = (FileKey) o;
+            return scope == fileKey.scope && fileName.equals(fileKey.fileName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(scope), fileName);
+        }
+    }
+}
@@ -21,50 +21,43 @@ package org.apache.paimon.mergetree;
 import org.apache.paimon.KeyValue;
 import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.data.InternalRow;
-import org.apache.paimon.data.serializer.RowCompactedSerializer;
 import org.apache.paimon.io.DataFileMeta;
-import org.apache.paimon.io.DataOutputSerializer;
+import org.apache.paimon.io.LookupIndexFileWriter;
+import org.apache.paimon.io.LookupKeyValueSerializer;
 import org.apache.paimon.lookup.LookupStoreFactory;
-import org.apache.paimon.lookup.LookupStoreReader;
 import org.apache.paimon.lookup.LookupStoreWriter;
-import org.apache.paimon.memory.MemorySegment;
-import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.reader.RecordReader;
-import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.BiFunctionWithIOE;
+import org.apache.paimon.utils.BloomFilter;
 import org.apache.paimon.utils.FileIOUtils;
 import org.apache.paimon.utils.IOFunction;
 
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Cache;
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.Caffeine;
-import org.apache.paimon.shade.caffeine2.com.github.benmanes.caffeine.cache.RemovalCause;
-import org.apache.paimon.shade.guava30.com.google.common.util.concurrent.MoreExecutors;
-
 import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.function.Supplier;
 
-import static org.apache.paimon.mergetree.LookupUtils.fileKibiBytes;
-import static org.apache.paimon.utils.Preconditions.checkArgument;
-
 /** Provide lookup by key. */
 public class LookupLevels implements Levels.DropFileCallback, Closeable {
 
     private final Levels levels;
     private final Comparator<InternalRow> keyComparator;
-    private final RowCompactedSerializer keySerializer;
-    private final RowCompactedSerializer valueSerializer;
+    private final RowType keyType;
+    private final RowType valueType;
+    private final LookupKeyValueSerializer serializer;
     private final IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory;
     private final Supplier<File> localFileFactory;
     private final LookupStoreFactory lookupStoreFactory;
+    @Nullable private final Double bloomFilterFpp;
+    @Nullable private final BiFunctionWithIOE<DataFileMeta, File, Boolean> lookupIndexLoader;
 
-    private final Cache<String, LookupFile> lookupFiles;
+    private final LookupFileCache.Scope lookupFiles;
 
     public LookupLevels(
             Levels levels,
@@ -74,28 +67,29 @@ public class LookupLevels implements Levels.DropFileCallback, Closeable {
             IOFunction<DataFileMeta, RecordReader<KeyValue>> fileReaderFactory,
             Supplier<File> localFileFactory,
             LookupStoreFactory lookupStoreFactory,
-            Duration fileRetention,
-            MemorySize maxDiskSize) {
+            LookupFileCache.Scope lookupFiles,
+            @Nullable Double bloomFilterFpp,
+            @Nullable BiFunctionWithIOE<DataFileMeta, File, Boolean> lookupIndexLoader) {
         this.levels = levels;
         this.keyComparator = keyComparator;
-        this.keySerializer = new RowCompactedSerializer(keyType);
-        this.valueSerializer = new RowCompactedSerializer(valueType);
+        this.keyType = keyType;
+        this.valueType = valueType;
+        this.serializer = new LookupKeyValueSerializer(keyType, valueType);
         this.fileReaderFactory = fileReaderFactory;
         this.localFileFactory = localFileFactory;
         this.lookupStoreFactory = lookupStoreFactory;
-        this.lookupFiles =
-                Caffeine.newBuilder()
-                        .expireAfterAccess(fileRetention)
-                        .maximumWeight(maxDiskSize.getKibiBytes())
-                        .weigher(this::fileWeigh)
-                        .removalListener(this::removalCallback)
-                        .executor(MoreExecutors.directExecutor())
-                        .build();
+        this.lookupFiles = lookupFiles;
+        this.bloomFilterFpp = bloomFilterFpp;
+        this.lookupIndexLoader = lookupIndexLoader;
         levels.addDropFileCallback(this);
     }
 
+    public Levels getLevels() {
+        return levels;
+    }
+
     @VisibleForTesting
-    Cache<String, LookupFile> lookupFiles() {
+    LookupFileCache.Scope lookupFiles() {
         return lookupFiles;
     }
 
@@ -104,70 +98,112 @@ public class LookupLevels implements Levels.DropFileCallback, Closeable {
         lookupFiles.invalidate(file);
     }
 
+    /**
+     * Looks up the key, lookups of single keys are serialized because they share the serializer.
+     * Concurrent readers, such as the subcompactions of a bucket, should use their own {@link
+     * SortedKeyLookup} instead.
+     */
     @Nullable
-    public KeyValue lookup(InternalRow key, int startLevel) throws IOException {
-        return LookupUtils.lookup(levels, key, startLevel, this::lookup);
+    public synchronized KeyValue lookup(InternalRow key, int startLevel) throws IOException {
+        // the key is serialized once for all levels
+        byte[] keyBytes = serializer.serializeKey(key);
+        return LookupUtils.lookup(
+                levels,
+                key,
+                startLevel,
+                (k, level) ->
+                        LookupUtils.lookup(
+                                keyComparator,
+                                k,
+                                level,
+                                (k1, file) -> lookup(k1, keyBytes, file, serializer)));
     }
 
-    @Nullable
-    private KeyValue lookup(InternalRow key, SortedRun level) throws IOException {
-        return LookupUtils.lookup(keyComparator, key, level, this::lookup);
-    }
-
-    @Nullable
-    private KeyValue lookup(InternalRow key, DataFileMeta file) throws IOException {
-        LookupFile lookupFile = lookupFiles.getIfPresent(file.fileName());
-        while (lookupFile == null || lookupFile.isClosed) {
-            lookupFile = createLookupFile(file);
-            lookupFiles.put(file.fileName(), lookupFile);
+    /**
+     * Looks up the key in all sorted runs including the files of level 0, the results are ordered
+     * from the newest to the oldest. Like {@link #lookup(InternalRow, int)}, the lookups are
+     * serialized.
+     */
+    public synchronized List<KeyValue> lookupAll(InternalRow key) throws IOException {
+        byte[] keyBytes = serializer.serializeKey(key);
+        List<KeyValue> result = new ArrayList<>();
+        for (LevelSortedRun run : levels.levelSortedRuns()) {
+            KeyValue kv =
+                    LookupUtils.lookup(
+                            keyComparator,
+                            key,
+                            run.run(),
+                            (k, file) -> lookup(k, keyBytes, file, serializer));
+            if (kv != null) {
+                result.add(kv);
+            }
         }
+        return result;
+    }
 
-        byte[] keyBytes = keySerializer.serializeToBytes(key);
-        byte[] valueBytes = lookupFile.get(keyBytes);
-        if (valueBytes == null) {
-            return null;
+    /**
+     * Looks up keys in ascending order, the result of each key is null if the key is not found.
+     *
+     * @see SortedKeyLookup
+     */
+    public List<KeyValue> lookup(List<InternalRow> sortedKeys, int startLevel)
+            throws IOException {
+        SortedKeyLookup lookup = sortedKeyLookup(startLevel);
+        List<KeyValue> result = new ArrayList<>(sortedKeys.size());
+        for (InternalRow key : sortedKeys) {
+            result.add(lookup.lookup(key));
         }
-        InternalRow value = valueSerializer.deserialize(valueBytes);
-        long sequenceNumber = MemorySegment.wrap(valueBytes).getLong(valueBytes.length - 9);
-        RowKind rowKind = RowKind.fromByteValue(valueBytes[valueBytes.length - 1]);
-        return new KeyValue()
-                .replace(key, sequenceNumber, rowKind, value)
-                .setLevel(lookupFile.remoteFile().level());
+        return result;
     }
 
-    private int fileWeigh(String file, LookupFile lookupFile) {
-        return fileKibiBytes(lookupFile.localFile);
+    /** Creates a {@link SortedKeyLookup} of the levels from the start level. */
+    public SortedKeyLookup sortedKeyLookup(int startLevel) {
+        if (startLevel == 0) {
+            throw new IllegalArgumentException("Start level can not be zero.");
+        }
+        return new SortedKeyLookup(startLevel);
     }
 
-    private void removalCallback(String key, LookupFile file, RemovalCause cause) {
-        if (file != null) {
-            try {
-                file.close();
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
-            }
+    @Nullable
+    private KeyValue lookup(
+            InternalRow key,
+            byte[] keyBytes,
+            DataFileMeta file,
+            LookupKeyValueSerializer serializer)
+            throws IOException {
+        byte[] valueBytes =
+                lookupFiles.lookup(file, keyBytes, f -> createLookupFile(f, serializer));
+        if (valueBytes == null) {
+            return null;
         }
+        return serializer.deserialize(key, valueBytes).setLevel(file.level());
     }
 
-    private LookupFile createLookupFile(DataFileMeta file) throws IOException {
+    private LookupFile createLookupFile(DataFileMeta file, LookupKeyValueSerializer serializer)
+            throws IOException {
         File localFile = localFileFactory.get();
         if (!localFile.createNewFile()) {
             throw new IOException("Can not create new file: " + localFile);
         }
+        if (lookupIndexLoader != null && loadLookupIndex(file, localFile)) {
+            return new LookupFile(localFile, lookupStoreFactory.createReader(localFile));
+        }
+
+        BloomFilter bloomFilter =
+                bloomFilterFpp == null
+                        ? null
+                        : BloomFilter.create(file.rowCount(), bloomFilterFpp);
         try (LookupStoreWriter kvWriter = lookupStoreFactory.createWriter(localFile);
                 RecordReader<KeyValue> reader = fileReaderFactory.apply(file)) {
-            DataOutputSerializer valueOut = new DataOutputSerializer(32);
             RecordReader.RecordIterator<KeyValue> batch;
             KeyValue kv;
             while ((batch = reader.readBatch()) != null) {
                 while ((kv = batch.next()) != null) {
-                    byte[] keyBytes = keySerializer.serializeToBytes(kv.key());
-                    valueOut.clear();
-                    valueOut.write(valueSerializer.serializeToBytes(kv.value()));
-                    valueOut.writeLong(kv.sequenceNumber());
-                    valueOut.writeByte(kv.valueKind().toByteValue());
-                    byte[] valueBytes = valueOut.getCopyOfBuffer();
-                    kvWriter.put(keyBytes, valueBytes);
+                    byte[] keyBytes = serializer.serializeKey(kv.key());
+                    kvWriter.put(keyBytes, serializer.serializeValue(kv));
+                    if (bloomFilter != null) {
+                        bloomFilter.add(keyBytes);
+                    }
                 }
                 batch.releaseBatch();
             }
@@ -176,43 +212,96 @@ public class LookupLevels implements Levels.DropFileCallback, Closeable {
             throw e;
         }
 
-        return new LookupFile(localFile, file, lookupStoreFactory.createReader(localFile));
+        return new LookupFile(localFile, lookupStoreFactory.createReader(localFile), bloomFilter);
     }
 
-    @Override
-    public void close() throws IOException {
-        lookupFiles.invalidateAll();
+    /** Loads the index written together with the data file, see {@link LookupIndexFileWriter}. */
+    private boolean loadLookupIndex(DataFileMeta file, File localFile) throws IOException {
+        try {
+            return lookupIndexLoader.apply(file, localFile);
+        } catch (IOException e) {
+            FileIOUtils.deleteFileOrDirectory(localFile);
+            throw e;
+        }
     }
 
-    private static class LookupFile implements Closeable {
+    /**
+     * Lookup of keys given in ascending order, such as the keys produced by the merging of a
+     * compaction. Instead of a binary search for each key, the candidate file of each level only
+     * moves forward, so the keys in the same file probe its lookup file one after another.
+     *
+     * <p>The runs of the levels are fixed by the first lookup, so a {@link SortedKeyLookup} is only
+     * valid as long as the levels from the start level are not changed.
+     *
+     * <p>A {@link SortedKeyLookup} has its own serializer, so it is not thread safe itself, but the
+     * {@link SortedKeyLookup}s of different threads look up the same levels concurrently.
+     */
+    public class SortedKeyLookup {
 
-        private final File localFile;
-        private final DataFileMeta remoteFile;
-        private final LookupStoreReader reader;
+        private final int startLevel;
+        private final LookupKeyValueSerializer serializer;
 
-        private boolean isClosed = false;
+        private List<List<DataFileMeta>> levelFiles;
+        private int[] fileIndexes;
 
-        public LookupFile(File localFile, DataFileMeta remoteFile, LookupStoreReader reader) {
-            this.localFile = localFile;
-            this.remoteFile = remoteFile;
-            this.reader = reader;
+        private SortedKeyLookup(int startLevel) {
+            this.startLevel = startLevel;
+            this.serializer = new LookupKeyValueSerializer(keyType, valueType);
         }
 
         @Nullable
-        public byte[] get(byte[] key) throws IOException {
-            checkArgument(!isClosed);
-            return reader.lookup(key);
-        }
+        public KeyValue lookup(InternalRow key) throws IOException {
+            if (levelFiles == null) {
+                levelFiles = new ArrayList<>();
+                for (int i = startLevel; i < levels.numberOfLevels(); i++) {
+                    levelFiles.add(levels.runOfLevel(i).files());
+                }
+                fileIndexes = new int[levelFiles.size()];
+            }
 
-        public DataFileMeta remoteFile() {
-            return remoteFile;
+            byte[] keyBytes = null;
+            for (int i = 0; i < levelFiles.size(); i++) {
+                DataFileMeta file = candidateFile(i, key);
+                if (file == null) {
+                    continue;
+                }
+
+                if (keyBytes == null) {
+                    keyBytes = serializer.serializeKey(key);
+                }
+                KeyValue kv = LookupLevels.this.lookup(key, keyBytes, file, serializer);
+                if (kv != null) {
+                    return kv;
+                }
+            }
+            return null;
         }
 
-        @Override
-        public void close() throws IOException {
-            reader.close();
-            isClosed = true;
-            FileIOUtils.deleteFileOrDirectory(localFile);
+        /** Returns the only file of the level which may contain the key. */
+        @Nullable
+        private DataFileMeta candidateFile(int level, InternalRow key) {
+            List<DataFileMeta> files = levelFiles.get(level);
+            int index = fileIndexes[level];
+            if (index > 0 && keyComparator.compare(files.get(index - 1).maxKey(), key) >= 0) {
+                // the keys are not in ascending order, search from the first file
+                index = 0;
+            }
+            while (index < files.size()
+                    && keyComparator.compare(files.get(index).maxKey(), key) < 0) {
+                index++;
+            }
+            fileIndexes[level] = index;
+
+            if (index == files.size()) {
+                return null;
+            }
+            DataFileMeta file = files.get(index);
+            return keyComparator.compare(file.minKey(), key) > 0 ? null : file;
         }
     }
+
+    @Override
+    public void close() throws IOException {
+        lookupFiles.close();
+    }
 }
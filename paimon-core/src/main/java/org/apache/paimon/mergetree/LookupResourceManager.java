@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.options.Options;
+
+import static org.apache.paimon.CoreOptions.LOOKUP_CACHE_FILE_RETENTION;
+import static org.apache.paimon.CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE;
+import static org.apache.paimon.CoreOptions.LOOKUP_CACHE_MAX_MEMORY_SIZE;
+import static org.apache.paimon.CoreOptions.LOOKUP_CACHE_MMAP_ENABLED;
+
+/**
+ * The lookup resources shared by the writers of all buckets and tables in a process if {@link
+ * CoreOptions#LOOKUP_CACHE_SHARED} is enabled. The local lookup files are limited by one disk size
+ * and their cached pages by one memory size, both taken from the options of the table which uses
+ * the resources first.
+ */
+public class LookupResourceManager {
+
+    private static LookupResourceManager instance;
+
+    private final CacheManager cacheManager;
+    private final LookupFileCache fileCache;
+
+    private LookupResourceManager(CoreOptions options) {
+        Options conf = options.toConfiguration();
+        this.cacheManager =
+                new CacheManager(
+                        options.pageSize(),
+                        conf.get(LOOKUP_CACHE_MAX_MEMORY_SIZE),
+                        conf.get(LOOKUP_CACHE_MMAP_ENABLED));
+        this.fileCache =
+                new LookupFileCache(
+                        conf.get(LOOKUP_CACHE_FILE_RETENTION),
+                        conf.get(LOOKUP_CACHE_MAX_DISK_SIZE));
+    }
+
+    public static synchronized LookupResourceManager getOrCreate(CoreOptions options) {
+        if (instance == null) {
+            instance = new LookupResourceManager(options);
+        }
+        return instance;
+    }
+
+    public CacheManager cacheManager() {
+        return cacheManager;
+    }
+
+    public LookupFileCache fileCache() {
+        return fileCache;
+    }
+}
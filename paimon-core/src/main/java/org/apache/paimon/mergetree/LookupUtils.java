@@ -18,12 +18,28 @@
 
 package org.apache.paimon.mergetree;
 
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.CoreOptions.LookupLocalFileType;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.serializer.RowCompactedSerializer;
+import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.io.DataFilePathFactory;
+import org.apache.paimon.io.LookupIndexFileWriter;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
+import org.apache.paimon.lookup.sort.SortLookupStoreFactory;
 import org.apache.paimon.options.MemorySize;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.BiFunctionWithIOE;
+import org.apache.paimon.utils.IOUtils;
+
+import javax.annotation.Nullable;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
@@ -100,4 +116,114 @@ public class LookupUtils {
         }
         return (int) kibiBytes;
     }
+
+    /** The false positive probability of the bloom filters for lookup, null if disabled. */
+    @Nullable
+    public static Double bloomFilterFpp(CoreOptions options) {
+        Options conf = options.toConfiguration();
+        return conf.get(CoreOptions.LOOKUP_BLOOM_FILTER_ENABLED)
+                ? conf.get(CoreOptions.LOOKUP_BLOOM_FILTER_FPP)
+                : null;
+    }
+
+    /** Creates the factory of local lookup files of the configured file type. */
+    public static LookupStoreFactory createLookupStoreFactory(
+            CoreOptions options,
+            CacheManager cacheManager,
+            RowType keyType,
+            Comparator<InternalRow> keyComparator) {
+        Options conf = options.toConfiguration();
+        LookupLocalFileType fileType = conf.get(CoreOptions.LOOKUP_LOCAL_FILE_TYPE);
+        switch (fileType) {
+            case HASH:
+                return new HashLookupStoreFactory(
+                        cacheManager, conf.get(CoreOptions.LOOKUP_HASH_LOAD_FACTOR));
+            case SORT:
+                // the keys are written in the order of the key comparator
+                return new SortLookupStoreFactory(
+                        cacheManager,
+                        () -> createSerializedKeyComparator(keyType, keyComparator),
+                        (int) conf.get(CoreOptions.LOOKUP_SORT_BLOCK_SIZE).getBytes(),
+                        conf.get(CoreOptions.LOOKUP_SORT_COMPRESSION),
+                        bloomFilterFpp(options));
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported lookup local file type: " + fileType);
+        }
+    }
+
+    /**
+     * Creates a comparator of the serialized keys for a reader of a sort lookup file. The key
+     * comparator of a merge tree compares the fields in ascending order, so the keys are compared
+     * in serialized form if possible, and are deserialized only for the key types which cannot be.
+     */
+    private static Comparator<byte[]> createSerializedKeyComparator(
+            RowType keyType, Comparator<InternalRow> keyComparator) {
+        RowCompactedSerializer keySerializer = new RowCompactedSerializer(keyType);
+        Comparator<byte[]> serializedComparator = keySerializer.createSerializedComparator();
+        if (serializedComparator != null) {
+            return serializedComparator;
+        }
+        return (key1, key2) ->
+                keyComparator.compare(
+                        keySerializer.deserialize(key1), keySerializer.deserialize(key2));
+    }
+
+    /**
+     * Creates the cache of the pages of local lookup files, which is shared by all buckets and
+     * tables in the process if {@link CoreOptions#LOOKUP_CACHE_SHARED} is enabled.
+     */
+    public static CacheManager createCacheManager(CoreOptions options) {
+        Options conf = options.toConfiguration();
+        if (conf.get(CoreOptions.LOOKUP_CACHE_SHARED)) {
+            return LookupResourceManager.getOrCreate(options).cacheManager();
+        }
+        return new CacheManager(
+                options.pageSize(),
+                conf.get(CoreOptions.LOOKUP_CACHE_MAX_MEMORY_SIZE),
+                conf.get(CoreOptions.LOOKUP_CACHE_MMAP_ENABLED));
+    }
+
+    /**
+     * Creates the cache of local lookup files, which is shared by all buckets and tables in the
+     * process if {@link CoreOptions#LOOKUP_CACHE_SHARED} is enabled.
+     */
+    public static LookupFileCache createFileCache(CoreOptions options) {
+        Options conf = options.toConfiguration();
+        if (conf.get(CoreOptions.LOOKUP_CACHE_SHARED)) {
+            return LookupResourceManager.getOrCreate(options).fileCache();
+        }
+        return new LookupFileCache(
+                conf.get(CoreOptions.LOOKUP_CACHE_FILE_RETENTION),
+                conf.get(CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE));
+    }
+
+    /**
+     * Creates the loader of the lookup indexes written together with the data files of a bucket,
+     * null if the indexes are disabled, see {@link LookupIndexFileWriter}.
+     */
+    @Nullable
+    public static BiFunctionWithIOE<DataFileMeta, File, Boolean> lookupIndexLoader(
+            CoreOptions options,
+            FileIO fileIO,
+            DataFilePathFactory pathFactory,
+            long schemaId) {
+        if (!options.toConfiguration().get(CoreOptions.LOOKUP_REMOTE_INDEX_ENABLED)) {
+            return null;
+        }
+
+        LookupLocalFileType fileType =
+                options.toConfiguration().get(CoreOptions.LOOKUP_LOCAL_FILE_TYPE);
+        return (file, localFile) -> {
+            String indexFile = LookupIndexFileWriter.lookupIndexFile(file, fileType);
+            // values of the files written by other schemas are of other types
+            if (indexFile == null || file.schemaId() != schemaId) {
+                return false;
+            }
+            IOUtils.copyBytes(
+                    fileIO.newInputStream(pathFactory.toPath(indexFile)),
+                    new FileOutputStream(localFile));
+            return true;
+        };
+    }
 }
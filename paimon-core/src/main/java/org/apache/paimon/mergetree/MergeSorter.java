@@ -34,6 +34,7 @@ import org.apache.paimon.data.serializer.InternalSerializers;
 import org.apache.paimon.disk.IOManager;
 import org.apache.paimon.memory.CachelessSegmentPool;
 import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.memory.OffHeapMemorySegmentPool;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader.ReaderSupplier;
 import org.apache.paimon.mergetree.compact.MergeFunctionWrapper;
@@ -55,16 +56,19 @@ import org.apache.paimon.utils.OffsetRow;
 
 import javax.annotation.Nullable;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import static org.apache.paimon.schema.SystemColumns.SEQUENCE_NUMBER;
 import static org.apache.paimon.schema.SystemColumns.VALUE_KIND;
 
 /** The merge sorter to sort and merge readers with key overlap. */
-public class MergeSorter {
+public class MergeSorter implements Closeable {
 
     private final RowType keyType;
     private RowType valueType;
@@ -75,6 +79,10 @@ public class MergeSorter {
 
     private final MemorySegmentPool memoryPool;
 
+    // the memory pool is owned by one spilling sorter at a time, as merge sorts of subcompactions
+    // may run concurrently
+    private final Semaphore spillPermit;
+
     @Nullable private IOManager ioManager;
 
     public MergeSorter(
@@ -82,14 +90,32 @@ public class MergeSorter {
             RowType keyType,
             RowType valueType,
             @Nullable IOManager ioManager) {
+        this(
+                options,
+                keyType,
+                valueType,
+                ioManager,
+                options.writeBufferOffHeap()
+                        ? new OffHeapMemorySegmentPool(
+                                options.sortSpillBufferSize(), options.pageSize())
+                        : new CachelessSegmentPool(
+                                options.sortSpillBufferSize(), options.pageSize()));
+    }
+
+    public MergeSorter(
+            CoreOptions options,
+            RowType keyType,
+            RowType valueType,
+            @Nullable IOManager ioManager,
+            MemorySegmentPool memoryPool) {
         this.sortEngine = options.sortEngine();
         this.spillThreshold = options.sortSpillThreshold();
         this.spillSortMaxNumFiles = options.localSortMaxNumFileHandles();
         this.keyType = keyType;
         this.valueType = valueType;
-        this.memoryPool =
-                new CachelessSegmentPool(options.sortSpillBufferSize(), options.pageSize());
+        this.memoryPool = memoryPool;
         this.ioManager = ioManager;
+        this.spillPermit = new Semaphore(1);
     }
 
     public MemorySegmentPool memoryPool() {
@@ -104,6 +130,14 @@ public class MergeSorter {
         this.valueType = projectedType;
     }
 
+    /** Closes the memory pool, all readers returned by this sorter should be closed before. */
+    @Override
+    public void close() throws IOException {
+        if (memoryPool instanceof Closeable) {
+            ((Closeable) memoryPool).close();
+        }
+    }
+
     public <T> RecordReader<T> mergeSort(
             List<ReaderSupplier<KeyValue>> lazyReaders,
             Comparator<InternalRow> keyComparator,
@@ -133,14 +167,33 @@ public class MergeSorter {
             Comparator<InternalRow> keyComparator,
             MergeFunctionWrapper<T> mergeFunction)
             throws IOException {
-        ExternalSorterWithLevel sorter = new ExternalSorterWithLevel();
-        ConcatRecordReader.create(readers).forIOEachRemaining(sorter::put);
-        sorter.flushMemory();
+        try {
+            spillPermit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the spill memory.");
+        }
+
+        ExternalSorterWithLevel sorter = null;
+        NoReusingMergeIterator<T> iterator;
+        try {
+            sorter = new ExternalSorterWithLevel();
+            ConcatRecordReader.create(readers).forIOEachRemaining(sorter::put);
+            sorter.flushMemory();
+            iterator = sorter.newIterator(keyComparator, mergeFunction);
+        } catch (Throwable t) {
+            if (sorter != null) {
+                sorter.clear();
+            }
+            spillPermit.release();
+            throw t;
+        }
 
-        NoReusingMergeIterator<T> iterator = sorter.newIterator(keyComparator, mergeFunction);
+        ExternalSorterWithLevel spilledSorter = sorter;
         return new RecordReader<T>() {
 
             private boolean read = false;
+            private boolean closed = false;
 
             @Nullable
             @Override
@@ -163,7 +216,11 @@ public class MergeSorter {
 
             @Override
             public void close() {
-                sorter.clear();
+                if (!closed) {
+                    closed = true;
+                    spilledSorter.clear();
+                    spillPermit.release();
+                }
             }
         };
     }
@@ -72,15 +72,37 @@ public class MergeTreeReaders {
             MergeFunctionWrapper<T> mergeFunctionWrapper,
             MergeSorter mergeSorter)
             throws IOException {
+        return readerForSection(
+                section, readerFactory, userKeyComparator, mergeFunctionWrapper, mergeSorter, 0);
+    }
+
+    public static <T> RecordReader<T> readerForSection(
+            List<SortedRun> section,
+            KeyValueFileReaderFactory readerFactory,
+            Comparator<InternalRow> userKeyComparator,
+            MergeFunctionWrapper<T> mergeFunctionWrapper,
+            MergeSorter mergeSorter,
+            int prefetchFiles)
+            throws IOException {
         List<ReaderSupplier<KeyValue>> readers = new ArrayList<>();
         for (SortedRun run : section) {
-            readers.add(() -> readerForRun(run, readerFactory));
+            readers.add(() -> readerForRun(run, readerFactory, prefetchFiles));
         }
         return mergeSorter.mergeSort(readers, userKeyComparator, mergeFunctionWrapper);
     }
 
     public static RecordReader<KeyValue> readerForRun(
             SortedRun run, KeyValueFileReaderFactory readerFactory) throws IOException {
+        return readerForRun(run, readerFactory, 0);
+    }
+
+    /**
+     * Concatenates the files of a run, the next {@code prefetchFiles} files are opened in advance
+     * while the current one is read.
+     */
+    public static RecordReader<KeyValue> readerForRun(
+            SortedRun run, KeyValueFileReaderFactory readerFactory, int prefetchFiles)
+            throws IOException {
         List<ReaderSupplier<KeyValue>> readers = new ArrayList<>();
         for (DataFileMeta file : run.files()) {
             readers.add(
@@ -88,6 +110,6 @@ public class MergeTreeReaders {
                             readerFactory.createRecordReader(
                                     file.schemaId(), file.fileName(), file.level()));
         }
-        return ConcatRecordReader.create(readers);
+        return ConcatRecordReader.create(readers, prefetchFiles);
     }
 }
@@ -33,6 +33,7 @@ import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.memory.MemoryOwner;
 import org.apache.paimon.memory.MemorySegmentPool;
 import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.mergetree.compact.MergeFunctionFactory;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.CommitIncrement;
 import org.apache.paimon.utils.RecordWriter;
@@ -41,14 +42,20 @@ import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
 /** A {@link RecordWriter} to write records and generate {@link CompactIncrement}. */
 public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
@@ -64,6 +71,8 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private final KeyValueFileWriterFactory writerFactory;
     private final boolean commitForceCompact;
     private final ChangelogProducer changelogProducer;
+    @Nullable private final MergeFunctionFactory<KeyValue> hashBufferMfFactory;
+    @Nullable private final ExecutorService flushExecutor;
 
     private final LinkedHashSet<DataFileMeta> newFiles;
     private final LinkedHashSet<DataFileMeta> newFilesChangelog;
@@ -74,6 +83,17 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
     private long newSequenceNumber;
     private WriteBuffer writeBuffer;
 
+    // fields below are only used when the write buffer is flushed asynchronously
+    private WriteBufferMemoryPool writeBufferPool;
+    private WriteBuffer flushingBuffer;
+    private WriteBufferMemoryPool flushingBufferPool;
+    @Nullable private Future<NewFilesIncrement> flushFuture;
+
+    // held when this writer may be used by a thread other than the writing one, i.e. when
+    // preparing commit in parallel with other writers and when flushed by other memory owners
+    private final ReentrantLock accessLock = new ReentrantLock();
+    private volatile boolean flushMemoryRequested;
+
     public MergeTreeWriter(
             boolean writeBufferSpillable,
             int sortMaxFan,
@@ -85,6 +105,8 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
             KeyValueFileWriterFactory writerFactory,
             boolean commitForceCompact,
             ChangelogProducer changelogProducer,
+            @Nullable MergeFunctionFactory<KeyValue> hashBufferMfFactory,
+            @Nullable ExecutorService flushExecutor,
             @Nullable CommitIncrement increment) {
         this.writeBufferSpillable = writeBufferSpillable;
         this.sortMaxFan = sortMaxFan;
@@ -98,6 +120,12 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         this.writerFactory = writerFactory;
         this.commitForceCompact = commitForceCompact;
         this.changelogProducer = changelogProducer;
+        // the hash write buffer does not keep the raw records to produce input changelog
+        checkArgument(
+                hashBufferMfFactory == null || changelogProducer != ChangelogProducer.INPUT,
+                "Hash write buffer can not be used with 'input' changelog-producer.");
+        this.hashBufferMfFactory = hashBufferMfFactory;
+        this.flushExecutor = flushExecutor;
 
         this.newFiles = new LinkedHashSet<>();
         this.newFilesChangelog = new LinkedHashSet<>();
@@ -127,25 +155,48 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void setMemoryPool(MemorySegmentPool memoryPool) {
-        this.writeBuffer =
-                new SortBufferWriteBuffer(
-                        keyType,
-                        valueType,
-                        memoryPool,
-                        writeBufferSpillable,
-                        sortMaxFan,
-                        ioManager);
+        if (flushExecutor == null) {
+            this.writeBuffer = createWriteBuffer(memoryPool);
+        } else {
+            // each buffer can use at most half of the memory, so that one buffer can still take
+            // records while the other one is being flushed
+            int maxPages = memoryPool.freePages() / 2;
+            this.writeBufferPool = new WriteBufferMemoryPool(memoryPool, maxPages);
+            this.writeBuffer = createWriteBuffer(writeBufferPool);
+            this.flushingBufferPool = new WriteBufferMemoryPool(memoryPool, maxPages);
+            this.flushingBuffer = createWriteBuffer(flushingBufferPool);
+        }
+    }
+
+    private WriteBuffer createWriteBuffer(MemorySegmentPool memoryPool) {
+        if (hashBufferMfFactory != null) {
+            // records are merged when writing, each buffer needs its own merge function
+            return new HashMergeWriteBuffer(
+                    keyType, valueType, memoryPool, hashBufferMfFactory.create());
+        }
+        return new SortBufferWriteBuffer(
+                keyType, valueType, memoryPool, writeBufferSpillable, sortMaxFan, ioManager);
     }
 
     @Override
     public void write(KeyValue kv) throws Exception {
+        if (flushMemoryRequested) {
+            flushMemory();
+        }
+
         long sequenceNumber =
                 kv.sequenceNumber() == KeyValue.UNKNOWN_SEQUENCE
                         ? newSequenceNumber()
                         : kv.sequenceNumber();
         boolean success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
         if (!success) {
-            flushWriteBuffer(false, false);
+            // slow down writes gradually before they are stopped by too many sorted runs
+            compactManager.delayWrites();
+            if (flushExecutor == null) {
+                flushWriteBuffer(false, false);
+            } else {
+                flushWriteBufferAsync();
+            }
             success = writeBuffer.put(sequenceNumber, kv.valueKind(), kv.key(), kv.value());
             if (!success) {
                 throw new RuntimeException("Mem table is too small to hold a single element.");
@@ -170,68 +221,138 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public long memoryOccupancy() {
-        return writeBuffer.memoryOccupancy();
+        long occupancy = writeBuffer.memoryOccupancy();
+        if (flushingBuffer != null) {
+            occupancy += flushingBuffer.memoryOccupancy();
+        }
+        return occupancy;
     }
 
     @Override
     public void flushMemory() throws Exception {
+        flushMemoryRequested = false;
         boolean success = writeBuffer.flushMemory();
         if (!success) {
             flushWriteBuffer(false, false);
         }
     }
 
+    @Override
+    public boolean tryFlushMemory() throws Exception {
+        if (!accessLock.tryLock()) {
+            flushMemoryRequested = true;
+            return false;
+        }
+        try {
+            flushMemory();
+            return true;
+        } finally {
+            accessLock.unlock();
+        }
+    }
+
     private void flushWriteBuffer(boolean waitForLatestCompaction, boolean forcedFullCompaction)
             throws Exception {
+        // the outstanding asynchronous flush must be finished first, so that level 0 files are
+        // added in the order of their sequence numbers
+        finishAsyncFlush();
+
         if (writeBuffer.size() > 0) {
             if (compactManager.shouldWaitForLatestCompaction()) {
                 waitForLatestCompaction = true;
             }
 
-            final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter =
-                    changelogProducer == ChangelogProducer.INPUT
-                            ? writerFactory.createRollingChangelogFileWriter(0)
-                            : null;
-            final RollingFileWriter<KeyValue, DataFileMeta> dataWriter =
-                    writerFactory.createRollingMergeTreeFileWriter(0);
-
-            try {
-                writeBuffer.forEach(
-                        keyComparator,
-                        mergeFunction,
-                        changelogWriter == null ? null : changelogWriter::write,
-                        dataWriter::write);
-            } finally {
-                if (changelogWriter != null) {
-                    changelogWriter.close();
-                }
-                dataWriter.close();
-            }
+            addNewFiles(flush(writeBuffer));
+            writeBuffer.clear();
+        }
+
+        trySyncLatestCompaction(waitForLatestCompaction);
+        compactManager.triggerCompaction(forcedFullCompaction);
+    }
+
+    /**
+     * Freezes the full write buffer and hands it over to the flush executor, records continue to
+     * be written into the other buffer. At most one buffer is flushed at a time.
+     */
+    private void flushWriteBufferAsync() throws Exception {
+        finishAsyncFlush();
+        trySyncLatestCompaction(compactManager.shouldWaitForLatestCompaction());
+        compactManager.triggerCompaction(false);
+
+        WriteBuffer frozenBuffer = writeBuffer;
+        WriteBufferMemoryPool frozenPool = writeBufferPool;
+        writeBuffer = flushingBuffer;
+        writeBufferPool = flushingBufferPool;
+        flushingBuffer = frozenBuffer;
+        flushingBufferPool = frozenPool;
+
+        frozenPool.freeze();
+        flushFuture = flushExecutor.submit(() -> flush(frozenBuffer));
+    }
+
+    private void finishAsyncFlush() throws Exception {
+        if (flushFuture == null) {
+            return;
+        }
+
+        NewFilesIncrement increment;
+        try {
+            increment = flushFuture.get();
+        } finally {
+            flushFuture = null;
+            flushingBufferPool.unfreeze();
+            flushingBuffer.clear();
+        }
+        addNewFiles(increment);
+    }
 
+    private NewFilesIncrement flush(WriteBuffer buffer) throws Exception {
+        final RollingFileWriter<KeyValue, DataFileMeta> changelogWriter =
+                changelogProducer == ChangelogProducer.INPUT
+                        ? writerFactory.createRollingChangelogFileWriter(0)
+                        : null;
+        final RollingFileWriter<KeyValue, DataFileMeta> dataWriter =
+                writerFactory.createRollingMergeTreeFileWriter(0);
+
+        try {
+            buffer.forEach(
+                    keyComparator,
+                    mergeFunction,
+                    changelogWriter == null ? null : changelogWriter::write,
+                    dataWriter::write);
+        } finally {
             if (changelogWriter != null) {
-                newFilesChangelog.addAll(changelogWriter.result());
+                changelogWriter.close();
             }
+            dataWriter.close();
+        }
 
-            for (DataFileMeta fileMeta : dataWriter.result()) {
-                newFiles.add(fileMeta);
-                compactManager.addNewFile(fileMeta);
-            }
+        return new NewFilesIncrement(
+                dataWriter.result(),
+                changelogWriter == null ? Collections.emptyList() : changelogWriter.result());
+    }
 
-            writeBuffer.clear();
+    private void addNewFiles(NewFilesIncrement increment) {
+        newFilesChangelog.addAll(increment.changelogFiles());
+        for (DataFileMeta fileMeta : increment.newFiles()) {
+            newFiles.add(fileMeta);
+            compactManager.addNewFile(fileMeta);
         }
-
-        trySyncLatestCompaction(waitForLatestCompaction);
-        compactManager.triggerCompaction(forcedFullCompaction);
     }
 
     @Override
     public CommitIncrement prepareCommit(boolean waitCompaction) throws Exception {
-        flushWriteBuffer(waitCompaction, false);
-        trySyncLatestCompaction(
-                waitCompaction
-                        || commitForceCompact
-                        || compactManager.shouldWaitForPreparingCheckpoint());
-        return drainIncrement();
+        accessLock.lock();
+        try {
+            flushWriteBuffer(waitCompaction, false);
+            trySyncLatestCompaction(
+                    waitCompaction
+                            || commitForceCompact
+                            || compactManager.shouldWaitForPreparingCheckpoint());
+            return drainIncrement();
+        } finally {
+            accessLock.unlock();
+        }
     }
 
     @Override
@@ -270,7 +391,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
                 // 2. This file is not the input of upgraded.
                 if (!compactBefore.containsKey(file.fileName())
                         && !afterFiles.contains(file.fileName())) {
-                    writerFactory.deleteFile(file.fileName(), file.level());
+                    writerFactory.deleteFile(file);
                 }
             } else {
                 compactBefore.put(file.fileName(), file);
@@ -287,6 +408,17 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
 
     @Override
     public void close() throws Exception {
+        // wait for the outstanding flush, its files are deleted together with other new files
+        finishAsyncFlush();
+
+        // give the pages back, the pool may be shared by other writers
+        if (writeBuffer != null) {
+            writeBuffer.clear();
+        }
+        if (flushingBuffer != null) {
+            flushingBuffer.clear();
+        }
+
         // cancel compaction so that it does not block job cancelling
         compactManager.cancelCompaction();
         sync();
@@ -317,7 +449,7 @@ public class MergeTreeWriter implements RecordWriter<KeyValue>, MemoryOwner {
         compactChangelog.clear();
 
         for (DataFileMeta file : delete) {
-            writerFactory.deleteFile(file.fileName(), file.level());
+            writerFactory.deleteFile(file);
         }
     }
 }
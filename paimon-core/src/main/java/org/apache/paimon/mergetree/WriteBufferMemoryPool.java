@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.memory.MemorySegment;
+import org.apache.paimon.memory.MemorySegmentPool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link MemorySegmentPool} for one of the two write buffers of an asynchronously flushing
+ * {@link MergeTreeWriter}. It limits the pages a single buffer can hold, so that the other buffer
+ * can still take records while this one is being flushed.
+ *
+ * <p>The underlying pool is not thread safe. While the buffer is frozen and flushed by the
+ * background thread, returned pages are kept aside and only given back to the underlying pool by
+ * {@link #unfreeze()}, which is called from the writer thread after the flush is finished.
+ */
+class WriteBufferMemoryPool implements MemorySegmentPool {
+
+    private final MemorySegmentPool pool;
+    private final int maxPages;
+    private final List<MemorySegment> deferredSegments;
+
+    private int allocatedPages;
+    private boolean frozen;
+
+    WriteBufferMemoryPool(MemorySegmentPool pool, int maxPages) {
+        this.pool = pool;
+        this.maxPages = maxPages;
+        this.deferredSegments = new ArrayList<>();
+        this.allocatedPages = 0;
+        this.frozen = false;
+    }
+
+    @Override
+    public int pageSize() {
+        return pool.pageSize();
+    }
+
+    @Override
+    public void returnAll(List<MemorySegment> memory) {
+        if (frozen) {
+            deferredSegments.addAll(memory);
+        } else {
+            allocatedPages -= memory.size();
+            pool.returnAll(memory);
+        }
+    }
+
+    @Override
+    public int freePages() {
+        return Math.min(maxPages - allocatedPages, pool.freePages());
+    }
+
+    @Override
+    public MemorySegment nextSegment() {
+        if (allocatedPages >= maxPages) {
+            return null;
+        }
+        MemorySegment segment = pool.nextSegment();
+        if (segment != null) {
+            allocatedPages++;
+        }
+        return segment;
+    }
+
+    /** Called before the buffer is handed over to the flushing thread. */
+    void freeze() {
+        frozen = true;
+    }
+
+    /** Called after the flush is finished, gives back pages returned during flushing. */
+    void unfreeze() {
+        frozen = false;
+        if (!deferredSegments.isEmpty()) {
+            returnAll(new ArrayList<>(deferredSegments));
+            deferredSegments.clear();
+        }
+    }
+}
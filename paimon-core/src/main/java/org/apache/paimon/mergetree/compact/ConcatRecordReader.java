@@ -19,35 +19,59 @@
 package org.apache.paimon.mergetree.compact;
 
 import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.utils.FileUtils;
+import org.apache.paimon.utils.IOUtils;
 import org.apache.paimon.utils.Preconditions;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * This reader is to concatenate a list of {@link RecordReader}s and read them sequentially. The
  * input list is already sorted by key and sequence number, and the key intervals do not overlap
  * each other.
+ *
+ * <p>If {@code prefetchNum} is positive, the next {@code prefetchNum} readers are opened and their
+ * first batches are read on the common I/O pool while the current reader is consumed.
  */
 public class ConcatRecordReader<T> implements RecordReader<T> {
 
     private final Queue<ReaderSupplier<T>> queue;
+    private final int prefetchNum;
+    private final Queue<CompletableFuture<RecordReader<T>>> prefetched;
 
     private RecordReader<T> current;
 
     protected ConcatRecordReader(List<ReaderSupplier<T>> readerFactories) {
+        this(readerFactories, 0);
+    }
+
+    protected ConcatRecordReader(List<ReaderSupplier<T>> readerFactories, int prefetchNum) {
         readerFactories.forEach(
                 supplier ->
                         Preconditions.checkNotNull(supplier, "Reader factory must not be null."));
         this.queue = new LinkedList<>(readerFactories);
+        this.prefetchNum = prefetchNum;
+        this.prefetched = new ArrayDeque<>();
     }
 
     public static <R> RecordReader<R> create(List<ReaderSupplier<R>> readers) throws IOException {
-        return readers.size() == 1 ? readers.get(0).get() : new ConcatRecordReader<>(readers);
+        return create(readers, 0);
+    }
+
+    public static <R> RecordReader<R> create(List<ReaderSupplier<R>> readers, int prefetchNum)
+            throws IOException {
+        return readers.size() == 1
+                ? readers.get(0).get()
+                : new ConcatRecordReader<>(readers, prefetchNum);
     }
 
     @Nullable
@@ -61,16 +85,56 @@ public class ConcatRecordReader<T> implements RecordReader<T> {
                 }
                 current.close();
                 current = null;
-            } else if (queue.size() > 0) {
-                current = queue.poll().get();
+            } else if (queue.size() > 0 || prefetched.size() > 0) {
+                current = nextReader();
             } else {
                 return null;
             }
         }
     }
 
+    private RecordReader<T> nextReader() throws IOException {
+        if (prefetchNum <= 0) {
+            return queue.poll().get();
+        }
+
+        // keep prefetchNum readers in flight besides the one to be returned
+        while (prefetched.size() <= prefetchNum && queue.size() > 0) {
+            ReaderSupplier<T> supplier = queue.poll();
+            prefetched.add(
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                try {
+                                    return new PrefetchedReader<>(supplier.get());
+                                } catch (IOException e) {
+                                    throw new UncheckedIOException(e);
+                                }
+                            },
+                            FileUtils.COMMON_IO_FORK_JOIN_POOL));
+        }
+
+        try {
+            return prefetched.poll().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
     @Override
     public void close() throws IOException {
+        queue.clear();
+        // readers still being opened are closed as soon as they are ready
+        for (CompletableFuture<RecordReader<T>> future : prefetched) {
+            future.thenAccept(IOUtils::closeQuietly);
+        }
+        prefetched.clear();
+
         if (current != null) {
             current.close();
         }
@@ -81,4 +145,45 @@ public class ConcatRecordReader<T> implements RecordReader<T> {
     public interface ReaderSupplier<T> {
         RecordReader<T> get() throws IOException;
     }
+
+    /** A {@link RecordReader} whose first batch has been read when it is created. */
+    private static class PrefetchedReader<T> implements RecordReader<T> {
+
+        private final RecordReader<T> reader;
+
+        @Nullable private RecordIterator<T> firstBatch;
+        private boolean firstBatchReturned;
+
+        private PrefetchedReader(RecordReader<T> reader) throws IOException {
+            this.reader = reader;
+            try {
+                this.firstBatch = reader.readBatch();
+            } catch (Throwable t) {
+                IOUtils.closeQuietly(reader);
+                throw t;
+            }
+            this.firstBatchReturned = false;
+        }
+
+        @Nullable
+        @Override
+        public RecordIterator<T> readBatch() throws IOException {
+            if (!firstBatchReturned) {
+                firstBatchReturned = true;
+                RecordIterator<T> batch = firstBatch;
+                firstBatch = null;
+                return batch;
+            }
+            return reader.readBatch();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (firstBatch != null) {
+                firstBatch.releaseBatch();
+                firstBatch = null;
+            }
+            reader.close();
+        }
+    }
 }
@@ -78,11 +78,13 @@ public class FirstRowMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter
 
     @Override
     protected MergeFunctionWrapper<ChangelogResult> createMergeWrapper(int outputLevel) {
+        // each subcompaction checks the keys with its own checker
+        ContainsLevels.Checker checker = containsLevels.checker(outputLevel + 1);
         return new FistRowMergeFunctionWrapper(
                 mfFactory,
                 key -> {
                     try {
-                        return containsLevels.contains(key, outputLevel + 1);
+                        return checker.contains(key);
                     } catch (IOException e) {
                         throw new UncheckedIOException(e);
                     }
@@ -91,7 +93,11 @@ public class FirstRowMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter
 
     @Override
     public void close() throws IOException {
-        containsLevels.close();
+        try {
+            containsLevels.close();
+        } finally {
+            super.close();
+        }
     }
 
     @VisibleForTesting
@@ -28,7 +28,6 @@ import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.SortedRun;
 import org.apache.paimon.utils.Preconditions;
 
-import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
 
@@ -79,7 +78,4 @@ public class FullChangelogMergeTreeCompactRewriter extends ChangelogMergeTreeRew
         return new FullChangelogMergeFunctionWrapper(
                 mfFactory.create(), maxLevel, valueEqualiser, changelogRowDeduplicate);
     }
-
-    @Override
-    public void close() throws IOException {}
 }
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree.compact;
+
+import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.compact.CompactUnit;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.mergetree.LevelSortedRun;
+import org.apache.paimon.mergetree.SortedRun;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leveled Compaction Style is a compaction style, targeting the use cases requiring lower space
+ * amplification and predictable compaction I/O, trading off write amplification.
+ *
+ * <p>Each level above level 0 has a target size, which grows by a multiplier from level 1. The
+ * level exceeding its target the most is compacted: all level 0 files are compacted with the
+ * overlapping files of level 1, and a file of other levels is compacted with the overlapping files
+ * of the next level. Files of a level are picked in a round-robin way by their keys. The max level
+ * has no target size.
+ *
+ * <p>See RocksDb Leveled-Compaction: https://github.com/facebook/rocksdb/wiki/Leveled-Compaction.
+ */
+public class LeveledCompaction implements CompactStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeveledCompaction.class);
+
+    private final Comparator<InternalRow> keyComparator;
+    private final long baseLevelSize;
+    private final int levelSizeMultiplier;
+    private final int numLevel0CompactionTrigger;
+
+    // the max key of the last compacted file of each level, the next compaction of the level
+    // starts after it
+    private final List<InternalRow> compactPointers;
+
+    public LeveledCompaction(
+            Comparator<InternalRow> keyComparator,
+            long baseLevelSize,
+            int levelSizeMultiplier,
+            int numLevel0CompactionTrigger) {
+        this.keyComparator = keyComparator;
+        this.baseLevelSize = baseLevelSize;
+        this.levelSizeMultiplier = levelSizeMultiplier;
+        this.numLevel0CompactionTrigger = numLevel0CompactionTrigger;
+        this.compactPointers = new ArrayList<>();
+    }
+
+    @Override
+    public Optional<CompactUnit> pick(int numLevels, List<LevelSortedRun> runs) {
+        int maxLevel = numLevels - 1;
+        SortedRun[] levels = new SortedRun[numLevels];
+        List<DataFileMeta> level0 = new ArrayList<>();
+        for (LevelSortedRun run : runs) {
+            if (run.level() == 0) {
+                level0.addAll(run.run().files());
+            } else {
+                levels[run.level()] = run.run();
+            }
+        }
+
+        // pick the level with the highest score, a level needs compaction if its score >= 1
+        int pickedLevel = -1;
+        double maxScore = 1;
+        if (!level0.isEmpty()) {
+            double score = (double) level0.size() / numLevel0CompactionTrigger;
+            if (score >= maxScore) {
+                pickedLevel = 0;
+                maxScore = score;
+            }
+        }
+        for (int level = 1; level < maxLevel; level++) {
+            if (levels[level] == null) {
+                continue;
+            }
+            double score = (double) levels[level].totalSize() / targetSize(level);
+            if (score >= maxScore) {
+                pickedLevel = level;
+                maxScore = score;
+            }
+        }
+
+        if (pickedLevel < 0) {
+            return Optional.empty();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Leveled compaction of level {} with score {}", pickedLevel, maxScore);
+        }
+
+        int outputLevel = pickedLevel + 1;
+        List<DataFileMeta> inputs =
+                pickedLevel == 0 ? level0 : pickFile(pickedLevel, levels[pickedLevel].files());
+        List<DataFileMeta> files = new ArrayList<>(inputs);
+        if (levels[outputLevel] != null) {
+            files.addAll(overlappingFiles(inputs, levels[outputLevel].files()));
+        }
+        return Optional.of(CompactUnit.fromFiles(outputLevel, files));
+    }
+
+    @VisibleForTesting
+    long targetSize(int level) {
+        long size = baseLevelSize;
+        for (int i = 1; i < level; i++) {
+            size *= levelSizeMultiplier;
+        }
+        return size;
+    }
+
+    private List<DataFileMeta> pickFile(int level, List<DataFileMeta> files) {
+        while (compactPointers.size() <= level) {
+            compactPointers.add(null);
+        }
+
+        // files of a sorted run are ordered by key, pick the first file after the pointer
+        InternalRow pointer = compactPointers.get(level);
+        DataFileMeta picked = files.get(0);
+        if (pointer != null) {
+            for (DataFileMeta file : files) {
+                if (keyComparator.compare(file.minKey(), pointer) > 0) {
+                    picked = file;
+                    break;
+                }
+            }
+        }
+        compactPointers.set(level, picked.maxKey());
+        return Collections.singletonList(picked);
+    }
+
+    private List<DataFileMeta> overlappingFiles(
+            List<DataFileMeta> inputs, List<DataFileMeta> nextLevel) {
+        InternalRow minKey = inputs.get(0).minKey();
+        InternalRow maxKey = inputs.get(0).maxKey();
+        for (DataFileMeta file : inputs) {
+            if (keyComparator.compare(file.minKey(), minKey) < 0) {
+                minKey = file.minKey();
+            }
+            if (keyComparator.compare(file.maxKey(), maxKey) > 0) {
+                maxKey = file.maxKey();
+            }
+        }
+
+        List<DataFileMeta> result = new ArrayList<>();
+        for (DataFileMeta file : nextLevel) {
+            if (keyComparator.compare(file.maxKey(), minKey) >= 0
+                    && keyComparator.compare(file.minKey(), maxKey) <= 0) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+}
@@ -74,11 +74,13 @@ public class LookupMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter {
 
     @Override
     protected MergeFunctionWrapper<ChangelogResult> createMergeWrapper(int outputLevel) {
+        // the keys of a section are merged in ascending order
+        LookupLevels.SortedKeyLookup lookup = lookupLevels.sortedKeyLookup(outputLevel + 1);
         return new LookupChangelogMergeFunctionWrapper(
                 mfFactory,
                 key -> {
                     try {
-                        return lookupLevels.lookup(key, outputLevel + 1);
+                        return lookup.lookup(key);
                     } catch (IOException e) {
                         throw new UncheckedIOException(e);
                     }
@@ -89,6 +91,10 @@ public class LookupMergeTreeCompactRewriter extends ChangelogMergeTreeRewriter {
 
     @Override
     public void close() throws IOException {
-        lookupLevels.close();
+        try {
+            lookupLevels.close();
+        } finally {
+            super.close();
+        }
     }
 }
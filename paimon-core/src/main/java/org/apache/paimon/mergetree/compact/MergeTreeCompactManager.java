@@ -23,6 +23,7 @@ import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.compact.CompactFutureManager;
 import org.apache.paimon.compact.CompactResult;
 import org.apache.paimon.compact.CompactUnit;
+import org.apache.paimon.compact.WriteStallMetrics;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.mergetree.LevelSortedRun;
@@ -32,6 +33,8 @@ import org.apache.paimon.utils.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
@@ -53,6 +56,15 @@ public class MergeTreeCompactManager extends CompactFutureManager {
     private final int numSortedRunStopTrigger;
     private final CompactRewriter rewriter;
 
+    @Nullable private ExecutorService subcompactionExecutor;
+    private int maxSubcompactions = 1;
+
+    private int numSortedRunSlowdownTrigger = Integer.MAX_VALUE;
+    private long maxWriteDelayMillis = 0;
+    @Nullable private WriteStallMetrics writeStallMetrics;
+
+    private boolean stallByLevel0Files = false;
+
     public MergeTreeCompactManager(
             ExecutorService executor,
             Levels levels,
@@ -70,15 +82,54 @@ public class MergeTreeCompactManager extends CompactFutureManager {
         this.rewriter = rewriter;
     }
 
+    /**
+     * Splits compactions into at most {@code maxSubcompactions} subcompactions of disjoint key
+     * ranges, which are run concurrently by the given executor.
+     */
+    public MergeTreeCompactManager withSubcompactions(
+            @Nullable ExecutorService subcompactionExecutor, int maxSubcompactions) {
+        this.subcompactionExecutor = subcompactionExecutor;
+        this.maxSubcompactions = maxSubcompactions;
+        return this;
+    }
+
+    /**
+     * Slows down writes when the number of sorted runs exceeds {@code numSortedRunSlowdownTrigger}
+     * but not the stop trigger, each flush is delayed at most {@code maxWriteDelayMillis}.
+     */
+    public MergeTreeCompactManager withWriteSlowdown(
+            int numSortedRunSlowdownTrigger,
+            long maxWriteDelayMillis,
+            @Nullable WriteStallMetrics writeStallMetrics) {
+        this.numSortedRunSlowdownTrigger = numSortedRunSlowdownTrigger;
+        this.maxWriteDelayMillis = maxWriteDelayMillis;
+        this.writeStallMetrics = writeStallMetrics;
+        return this;
+    }
+
+    /**
+     * Counts only the files of level 0 against the stop and slowdown triggers. Leveled compaction
+     * keeps every level above 0 populated, these sorted runs are not waiting for compaction and
+     * must not stall writes.
+     */
+    public MergeTreeCompactManager withStallByLevel0Files(boolean stallByLevel0Files) {
+        this.stallByLevel0Files = stallByLevel0Files;
+        return this;
+    }
+
     @Override
     public boolean shouldWaitForLatestCompaction() {
-        return levels.numberOfSortedRuns() > numSortedRunStopTrigger;
+        return numSortedRunsForStall() > numSortedRunStopTrigger;
     }
 
     @Override
     public boolean shouldWaitForPreparingCheckpoint() {
         // cast to long to avoid Numeric overflow
-        return levels.numberOfSortedRuns() > (long) numSortedRunStopTrigger + 1;
+        return numSortedRunsForStall() > (long) numSortedRunStopTrigger + 1;
+    }
+
+    private int numSortedRunsForStall() {
+        return stallByLevel0Files ? levels.numberOfLevel0Files() : levels.numberOfSortedRuns();
     }
 
     @Override
@@ -162,7 +213,13 @@ public class MergeTreeCompactManager extends CompactFutureManager {
     private void submitCompaction(CompactUnit unit, boolean dropDelete) {
         MergeTreeCompactTask task =
                 new MergeTreeCompactTask(
-                        keyComparator, compactionFileSize, rewriter, unit, dropDelete);
+                        keyComparator,
+                        compactionFileSize,
+                        rewriter,
+                        unit,
+                        dropDelete,
+                        subcompactionExecutor,
+                        maxSubcompactions);
         if (LOG.isDebugEnabled()) {
             LOG.debug(
                     "Pick these files (name, level, size) for compaction: {}",
@@ -174,14 +231,61 @@ public class MergeTreeCompactManager extends CompactFutureManager {
                                                     file.fileName(), file.level(), file.fileSize()))
                             .collect(Collectors.joining(", ")));
         }
-        taskFuture = executor.submit(task);
+        taskFuture = executor.submit(task.withPriority(compactionPriority()));
+    }
+
+    /**
+     * Priority of the compaction, which is the percentage of sorted runs to the number that stops
+     * writes. Buckets stalling writes have priority larger than 100.
+     */
+    private int compactionPriority() {
+        return (int) (100L * numSortedRunsForStall() / numSortedRunStopTrigger);
+    }
+
+    @Override
+    public void delayWrites() throws InterruptedException {
+        long delayMillis = writeDelayMillis();
+        if (delayMillis <= 0 || taskFuture == null || taskFuture.isDone()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        awaitCompaction(delayMillis);
+        if (writeStallMetrics != null) {
+            writeStallMetrics.reportSlowdown(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * The delay grows linearly from zero at the slowdown trigger, writes are stopped instead when
+     * the number of sorted runs exceeds the stop trigger.
+     */
+    @VisibleForTesting
+    long writeDelayMillis() {
+        int numSortedRuns = numSortedRunsForStall();
+        if (maxWriteDelayMillis <= 0
+                || numSortedRuns <= numSortedRunSlowdownTrigger
+                || numSortedRuns > numSortedRunStopTrigger) {
+            return 0;
+        }
+        long steps = numSortedRunStopTrigger - numSortedRunSlowdownTrigger + 1L;
+        return maxWriteDelayMillis * (numSortedRuns - numSortedRunSlowdownTrigger) / steps;
     }
 
     /** Finish current task, and update result files to {@link Levels}. */
     @Override
     public Optional<CompactResult> getCompactionResult(boolean blocking)
             throws ExecutionException, InterruptedException {
+        long start = System.currentTimeMillis();
+        boolean stopped =
+                blocking
+                        && writeStallMetrics != null
+                        && taskFuture != null
+                        && shouldWaitForLatestCompaction();
         Optional<CompactResult> result = innerGetCompactionResult(blocking);
+        if (stopped) {
+            writeStallMetrics.reportStop(System.currentTimeMillis() - start);
+        }
         result.ifPresent(
                 r -> {
                     if (LOG.isDebugEnabled()) {
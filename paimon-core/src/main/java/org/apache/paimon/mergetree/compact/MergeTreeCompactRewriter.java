@@ -31,6 +31,7 @@ import org.apache.paimon.mergetree.SortedRun;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.reader.RecordReaderIterator;
 
+import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
 
@@ -78,4 +79,9 @@ public class MergeTreeCompactRewriter extends AbstractCompactRewriter {
         writer.close();
         return new CompactResult(extractFilesFromSections(sections), writer.result());
     }
+
+    @Override
+    public void close() throws IOException {
+        mergeSorter.close();
+    }
 }
@@ -24,14 +24,32 @@ import org.apache.paimon.compact.CompactUnit;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.mergetree.SortedRun;
+import org.apache.paimon.utils.ExceptionUtils;
+
+import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static java.util.Collections.singletonList;
 
-/** Compact task for merge tree compaction. */
+/**
+ * Compact task for merge tree compaction.
+ *
+ * <p>Sections of the {@link IntervalPartition} cover disjoint key ranges, so they can be rewritten
+ * separately. If a subcompaction executor is given, the rewrites and upgrades are split into
+ * subcompactions by key range and run concurrently, their output files still form one sorted run
+ * at the output level.
+ *
+ * <p>A section is never split between subcompactions. The files of a section overlap each other,
+ * splitting it would need split keys read from the files and readers bounded by these keys in
+ * every rewriter, so one large section still limits the parallelism of a compaction.
+ */
 public class MergeTreeCompactTask extends CompactTask {
 
     private final long minFileSize;
@@ -42,6 +60,9 @@ public class MergeTreeCompactTask extends CompactTask {
 
     private final boolean dropDelete;
 
+    @Nullable private final ExecutorService subcompactionExecutor;
+    private final int maxSubcompactions;
+
     // metric
     private int upgradeFilesNum;
 
@@ -50,12 +71,16 @@ public class MergeTreeCompactTask extends CompactTask {
             long minFileSize,
             CompactRewriter rewriter,
             CompactUnit unit,
-            boolean dropDelete) {
+            boolean dropDelete,
+            @Nullable ExecutorService subcompactionExecutor,
+            int maxSubcompactions) {
         this.minFileSize = minFileSize;
         this.rewriter = rewriter;
         this.outputLevel = unit.outputLevel();
         this.partitioned = new IntervalPartition(unit.files(), keyComparator).partition();
         this.dropDelete = dropDelete;
+        this.subcompactionExecutor = maxSubcompactions > 1 ? subcompactionExecutor : null;
+        this.maxSubcompactions = maxSubcompactions;
 
         this.upgradeFilesNum = 0;
     }
@@ -63,7 +88,7 @@ public class MergeTreeCompactTask extends CompactTask {
     @Override
     protected CompactResult doCompact() throws Exception {
         List<List<SortedRun>> candidate = new ArrayList<>();
-        CompactResult result = new CompactResult();
+        List<Callable<CompactResult>> subcompactions = new ArrayList<>();
 
         // Checking the order and compacting adjacent and contiguous files
         // Note: can't skip an intermediate file to compact, this will destroy the overall
@@ -83,14 +108,14 @@ public class MergeTreeCompactTask extends CompactTask {
                         candidate.add(singletonList(SortedRun.fromSingle(file)));
                     } else {
                         // Large file appear, rewrite previous and upgrade it
-                        rewrite(candidate, result);
-                        upgrade(file, result);
+                        rewrite(candidate, subcompactions);
+                        upgrade(file, subcompactions);
                     }
                 }
             }
         }
-        rewrite(candidate, result);
-        return result;
+        rewrite(candidate, subcompactions);
+        return runSubcompactions(subcompactions);
     }
 
     @Override
@@ -101,15 +126,15 @@ public class MergeTreeCompactTask extends CompactTask {
                 super.logMetric(startMillis, compactBefore, compactAfter), upgradeFilesNum);
     }
 
-    private void upgrade(DataFileMeta file, CompactResult toUpdate) throws Exception {
+    private void upgrade(DataFileMeta file, List<Callable<CompactResult>> subcompactions) {
         if (file.level() != outputLevel) {
-            CompactResult upgradeResult = rewriter.upgrade(outputLevel, file);
-            toUpdate.merge(upgradeResult);
+            subcompactions.add(() -> rewriter.upgrade(outputLevel, file));
             upgradeFilesNum++;
         }
     }
 
-    private void rewrite(List<List<SortedRun>> candidate, CompactResult toUpdate) throws Exception {
+    private void rewrite(
+            List<List<SortedRun>> candidate, List<Callable<CompactResult>> subcompactions) {
         if (candidate.isEmpty()) {
             return;
         }
@@ -119,14 +144,90 @@ public class MergeTreeCompactTask extends CompactTask {
                 return;
             } else if (section.size() == 1) {
                 for (DataFileMeta file : section.get(0).files()) {
-                    upgrade(file, toUpdate);
+                    upgrade(file, subcompactions);
                 }
                 candidate.clear();
                 return;
             }
         }
-        CompactResult rewriteResult = rewriter.rewrite(outputLevel, dropDelete, candidate);
-        toUpdate.merge(rewriteResult);
+        for (List<List<SortedRun>> sections : splitByKeyRange(candidate)) {
+            subcompactions.add(() -> rewriter.rewrite(outputLevel, dropDelete, sections));
+        }
         candidate.clear();
     }
+
+    /**
+     * Splits adjacent sections into groups of similar size, each group covers a disjoint key range
+     * and is rewritten by one subcompaction. Groups are not smaller than the min file size to avoid
+     * producing small files.
+     */
+    private List<List<List<SortedRun>>> splitByKeyRange(List<List<SortedRun>> candidate) {
+        if (subcompactionExecutor == null || candidate.size() == 1) {
+            return singletonList(new ArrayList<>(candidate));
+        }
+
+        long totalSize = 0;
+        for (List<SortedRun> section : candidate) {
+            totalSize += sectionSize(section);
+        }
+        long groupSize = Math.max(totalSize / maxSubcompactions, minFileSize);
+
+        List<List<List<SortedRun>>> groups = new ArrayList<>();
+        List<List<SortedRun>> group = new ArrayList<>();
+        long currentSize = 0;
+        for (List<SortedRun> section : candidate) {
+            group.add(section);
+            currentSize += sectionSize(section);
+            if (currentSize >= groupSize) {
+                groups.add(group);
+                group = new ArrayList<>();
+                currentSize = 0;
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private long sectionSize(List<SortedRun> section) {
+        return section.stream().mapToLong(SortedRun::totalSize).sum();
+    }
+
+    private CompactResult runSubcompactions(List<Callable<CompactResult>> subcompactions)
+            throws Exception {
+        CompactResult result = new CompactResult();
+        if (subcompactionExecutor == null || subcompactions.size() <= 1) {
+            for (Callable<CompactResult> subcompaction : subcompactions) {
+                result.merge(subcompaction.call());
+            }
+            return result;
+        }
+
+        List<Future<CompactResult>> futures = new ArrayList<>(subcompactions.size());
+        for (Callable<CompactResult> subcompaction : subcompactions) {
+            futures.add(subcompactionExecutor.submit(subcompaction));
+        }
+
+        // wait for all subcompactions even if one of them fails, so that no file is still being
+        // written once the task finishes
+        Exception exception = null;
+        for (Future<CompactResult> future : futures) {
+            try {
+                result.merge(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                Exception current = cause instanceof Exception ? (Exception) cause : e;
+                exception = ExceptionUtils.firstOrSuppressed(current, exception);
+            } catch (InterruptedException e) {
+                // the compaction is cancelled
+                futures.forEach(f -> f.cancel(true));
+                throw e;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return result;
+    }
 }
@@ -44,6 +44,14 @@ public class Metrics {
         metricGroups.add(group);
     }
 
+    /**
+     * Remove a metric group, which is called by the owner of the group once the group is no longer
+     * used, so that reporters stop reporting it. Groups are added when they are created.
+     */
+    public void removeGroup(AbstractMetricGroup group) {
+        metricGroups.remove(group);
+    }
+
     /** Get metric groups. */
     public ConcurrentLinkedQueue<MetricGroup> getMetricGroups() {
         return metricGroups;
@@ -18,20 +18,30 @@
 
 package org.apache.paimon.operation;
 
+import org.apache.paimon.CoreOptions;
 import org.apache.paimon.Snapshot;
 import org.apache.paimon.annotation.VisibleForTesting;
+import org.apache.paimon.compact.CompactScheduler;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.RateLimitedFileIO;
 import org.apache.paimon.index.IndexFileMeta;
 import org.apache.paimon.index.IndexMaintainer;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.IndexIncrement;
 import org.apache.paimon.manifest.ManifestEntry;
 import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.metrics.MetricGroup;
+import org.apache.paimon.metrics.Metrics;
+import org.apache.paimon.metrics.groups.GenericMetricGroup;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.table.sink.CommitMessage;
 import org.apache.paimon.table.sink.CommitMessageImpl;
 import org.apache.paimon.utils.CommitIncrement;
+import org.apache.paimon.utils.ExceptionUtils;
 import org.apache.paimon.utils.ExecutorThreadFactory;
+import org.apache.paimon.utils.RateLimiter;
 import org.apache.paimon.utils.RecordWriter;
 import org.apache.paimon.utils.Restorable;
 import org.apache.paimon.utils.SnapshotManager;
@@ -47,8 +57,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Base {@link FileStoreWrite} implementation.
@@ -60,16 +72,23 @@ public abstract class AbstractFileStoreWrite<T>
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractFileStoreWrite.class);
 
+    public static final String COMPACTION_METRIC_GROUP = "compaction";
+
     private final String commitUser;
     protected final SnapshotManager snapshotManager;
     private final FileStoreScan scan;
     @Nullable private final IndexMaintainer.Factory<T> indexFactory;
+    private final int prepareCommitParallelism;
+    private final int compactionThreads;
+    @Nullable protected final RateLimiter compactionRateLimiter;
 
     @Nullable protected IOManager ioManager;
 
     protected final Map<BinaryRow, Map<Integer, WriterContainer<T>>> writers;
 
     private ExecutorService lazyCompactExecutor;
+    @Nullable private GenericMetricGroup compactionMetricGroup;
+    @Nullable private ExecutorService lazyPrepareCommitExecutor;
     private boolean closeCompactExecutorWhenLeaving = true;
     private boolean ignorePreviousFiles = false;
     protected boolean isStreamingMode = false;
@@ -78,11 +97,19 @@ public abstract class AbstractFileStoreWrite<T>
             String commitUser,
             SnapshotManager snapshotManager,
             FileStoreScan scan,
-            @Nullable IndexMaintainer.Factory<T> indexFactory) {
+            @Nullable IndexMaintainer.Factory<T> indexFactory,
+            CoreOptions options) {
         this.commitUser = commitUser;
         this.snapshotManager = snapshotManager;
         this.scan = scan;
         this.indexFactory = indexFactory;
+        this.prepareCommitParallelism = options.commitPrepareParallelism();
+        this.compactionThreads = options.compactionThreads();
+        MemorySize compactionIoRateLimit = options.compactionIoRateLimit();
+        this.compactionRateLimiter =
+                compactionIoRateLimit == null
+                        ? null
+                        : new RateLimiter(compactionIoRateLimit.getBytes());
 
         this.writers = new HashMap<>();
     }
@@ -167,8 +194,14 @@ public abstract class AbstractFileStoreWrite<T>
                             .orElse(Long.MIN_VALUE);
         }
 
-        List<CommitMessage> result = new ArrayList<>();
+        List<WriterContainer<T>> containers = new ArrayList<>();
+        for (Map<Integer, WriterContainer<T>> bucketWriters : writers.values()) {
+            containers.addAll(bucketWriters.values());
+        }
+        List<PreparedCommit> prepared = prepareCommit(containers, waitCompaction);
 
+        List<CommitMessage> result = new ArrayList<>();
+        Iterator<PreparedCommit> preparedIter = prepared.iterator();
         Iterator<Map.Entry<BinaryRow, Map<Integer, WriterContainer<T>>>> partIter =
                 writers.entrySet().iterator();
         while (partIter.hasNext()) {
@@ -181,18 +214,14 @@ public abstract class AbstractFileStoreWrite<T>
                 int bucket = entry.getKey();
                 WriterContainer<T> writerContainer = entry.getValue();
 
-                CommitIncrement increment = writerContainer.writer.prepareCommit(waitCompaction);
-                List<IndexFileMeta> newIndexFiles = new ArrayList<>();
-                if (writerContainer.indexMaintainer != null) {
-                    newIndexFiles = writerContainer.indexMaintainer.prepareCommit();
-                }
+                PreparedCommit preparedCommit = preparedIter.next();
                 CommitMessageImpl committable =
                         new CommitMessageImpl(
                                 partition,
                                 bucket,
-                                increment.newFilesIncrement(),
-                                increment.compactIncrement(),
-                                new IndexIncrement(newIndexFiles));
+                                preparedCommit.increment.newFilesIncrement(),
+                                preparedCommit.increment.compactIncrement(),
+                                new IndexIncrement(preparedCommit.newIndexFiles));
                 result.add(committable);
 
                 if (committable.isEmpty()) {
@@ -229,6 +258,71 @@ public abstract class AbstractFileStoreWrite<T>
         return result;
     }
 
+    /**
+     * Prepares commit of the writers, the results are in the order of the writers. Writers are
+     * prepared concurrently if the prepare commit parallelism is larger than 1, each writer is
+     * still accessed by one thread only.
+     */
+    private List<PreparedCommit> prepareCommit(
+            List<WriterContainer<T>> containers, boolean waitCompaction) throws Exception {
+        List<PreparedCommit> result = new ArrayList<>(containers.size());
+        if (prepareCommitParallelism <= 1 || containers.size() <= 1) {
+            for (WriterContainer<T> container : containers) {
+                result.add(prepareCommit(container, waitCompaction));
+            }
+            return result;
+        }
+
+        ExecutorService executor = prepareCommitExecutor();
+        List<Future<PreparedCommit>> futures = new ArrayList<>(containers.size());
+        for (WriterContainer<T> container : containers) {
+            futures.add(executor.submit(() -> prepareCommit(container, waitCompaction)));
+        }
+
+        // wait for all writers even if one of them fails, writers must not be touched by the
+        // executor once this method returns
+        Exception exception = null;
+        for (Future<PreparedCommit> future : futures) {
+            try {
+                result.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                Exception current = cause instanceof Exception ? (Exception) cause : e;
+                exception = ExceptionUtils.firstOrSuppressed(current, exception);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exception = ExceptionUtils.firstOrSuppressed(e, exception);
+                futures.forEach(f -> f.cancel(true));
+                break;
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+        return result;
+    }
+
+    private PreparedCommit prepareCommit(WriterContainer<T> container, boolean waitCompaction)
+            throws Exception {
+        CommitIncrement increment = container.writer.prepareCommit(waitCompaction);
+        List<IndexFileMeta> newIndexFiles = new ArrayList<>();
+        if (container.indexMaintainer != null) {
+            newIndexFiles = container.indexMaintainer.prepareCommit();
+        }
+        return new PreparedCommit(increment, newIndexFiles);
+    }
+
+    private ExecutorService prepareCommitExecutor() {
+        if (lazyPrepareCommitExecutor == null) {
+            lazyPrepareCommitExecutor =
+                    Executors.newFixedThreadPool(
+                            prepareCommitParallelism,
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-prepare-commit"));
+        }
+        return lazyPrepareCommitExecutor;
+    }
+
     @Override
     public void close() throws Exception {
         for (Map<Integer, WriterContainer<T>> bucketWriters : writers.values()) {
@@ -240,6 +334,13 @@ public abstract class AbstractFileStoreWrite<T>
         if (lazyCompactExecutor != null && closeCompactExecutorWhenLeaving) {
             lazyCompactExecutor.shutdownNow();
         }
+        if (lazyPrepareCommitExecutor != null) {
+            lazyPrepareCommitExecutor.shutdownNow();
+        }
+        if (compactionMetricGroup != null) {
+            Metrics.getInstance().removeGroup(compactionMetricGroup);
+            compactionMetricGroup.close();
+        }
     }
 
     @Override
@@ -354,14 +455,27 @@ public abstract class AbstractFileStoreWrite<T>
 
     private ExecutorService compactExecutor() {
         if (lazyCompactExecutor == null) {
-            lazyCompactExecutor =
-                    Executors.newSingleThreadScheduledExecutor(
+            CompactScheduler scheduler =
+                    new CompactScheduler(
+                            compactionThreads,
                             new ExecutorThreadFactory(
                                     Thread.currentThread().getName() + "-compaction"));
+            scheduler.registerMetrics(compactionMetricGroup());
+            lazyCompactExecutor = scheduler;
         }
         return lazyCompactExecutor;
     }
 
+    /** Metric group of the compactions of this write, tagged with the table name. */
+    protected MetricGroup compactionMetricGroup() {
+        if (compactionMetricGroup == null) {
+            compactionMetricGroup =
+                    GenericMetricGroup.createGenericMetricGroup(
+                            snapshotManager.tablePath().getName(), COMPACTION_METRIC_GROUP);
+        }
+        return compactionMetricGroup;
+    }
+
     @VisibleForTesting
     public ExecutorService getCompactExecutor() {
         return lazyCompactExecutor;
@@ -369,6 +483,13 @@ public abstract class AbstractFileStoreWrite<T>
 
     protected void notifyNewWriter(RecordWriter<T> writer) {}
 
+    /** Wraps the {@link FileIO} used by compactions to limit their I/O rate if configured. */
+    protected FileIO compactionFileIO(FileIO fileIO) {
+        return compactionRateLimiter == null
+                ? fileIO
+                : new RateLimitedFileIO(fileIO, compactionRateLimiter);
+    }
+
     protected abstract RecordWriter<T> createWriter(
             BinaryRow partition,
             int bucket,
@@ -399,6 +520,17 @@ public abstract class AbstractFileStoreWrite<T>
         }
     }
 
+    /** Result of preparing commit of a {@link WriterContainer}. */
+    private static class PreparedCommit {
+        private final CommitIncrement increment;
+        private final List<IndexFileMeta> newIndexFiles;
+
+        private PreparedCommit(CommitIncrement increment, List<IndexFileMeta> newIndexFiles) {
+            this.increment = increment;
+            this.newIndexFiles = newIndexFiles;
+        }
+    }
+
     /** Recoverable state of {@link AbstractFileStoreWrite}. */
     public static class State<T> {
         protected final BinaryRow partition;
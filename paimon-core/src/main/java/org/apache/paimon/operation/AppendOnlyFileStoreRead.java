@@ -28,6 +28,7 @@ import org.apache.paimon.io.DataFilePathFactory;
 import org.apache.paimon.io.RowDataFileRecordReader;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader;
 import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.schema.IndexCastMapping;
 import org.apache.paimon.schema.SchemaEvolutionUtil;
@@ -46,6 +47,7 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +65,8 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
     private final FileFormatDiscover formatDiscover;
     private final FileStorePathFactory pathFactory;
     private final Map<FormatKey, BulkFormatMapping> bulkFormatMappings;
+    private final boolean batchFilterEnabled;
+    private final int prefetchFiles;
 
     private int[][] projection;
 
@@ -74,15 +78,55 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
             long schemaId,
             RowType rowType,
             FileFormatDiscover formatDiscover,
-            FileStorePathFactory pathFactory) {
+            FileStorePathFactory pathFactory,
+            boolean batchFilterEnabled,
+            int prefetchFiles) {
+        this(
+                fileIO,
+                schemaManager,
+                schemaId,
+                formatDiscover,
+                pathFactory,
+                batchFilterEnabled,
+                prefetchFiles,
+                Projection.range(0, rowType.getFieldCount()).toNestedIndexes());
+    }
+
+    private AppendOnlyFileStoreRead(
+            FileIO fileIO,
+            SchemaManager schemaManager,
+            long schemaId,
+            FileFormatDiscover formatDiscover,
+            FileStorePathFactory pathFactory,
+            boolean batchFilterEnabled,
+            int prefetchFiles,
+            int[][] projection) {
         this.fileIO = fileIO;
         this.schemaManager = schemaManager;
         this.schemaId = schemaId;
         this.formatDiscover = formatDiscover;
         this.pathFactory = pathFactory;
         this.bulkFormatMappings = new HashMap<>();
+        this.batchFilterEnabled = batchFilterEnabled;
+        this.prefetchFiles = prefetchFiles;
+
+        this.projection = projection;
+    }
 
-        this.projection = Projection.range(0, rowType.getFieldCount()).toNestedIndexes();
+    /** Copies this read with the same projection and filters to read files by another FileIO. */
+    public AppendOnlyFileStoreRead copyWithFileIO(FileIO fileIO) {
+        AppendOnlyFileStoreRead read =
+                new AppendOnlyFileStoreRead(
+                        fileIO,
+                        schemaManager,
+                        schemaId,
+                        formatDiscover,
+                        pathFactory,
+                        batchFilterEnabled,
+                        prefetchFiles,
+                        projection);
+        read.filters = filters;
+        return read;
     }
 
     public FileStoreRead<InternalRow> withProjection(int[][] projectedFields) {
@@ -124,20 +168,23 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
                                                 tableSchema.fields(),
                                                 Projection.of(dataProjection).toTopLevelIndexes(),
                                                 dataSchema.fields());
+                                // the filters are pushed down to skip data by statistics,
+                                // literals cast to a changed type might skip matched rows
                                 List<Predicate> dataFilters =
-                                        this.schemaId == key.schemaId
-                                                ? filters
-                                                : SchemaEvolutionUtil.createDataFilters(
-                                                        tableSchema.fields(),
-                                                        dataSchema.fields(),
-                                                        filters);
+                                        exactDataFilters(tableSchema, dataSchema);
                                 return new BulkFormatMapping(
                                         indexCastMapping.getIndexMapping(),
                                         indexCastMapping.getCastMapping(),
                                         formatDiscover
                                                 .discover(formatIdentifier)
                                                 .createReaderFactory(
-                                                        rowType, dataProjection, dataFilters));
+                                                        rowType, dataProjection, dataFilters),
+                                        batchFilterEnabled
+                                                ? batchFilter(
+                                                        rowType.getFieldCount(),
+                                                        dataProjection,
+                                                        dataFilters)
+                                                : null);
                             });
             suppliers.add(
                     () ->
@@ -146,9 +193,43 @@ public class AppendOnlyFileStoreRead implements FileStoreRead<InternalRow> {
                                     dataFilePathFactory.toPath(file.fileName()),
                                     bulkFormatMapping.getReaderFactory(),
                                     bulkFormatMapping.getIndexMapping(),
-                                    bulkFormatMapping.getCastMapping()));
+                                    bulkFormatMapping.getCastMapping(),
+                                    bulkFormatMapping.getBatchFilter()));
         }
 
-        return ConcatRecordReader.create(suppliers);
+        return ConcatRecordReader.create(suppliers, prefetchFiles);
+    }
+
+    @Nullable
+    private List<Predicate> exactDataFilters(TableSchema tableSchema, TableSchema dataSchema) {
+        return tableSchema.id() == dataSchema.id()
+                ? filters
+                : SchemaEvolutionUtil.createExactDataFilters(
+                        tableSchema.fields(), dataSchema.fields(), filters);
+    }
+
+    /**
+     * Maps the filters on the data fields to the projected fields, so they can be evaluated on the
+     * rows read from data files. Filters on fields which are not projected are dropped. The data
+     * filters must be exact, filters on fields whose type is changed by schema evolution are not
+     * evaluated because casting their literals to the data type may lose information.
+     */
+    @Nullable
+    private static Predicate batchFilter(
+            int fieldCount, int[][] dataProjection, @Nullable List<Predicate> dataFilters) {
+        if (dataFilters == null || dataFilters.isEmpty()) {
+            return null;
+        }
+
+        int[] fieldIdxMapping = new int[fieldCount];
+        Arrays.fill(fieldIdxMapping, -1);
+        for (int i = 0; i < dataProjection.length; i++) {
+            if (dataProjection[i].length == 1) {
+                fieldIdxMapping[dataProjection[i][0]] = i;
+            }
+        }
+        List<Predicate> projected =
+                PredicateBuilder.pickTransformFieldMapping(dataFilters, fieldIdxMapping);
+        return projected.isEmpty() ? null : PredicateBuilder.and(projected);
     }
 }
@@ -55,6 +55,7 @@ import static org.apache.paimon.io.DataFileMeta.getMaxSequenceNumber;
 public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow> {
 
     private final FileIO fileIO;
+    private final FileIO compactionFileIO;
     private final AppendOnlyFileStoreRead read;
     private final long schemaId;
     private final RowType rowType;
@@ -80,9 +81,11 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
             SnapshotManager snapshotManager,
             FileStoreScan scan,
             CoreOptions options) {
-        super(commitUser, snapshotManager, scan, null);
+        super(commitUser, snapshotManager, scan, null, options);
         this.fileIO = fileIO;
-        this.read = read;
+        // files are only read by compactions
+        this.compactionFileIO = compactionFileIO(fileIO);
+        this.read = compactionFileIO == fileIO ? read : read.copyWithFileIO(compactionFileIO);
         this.schemaId = schemaId;
         this.rowType = rowType;
         this.fileFormat = options.fileFormat();
@@ -112,12 +115,13 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
                 skipCompaction
                         ? new NoopCompactManager()
                         : new AppendOnlyCompactManager(
-                                compactExecutor,
-                                restoredFiles,
-                                compactionMinFileNum,
-                                compactionMaxFileNum,
-                                targetFileSize,
-                                compactRewriter(partition, bucket));
+                                        compactExecutor,
+                                        restoredFiles,
+                                        compactionMinFileNum,
+                                        compactionMaxFileNum,
+                                        targetFileSize,
+                                        compactRewriter(partition, bucket))
+                                .withRateLimiter(compactionRateLimiter);
 
         return new AppendOnlyWriter(
                 fileIO,
@@ -142,7 +146,7 @@ public class AppendOnlyFileStoreWrite extends AbstractFileStoreWrite<InternalRow
             }
             RowDataRollingFileWriter rewriter =
                     new RowDataRollingFileWriter(
-                            fileIO,
+                            compactionFileIO,
                             schemaId,
                             fileFormat,
                             targetFileSize,
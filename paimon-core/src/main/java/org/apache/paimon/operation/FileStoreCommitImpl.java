@@ -426,6 +426,9 @@ public class FileStoreCommitImpl implements FileStoreCommit {
 
             for (DataFileMeta file : toDelete) {
                 fileIO.deleteQuietly(pathFactory.toPath(file.fileName()));
+                for (String extraFile : file.extraFiles()) {
+                    fileIO.deleteQuietly(pathFactory.toPath(extraFile));
+                }
             }
         }
     }
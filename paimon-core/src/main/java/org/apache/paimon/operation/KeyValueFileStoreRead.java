@@ -28,6 +28,7 @@ import org.apache.paimon.format.FileFormatDiscover;
 import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.KeyValueFileReaderFactory;
+import org.apache.paimon.memory.CachelessSegmentPool;
 import org.apache.paimon.mergetree.DropDeleteReader;
 import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.MergeTreeReaders;
@@ -73,6 +74,7 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
     private final MergeFunctionFactory<KeyValue> mfFactory;
     private final boolean valueCountMode;
     private final MergeSorter mergeSorter;
+    private final int prefetchFiles;
 
     @Nullable private int[][] keyProjectedFields;
 
@@ -110,9 +112,17 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
         this.keyComparator = keyComparator;
         this.mfFactory = mfFactory;
         this.valueCountMode = tableSchema.trimmedPrimaryKeys().isEmpty();
+        CoreOptions options = CoreOptions.fromMap(tableSchema.options());
+        // reads have no close hook for an off-heap pool, spill sorts of reads always use heap
         this.mergeSorter =
                 new MergeSorter(
-                        CoreOptions.fromMap(tableSchema.options()), keyType, valueType, null);
+                        options,
+                        keyType,
+                        valueType,
+                        null,
+                        new CachelessSegmentPool(
+                                options.sortSpillBufferSize(), options.pageSize()));
+        this.prefetchFiles = options.readPrefetchFiles();
     }
 
     public KeyValueFileStoreRead withKeyProjection(int[][] projectedFields) {
@@ -239,7 +249,8 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
                                             : nonOverlappedSectionFactory,
                                     keyComparator,
                                     mergeFuncWrapper,
-                                    mergeSorter));
+                                    mergeSorter,
+                                    prefetchFiles));
         }
 
         RecordReader<KeyValue> reader = ConcatRecordReader.create(sectionReaders);
@@ -264,7 +275,7 @@ public class KeyValueFileStoreRead implements FileStoreRead<KeyValue> {
                                 file.schemaId(), fileName, file.level());
                     });
         }
-        return ConcatRecordReader.create(suppliers);
+        return ConcatRecordReader.create(suppliers, prefetchFiles);
     }
 
     private Optional<String> changelogFile(DataFileMeta fileMeta) {
@@ -20,12 +20,15 @@ package org.apache.paimon.operation;
 
 import org.apache.paimon.CoreOptions;
 import org.apache.paimon.CoreOptions.ChangelogProducer;
+import org.apache.paimon.CoreOptions.CompactionStyle;
+import org.apache.paimon.CoreOptions.WriteBufferType;
 import org.apache.paimon.KeyValue;
 import org.apache.paimon.KeyValueFileStore;
 import org.apache.paimon.annotation.VisibleForTesting;
 import org.apache.paimon.codegen.RecordEqualiser;
 import org.apache.paimon.compact.CompactManager;
 import org.apache.paimon.compact.NoopCompactManager;
+import org.apache.paimon.compact.WriteStallMetrics;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.format.FileFormatDiscover;
@@ -34,26 +37,32 @@ import org.apache.paimon.index.IndexMaintainer;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.KeyValueFileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
-import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
+import org.apache.paimon.io.LookupIndexFileWriter;
+import org.apache.paimon.lookup.LookupStoreFactory;
 import org.apache.paimon.mergetree.ContainsLevels;
 import org.apache.paimon.mergetree.Levels;
+import org.apache.paimon.mergetree.LookupFileCache;
 import org.apache.paimon.mergetree.LookupLevels;
+import org.apache.paimon.mergetree.LookupUtils;
 import org.apache.paimon.mergetree.MergeSorter;
 import org.apache.paimon.mergetree.MergeTreeWriter;
 import org.apache.paimon.mergetree.compact.CompactRewriter;
 import org.apache.paimon.mergetree.compact.CompactStrategy;
 import org.apache.paimon.mergetree.compact.FirstRowMergeTreeCompactRewriter;
 import org.apache.paimon.mergetree.compact.FullChangelogMergeTreeCompactRewriter;
+import org.apache.paimon.mergetree.compact.LeveledCompaction;
 import org.apache.paimon.mergetree.compact.LookupCompaction;
 import org.apache.paimon.mergetree.compact.LookupMergeTreeCompactRewriter;
 import org.apache.paimon.mergetree.compact.MergeFunctionFactory;
 import org.apache.paimon.mergetree.compact.MergeTreeCompactManager;
 import org.apache.paimon.mergetree.compact.MergeTreeCompactRewriter;
 import org.apache.paimon.mergetree.compact.UniversalCompaction;
+import org.apache.paimon.metrics.Gauge;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.CommitIncrement;
+import org.apache.paimon.utils.ExecutorThreadFactory;
 import org.apache.paimon.utils.FileStorePathFactory;
 import org.apache.paimon.utils.SnapshotManager;
 
@@ -65,7 +74,10 @@ import javax.annotation.Nullable;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 import static org.apache.paimon.io.DataFileMeta.getMaxSequenceNumber;
@@ -75,16 +87,27 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
 
     private static final Logger LOG = LoggerFactory.getLogger(KeyValueFileStoreWrite.class);
 
+    public static final String LOOKUP_FILE_DISK_SIZE = "lookupFileDiskSize";
+
     private final KeyValueFileReaderFactory.Builder readerFactoryBuilder;
     private final KeyValueFileWriterFactory.Builder writerFactoryBuilder;
+    private final KeyValueFileWriterFactory.Builder compactWriterFactoryBuilder;
     private final Supplier<Comparator<InternalRow>> keyComparatorSupplier;
     private final Supplier<RecordEqualiser> valueEqualiserSupplier;
     private final MergeFunctionFactory<KeyValue> mfFactory;
     private final CoreOptions options;
     private final FileIO fileIO;
+    private final FileIO compactionFileIO;
+    private final FileStorePathFactory pathFactory;
+    private final long schemaId;
     private final RowType keyType;
     private final RowType valueType;
 
+    @Nullable private ExecutorService lazyFlushExecutor;
+    @Nullable private ExecutorService lazySubcompactionExecutor;
+    @Nullable private WriteStallMetrics lazyWriteStallMetrics;
+    @Nullable private Set<LookupFileCache.Scope> lazyLookupFileScopes;
+
     public KeyValueFileStoreWrite(
             FileIO fileIO,
             SchemaManager schemaManager,
@@ -104,11 +127,15 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             KeyValueFieldsExtractor extractor) {
         super(commitUser, snapshotManager, scan, options, indexFactory);
         this.fileIO = fileIO;
+        // files are only read by compactions
+        this.compactionFileIO = compactionFileIO(fileIO);
+        this.pathFactory = pathFactory;
+        this.schemaId = schemaId;
         this.keyType = keyType;
         this.valueType = valueType;
         this.readerFactoryBuilder =
                 KeyValueFileReaderFactory.builder(
-                        fileIO,
+                        compactionFileIO,
                         schemaManager,
                         schemaId,
                         keyType,
@@ -125,6 +152,17 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                         options.fileFormat(),
                         format2PathFactory,
                         options.targetFileSize());
+        this.compactWriterFactoryBuilder =
+                compactionFileIO == fileIO
+                        ? writerFactoryBuilder
+                        : KeyValueFileWriterFactory.builder(
+                                compactionFileIO,
+                                schemaId,
+                                keyType,
+                                valueType,
+                                options.fileFormat(),
+                                format2PathFactory,
+                                options.targetFileSize());
         this.keyComparatorSupplier = keyComparatorSupplier;
         this.valueEqualiserSupplier = valueEqualiserSupplier;
         this.mfFactory = mfFactory;
@@ -150,17 +188,13 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 writerFactoryBuilder.build(partition, bucket, options);
         Comparator<InternalRow> keyComparator = keyComparatorSupplier.get();
         Levels levels = new Levels(keyComparator, restoreFiles, options.numLevels());
-        UniversalCompaction universalCompaction =
-                new UniversalCompaction(
-                        options.maxSizeAmplificationPercent(),
-                        options.sortedRunSizeRatio(),
-                        options.numSortedRunCompactionTrigger());
-        CompactStrategy compactStrategy =
-                options.changelogProducer() == ChangelogProducer.LOOKUP
-                        ? new LookupCompaction(universalCompaction)
-                        : universalCompaction;
         CompactManager compactManager =
-                createCompactManager(partition, bucket, compactStrategy, compactExecutor, levels);
+                createCompactManager(
+                        partition,
+                        bucket,
+                        createCompactStrategy(keyComparator),
+                        compactExecutor,
+                        levels);
         return new MergeTreeWriter(
                 bufferSpillable(),
                 options.localSortMaxNumFileHandles(),
@@ -172,9 +206,80 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                 writerFactory,
                 options.commitForceCompact(),
                 options.changelogProducer(),
+                options.writeBufferType() == WriteBufferType.HASH
+                                && options.changelogProducer() != ChangelogProducer.INPUT
+                        ? mfFactory
+                        : null,
+                options.writeBufferAsyncFlush() ? flushExecutor() : null,
                 restoreIncrement);
     }
 
+    private ExecutorService flushExecutor() {
+        if (lazyFlushExecutor == null) {
+            lazyFlushExecutor =
+                    Executors.newSingleThreadExecutor(
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-write-buffer-flush"));
+        }
+        return lazyFlushExecutor;
+    }
+
+    private ExecutorService subcompactionExecutor() {
+        if (lazySubcompactionExecutor == null) {
+            lazySubcompactionExecutor =
+                    Executors.newFixedThreadPool(
+                            options.compactionMaxSubcompactions(),
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-subcompaction"));
+        }
+        return lazySubcompactionExecutor;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            if (lazyFlushExecutor != null) {
+                lazyFlushExecutor.shutdownNow();
+            }
+            if (lazySubcompactionExecutor != null) {
+                lazySubcompactionExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private CompactStrategy createCompactStrategy(Comparator<InternalRow> keyComparator) {
+        boolean lookup = options.changelogProducer() == ChangelogProducer.LOOKUP;
+        if (options.compactionStyle() == CompactionStyle.LEVELED) {
+            return new LeveledCompaction(
+                    keyComparator,
+                    options.leveledCompactionBaseLevelSize(),
+                    options.leveledCompactionLevelSizeMultiplier(),
+                    // lookup changelog is produced when level 0 files are compacted
+                    lookup ? 1 : options.numSortedRunCompactionTrigger());
+        }
+
+        UniversalCompaction universalCompaction =
+                new UniversalCompaction(
+                        options.maxSizeAmplificationPercent(),
+                        options.sortedRunSizeRatio(),
+                        options.numSortedRunCompactionTrigger());
+        return lookup ? new LookupCompaction(universalCompaction) : universalCompaction;
+    }
+
+    /**
+     * Time and count of writes delayed and stopped for compactions of this writer task, registered
+     * to the compaction metric group.
+     */
+    private WriteStallMetrics writeStallMetrics() {
+        if (lazyWriteStallMetrics == null) {
+            lazyWriteStallMetrics = new WriteStallMetrics();
+            lazyWriteStallMetrics.registerMetrics(compactionMetricGroup());
+        }
+        return lazyWriteStallMetrics;
+    }
+
     @VisibleForTesting
     public boolean bufferSpillable() {
         return options.writeBufferSpillable(fileIO.isObjectStore(), isStreamingMode);
@@ -192,13 +297,25 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             Comparator<InternalRow> keyComparator = keyComparatorSupplier.get();
             CompactRewriter rewriter = createRewriter(partition, bucket, keyComparator, levels);
             return new MergeTreeCompactManager(
-                    compactExecutor,
-                    levels,
-                    compactStrategy,
-                    keyComparator,
-                    options.compactionFileSize(),
-                    options.numSortedRunStopTrigger(),
-                    rewriter);
+                            compactExecutor,
+                            levels,
+                            compactStrategy,
+                            keyComparator,
+                            options.compactionFileSize(),
+                            options.numSortedRunStopTrigger(),
+                            rewriter)
+                    .withSubcompactions(
+                            options.compactionMaxSubcompactions() > 1
+                                    ? subcompactionExecutor()
+                                    : null,
+                            options.compactionMaxSubcompactions())
+                    .withWriteSlowdown(
+                            options.numSortedRunCompactionTrigger(),
+                            options.numSortedRunSlowdownMaxDelay().toMillis(),
+                            writeStallMetrics())
+                    .withStallByLevel0Files(
+                            options.compactionStyle() == CompactionStyle.LEVELED)
+                    .withRateLimiter(compactionRateLimiter);
         }
     }
 
@@ -206,7 +323,7 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
             BinaryRow partition, int bucket, Comparator<InternalRow> keyComparator, Levels levels) {
         KeyValueFileReaderFactory readerFactory = readerFactoryBuilder.build(partition, bucket);
         KeyValueFileWriterFactory writerFactory =
-                writerFactoryBuilder.build(partition, bucket, options);
+                compactWriterFactoryBuilder.build(partition, bucket, options);
         MergeSorter mergeSorter = new MergeSorter(options, keyType, valueType, ioManager);
         switch (options.changelogProducer()) {
             case FULL_COMPACTION:
@@ -237,7 +354,16 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                             valueEqualiserSupplier.get(),
                             options.changelogRowDeduplicate());
                 }
-                LookupLevels lookupLevels = createLookupLevels(levels, readerFactory);
+                LookupLevels lookupLevels =
+                        createLookupLevels(partition, bucket, levels, readerFactory);
+                if (options.toConfiguration().get(CoreOptions.LOOKUP_REMOTE_INDEX_ENABLED)) {
+                    writerFactory.withLookupIndex(
+                            new LookupIndexFileWriter.Factory(
+                                    () -> ioManager.createChannel().getPathFile(),
+                                    options.toConfiguration()
+                                            .get(CoreOptions.LOOKUP_LOCAL_FILE_TYPE),
+                                    lookupStoreFactory()));
+                }
                 return new LookupMergeTreeCompactRewriter(
                         lookupLevels,
                         readerFactory,
@@ -253,8 +379,42 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
         }
     }
 
+    /**
+     * Creates the scope of the local lookup files of a bucket. The disk size of the lookup files
+     * of all buckets of this write is reported to the compaction metric group.
+     */
+    private LookupFileCache.Scope createLookupFileScope() {
+        if (lazyLookupFileScopes == null) {
+            lazyLookupFileScopes = ConcurrentHashMap.newKeySet();
+            compactionMetricGroup()
+                    .gauge(LOOKUP_FILE_DISK_SIZE, (Gauge<Long>) this::lookupFileDiskSize);
+        }
+        LookupFileCache.Scope scope =
+                LookupUtils.createFileCache(options).createScope(pathFactory.root().toString());
+        lazyLookupFileScopes.add(scope);
+        return scope;
+    }
+
+    /** Disk size in bytes of the local lookup files of this write. */
+    private long lookupFileDiskSize() {
+        if (lazyLookupFileScopes == null) {
+            return 0;
+        }
+        // scopes are closed together with the compact managers of the writers
+        lazyLookupFileScopes.removeIf(LookupFileCache.Scope::isClosed);
+        return lazyLookupFileScopes.stream().mapToLong(s -> s.diskSize().getBytes()).sum();
+    }
+
+    private LookupStoreFactory lookupStoreFactory() {
+        return LookupUtils.createLookupStoreFactory(
+                options, cacheManager, keyType, keyComparatorSupplier.get());
+    }
+
     private LookupLevels createLookupLevels(
-            Levels levels, KeyValueFileReaderFactory readerFactory) {
+            BinaryRow partition,
+            int bucket,
+            Levels levels,
+            KeyValueFileReaderFactory readerFactory) {
         if (ioManager == null) {
             throw new RuntimeException(
                     "Can not use lookup, there is no temp disk directory to use.");
@@ -268,11 +428,14 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                         readerFactory.createRecordReader(
                                 file.schemaId(), file.fileName(), file.level()),
                 () -> ioManager.createChannel().getPathFile(),
-                new HashLookupStoreFactory(
-                        cacheManager,
-                        options.toConfiguration().get(CoreOptions.LOOKUP_HASH_LOAD_FACTOR)),
-                options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_FILE_RETENTION),
-                options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE));
+                lookupStoreFactory(),
+                createLookupFileScope(),
+                LookupUtils.bloomFilterFpp(options),
+                LookupUtils.lookupIndexLoader(
+                        options,
+                        compactionFileIO,
+                        pathFactory.createDataFilePathFactory(partition, bucket),
+                        schemaId));
     }
 
     private ContainsLevels createContainsLevels(
@@ -289,10 +452,8 @@ public class KeyValueFileStoreWrite extends MemoryFileStoreWrite<KeyValue> {
                         readerFactory.createRecordReader(
                                 file.schemaId(), file.fileName(), file.level()),
                 () -> ioManager.createChannel().getPathFile(),
-                new HashLookupStoreFactory(
-                        cacheManager,
-                        options.toConfiguration().get(CoreOptions.LOOKUP_HASH_LOAD_FACTOR)),
-                options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_FILE_RETENTION),
-                options.toConfiguration().get(CoreOptions.LOOKUP_CACHE_MAX_DISK_SIZE));
+                lookupStoreFactory(),
+                createLookupFileScope(),
+                LookupUtils.bloomFilterFpp(options));
     }
 }
@@ -24,6 +24,9 @@ import org.apache.paimon.io.cache.CacheManager;
 import org.apache.paimon.memory.HeapMemorySegmentPool;
 import org.apache.paimon.memory.MemoryOwner;
 import org.apache.paimon.memory.MemoryPoolFactory;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.memory.OffHeapMemorySegmentPool;
+import org.apache.paimon.mergetree.LookupUtils;
 import org.apache.paimon.utils.RecordWriter;
 import org.apache.paimon.utils.SnapshotManager;
 
@@ -37,8 +40,6 @@ import javax.annotation.Nullable;
 import java.util.Iterator;
 import java.util.Map;
 
-import static org.apache.paimon.CoreOptions.LOOKUP_CACHE_MAX_MEMORY_SIZE;
-
 /**
  * Base {@link FileStoreWrite} implementation which supports using shared memory and preempting
  * memory from other writers.
@@ -51,6 +52,7 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
     private final CoreOptions options;
     protected final CacheManager cacheManager;
     private MemoryPoolFactory writeBufferPool;
+    @Nullable private OffHeapMemorySegmentPool offHeapWriteBufferPool;
 
     public MemoryFileStoreWrite(
             String commitUser,
@@ -58,12 +60,9 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
             FileStoreScan scan,
             CoreOptions options,
             @Nullable IndexMaintainer.Factory<T> indexFactory) {
-        super(commitUser, snapshotManager, scan, indexFactory);
+        super(commitUser, snapshotManager, scan, indexFactory, options);
         this.options = options;
-        this.cacheManager =
-                new CacheManager(
-                        options.pageSize(),
-                        options.toConfiguration().get(LOOKUP_CACHE_MAX_MEMORY_SIZE));
+        this.cacheManager = LookupUtils.createCacheManager(options);
     }
 
     @Override
@@ -102,13 +101,30 @@ public abstract class MemoryFileStoreWrite<T> extends AbstractFileStoreWrite<T>
                             + writer.getClass());
         }
         if (writeBufferPool == null) {
-            LOG.debug("Use default heap memory segment pool for write buffer.");
-            writeBufferPool =
-                    new MemoryPoolFactory(
-                                    new HeapMemorySegmentPool(
-                                            options.writeBufferSize(), options.pageSize()))
-                            .addOwners(this::memoryOwners);
+            MemorySegmentPool memoryPool;
+            if (options.writeBufferOffHeap()) {
+                LOG.debug("Use off-heap memory segment pool for write buffer.");
+                offHeapWriteBufferPool =
+                        new OffHeapMemorySegmentPool(options.writeBufferSize(), options.pageSize());
+                memoryPool = offHeapWriteBufferPool;
+            } else {
+                LOG.debug("Use default heap memory segment pool for write buffer.");
+                memoryPool =
+                        new HeapMemorySegmentPool(options.writeBufferSize(), options.pageSize());
+            }
+            writeBufferPool = new MemoryPoolFactory(memoryPool).addOwners(this::memoryOwners);
         }
         writeBufferPool.notifyNewOwner((MemoryOwner) writer);
     }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            if (offHeapWriteBufferPool != null) {
+                offHeapWriteBufferPool.close();
+            }
+        }
+    }
 }
@@ -284,6 +284,31 @@ public class SchemaEvolutionUtil {
     @Nullable
     public static List<Predicate> createDataFilters(
             List<DataField> tableFields, List<DataField> dataFields, List<Predicate> filters) {
+        return createDataFilters(tableFields, dataFields, filters, true);
+    }
+
+    /**
+     * Create predicate list from data fields like {@link #createDataFilters}, but the predicates on
+     * fields whose type is changed are ignored instead of casting their literals to the data type.
+     * The data filters are exact, so they can be evaluated on the rows of data files.
+     *
+     * @param tableFields the table fields
+     * @param dataFields the underlying data fields
+     * @param filters the filters
+     * @return the data filters
+     */
+    @Nullable
+    public static List<Predicate> createExactDataFilters(
+            List<DataField> tableFields, List<DataField> dataFields, List<Predicate> filters) {
+        return createDataFilters(tableFields, dataFields, filters, false);
+    }
+
+    @Nullable
+    private static List<Predicate> createDataFilters(
+            List<DataField> tableFields,
+            List<DataField> dataFields,
+            List<Predicate> filters,
+            boolean castLiterals) {
         if (filters == null) {
             return null;
         }
@@ -307,6 +332,9 @@ public class SchemaEvolutionUtil {
 
                     DataType dataValueType = dataField.type().copy(true);
                     DataType predicateType = predicate.type().copy(true);
+                    if (!castLiterals && !dataValueType.equals(predicateType)) {
+                        return Optional.empty();
+                    }
                     CastExecutor<Object, Object> castExecutor =
                             dataValueType.equals(predicateType)
                                     ? null
@@ -314,9 +342,9 @@ public class SchemaEvolutionUtil {
                                             CastExecutors.resolve(
                                                     predicate.type(), dataField.type());
                     // Convert value from predicate type to underlying data type which may lose
-                    // information, for example, convert double value to int. But it doesn't matter
-                    // because it just for predicate push down and the data will be filtered
-                    // correctly after reading.
+                    // information, for example, convert double value to int or bigint value to
+                    // int with overflow. So these filters must not be used to skip data, use the
+                    // exact data filters for that.
                     List<Object> literals =
                             predicate.literals().stream()
                                     .map(v -> castExecutor == null ? v : castExecutor.cast(v))
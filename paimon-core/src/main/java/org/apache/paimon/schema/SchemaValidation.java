@@ -195,6 +195,18 @@ public class SchemaValidation {
             }
         }
 
+        if (options.writeBufferType() == CoreOptions.WriteBufferType.HASH) {
+            if (sequenceField.isPresent()) {
+                throw new IllegalArgumentException(
+                        "Do not support use sequence field on 'hash' write buffer");
+            }
+
+            if (changelogProducer == ChangelogProducer.INPUT) {
+                throw new IllegalArgumentException(
+                        "Do not support 'input' changelog-producer on 'hash' write buffer");
+            }
+        }
+
         if (schema.crossPartitionUpdate() && options.bucket() != -1) {
             throw new IllegalArgumentException(
                     String.format(
@@ -37,6 +37,8 @@ import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.schema.KeyValueFieldsExtractor;
 import org.apache.paimon.schema.TableSchema;
+import org.apache.paimon.table.query.LocalTableQuery;
+import org.apache.paimon.table.query.TableQuery;
 import org.apache.paimon.table.sink.SequenceGenerator;
 import org.apache.paimon.table.sink.TableWriteImpl;
 import org.apache.paimon.table.source.InnerTableRead;
@@ -112,6 +114,11 @@ public class ChangelogWithKeyFileStoreTable extends AbstractFileStoreTable {
         return lazyStore;
     }
 
+    @Override
+    public TableQuery newTableQuery() {
+        return new LocalTableQuery(this);
+    }
+
     @Override
     public SplitGenerator splitGenerator() {
         return new MergeTreeSplitGenerator(
@@ -18,6 +18,7 @@
 
 package org.apache.paimon.table;
 
+import org.apache.paimon.codegen.CodeGenUtils;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.predicate.PredicateFilter;
@@ -51,7 +52,7 @@ public class TableUtils {
                 BatchTableWrite write = writeBuilder.newWrite();
                 BatchTableCommit commit = writeBuilder.newCommit()) {
             CloseableIterator<InternalRow> iterator = reader.toCloseableIterator();
-            PredicateFilter filter = new PredicateFilter(table.rowType(), filters);
+            PredicateFilter filter = CodeGenUtils.newPredicateFilter(filters);
             while (iterator.hasNext()) {
                 InternalRow row = iterator.next();
                 if (filter.test(row)) {
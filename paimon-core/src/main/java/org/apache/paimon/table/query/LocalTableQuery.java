@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.table.query;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.KeyValueFileStore;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.io.KeyValueFileReaderFactory;
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.lookup.LookupStoreFactory;
+import org.apache.paimon.manifest.ManifestEntry;
+import org.apache.paimon.mergetree.Levels;
+import org.apache.paimon.mergetree.LookupFileCache;
+import org.apache.paimon.mergetree.LookupLevels;
+import org.apache.paimon.mergetree.LookupUtils;
+import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.table.FileStoreTable;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link TableQuery} which looks up keys in the files of buckets like the lookup of compactions,
+ * the files of a bucket are copied to local lookup files on demand and are probed from the
+ * newest sorted run to the oldest.
+ *
+ * <p>The files of a bucket are fixed to the snapshot of the first lookup of the bucket until
+ * {@link #refresh()} is called. Lookups are serialized because the merge function is reused.
+ */
+public class LocalTableQuery implements TableQuery {
+
+    private final KeyValueFileStore store;
+    private final FileIO fileIO;
+    private final long schemaId;
+    private final CoreOptions options;
+    private final Comparator<InternalRow> keyComparator;
+    private final KeyValueFileReaderFactory.Builder readerFactoryBuilder;
+    private final MergeFunction<KeyValue> mergeFunction;
+    private final LookupStoreFactory lookupStoreFactory;
+    private final LookupFileCache fileCache;
+    private final Map<BinaryRow, Map<Integer, LookupLevels>> tableView;
+
+    @Nullable private IOManager ioManager;
+    @Nullable private Long snapshotId;
+
+    public LocalTableQuery(FileStoreTable table) {
+        if (!(table.store() instanceof KeyValueFileStore)) {
+            throw new UnsupportedOperationException(
+                    "Table query is only supported for tables with primary keys.");
+        }
+        this.store = (KeyValueFileStore) table.store();
+        this.fileIO = table.fileIO();
+        this.schemaId = table.schema().id();
+        this.options = store.options();
+        this.keyComparator = store.newKeyComparator();
+        this.readerFactoryBuilder = store.newReaderFactoryBuilder();
+        this.mergeFunction = store.mfFactory().create();
+        CacheManager cacheManager = LookupUtils.createCacheManager(options);
+        this.lookupStoreFactory =
+                LookupUtils.createLookupStoreFactory(
+                        options, cacheManager, store.keyType(), keyComparator);
+        this.fileCache = LookupUtils.createFileCache(options);
+        this.tableView = new HashMap<>();
+        this.snapshotId = store.snapshotManager().latestSnapshotId();
+    }
+
+    @Override
+    public LocalTableQuery withIOManager(IOManager ioManager) {
+        this.ioManager = ioManager;
+        return this;
+    }
+
+    @Override
+    public synchronized void refresh() throws IOException {
+        Long latestId = store.snapshotManager().latestSnapshotId();
+        if (Objects.equals(latestId, snapshotId)) {
+            return;
+        }
+
+        snapshotId = latestId;
+        for (Map.Entry<BinaryRow, Map<Integer, LookupLevels>> partition : tableView.entrySet()) {
+            for (Map.Entry<Integer, LookupLevels> bucket : partition.getValue().entrySet()) {
+                Levels levels = bucket.getValue().getLevels();
+                Set<DataFileMeta> oldFiles = new HashSet<>(levels.allFiles());
+                Set<DataFileMeta> newFiles =
+                        new HashSet<>(scanFiles(partition.getKey(), bucket.getKey()));
+                levels.update(
+                        oldFiles.stream()
+                                .filter(file -> !newFiles.contains(file))
+                                .collect(Collectors.toList()),
+                        newFiles.stream()
+                                .filter(file -> !oldFiles.contains(file))
+                                .collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public synchronized InternalRow lookup(BinaryRow partition, int bucket, InternalRow key)
+            throws IOException {
+        if (snapshotId == null) {
+            return null;
+        }
+
+        List<KeyValue> kvs = lookupLevels(partition, bucket).lookupAll(key);
+        if (kvs.isEmpty()) {
+            return null;
+        }
+
+        // merge in the order of sequence numbers, the same as the merge tree reader
+        kvs.sort(Comparator.comparingLong(KeyValue::sequenceNumber));
+        mergeFunction.reset();
+        kvs.forEach(mergeFunction::add);
+        KeyValue result = mergeFunction.getResult();
+        if (result == null || result.valueKind().isRetract()) {
+            return null;
+        }
+        return result.value();
+    }
+
+    private LookupLevels lookupLevels(BinaryRow partition, int bucket) throws IOException {
+        Map<Integer, LookupLevels> buckets = tableView.get(partition);
+        LookupLevels lookupLevels = buckets == null ? null : buckets.get(bucket);
+        if (lookupLevels != null) {
+            return lookupLevels;
+        }
+
+        if (ioManager == null) {
+            throw new RuntimeException(
+                    "Can not use lookup, there is no temp disk directory to use.");
+        }
+
+        IOManager ioManager = this.ioManager;
+        KeyValueFileReaderFactory readerFactory = readerFactoryBuilder.build(partition, bucket);
+        lookupLevels =
+                new LookupLevels(
+                        new Levels(
+                                keyComparator, scanFiles(partition, bucket), options.numLevels()),
+                        keyComparator,
+                        store.keyType(),
+                        store.valueType(),
+                        file ->
+                                readerFactory.createRecordReader(
+                                        file.schemaId(), file.fileName(), file.level()),
+                        () -> ioManager.createChannel().getPathFile(),
+                        lookupStoreFactory,
+                        fileCache.createScope(store.pathFactory().root().toString()),
+                        LookupUtils.bloomFilterFpp(options),
+                        LookupUtils.lookupIndexLoader(
+                                options,
+                                fileIO,
+                                store.pathFactory().createDataFilePathFactory(partition, bucket),
+                                schemaId));
+        tableView
+                .computeIfAbsent(partition.copy(), k -> new HashMap<>())
+                .put(bucket, lookupLevels);
+        return lookupLevels;
+    }
+
+    private List<DataFileMeta> scanFiles(BinaryRow partition, int bucket) {
+        if (snapshotId == null) {
+            return new ArrayList<>();
+        }
+
+        return store
+                .newScan()
+                .withSnapshot(snapshotId)
+                .withPartitionBucket(partition, bucket)
+                .plan()
+                .files()
+                .stream()
+                .map(ManifestEntry::file)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Map<Integer, LookupLevels> buckets : tableView.values()) {
+            for (LookupLevels lookupLevels : buckets.values()) {
+                lookupLevels.close();
+            }
+        }
+        tableView.clear();
+    }
+}
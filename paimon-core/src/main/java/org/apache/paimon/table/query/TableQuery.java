@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.table.query;
+
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.table.Table;
+
+import javax.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Point query of a {@link Table} with primary keys, the values of keys are looked up in the data
+ * files of a snapshot and merged by the merge engine of the table.
+ */
+public interface TableQuery extends Closeable {
+
+    /** With {@link IOManager}, the directories of it are used to store the local lookup files. */
+    TableQuery withIOManager(IOManager ioManager);
+
+    /** Refreshes the files of the buckets looked up to the latest snapshot. */
+    void refresh() throws IOException;
+
+    /**
+     * Looks up the merged value of the key in a bucket of a partition.
+     *
+     * @return the value row, null if the key does not exist or is deleted.
+     */
+    @Nullable
+    InternalRow lookup(BinaryRow partition, int bucket, InternalRow key) throws IOException;
+}
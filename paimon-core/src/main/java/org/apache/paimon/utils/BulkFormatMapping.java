@@ -39,14 +39,24 @@ public class BulkFormatMapping {
     @Nullable private final int[] indexMapping;
     @Nullable private final CastFieldGetter[] castMapping;
     private final FormatReaderFactory bulkFormat;
+    @Nullable private final Predicate batchFilter;
 
     public BulkFormatMapping(
             int[] indexMapping,
             @Nullable CastFieldGetter[] castMapping,
             FormatReaderFactory bulkFormat) {
+        this(indexMapping, castMapping, bulkFormat, null);
+    }
+
+    public BulkFormatMapping(
+            int[] indexMapping,
+            @Nullable CastFieldGetter[] castMapping,
+            FormatReaderFactory bulkFormat,
+            @Nullable Predicate batchFilter) {
         this.indexMapping = indexMapping;
         this.castMapping = castMapping;
         this.bulkFormat = bulkFormat;
+        this.batchFilter = batchFilter;
     }
 
     @Nullable
@@ -63,6 +73,15 @@ public class BulkFormatMapping {
         return bulkFormat;
     }
 
+    /**
+     * Filter on the rows read by the reader factory, the field indexes are the indexes of the
+     * projected fields.
+     */
+    @Nullable
+    public Predicate getBatchFilter() {
+        return batchFilter;
+    }
+
     public static BulkFormatMappingBuilder newBuilder(
             FileFormatDiscover formatDiscover,
             KeyValueFieldsExtractor extractor,
@@ -148,10 +167,12 @@ public class BulkFormatMapping {
                             dataKeyFields,
                             dataValueFields);
 
+            // the filters are pushed down to skip data by statistics, literals cast to a changed
+            // type might skip matched rows
             List<Predicate> dataFilters =
                     tableSchema.id() == dataSchema.id()
                             ? filters
-                            : SchemaEvolutionUtil.createDataFilters(
+                            : SchemaEvolutionUtil.createExactDataFilters(
                                     tableSchema.fields(), dataSchema.fields(), filters);
             return new BulkFormatMapping(
                     indexCastMapping.getIndexMapping(),
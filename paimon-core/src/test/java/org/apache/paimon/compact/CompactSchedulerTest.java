@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.compact;
+
+import org.apache.paimon.utils.ExecutorThreadFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link CompactScheduler}. */
+public class CompactSchedulerTest {
+
+    private CompactScheduler scheduler;
+
+    @BeforeEach
+    public void before() {
+        scheduler = new CompactScheduler(1, new ExecutorThreadFactory("compact-scheduler-test"));
+    }
+
+    @AfterEach
+    public void after() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        Future<?> blocking =
+                scheduler.submit(
+                        () -> {
+                            blocker.await();
+                            return null;
+                        });
+
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<Future<CompactResult>> futures = new ArrayList<>();
+        int[] priorities = new int[] {50, 150, 50, 100, 0};
+        for (int i = 0; i < priorities.length; i++) {
+            futures.add(scheduler.submit(new TestTask(i, executed).withPriority(priorities[i])));
+        }
+        assertThat(scheduler.queueDepth()).isEqualTo(priorities.length);
+
+        blocker.countDown();
+        blocking.get();
+        for (Future<CompactResult> future : futures) {
+            future.get();
+        }
+
+        // higher priority first, the same priority in submission order
+        assertThat(executed).containsExactly(1, 3, 0, 2, 4);
+        assertThat(scheduler.queueDepth()).isEqualTo(0);
+        assertThat(scheduler.waitTime().getCount()).isEqualTo(priorities.length + 1);
+    }
+
+    @Test
+    public void testExecuteRunnable() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        scheduler.execute(latch::countDown);
+        scheduler.submit(latch::countDown).get();
+        latch.await();
+    }
+
+    private static class TestTask extends CompactTask {
+
+        private final int id;
+        private final List<Integer> executed;
+
+        private TestTask(int id, List<Integer> executed) {
+            this.id = id;
+            this.executed = executed;
+        }
+
+        @Override
+        protected CompactResult doCompact() {
+            executed.add(id);
+            return new CompactResult();
+        }
+    }
+}
@@ -27,12 +27,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.paimon.utils.Preconditions.checkArgument;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 
 /** Test for {@link BufferFileReader} and {@link BufferFileWriter}. */
@@ -128,6 +135,147 @@ public class BufferFileWriterReaderTest {
         }
     }
 
+    @Test
+    public void testWriteReadWithReusedBuffer() throws IOException {
+        int numBuffers = 1024;
+
+        // blocks are written asynchronously, the buffer can be reused once writeBlock returns
+        Buffer writeBuffer = createBuffer();
+        int currentNumber = 0;
+        for (int i = 0; i < numBuffers; i++) {
+            writeBuffer.setSize(0);
+            currentNumber = fillBufferWithAscendingNumbers(writeBuffer, currentNumber, 1024);
+            writer.writeBlock(writeBuffer);
+        }
+        assertThat(writer.getSize()).isEqualTo(numBuffers * (4 + 1024L));
+        writer.close();
+
+        // blocks are read ahead, the buffer can be reused once readInto returns
+        Buffer readBuffer = createBuffer();
+        currentNumber = 0;
+        for (int i = 0; i < numBuffers; i++) {
+            assertThat(reader.hasReachedEndOfFile()).isFalse();
+            readBuffer.setSize(0);
+            reader.readInto(readBuffer);
+            assertThat(readBuffer.getSize()).isEqualTo(1024);
+            currentNumber = verifyBufferFilledWithAscendingNumbers(readBuffer, currentNumber);
+        }
+        assertThat(reader.hasReachedEndOfFile()).isTrue();
+        reader.close();
+    }
+
+    @Test
+    public void testWriteReadWithSmallMemoryBudget() throws Exception {
+        // only one block can be pending, the others are written and read by the caller
+        IOManagerImpl ioManager =
+                new IOManagerImpl(
+                        new String[] {tempDir.toFile().getAbsolutePath()}, true, BUFFER_SIZE);
+        FileIOChannel.ID channel = ioManager.createChannel();
+        BufferFileWriter writer = ioManager.createBufferFileWriter(channel);
+        Buffer buffer = createBuffer();
+        int currentNumber = 0;
+        for (int i = 0; i < 64; i++) {
+            buffer.setSize(0);
+            currentNumber = fillBufferWithAscendingNumbers(buffer, currentNumber, 1024);
+            writer.writeBlock(buffer);
+        }
+        writer.close();
+
+        BufferFileReader reader = ioManager.createBufferFileReader(channel);
+        currentNumber = 0;
+        for (int i = 0; i < 64; i++) {
+            assertThat(reader.hasReachedEndOfFile()).isFalse();
+            buffer.setSize(0);
+            reader.readInto(buffer);
+            currentNumber = verifyBufferFilledWithAscendingNumbers(buffer, currentNumber);
+        }
+        assertThat(reader.hasReachedEndOfFile()).isTrue();
+        reader.close();
+
+        assertThat(ioManager.memoryBudget().usedBytes()).isEqualTo(0);
+        reader.deleteChannel();
+        ioManager.close();
+    }
+
+    @Test
+    public void testDisableAsyncIO() throws Exception {
+        IOManagerImpl ioManager =
+                new IOManagerImpl(
+                        new String[] {tempDir.toFile().getAbsolutePath()}, false, BUFFER_SIZE);
+        FileIOChannel.ID channel = ioManager.createChannel();
+        BufferFileWriter writer = ioManager.createBufferFileWriter(channel);
+        assertThat(writer).isNotInstanceOf(AsyncBufferFileWriter.class);
+        writer.close();
+        BufferFileReader reader = ioManager.createBufferFileReader(channel);
+        assertThat(reader).isNotInstanceOf(AsyncBufferFileReader.class);
+        reader.close();
+        reader.deleteChannel();
+        ioManager.close();
+    }
+
+    @Test
+    public void testFailPendingReadsOnShutdown() throws Exception {
+        Buffer buffer = createBuffer();
+        for (int i = 0; i < 16; i++) {
+            buffer.setSize(0);
+            fillBufferWithAscendingNumbers(buffer, 0, 1024);
+            writer.writeBlock(buffer);
+        }
+        writer.close();
+
+        // block the I/O thread, so that the read requests stay in the queue
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(
+                () -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                });
+        AsyncBufferFileReader asyncReader =
+                new AsyncBufferFileReader(
+                        writer.getChannelID(), executor, 4, new IOMemoryBudget(Long.MAX_VALUE));
+        CompletableFuture<Void> read =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                asyncReader.readInto(createBuffer());
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        while (executor.getQueue().size() < 4) {
+            Thread.sleep(1);
+        }
+
+        IOManagerImpl.shutdownIOExecutor(executor);
+        assertThatThrownBy(read::get)
+                .hasRootCauseInstanceOf(IOException.class)
+                .hasRootCauseMessage("I/O manager has been closed.");
+        // the reader does not wait for the failed requests on closing
+        asyncReader.close();
+        assertThat(asyncReader.isClosed()).isTrue();
+    }
+
+    @Test
+    public void testCloseReaderBeforeEndOfFile() throws IOException {
+        Buffer buffer = createBuffer();
+        for (int i = 0; i < 16; i++) {
+            buffer.setSize(0);
+            fillBufferWithAscendingNumbers(buffer, 0, 1024);
+            writer.writeBlock(buffer);
+        }
+        writer.close();
+
+        buffer.setSize(0);
+        reader.readInto(buffer);
+        assertThat(reader.hasReachedEndOfFile()).isFalse();
+        reader.close();
+        assertThat(reader.isClosed()).isTrue();
+    }
+
     private int getRandomNumberInRange(int min, int max) {
         return random.nextInt((max - min) + 1) + min;
     }
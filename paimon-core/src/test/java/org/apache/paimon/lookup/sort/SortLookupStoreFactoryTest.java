@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.paimon.lookup.sort;
+
+import org.apache.paimon.io.cache.CacheManager;
+import org.apache.paimon.options.MemorySize;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link SortLookupStoreFactory}. */
+public class SortLookupStoreFactoryTest {
+
+    private static final Comparator<byte[]> KEY_COMPARATOR =
+            Comparator.comparing(bytes -> new String(bytes, StandardCharsets.UTF_8));
+
+    @TempDir Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"none", "lz4"})
+    public void testEmpty(String compression) throws IOException {
+        SortLookupStoreFactory factory = createFactory(compression, 0.01);
+        File file = new File(tempDir.toFile(), UUID.randomUUID().toString());
+        factory.createWriter(file).close();
+
+        SortLookupStoreReader reader = factory.createReader(file);
+        assertThat(reader.lookup(key(1))).isNull();
+        reader.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"none", "lz4"})
+    public void testLookup(String compression) throws IOException {
+        innerTestLookup(createFactory(compression, 0.01));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"none", "lz4"})
+    public void testLookupWithoutBloomFilter(String compression) throws IOException {
+        innerTestLookup(createFactory(compression, null));
+    }
+
+    private void innerTestLookup(SortLookupStoreFactory factory) throws IOException {
+        int numKeys = 10000;
+        File file = new File(tempDir.toFile(), UUID.randomUUID().toString());
+        SortLookupStoreWriter writer = factory.createWriter(file);
+        for (int i = 0; i < numKeys; i++) {
+            // only even keys are written
+            writer.put(key(i * 2), value(i));
+        }
+        writer.close();
+
+        SortLookupStoreReader reader = factory.createReader(file);
+        for (int i = 0; i < numKeys; i++) {
+            assertThat(reader.lookup(key(i * 2))).isEqualTo(value(i));
+            assertThat(reader.lookup(key(i * 2 + 1))).isNull();
+        }
+        assertThat(reader.lookup(key(-1))).isNull();
+        assertThat(reader.lookup(key(numKeys * 2))).isNull();
+        reader.close();
+    }
+
+    private SortLookupStoreFactory createFactory(String compression, Double bloomFilterFpp) {
+        return new SortLookupStoreFactory(
+                new CacheManager(1024, MemorySize.ofMebiBytes(1)),
+                () -> KEY_COMPARATOR,
+                256,
+                compression,
+                bloomFilterFpp);
+    }
+
+    private static byte[] key(int i) {
+        return String.format("key-%08d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(int i) {
+        StringBuilder builder = new StringBuilder();
+        // values of different lengths
+        for (int j = 0; j <= i % 10; j++) {
+            builder.append(i);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
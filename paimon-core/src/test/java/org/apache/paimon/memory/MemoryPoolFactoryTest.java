@@ -23,7 +23,10 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -76,6 +79,85 @@ public class MemoryPoolFactoryTest {
         assertThat(factory.memoryOwners()).containsExactlyInAnyOrderElementsOf(allAddedOwners);
     }
 
+    @Test
+    public void testPreemptOwnerInUse() throws Exception {
+        List<MemoryOwner> owners = new ArrayList<>();
+        MemoryPoolFactory factory =
+                new MemoryPoolFactory(new HeapMemorySegmentPool(1024 * 2, 1024))
+                        .addOwners(owners);
+        ConcurrentTestOwner owner1 = new ConcurrentTestOwner();
+        ConcurrentTestOwner owner2 = new ConcurrentTestOwner();
+        owners.add(owner1);
+        owners.add(owner2);
+        factory.notifyNewOwner(owner1);
+        factory.notifyNewOwner(owner2);
+
+        assertThat(owner1.write()).isTrue();
+        assertThat(owner1.write()).isTrue();
+
+        // owner1 is in use by this thread, so it is only requested to flush
+        owner1.lock.lock();
+        try {
+            assertThat(CompletableFuture.supplyAsync(owner2::write).get()).isFalse();
+        } finally {
+            owner1.lock.unlock();
+        }
+        assertThat(owner1.flushRequested).isTrue();
+        assertThat(owner1.segments).hasSize(2);
+        assertThat(owner2.segments).isEmpty();
+
+        // the requested flush is done by owner1 itself
+        assertThat(owner1.write()).isTrue();
+        assertThat(owner1.flushRequested).isFalse();
+        assertThat(owner1.segments).hasSize(1);
+
+        // owner1 is not in use, it is flushed for owner2
+        assertThat(owner2.write()).isTrue();
+        assertThat(owner2.write()).isTrue();
+        assertThat(owner1.segments).isEmpty();
+        assertThat(owner2.segments).hasSize(2);
+    }
+
+    @Test
+    public void testConcurrentOwners() throws Exception {
+        List<MemoryOwner> owners = new ArrayList<>();
+        MemoryPoolFactory factory =
+                new MemoryPoolFactory(new HeapMemorySegmentPool(1024 * 10, 1024))
+                        .addOwners(owners);
+        List<ConcurrentTestOwner> testOwners = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ConcurrentTestOwner owner = new ConcurrentTestOwner();
+            owners.add(owner);
+            testOwners.add(owner);
+            factory.notifyNewOwner(owner);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (ConcurrentTestOwner owner : testOwners) {
+            futures.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                for (int i = 0; i < 10000; i++) {
+                                    // the other owner may be writing, it then flushes later
+                                    while (!owner.write()) {
+                                        Thread.yield();
+                                    }
+                                }
+                            }));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get();
+        }
+
+        int usedPages = 0;
+        for (ConcurrentTestOwner owner : testOwners) {
+            usedPages += owner.segments.size();
+            owner.flushMemory();
+        }
+        assertThat(usedPages).isLessThanOrEqualTo(10);
+        assertThat(testOwners.get(0).memoryPool.freePages()).isEqualTo(10);
+    }
+
     private static class TestMemoryOwner implements MemoryOwner {
         @Override
         public void setMemoryPool(MemorySegmentPool memoryPool) {}
@@ -87,5 +169,75 @@ public class MemoryPoolFactoryTest {
 
         @Override
         public void flushMemory() {}
+
+        @Override
+        public boolean tryFlushMemory() {
+            return true;
+        }
+    }
+
+    /** An owner which holds its lock when writing, like a writer preparing commit. */
+    private static class ConcurrentTestOwner implements MemoryOwner {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<MemorySegment> segments = new ArrayList<>();
+        private final AtomicLong occupancy = new AtomicLong(0);
+
+        private MemorySegmentPool memoryPool;
+        private volatile boolean flushRequested;
+
+        @Override
+        public void setMemoryPool(MemorySegmentPool memoryPool) {
+            this.memoryPool = memoryPool;
+        }
+
+        @Override
+        public long memoryOccupancy() {
+            return occupancy.get();
+        }
+
+        @Override
+        public void flushMemory() {
+            flushRequested = false;
+            memoryPool.returnAll(new ArrayList<>(segments));
+            segments.clear();
+            occupancy.set(0);
+        }
+
+        @Override
+        public boolean tryFlushMemory() {
+            if (!lock.tryLock()) {
+                flushRequested = true;
+                return false;
+            }
+            try {
+                flushMemory();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean write() {
+            lock.lock();
+            try {
+                if (flushRequested) {
+                    flushMemory();
+                }
+                MemorySegment segment = memoryPool.nextSegment();
+                if (segment == null) {
+                    flushMemory();
+                    segment = memoryPool.nextSegment();
+                }
+                if (segment == null) {
+                    return false;
+                }
+                segments.add(segment);
+                occupancy.addAndGet(segment.size());
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 }
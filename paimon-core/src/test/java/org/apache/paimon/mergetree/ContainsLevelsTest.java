@@ -183,8 +183,12 @@ public class ContainsLevelsTest {
                 file -> createReaderFactory().createRecordReader(0, file.fileName(), file.level()),
                 () -> new File(tempDir.toFile(), LOOKUP_FILE_PREFIX + UUID.randomUUID()),
                 new HashLookupStoreFactory(new CacheManager(2048, MemorySize.ofMebiBytes(1)), 0.75),
-                Duration.ofHours(1),
-                maxDiskSize);
+                createFileCacheScope(maxDiskSize),
+                0.05);
+    }
+
+    private LookupFileCache.Scope createFileCacheScope(MemorySize maxDiskSize) {
+        return new LookupFileCache(Duration.ofHours(1), maxDiskSize).createScope("T");
     }
 
     private KeyValue kv(int key, int value) {
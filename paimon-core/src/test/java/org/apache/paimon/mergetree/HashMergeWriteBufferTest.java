@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.codegen.RecordComparator;
+import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.mergetree.compact.DeduplicateMergeFunction;
+import org.apache.paimon.mergetree.compact.FirstRowMergeFunction;
+import org.apache.paimon.mergetree.compact.MergeFunction;
+import org.apache.paimon.mergetree.compact.MergeFunctionTestUtils;
+import org.apache.paimon.mergetree.compact.PartialUpdateMergeFunction;
+import org.apache.paimon.mergetree.compact.ValueCountMergeFunction;
+import org.apache.paimon.mergetree.compact.aggregate.AggregateMergeFunction;
+import org.apache.paimon.options.Options;
+import org.apache.paimon.types.BigIntType;
+import org.apache.paimon.types.IntType;
+import org.apache.paimon.types.RowKind;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.ReusingKeyValue;
+import org.apache.paimon.utils.ReusingTestData;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link HashMergeWriteBuffer}. */
+public class HashMergeWriteBufferTest {
+
+    private static final RecordComparator KEY_COMPARATOR =
+            (a, b) -> Integer.compare(a.getInt(0), b.getInt(0));
+
+    private static final RowType KEY_TYPE = RowType.of(new IntType());
+    private static final RowType VALUE_TYPE = RowType.of(new BigIntType());
+
+    private static final int PAGE_SIZE = 32 * 1024;
+
+    @Test
+    public void testDeduplicate() throws IOException {
+        runRandomTest(
+                DeduplicateMergeFunction.factory().create(),
+                false,
+                MergeFunctionTestUtils::getExpectedForDeduplicate);
+    }
+
+    @Test
+    public void testValueCount() throws IOException {
+        runRandomTest(
+                ValueCountMergeFunction.factory().create(),
+                true,
+                MergeFunctionTestUtils::getExpectedForValueCount);
+    }
+
+    @Test
+    public void testValueCountCancelingRecords() throws IOException {
+        HashMergeWriteBuffer buffer = createBuffer(ValueCountMergeFunction.factory().create(), 3);
+        runTest(
+                buffer,
+                ReusingTestData.parse(
+                        "1, 1, +, 100 | 3, 3, +, 300 | 3, 5, +, -300 | 5, 100, +, -200 | "
+                                + "5, 300, +, 300 | 1, 4, +, -200 | 7, 123, +, -500 | "
+                                + "7, 321, +, 200 | 7, 456, +, 300 | 3, 500, +, 20"),
+                MergeFunctionTestUtils::getExpectedForValueCount);
+    }
+
+    @Test
+    public void testPartialUpdate() throws IOException {
+        Options options = new Options();
+        options.set(CoreOptions.PARTIAL_UPDATE_IGNORE_DELETE, true);
+        runRandomTest(
+                PartialUpdateMergeFunction.factory(options, VALUE_TYPE).create(),
+                false,
+                MergeFunctionTestUtils::getExpectedForPartialUpdate);
+    }
+
+    @Test
+    public void testAggregate() throws IOException {
+        Options options = new Options();
+        options.set("fields.value.aggregate-function", "sum");
+        runRandomTest(
+                AggregateMergeFunction.factory(
+                                options,
+                                Collections.singletonList("value"),
+                                Collections.singletonList(new BigIntType()),
+                                Collections.emptyList())
+                        .create(),
+                false,
+                MergeFunctionTestUtils::getExpectedForAggSum);
+    }
+
+    @Test
+    public void testFirstRow() throws IOException {
+        runRandomTest(
+                FirstRowMergeFunction.factory(KEY_TYPE, VALUE_TYPE).create(),
+                true,
+                MergeFunctionTestUtils::getExpectedForFirstRow);
+    }
+
+    @Test
+    public void testUpdatesDoNotConsumeMemory() throws IOException {
+        HashMergeWriteBuffer buffer = createBuffer(DeduplicateMergeFunction.factory().create(), 3);
+        ReusingKeyValue reuse = new ReusingKeyValue();
+        for (int i = 0; i < 100_000; i++) {
+            KeyValue kv = reuse.update(new ReusingTestData(i % 100, i, RowKind.INSERT, i));
+            assertThat(buffer.put(kv.sequenceNumber(), kv.valueKind(), kv.key(), kv.value()))
+                    .isTrue();
+        }
+        assertThat(buffer.size()).isEqualTo(100);
+        assertThat(buffer.memoryOccupancy()).isLessThan(2L * PAGE_SIZE);
+
+        List<Integer> keys = new ArrayList<>();
+        buffer.forEach(
+                KEY_COMPARATOR,
+                DeduplicateMergeFunction.factory().create(),
+                null,
+                kv -> {
+                    keys.add(kv.key().getInt(0));
+                    assertThat(kv.sequenceNumber()).isEqualTo(100_000 - 100 + kv.key().getInt(0));
+                });
+        assertThat(keys).hasSize(100).isSorted();
+    }
+
+    @Test
+    public void testOverflowAndClear() throws IOException {
+        HashMergeWriteBuffer buffer = createBuffer(DeduplicateMergeFunction.factory().create(), 3);
+        ReusingKeyValue reuse = new ReusingKeyValue();
+        int numRecords = 0;
+        while (true) {
+            KeyValue kv =
+                    reuse.update(new ReusingTestData(numRecords, numRecords, RowKind.INSERT, 1));
+            if (!buffer.put(kv.sequenceNumber(), kv.valueKind(), kv.key(), kv.value())) {
+                break;
+            }
+            numRecords++;
+        }
+        assertThat(numRecords).isGreaterThan(0);
+        assertThat(buffer.size()).isEqualTo(numRecords);
+
+        buffer.clear();
+        assertThat(buffer.size()).isEqualTo(0);
+        assertThat(buffer.memoryOccupancy()).isEqualTo(0);
+        runTest(
+                buffer,
+                ReusingTestData.generateData(1000, false),
+                MergeFunctionTestUtils::getExpectedForDeduplicate);
+    }
+
+    @Test
+    public void testPutAfterFlush() throws IOException {
+        HashMergeWriteBuffer buffer = createBuffer(DeduplicateMergeFunction.factory().create(), 3);
+        runTest(
+                buffer,
+                ReusingTestData.generateData(100, false),
+                MergeFunctionTestUtils::getExpectedForDeduplicate);
+        assertThatThrownBy(() -> buffer.put(1, RowKind.INSERT, null, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void runRandomTest(
+            MergeFunction<KeyValue> mergeFunction,
+            boolean onlyAdd,
+            Function<List<ReusingTestData>, List<ReusingTestData>> expectedFunction)
+            throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int numKeys = random.nextInt(1, 2000);
+        List<ReusingTestData> input = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(1, 6) * (random.nextBoolean() ? 1 : -1);
+            input.add(
+                    new ReusingTestData(
+                            random.nextInt(numKeys),
+                            i,
+                            random.nextBoolean() || onlyAdd ? RowKind.INSERT : RowKind.DELETE,
+                            value));
+        }
+        runTest(createBuffer(mergeFunction, 16), input, expectedFunction);
+    }
+
+    private void runTest(
+            HashMergeWriteBuffer buffer,
+            List<ReusingTestData> input,
+            Function<List<ReusingTestData>, List<ReusingTestData>> expectedFunction)
+            throws IOException {
+        // records must be put in the order of their sequence numbers
+        input = new ArrayList<>(input);
+        input.sort((a, b) -> Long.compare(a.sequenceNumber, b.sequenceNumber));
+
+        ReusingKeyValue reuse = new ReusingKeyValue();
+        for (ReusingTestData data : input) {
+            KeyValue kv = reuse.update(data);
+            assertThat(buffer.put(kv.sequenceNumber(), kv.valueKind(), kv.key(), kv.value()))
+                    .isTrue();
+        }
+
+        Queue<ReusingTestData> expected = new LinkedList<>(expectedFunction.apply(input));
+        assertThat(buffer.size()).isEqualTo(expected.size());
+        buffer.forEach(
+                KEY_COMPARATOR,
+                DeduplicateMergeFunction.factory().create(),
+                null,
+                kv -> {
+                    assertThat(expected.isEmpty()).isFalse();
+                    expected.poll().assertEquals(kv);
+                });
+        assertThat(expected).isEmpty();
+    }
+
+    private HashMergeWriteBuffer createBuffer(MergeFunction<KeyValue> mergeFunction, int pages) {
+        return new HashMergeWriteBuffer(
+                KEY_TYPE,
+                VALUE_TYPE,
+                new HeapMemorySegmentPool((long) PAGE_SIZE * pages, PAGE_SIZE),
+                mergeFunction);
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.paimon.mergetree;
 
 import org.apache.paimon.CoreOptions;
+import org.apache.paimon.CoreOptions.LookupLocalFileType;
 import org.apache.paimon.KeyValue;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.GenericRow;
@@ -26,9 +27,11 @@ import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.format.FlushingFileFormat;
 import org.apache.paimon.fs.FileIOFinder;
 import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.local.LocalFileIO;
 import org.apache.paimon.io.DataFileMeta;
 import org.apache.paimon.io.KeyValueFileReaderFactory;
 import org.apache.paimon.io.KeyValueFileWriterFactory;
+import org.apache.paimon.io.LookupIndexFileWriter;
 import org.apache.paimon.io.RollingFileWriter;
 import org.apache.paimon.io.cache.CacheManager;
 import org.apache.paimon.lookup.hash.HashLookupStoreFactory;
@@ -43,11 +46,13 @@ import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.FileStorePathFactory;
+import org.apache.paimon.utils.IOUtils;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -57,7 +62,12 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.paimon.CoreOptions.TARGET_FILE_SIZE;
 import static org.apache.paimon.KeyValue.UNKNOWN_SEQUENCE;
@@ -163,6 +173,97 @@ public class LookupLevelsTest {
         assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
     }
 
+    @Test
+    public void testSortedKeys() throws IOException {
+        Levels levels =
+                new Levels(
+                        comparator,
+                        Arrays.asList(
+                                newFile(1, kv(1, 11), kv(2, 22)),
+                                newFile(1, kv(4, 44), kv(5, 55)),
+                                newFile(1, kv(7, 77), kv(8, 88)),
+                                newFile(2, kv(3, 303), kv(5, 505)),
+                                newFile(2, kv(9, 909), kv(12, 1212))),
+                        3);
+        LookupLevels lookupLevels = createLookupLevels(levels, MemorySize.ofMebiBytes(10));
+
+        List<InternalRow> keys = new ArrayList<>();
+        for (int i = 0; i < 14; i++) {
+            keys.add(row(i));
+        }
+        List<KeyValue> result = lookupLevels.lookup(keys, 1);
+        assertThat(result).hasSize(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            KeyValue expected = lookupLevels.lookup(keys.get(i), 1);
+            KeyValue kv = result.get(i);
+            if (expected == null) {
+                assertThat(kv).isNull();
+            } else {
+                assertThat(kv).isNotNull();
+                assertThat(kv.level()).isEqualTo(expected.level());
+                assertThat(kv.value().getInt(1)).isEqualTo(expected.value().getInt(1));
+            }
+        }
+        assertThat(result.get(5).level()).isEqualTo(1);
+        assertThat(result.get(5).value().getInt(1)).isEqualTo(55);
+        assertThat(result.get(9).level()).isEqualTo(2);
+
+        // keys out of order are still found
+        result = lookupLevels.lookup(Arrays.asList(row(12), row(1), row(3)), 1);
+        assertThat(result).allMatch(Objects::nonNull);
+        assertThat(result.get(1).value().getInt(1)).isEqualTo(11);
+
+        lookupLevels.close();
+    }
+
+    @Test
+    public void testConcurrentSortedKeyLookups() throws Exception {
+        List<DataFileMeta> files = new ArrayList<>();
+        int fileNum = 10;
+        int recordInFile = 100;
+        for (int i = 0; i < fileNum; i++) {
+            List<KeyValue> kvs = new ArrayList<>();
+            for (int j = 0; j < recordInFile; j++) {
+                int key = i * recordInFile + j;
+                kvs.add(kv(key, key));
+            }
+            files.add(newFile(1, kvs.toArray(new KeyValue[0])));
+        }
+        Levels levels = new Levels(comparator, files, 2);
+        LookupLevels lookupLevels = createLookupLevels(levels, MemorySize.ofMebiBytes(10));
+
+        // each thread looks up all keys with its own lookup, lookup files are shared
+        int numThreads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < numThreads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    LookupLevels.SortedKeyLookup lookup =
+                                            lookupLevels.sortedKeyLookup(1);
+                                    int found = 0;
+                                    for (int i = 0; i < fileNum * recordInFile; i++) {
+                                        KeyValue kv = lookup.lookup(row(i));
+                                        assertThat(kv).isNotNull();
+                                        assertThat(kv.value().getInt(1)).isEqualTo(i);
+                                        found++;
+                                    }
+                                    return found;
+                                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(fileNum * recordInFile);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(fileNum);
+
+        lookupLevels.close();
+    }
+
     @Test
     public void testMaxDiskSize() throws IOException {
         List<DataFileMeta> files = new ArrayList<>();
@@ -198,7 +299,186 @@ public class LookupLevelsTest {
         assertThat(lookupLevels.lookupFiles().estimatedSize()).isEqualTo(0);
     }
 
+    @Test
+    public void testSharedFileCache() throws IOException {
+        LookupFileCache fileCache =
+                new LookupFileCache(Duration.ofHours(1), MemorySize.ofKibiBytes(20));
+        List<LookupLevels> lookupLevels = new ArrayList<>();
+        for (String table : Arrays.asList("T1", "T2")) {
+            List<DataFileMeta> files = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                List<KeyValue> kvs = new ArrayList<>();
+                for (int j = 0; j < 100; j++) {
+                    kvs.add(kv(i * 100 + j, j));
+                }
+                files.add(newFile(1, kvs.toArray(new KeyValue[0])));
+            }
+            lookupLevels.add(
+                    createLookupLevels(
+                            new Levels(comparator, files, 1), fileCache.createScope(table)));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            for (LookupLevels levels : lookupLevels) {
+                KeyValue kv = levels.lookup(row(i), 1);
+                assertThat(kv).isNotNull();
+                assertThat(kv.value().getInt(1)).isEqualTo(i % 100);
+            }
+        }
+
+        // files of both tables are evicted by one disk budget
+        long fileNumber =
+                lookupLevels.get(0).lookupFiles().estimatedSize()
+                        + lookupLevels.get(1).lookupFiles().estimatedSize();
+        String[] localFiles =
+                tempDir.toFile().list((dir, name) -> name.startsWith(LOOKUP_FILE_PREFIX));
+        assertThat(localFiles).isNotNull();
+        assertThat(fileNumber).isLessThan(10).isEqualTo(localFiles.length);
+        assertThat(lookupLevels.get(0).lookupFiles().diskSize().getBytes()).isGreaterThan(0);
+        assertThat(lookupLevels.get(1).lookupFiles().diskSize().getBytes()).isGreaterThan(0);
+
+        lookupLevels.get(0).close();
+        assertThat(lookupLevels.get(0).lookupFiles().estimatedSize()).isEqualTo(0);
+        assertThat(lookupLevels.get(0).lookupFiles().diskSize().getBytes()).isEqualTo(0);
+        assertThat(lookupLevels.get(1).lookupFiles().diskSize().getBytes()).isGreaterThan(0);
+        lookupLevels.get(1).close();
+        assertThat(lookupLevels.get(1).lookupFiles().diskSize().getBytes()).isEqualTo(0);
+    }
+
+    @Test
+    public void testBloomFilter() throws IOException {
+        List<KeyValue> kvs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            kvs.add(kv(i * 2, i));
+        }
+        DataFileMeta dataFile = newFile(1, kvs.toArray(new KeyValue[0]));
+        Levels levels = new Levels(comparator, Collections.singletonList(dataFile), 1);
+        AtomicInteger fileReads = new AtomicInteger(0);
+        LookupLevels lookupLevels =
+                new LookupLevels(
+                        levels,
+                        comparator,
+                        keyType,
+                        rowType,
+                        file -> {
+                            fileReads.incrementAndGet();
+                            return createReaderFactory()
+                                    .createRecordReader(0, file.fileName(), file.level());
+                        },
+                        () -> new File(tempDir.toFile(), LOOKUP_FILE_PREFIX + UUID.randomUUID()),
+                        new HashLookupStoreFactory(
+                                new CacheManager(2048, MemorySize.ofMebiBytes(1)), 0.75),
+                        createFileCacheScope(MemorySize.ofMebiBytes(10)),
+                        0.01,
+                        null);
+
+        // the bloom filter is built with the first lookup file
+        assertThat(lookupLevels.lookup(row(2), 1)).isNotNull();
+        assertThat(fileReads.get()).isEqualTo(1);
+
+        // missing keys are filtered, existing keys always pass the bloom filter
+        for (int i = 0; i < 100; i++) {
+            assertThat(lookupLevels.lookup(row(i * 2 + 1), 1)).isNull();
+            KeyValue kv = lookupLevels.lookup(row(i * 2), 1);
+            assertThat(kv).isNotNull();
+            assertThat(kv.value().getInt(1)).isEqualTo(i);
+        }
+        assertThat(fileReads.get()).isEqualTo(1);
+
+        // the bloom filter is evicted together with the lookup file
+        lookupLevels.lookupFiles().invalidateAll();
+        assertThat(lookupLevels.lookup(row(1), 1)).isNull();
+        assertThat(fileReads.get()).isEqualTo(2);
+
+        lookupLevels.close();
+    }
+
+    @Test
+    public void testRemoteLookupIndex() throws IOException {
+        KeyValueFileWriterFactory writerFactory =
+                createWriterFactory()
+                        .withLookupIndex(
+                                new LookupIndexFileWriter.Factory(
+                                        () ->
+                                                new File(
+                                                        tempDir.toFile(),
+                                                        LOOKUP_FILE_PREFIX + UUID.randomUUID()),
+                                        LookupLocalFileType.HASH,
+                                        createLookupStoreFactory()));
+        List<KeyValue> kvs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            kvs.add(kv(i * 2, i));
+        }
+        DataFileMeta dataFile = newFile(writerFactory, 1, kvs.toArray(new KeyValue[0]));
+        String indexFile =
+                LookupIndexFileWriter.lookupIndexFile(dataFile, LookupLocalFileType.HASH);
+        assertThat(indexFile).isNotNull();
+        Path indexPath = writerFactory.pathFactory(1).toPath(indexFile);
+        assertThat(LocalFileIO.create().exists(indexPath)).isTrue();
+
+        // files of level 0 have no lookup index
+        assertThat(newFile(writerFactory, 0, kv(1, 1)).extraFiles()).isEmpty();
+
+        Levels levels = new Levels(comparator, Collections.singletonList(dataFile), 2);
+        AtomicInteger fileReads = new AtomicInteger(0);
+        LookupLevels lookupLevels =
+                new LookupLevels(
+                        levels,
+                        comparator,
+                        keyType,
+                        rowType,
+                        file -> {
+                            fileReads.incrementAndGet();
+                            return createReaderFactory()
+                                    .createRecordReader(0, file.fileName(), file.level());
+                        },
+                        () -> new File(tempDir.toFile(), LOOKUP_FILE_PREFIX + UUID.randomUUID()),
+                        createLookupStoreFactory(),
+                        createFileCacheScope(MemorySize.ofMebiBytes(10)),
+                        null,
+                        (file, localFile) -> {
+                            String index =
+                                    LookupIndexFileWriter.lookupIndexFile(
+                                            file, LookupLocalFileType.HASH);
+                            if (index == null) {
+                                return false;
+                            }
+                            IOUtils.copyBytes(
+                                    LocalFileIO.create()
+                                            .newInputStream(
+                                                    writerFactory
+                                                            .pathFactory(file.level())
+                                                            .toPath(index)),
+                                    new FileOutputStream(localFile));
+                            return true;
+                        });
+
+        for (int i = 0; i < 100; i++) {
+            KeyValue kv = lookupLevels.lookup(row(i * 2), 1);
+            assertThat(kv).isNotNull();
+            assertThat(kv.sequenceNumber()).isEqualTo(UNKNOWN_SEQUENCE);
+            assertThat(kv.level()).isEqualTo(1);
+            assertThat(kv.value().getInt(1)).isEqualTo(i);
+            assertThat(lookupLevels.lookup(row(i * 2 + 1), 1)).isNull();
+        }
+        // the data file is never read
+        assertThat(fileReads.get()).isEqualTo(0);
+        lookupLevels.close();
+
+        // the lookup index is deleted together with the data file
+        writerFactory.deleteFile(dataFile);
+        assertThat(LocalFileIO.create().exists(indexPath)).isFalse();
+    }
+
+    private HashLookupStoreFactory createLookupStoreFactory() {
+        return new HashLookupStoreFactory(new CacheManager(2048, MemorySize.ofMebiBytes(1)), 0.75);
+    }
+
     private LookupLevels createLookupLevels(Levels levels, MemorySize maxDiskSize) {
+        return createLookupLevels(levels, createFileCacheScope(maxDiskSize));
+    }
+
+    private LookupLevels createLookupLevels(Levels levels, LookupFileCache.Scope lookupFiles) {
         return new LookupLevels(
                 levels,
                 comparator,
@@ -207,8 +487,13 @@ public class LookupLevelsTest {
                 file -> createReaderFactory().createRecordReader(0, file.fileName(), file.level()),
                 () -> new File(tempDir.toFile(), LOOKUP_FILE_PREFIX + UUID.randomUUID()),
                 new HashLookupStoreFactory(new CacheManager(2048, MemorySize.ofMebiBytes(1)), 0.75),
-                Duration.ofHours(1),
-                maxDiskSize);
+                lookupFiles,
+                0.05,
+                null);
+    }
+
+    private LookupFileCache.Scope createFileCacheScope(MemorySize maxDiskSize) {
+        return new LookupFileCache(Duration.ofHours(1), maxDiskSize).createScope("T");
     }
 
     private KeyValue kv(int key, int value) {
@@ -217,8 +502,14 @@ public class LookupLevelsTest {
     }
 
     private DataFileMeta newFile(int level, KeyValue... records) throws IOException {
+        return newFile(createWriterFactory(), level, records);
+    }
+
+    private DataFileMeta newFile(
+            KeyValueFileWriterFactory writerFactory, int level, KeyValue... records)
+            throws IOException {
         RollingFileWriter<KeyValue, DataFileMeta> writer =
-                createWriterFactory().createRollingMergeTreeFileWriter(level);
+                writerFactory.createRollingMergeTreeFileWriter(level);
         for (KeyValue kv : records) {
             writer.write(kv);
         }
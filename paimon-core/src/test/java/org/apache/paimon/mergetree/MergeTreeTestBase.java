@@ -67,6 +67,8 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -357,6 +359,34 @@ public abstract class MergeTreeTestBase {
         doTestWriteRead(3, 20_000);
     }
 
+    @Test
+    public void testAsyncFlush() throws Exception {
+        ExecutorService flushExecutor = Executors.newSingleThreadExecutor();
+        try {
+            writer =
+                    createMergeTreeWriter(
+                            Collections.emptyList(),
+                            createCompactManager(service, Collections.emptyList()),
+                            flushExecutor);
+
+            List<TestRecord> expected = new ArrayList<>();
+            List<DataFileMeta> newFiles = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                expected.addAll(writeBatch(2_000));
+                CommitIncrement increment = writer.prepareCommit(true);
+                newFiles.addAll(increment.newFilesIncrement().newFiles());
+            }
+
+            // every batch fills the write buffer several times
+            assertThat(newFiles.size()).isGreaterThan(3);
+            assertRecords(expected, newFiles, false);
+            assertRecords(expected);
+            writer.close();
+        } finally {
+            flushExecutor.shutdownNow();
+        }
+    }
+
     private void doTestWriteRead(int batchNumber) throws Exception {
         doTestWriteRead(batchNumber, 200);
     }
@@ -409,6 +439,13 @@ public abstract class MergeTreeTestBase {
 
     private MergeTreeWriter createMergeTreeWriter(
             List<DataFileMeta> files, MergeTreeCompactManager compactManager) {
+        return createMergeTreeWriter(files, compactManager, null);
+    }
+
+    private MergeTreeWriter createMergeTreeWriter(
+            List<DataFileMeta> files,
+            MergeTreeCompactManager compactManager,
+            @Nullable ExecutorService flushExecutor) {
         long maxSequenceNumber =
                 files.stream().map(DataFileMeta::maxSequenceNumber).max(Long::compare).orElse(-1L);
         MergeTreeWriter writer =
@@ -423,9 +460,13 @@ public abstract class MergeTreeTestBase {
                         writerFactory,
                         options.commitForceCompact(),
                         ChangelogProducer.NONE,
+                        null,
+                        flushExecutor,
                         null);
-        writer.setMemoryPool(
-                new HeapMemorySegmentPool(options.writeBufferSize(), options.pageSize()));
+        // each buffer uses half of the memory when flushing asynchronously
+        long memory =
+                flushExecutor == null ? options.writeBufferSize() : options.writeBufferSize() * 2;
+        writer.setMemoryPool(new HeapMemorySegmentPool(memory, options.pageSize()));
         return writer;
     }
 
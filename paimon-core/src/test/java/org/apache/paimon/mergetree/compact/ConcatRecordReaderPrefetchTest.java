@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree.compact;
+
+import org.apache.paimon.CoreOptions.SortEngine;
+import org.apache.paimon.KeyValue;
+import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.utils.FileUtils;
+import org.apache.paimon.utils.ReusingTestData;
+import org.apache.paimon.utils.TestReusingRecordReader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link ConcatRecordReader} which prefetches readers. */
+public class ConcatRecordReaderPrefetchTest extends ConcatRecordReaderTest {
+
+    private static final int PREFETCH_NUM = 2;
+
+    @Override
+    protected RecordReader<KeyValue> createRecordReader(
+            List<TestReusingRecordReader> readers, SortEngine sortEngine) {
+        return new ConcatRecordReader<>(
+                readers.stream()
+                        .map(r -> (ConcatRecordReader.ReaderSupplier<KeyValue>) () -> r)
+                        .collect(Collectors.toList()),
+                PREFETCH_NUM);
+    }
+
+    @Test
+    public void testPrefetchedReadersBounded() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<ConcatRecordReader.ReaderSupplier<KeyValue>> suppliers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            List<ReusingTestData> data = ReusingTestData.parse(i + ", " + i + ", +, " + i);
+            suppliers.add(
+                    () -> {
+                        maxInFlight.accumulateAndGet(
+                                opened.incrementAndGet() - closed.get(), Math::max);
+                        return new TestReusingRecordReader(data) {
+                            @Override
+                            public void close() throws IOException {
+                                super.close();
+                                closed.incrementAndGet();
+                            }
+                        };
+                    });
+        }
+
+        int count = 0;
+        try (RecordReader<KeyValue> reader = ConcatRecordReader.create(suppliers, PREFETCH_NUM)) {
+            RecordReader.RecordIterator<KeyValue> batch;
+            while ((batch = reader.readBatch()) != null) {
+                while (batch.next() != null) {
+                    count++;
+                }
+                batch.releaseBatch();
+            }
+        }
+
+        assertThat(count).isEqualTo(20);
+        assertThat(opened.get()).isEqualTo(20);
+        assertThat(closed.get()).isEqualTo(20);
+        // the current reader and the prefetched ones
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(PREFETCH_NUM + 1);
+    }
+
+    @Test
+    public void testCloseReleasesPrefetchedReaders() throws IOException {
+        Queue<TestReusingRecordReader> readers = new ConcurrentLinkedQueue<>();
+        List<ConcatRecordReader.ReaderSupplier<KeyValue>> suppliers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            List<ReusingTestData> data = ReusingTestData.parse(i + ", " + i + ", +, " + i);
+            suppliers.add(
+                    () -> {
+                        TestReusingRecordReader reader = new TestReusingRecordReader(data);
+                        readers.add(reader);
+                        return reader;
+                    });
+        }
+
+        RecordReader<KeyValue> reader = ConcatRecordReader.create(suppliers, PREFETCH_NUM);
+        reader.readBatch().releaseBatch();
+        reader.close();
+
+        assertThat(FileUtils.COMMON_IO_FORK_JOIN_POOL.awaitQuiescence(1, TimeUnit.MINUTES))
+                .isTrue();
+        assertThat(readers).hasSizeBetween(1, PREFETCH_NUM + 1);
+        for (TestReusingRecordReader r : readers) {
+            r.assertCleanUp();
+        }
+    }
+}
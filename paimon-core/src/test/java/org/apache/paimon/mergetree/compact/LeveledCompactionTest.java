@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.mergetree.compact;
+
+import org.apache.paimon.compact.CompactUnit;
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.io.DataFileMeta;
+import org.apache.paimon.mergetree.LevelSortedRun;
+import org.apache.paimon.mergetree.Levels;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.apache.paimon.io.DataFileTestUtils.newFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link LeveledCompaction}. */
+public class LeveledCompactionTest {
+
+    private static final int NUM_LEVELS = 4;
+
+    private final Comparator<InternalRow> comparator = Comparator.comparingInt(o -> o.getInt(0));
+
+    @Test
+    public void testTargetSize() {
+        LeveledCompaction compaction = new LeveledCompaction(comparator, 10, 10, 2);
+        assertThat(compaction.targetSize(1)).isEqualTo(10);
+        assertThat(compaction.targetSize(2)).isEqualTo(100);
+        assertThat(compaction.targetSize(3)).isEqualTo(1000);
+    }
+
+    @Test
+    public void testNoCompaction() {
+        LeveledCompaction compaction = new LeveledCompaction(comparator, 10, 10, 2);
+        List<LevelSortedRun> runs =
+                runs(newFile(0, 1, 3, 10), newFile(1, 1, 5, 1), newFile(2, 1, 50, 0));
+        assertThat(compaction.pick(NUM_LEVELS, runs)).isEmpty();
+    }
+
+    @Test
+    public void testPickLevel0() {
+        LeveledCompaction compaction = new LeveledCompaction(comparator, 10, 10, 2);
+        List<LevelSortedRun> runs =
+                runs(
+                        newFile(0, 1, 3, 10),
+                        newFile(0, 5, 6, 11),
+                        newFile(0, 10, 12, 12),
+                        newFile(1, 1, 2, 1),
+                        newFile(1, 20, 22, 2),
+                        newFile(2, 1, 50, 0));
+
+        // all level 0 files with the overlapping files of level 1
+        Optional<CompactUnit> unit = compaction.pick(NUM_LEVELS, runs);
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(1);
+        assertThat(toString(unit.get().files()))
+                .containsExactlyInAnyOrder("0-1-3", "0-5-6", "0-10-12", "1-1-2");
+    }
+
+    @Test
+    public void testPickLevelRoundRobin() {
+        LeveledCompaction compaction = new LeveledCompaction(comparator, 10, 10, 2);
+        List<LevelSortedRun> runs =
+                runs(
+                        newFile(1, 1, 5, 1),
+                        newFile(1, 6, 10, 2),
+                        newFile(1, 11, 15, 3),
+                        newFile(2, 1, 3, 0),
+                        newFile(2, 4, 8, 0),
+                        newFile(2, 20, 30, 0));
+
+        // level 1 exceeds its target size, files are picked one by one
+        assertPicked(compaction.pick(NUM_LEVELS, runs), 2, "1-1-5", "2-1-3", "2-4-8");
+        assertPicked(compaction.pick(NUM_LEVELS, runs), 2, "1-6-10", "2-4-8");
+        assertPicked(compaction.pick(NUM_LEVELS, runs), 2, "1-11-15");
+        assertPicked(compaction.pick(NUM_LEVELS, runs), 2, "1-1-5", "2-1-3", "2-4-8");
+    }
+
+    @Test
+    public void testPickHighestScore() {
+        LeveledCompaction compaction = new LeveledCompaction(comparator, 10, 10, 2);
+        List<LevelSortedRun> runs =
+                runs(
+                        newFile(0, 1, 3, 10),
+                        newFile(0, 5, 6, 11),
+                        newFile(1, 1, 30, 1),
+                        newFile(2, 1, 50, 0));
+
+        // score of level 1 is 3, score of level 0 is 1
+        assertPicked(compaction.pick(NUM_LEVELS, runs), 2, "1-1-30", "2-1-50");
+    }
+
+    private void assertPicked(Optional<CompactUnit> unit, int outputLevel, String... files) {
+        assertThat(unit).isPresent();
+        assertThat(unit.get().outputLevel()).isEqualTo(outputLevel);
+        assertThat(toString(unit.get().files())).containsExactly(files);
+    }
+
+    private List<LevelSortedRun> runs(DataFileMeta... files) {
+        return new Levels(comparator, Arrays.asList(files), NUM_LEVELS).levelSortedRuns();
+    }
+
+    private List<String> toString(List<DataFileMeta> files) {
+        return files.stream()
+                .map(f -> f.level() + "-" + f.minKey().getInt(0) + "-" + f.maxKey().getInt(0))
+                .collect(Collectors.toList());
+    }
+}
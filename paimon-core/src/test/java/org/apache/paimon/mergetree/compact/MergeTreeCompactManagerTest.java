@@ -52,16 +52,20 @@ public class MergeTreeCompactManagerTest {
     private final Comparator<InternalRow> comparator = Comparator.comparingInt(o -> o.getInt(0));
 
     private static ExecutorService service;
+    private static ExecutorService subcompactionService;
 
     @BeforeAll
     public static void before() {
         service = Executors.newSingleThreadExecutor();
+        subcompactionService = Executors.newFixedThreadPool(2);
     }
 
     @AfterAll
     public static void after() {
         service.shutdownNow();
         service = null;
+        subcompactionService.shutdownNow();
+        subcompactionService = null;
     }
 
     @Test
@@ -179,6 +183,86 @@ public class MergeTreeCompactManagerTest {
                 Collections.singletonList(new LevelMinMax(2, 1, 10)));
     }
 
+    @Test
+    public void testSubcompactions() throws ExecutionException, InterruptedException {
+        List<LevelMinMax> inputs =
+                Arrays.asList(
+                        new LevelMinMax(0, 1, 3),
+                        new LevelMinMax(1, 1, 5),
+                        new LevelMinMax(0, 6, 8),
+                        new LevelMinMax(1, 6, 7),
+                        new LevelMinMax(0, 10, 12),
+                        new LevelMinMax(1, 11, 13));
+        innerTest(inputs, Collections.singletonList(new LevelMinMax(2, 1, 13)));
+
+        // sections are grouped by size, each group is rewritten by a subcompaction
+        innerTest(
+                inputs,
+                Arrays.asList(new LevelMinMax(2, 1, 5), new LevelMinMax(2, 6, 13)),
+                testStrategy(),
+                true,
+                3);
+    }
+
+    @Test
+    public void testWriteDelay() {
+        Levels levels = new Levels(comparator, Collections.emptyList(), 3);
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                                service,
+                                levels,
+                                testStrategy(),
+                                comparator,
+                                2,
+                                5,
+                                new TestRewriter(true))
+                        .withWriteSlowdown(2, 1000, null);
+
+        // no delay until the slowdown trigger, writes are stopped beyond the stop trigger
+        long[] expected = new long[] {0, 0, 250, 500, 750, 0};
+        for (int i = 0; i < expected.length; i++) {
+            levels.addLevel0File(newFile(0, i, i, i));
+            assertThat(manager.writeDelayMillis()).isEqualTo(expected[i]);
+        }
+        assertThat(manager.shouldWaitForLatestCompaction()).isTrue();
+    }
+
+    @Test
+    public void testWriteStallByLevel0Files() {
+        // leveled compaction keeps the upper levels populated
+        List<DataFileMeta> files = new ArrayList<>();
+        for (int level = 1; level < 6; level++) {
+            files.add(newFile(level, level * 10, level * 10 + 5, level));
+        }
+        Levels levels = new Levels(comparator, files, 6);
+        MergeTreeCompactManager manager =
+                new MergeTreeCompactManager(
+                                service,
+                                levels,
+                                testStrategy(),
+                                comparator,
+                                2,
+                                6,
+                                new TestRewriter(true))
+                        .withWriteSlowdown(5, 1000, null);
+        levels.addLevel0File(newFile(0, 0, 5, 10));
+        levels.addLevel0File(newFile(0, 0, 5, 11));
+        assertThat(manager.shouldWaitForLatestCompaction()).isTrue();
+
+        // only the files of level 0 wait for compaction
+        manager.withStallByLevel0Files(true);
+        assertThat(manager.writeDelayMillis()).isEqualTo(0);
+        assertThat(manager.shouldWaitForLatestCompaction()).isFalse();
+        assertThat(manager.shouldWaitForPreparingCheckpoint()).isFalse();
+
+        for (int i = 0; i < 4; i++) {
+            levels.addLevel0File(newFile(0, 0, 5, 12 + i));
+        }
+        assertThat(manager.writeDelayMillis()).isEqualTo(500);
+        levels.addLevel0File(newFile(0, 0, 5, 16));
+        assertThat(manager.shouldWaitForLatestCompaction()).isTrue();
+    }
+
     private void innerTest(List<LevelMinMax> inputs, List<LevelMinMax> expected)
             throws ExecutionException, InterruptedException {
         innerTest(inputs, expected, testStrategy(), true);
@@ -190,6 +274,16 @@ public class MergeTreeCompactManagerTest {
             CompactStrategy strategy,
             boolean expectedDropDelete)
             throws ExecutionException, InterruptedException {
+        innerTest(inputs, expected, strategy, expectedDropDelete, 1);
+    }
+
+    private void innerTest(
+            List<LevelMinMax> inputs,
+            List<LevelMinMax> expected,
+            CompactStrategy strategy,
+            boolean expectedDropDelete,
+            int maxSubcompactions)
+            throws ExecutionException, InterruptedException {
         List<DataFileMeta> files = new ArrayList<>();
         for (int i = 0; i < inputs.size(); i++) {
             LevelMinMax minMax = inputs.get(i);
@@ -198,13 +292,14 @@ public class MergeTreeCompactManagerTest {
         Levels levels = new Levels(comparator, files, 3);
         MergeTreeCompactManager manager =
                 new MergeTreeCompactManager(
-                        service,
-                        levels,
-                        strategy,
-                        comparator,
-                        2,
-                        Integer.MAX_VALUE,
-                        new TestRewriter(expectedDropDelete));
+                                service,
+                                levels,
+                                strategy,
+                                comparator,
+                                2,
+                                Integer.MAX_VALUE,
+                                new TestRewriter(expectedDropDelete))
+                        .withSubcompactions(subcompactionService, maxSubcompactions);
         manager.triggerCompaction(false);
         manager.getCompactionResult(true);
         List<LevelMinMax> outputs =
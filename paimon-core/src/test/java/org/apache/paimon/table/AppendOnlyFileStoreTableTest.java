@@ -19,6 +19,7 @@
 package org.apache.paimon.table;
 
 import org.apache.paimon.CoreOptions;
+import org.apache.paimon.CoreOptions.FileFormatType;
 import org.apache.paimon.WriteMode;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.InternalRow;
@@ -29,6 +30,7 @@ import org.apache.paimon.options.Options;
 import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.schema.Schema;
+import org.apache.paimon.schema.SchemaChange;
 import org.apache.paimon.schema.SchemaManager;
 import org.apache.paimon.schema.SchemaUtils;
 import org.apache.paimon.schema.TableSchema;
@@ -41,6 +43,7 @@ import org.apache.paimon.table.source.ScanMode;
 import org.apache.paimon.table.source.Split;
 import org.apache.paimon.table.source.StreamTableScan;
 import org.apache.paimon.table.source.TableRead;
+import org.apache.paimon.types.DataTypes;
 
 import org.junit.jupiter.api.Test;
 
@@ -118,6 +121,113 @@ public class AppendOnlyFileStoreTableTest extends FileStoreTableTestBase {
                                 "2|21|201|binary|varbinary|mapKey:mapVal|multiset"));
     }
 
+    @Test
+    public void testBatchFilterEnabled() throws Exception {
+        writeData();
+        FileStoreTable table =
+                createFileStoreTable(conf -> conf.set(CoreOptions.READ_BATCH_FILTER_ENABLED, true));
+        PredicateBuilder builder = new PredicateBuilder(table.schema().logicalRowType());
+
+        Predicate predicate = builder.equal(2, 201L);
+        List<Split> splits =
+                toSplits(table.newSnapshotReader().withFilter(predicate).read().dataSplits());
+        TableRead read = table.newRead().withFilter(predicate);
+        assertThat(getResult(read, splits, binaryRow(1), 0, BATCH_ROW_TO_STRING)).isEmpty();
+        assertThat(getResult(read, splits, binaryRow(2), 0, BATCH_ROW_TO_STRING))
+                .hasSameElementsAs(
+                        Arrays.asList(
+                                "2|21|201|binary|varbinary|mapKey:mapVal|multiset",
+                                "2|21|201|binary|varbinary|mapKey:mapVal|multiset"));
+
+        read = table.newRead().withProjection(PROJECTION).withFilter(predicate);
+        assertThat(getResult(read, splits, binaryRow(2), 0, BATCH_PROJECTED_ROW_TO_STRING))
+                .hasSameElementsAs(Arrays.asList("201|21", "201|21"));
+    }
+
+    @Test
+    public void testBatchFilterWithSchemaEvolution() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(conf -> conf.set(CoreOptions.READ_BATCH_FILTER_ENABLED, true));
+        StreamTableWrite write = table.newWrite(commitUser);
+        StreamTableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 5, 105L));
+        write.write(rowData(1, 10, 110L));
+        write.write(rowData(1, 11, 111L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+        commit.close();
+
+        SchemaManager schemaManager = new SchemaManager(LocalFileIO.create(), tablePath);
+        TableSchema tableSchema =
+                schemaManager.commitChanges(
+                        SchemaChange.updateColumnType("a", DataTypes.DOUBLE()));
+        table = new AppendOnlyFileStoreTable(FileIOFinder.find(tablePath), tablePath, tableSchema);
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+        write.write(rowData(1, 5.5, 205L));
+        write.write(rowData(1, 10.5, 210L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+        commit.close();
+
+        // 10.5 would be cast to 10 for the old file and drop the matched row 10
+        Predicate predicate =
+                new PredicateBuilder(tableSchema.logicalRowType()).lessThan(1, 10.5);
+        List<Split> splits = toSplits(table.newSnapshotReader().read().dataSplits());
+        TableRead read = table.newRead().withFilter(predicate);
+        assertThat(
+                        getResult(
+                                read,
+                                splits,
+                                binaryRow(1),
+                                0,
+                                row -> row.getDouble(1) + "|" + row.getLong(2)))
+                .hasSameElementsAs(
+                        Arrays.asList(
+                                // the filter on the changed type is not evaluated on the old file
+                                "5.0|105", "10.0|110", "11.0|111", "5.5|205"));
+    }
+
+    @Test
+    public void testParquetFilterWithSchemaEvolution() throws Exception {
+        FileStoreTable table =
+                createFileStoreTable(
+                        conf -> conf.set(CoreOptions.FILE_FORMAT, FileFormatType.PARQUET));
+        StreamTableWrite write = table.newWrite(commitUser);
+        StreamTableCommit commit = table.newCommit(commitUser);
+        write.write(rowData(1, 5, 105L));
+        write.write(rowData(1, 10, 110L));
+        write.write(rowData(1, 11, 111L));
+        commit.commit(0, write.prepareCommit(true, 0));
+        write.close();
+        commit.close();
+
+        SchemaManager schemaManager = new SchemaManager(LocalFileIO.create(), tablePath);
+        TableSchema tableSchema =
+                schemaManager.commitChanges(SchemaChange.updateColumnType("a", DataTypes.BIGINT()));
+        table = new AppendOnlyFileStoreTable(FileIOFinder.find(tablePath), tablePath, tableSchema);
+        write = table.newWrite(commitUser);
+        commit = table.newCommit(commitUser);
+        write.write(rowData(1, 4000000000L, 205L));
+        commit.commit(1, write.prepareCommit(true, 1));
+        write.close();
+        commit.close();
+
+        // 3000000000 would be cast to -1294967296 for the old file and skip all its row groups
+        Predicate predicate =
+                new PredicateBuilder(tableSchema.logicalRowType()).lessThan(1, 3000000000L);
+        List<Split> splits = toSplits(table.newSnapshotReader().read().dataSplits());
+        TableRead read = table.newRead().withFilter(predicate);
+        assertThat(
+                        getResult(
+                                read,
+                                splits,
+                                binaryRow(1),
+                                0,
+                                row -> row.getLong(1) + "|" + row.getLong(2)))
+                .hasSameElementsAs(Arrays.asList("5|105", "10|110", "11|111"));
+    }
+
     @Test
     public void testSplitOrder() throws Exception {
         FileStoreTable table = createFileStoreTable();
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.table.query;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.catalog.Identifier;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.disk.IOManager;
+import org.apache.paimon.schema.Schema;
+import org.apache.paimon.table.FileStoreTable;
+import org.apache.paimon.table.TableTestBase;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.types.RowKind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.apache.paimon.io.DataFileTestUtils.row;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Test for {@link LocalTableQuery}. */
+public class LocalTableQueryTest extends TableTestBase {
+
+    @TempDir java.nio.file.Path ioDir;
+
+    private IOManager ioManager;
+
+    @BeforeEach
+    public void createIOManager() {
+        ioManager = IOManager.create(ioDir.toString());
+    }
+
+    @AfterEach
+    public void closeIOManager() throws Exception {
+        ioManager.close();
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        FileStoreTable table = createTable();
+
+        // snapshot 1: append
+        write(table, GenericRow.of(1, 1, 1), GenericRow.of(1, 2, 1), GenericRow.of(2, 1, 1));
+
+        try (TableQuery query = table.newTableQuery().withIOManager(ioManager)) {
+            // the key is (pk, pt)
+            assertThat(query.lookup(row(1), 0, GenericRow.of(1, 1)))
+                    .isEqualTo(GenericRow.of(1, 1, 1));
+            assertThat(query.lookup(row(1), 0, GenericRow.of(2, 1)))
+                    .isEqualTo(GenericRow.of(1, 2, 1));
+            assertThat(query.lookup(row(2), 0, GenericRow.of(1, 2)))
+                    .isEqualTo(GenericRow.of(2, 1, 1));
+            assertThat(query.lookup(row(1), 0, GenericRow.of(3, 1))).isNull();
+            assertThat(query.lookup(row(3), 0, GenericRow.of(1, 3))).isNull();
+
+            // snapshot 2: update and delete
+            write(
+                    table,
+                    GenericRow.of(1, 1, 2),
+                    GenericRow.ofKind(RowKind.DELETE, 1, 2, 1),
+                    GenericRow.of(1, 3, 1));
+
+            // the files are not changed until refresh
+            assertThat(query.lookup(row(1), 0, GenericRow.of(1, 1)))
+                    .isEqualTo(GenericRow.of(1, 1, 1));
+            assertThat(query.lookup(row(1), 0, GenericRow.of(3, 1))).isNull();
+
+            query.refresh();
+            assertThat(query.lookup(row(1), 0, GenericRow.of(1, 1)))
+                    .isEqualTo(GenericRow.of(1, 1, 2));
+            assertThat(query.lookup(row(1), 0, GenericRow.of(2, 1))).isNull();
+            assertThat(query.lookup(row(1), 0, GenericRow.of(3, 1)))
+                    .isEqualTo(GenericRow.of(1, 3, 1));
+
+            // snapshot 3: compact
+            compact(table, row(1), 0);
+            query.refresh();
+            assertThat(query.lookup(row(1), 0, GenericRow.of(1, 1)))
+                    .isEqualTo(GenericRow.of(1, 1, 2));
+            assertThat(query.lookup(row(1), 0, GenericRow.of(2, 1))).isNull();
+            assertThat(query.lookup(row(1), 0, GenericRow.of(3, 1)))
+                    .isEqualTo(GenericRow.of(1, 3, 1));
+        }
+    }
+
+    @Test
+    public void testLookupPartialUpdate() throws Exception {
+        Identifier identifier = identifier("T");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("pk", DataTypes.INT())
+                        .column("col1", DataTypes.INT())
+                        .column("col2", DataTypes.INT())
+                        .primaryKey("pk")
+                        .option(CoreOptions.MERGE_ENGINE.key(), "partial-update")
+                        .build();
+        catalog.createTable(identifier, schema, true);
+        FileStoreTable table = (FileStoreTable) catalog.getTable(identifier);
+
+        write(table, GenericRow.of(1, 1, null));
+        compact(table, BinaryRow.EMPTY_ROW, 0);
+        write(table, GenericRow.of(1, null, 2));
+
+        try (TableQuery query = table.newTableQuery().withIOManager(ioManager)) {
+            // the values of the files of all levels are merged
+            assertThat(query.lookup(BinaryRow.EMPTY_ROW, 0, GenericRow.of(1)))
+                    .isEqualTo(GenericRow.of(1, 1, 2));
+        }
+    }
+
+    @Test
+    public void testAppendOnlyTable() throws Exception {
+        Identifier identifier = identifier("T");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("pt", DataTypes.INT())
+                        .column("col1", DataTypes.INT())
+                        .build();
+        catalog.createTable(identifier, schema, true);
+        FileStoreTable table = (FileStoreTable) catalog.getTable(identifier);
+        assertThatThrownBy(table::newTableQuery)
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private FileStoreTable createTable() throws Exception {
+        Identifier identifier = identifier("T");
+        Schema schema =
+                Schema.newBuilder()
+                        .column("pt", DataTypes.INT())
+                        .column("pk", DataTypes.INT())
+                        .column("col1", DataTypes.INT())
+                        .partitionKeys("pt")
+                        .primaryKey("pk", "pt")
+                        .build();
+        catalog.createTable(identifier, schema, true);
+        return (FileStoreTable) catalog.getTable(identifier);
+    }
+}
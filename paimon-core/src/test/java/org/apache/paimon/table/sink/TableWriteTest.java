@@ -19,11 +19,18 @@
 package org.apache.paimon.table.sink;
 
 import org.apache.paimon.CoreOptions;
+import org.apache.paimon.compact.CompactScheduler;
+import org.apache.paimon.compact.WriteStallMetrics;
 import org.apache.paimon.data.GenericRow;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.disk.IOManagerImpl;
 import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.local.LocalFileIO;
+import org.apache.paimon.metrics.Gauge;
+import org.apache.paimon.metrics.MetricGroup;
+import org.apache.paimon.metrics.Metrics;
 import org.apache.paimon.operation.AbstractFileStoreWrite;
+import org.apache.paimon.operation.KeyValueFileStoreWrite;
 import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.reader.RecordReaderIterator;
@@ -43,6 +50,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -83,8 +94,9 @@ public class TableWriteTest {
         assertThat(TraceableFileIO.openOutputStreams(pathPredicate)).isEmpty();
     }
 
-    @Test
-    public void testExtractAndRecoverState() throws Exception {
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    public void testExtractAndRecoverState(int prepareCommitParallelism) throws Exception {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         int commitCount = random.nextInt(10) + 1;
         int extractCount = random.nextInt(10) + 1;
@@ -105,7 +117,7 @@ public class TableWriteTest {
             eventList.add(random.nextInt(eventList.size() + 1), Event.EXTRACT_STATE);
         }
 
-        FileStoreTable table = createFileStoreTable();
+        FileStoreTable table = createFileStoreTable(prepareCommitParallelism);
         TableWriteImpl<?> write = table.newWrite(commitUser);
         StreamTableCommit commit = table.newCommit(commitUser);
 
@@ -162,15 +174,96 @@ public class TableWriteTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    public void testCompactionMetrics() throws Exception {
+        FileStoreTable table = createFileStoreTable(1);
+        TableWriteImpl<?> write = table.newWrite(commitUser);
+        write.write(GenericRow.of(0, 0, 0L));
+
+        MetricGroup group = compactionMetricGroup();
+        assertThat(group).isNotNull();
+        assertThat(group.getMetrics())
+                .containsKeys(
+                        CompactScheduler.QUEUE_DEPTH,
+                        CompactScheduler.ACTIVE_THREADS,
+                        CompactScheduler.WAIT_TIME);
+        assertThat(gaugeValue(group, CompactScheduler.QUEUE_DEPTH)).isEqualTo(0);
+
+        // write stall metrics are registered by the compact managers of the write
+        assertThat(group.getMetrics())
+                .containsKeys(
+                        WriteStallMetrics.WRITE_SLOWDOWN_TIME,
+                        WriteStallMetrics.WRITE_SLOWDOWN_COUNT,
+                        WriteStallMetrics.WRITE_STOP_TIME,
+                        WriteStallMetrics.WRITE_STOP_COUNT);
+        assertThat(gaugeValue(group, WriteStallMetrics.WRITE_SLOWDOWN_COUNT)).isEqualTo(0L);
+        assertThat(gaugeValue(group, WriteStallMetrics.WRITE_STOP_COUNT)).isEqualTo(0L);
+
+        write.close();
+        assertThat(compactionMetricGroup()).isNull();
+    }
+
+    @Test
+    public void testLookupFileDiskSizeMetric() throws Exception {
+        Options conf = new Options();
+        conf.set(CoreOptions.CHANGELOG_PRODUCER, CoreOptions.ChangelogProducer.LOOKUP);
+        FileStoreTable table = createFileStoreTable(1, conf);
+        IOManagerImpl ioManager = new IOManagerImpl(tempDir.toString());
+        TableWriteImpl<?> write = table.newWrite(commitUser).withIOManager(ioManager);
+        StreamTableCommit commit = table.newCommit(commitUser);
+
+        // the second round of writes looks up the keys in the compacted files of the first round
+        for (int i = 0; i < 2; i++) {
+            for (int k = 0; k < 1000; k++) {
+                write.write(GenericRow.of(0, k, (long) i));
+            }
+            commit.commit(i, write.prepareCommit(true, i));
+        }
+
+        MetricGroup group = compactionMetricGroup();
+        assertThat(group).isNotNull();
+        assertThat((Long) gaugeValue(group, KeyValueFileStoreWrite.LOOKUP_FILE_DISK_SIZE))
+                .isGreaterThan(0);
+
+        write.close();
+        commit.close();
+        ioManager.close();
+        assertThat(compactionMetricGroup()).isNull();
+    }
+
+    @Nullable
+    private MetricGroup compactionMetricGroup() {
+        List<MetricGroup> groups = new ArrayList<>();
+        for (MetricGroup group : Metrics.getInstance().getMetricGroups()) {
+            if (group.getGroupName().equals(AbstractFileStoreWrite.COMPACTION_METRIC_GROUP)
+                    && tablePath.getName().equals(group.getAllTags().get("table"))) {
+                groups.add(group);
+            }
+        }
+        // a group registered twice would be reported twice
+        assertThat(groups).hasSizeLessThanOrEqualTo(1);
+        return groups.isEmpty() ? null : groups.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object gaugeValue(MetricGroup group, String name) {
+        return ((Gauge<Object>) group.getMetrics().get(name)).getValue();
+    }
+
     private enum Event {
         PREPARE_COMMIT,
         COMMIT,
         EXTRACT_STATE
     }
 
-    private FileStoreTable createFileStoreTable() throws Exception {
-        Options conf = new Options();
+    private FileStoreTable createFileStoreTable(int prepareCommitParallelism) throws Exception {
+        return createFileStoreTable(prepareCommitParallelism, new Options());
+    }
+
+    private FileStoreTable createFileStoreTable(int prepareCommitParallelism, Options conf)
+            throws Exception {
         conf.set(CoreOptions.BUCKET, 2);
+        conf.set(CoreOptions.COMMIT_PREPARE_PARALLELISM, prepareCommitParallelism);
         conf.set(CoreOptions.WRITE_BUFFER_SIZE, new MemorySize(4096 * 3));
         conf.set(CoreOptions.PAGE_SIZE, new MemorySize(4096));
 
@@ -19,16 +19,19 @@
 package org.apache.paimon.s3;
 
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.FileRange;
 import org.apache.paimon.fs.FileStatus;
 import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.PositionOutputStream;
 import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadUtils;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Hadoop {@link FileIO}.
@@ -44,7 +47,8 @@ public abstract class HadoopCompliantFileIO implements FileIO {
     @Override
     public SeekableInputStream newInputStream(Path path) throws IOException {
         org.apache.hadoop.fs.Path hadoopPath = path(path);
-        return new HadoopSeekableInputStream(getFileSystem(hadoopPath).open(hadoopPath));
+        FileSystem fileSystem = getFileSystem(hadoopPath);
+        return new HadoopSeekableInputStream(fileSystem, hadoopPath);
     }
 
     @Override
@@ -139,10 +143,24 @@ public abstract class HadoopCompliantFileIO implements FileIO {
          */
         private static final int MIN_SKIP_BYTES = 1024 * 1024;
 
+        /**
+         * Ranges of a vectored read with smaller gaps are merged into one request, a request to the
+         * object store costs about the time to read this amount of bytes.
+         */
+        private static final int MIN_SEEK_FOR_VECTORED_READS = 128 * 1024;
+
+        /** Merged ranges of a vectored read larger than this are fetched by concurrent requests. */
+        private static final int MAX_READ_SIZE_FOR_VECTORED_READS = 2 * 1024 * 1024;
+
+        private final FileSystem fs;
+        private final org.apache.hadoop.fs.Path path;
         private final FSDataInputStream in;
 
-        private HadoopSeekableInputStream(FSDataInputStream in) {
-            this.in = in;
+        private HadoopSeekableInputStream(FileSystem fs, org.apache.hadoop.fs.Path path)
+                throws IOException {
+            this.fs = fs;
+            this.path = path;
+            this.in = fs.open(path);
         }
 
         @Override
@@ -175,6 +193,17 @@ public abstract class HadoopCompliantFileIO implements FileIO {
             return in.read(b, off, len);
         }
 
+        @Override
+        public void readVectored(List<? extends FileRange> ranges) {
+            // each merged range is fetched by a new stream, so the position is not changed
+            VectoredReadUtils.readVectored(
+                    ranges,
+                    () -> new HadoopSeekableInputStream(fs, path),
+                    VectoredReadUtils.ioExecutor(),
+                    MIN_SEEK_FOR_VECTORED_READS,
+                    MAX_READ_SIZE_FOR_VECTORED_READS);
+        }
+
         @Override
         public void close() throws IOException {
             in.close();
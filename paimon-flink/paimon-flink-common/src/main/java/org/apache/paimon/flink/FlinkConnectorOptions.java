@@ -259,6 +259,39 @@ public class FlinkConnectorOptions {
                     .defaultValue(16)
                     .withDescription("The thread number for lookup async.");
 
+    public static final ConfigOption<Boolean> LOOKUP_BUCKET_SHARDED =
+            ConfigOptions.key("lookup.bucket-sharded")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether each subtask of a lookup join only loads the buckets it owns "
+                                    + "instead of the whole table. The table must have a fixed "
+                                    + "bucket number and the join keys must contain the bucket "
+                                    + "keys. The input of the lookup function must be partitioned "
+                                    + "by the bucket of the join keys, see "
+                                    + "LookupBucketChannelComputer. SQL lookup joins do not "
+                                    + "partition their input by bucket and reject this option.");
+
+    public static final ConfigOption<Boolean> LOOKUP_REFRESH_ASYNC =
+            ConfigOptions.key("lookup.refresh.async")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to refresh the lookup table in a background thread. Lookups "
+                                    + "are served by the loaded data while refreshing instead of "
+                                    + "waiting for the refresh.");
+
+    public static final ConfigOption<Duration> LOOKUP_REFRESH_ASYNC_MAX_STALENESS =
+            ConfigOptions.key("lookup.refresh.async.max-staleness")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max staleness of the lookup table when refreshing in background, "
+                                    + "which is the time since the start of the last completed "
+                                    + "refresh. Lookups wait for the running refresh if the "
+                                    + "lookup table is staler than it. By default, lookups never "
+                                    + "wait.");
+
     public static final ConfigOption<Boolean> SINK_AUTO_TAG_FOR_SAVEPOINT =
             ConfigOptions.key("sink.savepoint.auto-tag")
                     .booleanType()
@@ -19,22 +19,32 @@
 package org.apache.paimon.flink.lookup;
 
 import org.apache.paimon.CoreOptions;
+import org.apache.paimon.codegen.CodeGenUtils;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.data.serializer.InternalRowSerializer;
 import org.apache.paimon.flink.FlinkRowData;
 import org.apache.paimon.flink.FlinkRowWrapper;
+import org.apache.paimon.flink.sink.ChannelComputer;
 import org.apache.paimon.flink.utils.TableScanUtils;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.predicate.PredicateFilter;
 import org.apache.paimon.reader.RecordReaderIterator;
+import org.apache.paimon.table.BucketMode;
+import org.apache.paimon.table.FileStoreTable;
 import org.apache.paimon.table.Table;
 import org.apache.paimon.table.source.OutOfRangeException;
+import org.apache.paimon.types.RowKind;
 import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.ExecutorThreadFactory;
 import org.apache.paimon.utils.FileIOUtils;
+import org.apache.paimon.utils.Filter;
 import org.apache.paimon.utils.TypeUtils;
 
 import org.apache.paimon.shade.guava30.com.google.common.primitives.Ints;
 
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
@@ -53,12 +63,21 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_BUCKET_SHARDED;
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_REFRESH_ASYNC;
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_REFRESH_ASYNC_MAX_STALENESS;
 import static org.apache.paimon.flink.RocksDBOptions.LOOKUP_CACHE_ROWS;
 import static org.apache.paimon.predicate.PredicateBuilder.transformFieldMapping;
 
@@ -69,20 +88,45 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStoreLookupFunction.class);
 
+    private static final String LOOKUP_REFRESH_LAG = "lookupRefreshLag";
+    private static final String LOOKUP_LAST_REFRESH_DURATION = "lookupLastRefreshDuration";
+
+    // how long closing waits for the refresh in background before interrupting it
+    private static final Duration REFRESH_CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    // max number of rows staged in memory by a refresh in background before applying them
+    static final int REFRESH_CHUNK_ROWS = 10000;
+
     private final Table table;
     private final List<String> projectFields;
     private final List<String> joinKeys;
     @Nullable private final Predicate predicate;
+    private final boolean bucketSharded;
 
+    // the buckets owned by this subtask, null if all buckets are loaded
+    @Nullable private transient Filter<Integer> bucketFilter;
     private transient Duration refreshInterval;
+    private transient String tmpDirectory;
     private transient File path;
     private transient RocksDBStateFactory stateFactory;
     private transient LookupTable lookupTable;
+    private transient InternalRowSerializer rowSerializer;
 
     // timestamp when cache expires
     private transient long nextLoadTime;
     private transient TableStreamingReader streamingReader;
 
+    // guards the lookup table from the refreshes in background
+    private transient Object lock;
+    @Nullable private transient ExecutorService refreshExecutor;
+    @Nullable private transient Future<?> refreshFuture;
+    @Nullable private transient Duration maxStaleness;
+    private transient AtomicReference<Throwable> refreshError;
+
+    // start time of the last completed refresh, the snapshots committed before it are loaded
+    private transient volatile long lastRefreshTime;
+    private transient volatile long lastRefreshDuration;
+
     public FileStoreLookupFunction(
             Table table, int[] projection, int[] joinKeyIndex, @Nullable Predicate predicate) {
         TableScanUtils.streamingReadingValidate(table);
@@ -108,42 +152,113 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
         }
 
         this.predicate = predicate;
+        this.bucketSharded = Options.fromMap(table.options()).get(LOOKUP_BUCKET_SHARDED);
+        if (bucketSharded) {
+            validateBucketSharded(table, joinKeys);
+        }
+    }
+
+    private static void validateBucketSharded(Table table, List<String> joinKeys) {
+        if (!(table instanceof FileStoreTable)
+                || ((FileStoreTable) table).bucketMode() != BucketMode.FIXED) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%s is only supported for tables with a fixed bucket number.",
+                            LOOKUP_BUCKET_SHARDED.key()));
+        }
+        List<String> bucketKeys = ((FileStoreTable) table).schema().bucketKeys();
+        if (!joinKeys.containsAll(bucketKeys)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%s requires the join keys %s to contain the bucket keys %s.",
+                            LOOKUP_BUCKET_SHARDED.key(), joinKeys, bucketKeys));
+        }
     }
 
     public void open(FunctionContext context) throws Exception {
-        String tmpDirectory = getTmpDirectory(context);
+        StreamingRuntimeContext runtimeContext = getRuntimeContext(context);
+        if (bucketSharded) {
+            open(
+                    getTmpDirectory(runtimeContext),
+                    runtimeContext.getIndexOfThisSubtask(),
+                    runtimeContext.getNumberOfParallelSubtasks());
+        } else {
+            open(getTmpDirectory(runtimeContext));
+        }
+
+        MetricGroup metricGroup = context.getMetricGroup();
+        metricGroup.gauge(
+                LOOKUP_REFRESH_LAG,
+                (Gauge<Long>) () -> System.currentTimeMillis() - lastRefreshTime);
+        metricGroup.gauge(LOOKUP_LAST_REFRESH_DURATION, (Gauge<Long>) () -> lastRefreshDuration);
+    }
+
+    // we tag this method friendly for testing
+    void open(String tmpDirectory, int subtaskIndex, int numSubtasks) throws Exception {
+        // the same assignment as LookupBucketChannelComputer
+        this.bucketFilter =
+                bucket -> ChannelComputer.select(bucket, numSubtasks) == subtaskIndex;
         open(tmpDirectory);
     }
 
     // we tag this method friendly for testing
     void open(String tmpDirectory) throws Exception {
-        this.path = new File(tmpDirectory, "lookup-" + UUID.randomUUID());
+        this.tmpDirectory = tmpDirectory;
         open();
     }
 
     private void open() throws Exception {
         Options options = Options.fromMap(table.options());
         this.refreshInterval = options.get(CoreOptions.CONTINUOUS_DISCOVERY_INTERVAL);
+        this.path = new File(tmpDirectory, "lookup-" + UUID.randomUUID());
         this.stateFactory = new RocksDBStateFactory(path.toString(), options);
-
-        List<String> fieldNames = table.rowType().getFieldNames();
-        int[] projection = projectFields.stream().mapToInt(fieldNames::indexOf).toArray();
-        RowType rowType = TypeUtils.project(table.rowType(), projection);
-
-        PredicateFilter recordFilter = createRecordFilter(projection);
-        this.lookupTable =
-                LookupTable.create(
-                        stateFactory,
-                        rowType,
-                        table.primaryKeys(),
-                        joinKeys,
-                        recordFilter,
-                        options.get(LOOKUP_CACHE_ROWS));
+        this.lookupTable = createLookupTable(stateFactory, options);
+        this.rowSerializer = new InternalRowSerializer(projectedRowType());
         this.nextLoadTime = -1;
-        this.streamingReader = new TableStreamingReader(table, projection, this.predicate);
+        this.streamingReader = createStreamingReader();
+        if (lock == null) {
+            // kept by reopening, a refresh in background may still hold it
+            this.lock = new Object();
+        }
+        this.refreshError = new AtomicReference<>();
 
         // do first load
-        refresh();
+        long startTime = System.currentTimeMillis();
+        bootstrap(streamingReader, lookupTable);
+        lastRefreshTime = startTime;
+        lastRefreshDuration = System.currentTimeMillis() - startTime;
+
+        if (options.get(LOOKUP_REFRESH_ASYNC)) {
+            this.maxStaleness = options.get(LOOKUP_REFRESH_ASYNC_MAX_STALENESS);
+            this.refreshExecutor =
+                    Executors.newSingleThreadExecutor(
+                            new ExecutorThreadFactory(
+                                    Thread.currentThread().getName() + "-lookup-refresh"));
+        }
+    }
+
+    private int[] projection() {
+        List<String> fieldNames = table.rowType().getFieldNames();
+        return projectFields.stream().mapToInt(fieldNames::indexOf).toArray();
+    }
+
+    private RowType projectedRowType() {
+        return TypeUtils.project(table.rowType(), projection());
+    }
+
+    private LookupTable createLookupTable(RocksDBStateFactory stateFactory, Options options)
+            throws IOException {
+        return LookupTable.create(
+                stateFactory,
+                projectedRowType(),
+                table.primaryKeys(),
+                joinKeys,
+                createRecordFilter(projection()),
+                options.get(LOOKUP_CACHE_ROWS));
+    }
+
+    private TableStreamingReader createStreamingReader() {
+        return new TableStreamingReader(table, projection(), this.predicate, bucketFilter);
     }
 
     private PredicateFilter createRecordFilter(int[] projection) {
@@ -158,14 +273,16 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
                                             .toArray())
                             .orElse(null);
         }
-        return new PredicateFilter(
-                TypeUtils.project(table.rowType(), projection), adjustedPredicate);
+        return CodeGenUtils.newPredicateFilter(adjustedPredicate);
     }
 
     public Collection<RowData> lookup(RowData keyRow) {
         try {
             checkRefresh();
-            List<InternalRow> results = lookupTable.get(new FlinkRowWrapper(keyRow));
+            List<InternalRow> results;
+            synchronized (lock) {
+                results = lookupTable.get(new FlinkRowWrapper(keyRow));
+            }
             List<RowData> rows = new ArrayList<>(results.size());
             for (InternalRow matchedRow : results) {
                 rows.add(new FlinkRowData(matchedRow));
@@ -189,6 +306,11 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
     }
 
     private void checkRefresh() throws Exception {
+        if (refreshExecutor != null) {
+            checkAsyncRefresh();
+            return;
+        }
+
         if (nextLoadTime > System.currentTimeMillis()) {
             return;
         }
@@ -198,28 +320,193 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
                     refreshInterval.toMillis() / 1000);
         }
 
-        refresh();
+        long startTime = System.currentTimeMillis();
+        refresh(streamingReader, lookupTable, false);
+        lastRefreshTime = startTime;
+        lastRefreshDuration = System.currentTimeMillis() - startTime;
 
         nextLoadTime = System.currentTimeMillis() + refreshInterval.toMillis();
     }
 
-    private void refresh() throws Exception {
+    /**
+     * Starts a refresh in background if the refresh interval has elapsed, lookups are served by
+     * the loaded data while refreshing unless the lookup table is staler than the max staleness.
+     */
+    private void checkAsyncRefresh() throws Exception {
+        long currentTime = System.currentTimeMillis();
+        boolean refreshing = refreshFuture != null && !refreshFuture.isDone();
+        if (!refreshing && nextLoadTime <= currentTime) {
+            refreshFuture = refreshExecutor.submit(this::refreshInBackground);
+            nextLoadTime = currentTime + refreshInterval.toMillis();
+            refreshing = true;
+        }
+
+        if (refreshing
+                && maxStaleness != null
+                && currentTime - lastRefreshTime > maxStaleness.toMillis()) {
+            LOG.info(
+                    "Lookup table is staler than {} ms, waiting for the refresh in background.",
+                    maxStaleness.toMillis());
+            refreshFuture.get();
+        }
+
+        Throwable error = refreshError.getAndSet(null);
+        if (error != null) {
+            throw new RuntimeException("Failed to refresh the lookup table in background.", error);
+        }
+    }
+
+    private void refreshInBackground() {
+        long startTime = System.currentTimeMillis();
+        try {
+            try {
+                refresh(streamingReader, lookupTable, true);
+            } catch (OutOfRangeException e) {
+                LOG.info("Snapshots to refresh have expired, reloading the lookup table.", e);
+                reloadInBackground();
+            }
+            lastRefreshTime = startTime;
+            lastRefreshDuration = System.currentTimeMillis() - startTime;
+        } catch (Throwable t) {
+            refreshError.set(t);
+        }
+    }
+
+    /**
+     * Loads the latest data into a new lookup table and replaces the current one with it, the
+     * current one keeps serving lookups until the new one is loaded.
+     */
+    private void reloadInBackground() throws Exception {
+        Options options = Options.fromMap(table.options());
+        File newPath = new File(tmpDirectory, "lookup-" + UUID.randomUUID());
+        RocksDBStateFactory newStateFactory = new RocksDBStateFactory(newPath.toString(), options);
+        LookupTable newLookupTable;
+        TableStreamingReader newStreamingReader;
+        try {
+            newLookupTable = createLookupTable(newStateFactory, options);
+            newStreamingReader = createStreamingReader();
+            bootstrap(newStreamingReader, newLookupTable);
+        } catch (Exception e) {
+            newStateFactory.close();
+            FileIOUtils.deleteDirectoryQuietly(newPath);
+            throw e;
+        }
+
+        File oldPath;
+        RocksDBStateFactory oldStateFactory;
+        synchronized (lock) {
+            if (lookupTable == null) {
+                // closed while reloading
+                oldPath = newPath;
+                oldStateFactory = newStateFactory;
+            } else {
+                oldPath = path;
+                oldStateFactory = stateFactory;
+                path = newPath;
+                stateFactory = newStateFactory;
+                lookupTable = newLookupTable;
+                streamingReader = newStreamingReader;
+            }
+        }
+        oldStateFactory.close();
+        FileIOUtils.deleteDirectoryQuietly(oldPath);
+    }
+
+    /**
+     * Bulk loads the first batch of the reader, which is the full data of the table, into the empty
+     * lookup table, and then reads the incremental data.
+     */
+    private void bootstrap(TableStreamingReader reader, LookupTable target) throws Exception {
+        try (RecordReaderIterator<InternalRow> batch =
+                new RecordReaderIterator<>(reader.nextBatch())) {
+            target.bootstrap(batch);
+        }
+        refresh(reader, target, false);
+    }
+
+    /**
+     * Reads the incremental data of the table into the lookup table. If {@code locked}, the data is
+     * staged in memory and applied while holding the lock, so lookups are not blocked by reading
+     * the files, see {@link #refreshLocked}.
+     */
+    private void refresh(TableStreamingReader reader, LookupTable target, boolean locked)
+            throws Exception {
         while (true) {
             try (RecordReaderIterator<InternalRow> batch =
-                    new RecordReaderIterator<>(streamingReader.nextBatch())) {
+                    new RecordReaderIterator<>(reader.nextBatch())) {
                 if (!batch.hasNext()) {
                     return;
                 }
-                this.lookupTable.refresh(batch);
+                if (locked) {
+                    refreshLocked(target, batch);
+                } else {
+                    target.refresh(batch);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the batch to the lookup table in chunks of at most {@link #REFRESH_CHUNK_ROWS} rows,
+     * so the memory to stage the rows is bounded by the chunk size instead of the size of the
+     * snapshot. Each chunk is applied at once while holding the lock, lookups may see a large
+     * snapshot partly applied between chunks.
+     */
+    private void refreshLocked(LookupTable target, Iterator<InternalRow> batch)
+            throws Exception {
+        List<InternalRow> staged = new ArrayList<>();
+        while (batch.hasNext()) {
+            // rows are reused by the reader
+            InternalRow row = rowSerializer.copy(batch.next());
+            staged.add(row);
+            // an update before is applied together with its update after
+            if (!batch.hasNext()
+                    || (staged.size() >= REFRESH_CHUNK_ROWS
+                            && row.getRowKind() != RowKind.UPDATE_BEFORE)) {
+                applyLocked(target, staged);
+                staged.clear();
             }
         }
     }
 
+    private void applyLocked(LookupTable target, List<InternalRow> staged) throws Exception {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException("Refresh of the lookup table is cancelled.");
+        }
+        synchronized (lock) {
+            if (target != lookupTable) {
+                throw new InterruptedException("Lookup table has been closed while refreshing.");
+            }
+            target.refresh(staged.iterator());
+        }
+    }
+
     @Override
     public void close() throws IOException {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdown();
+            try {
+                if (!refreshExecutor.awaitTermination(
+                        REFRESH_CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    LOG.warn(
+                            "Refresh of the lookup table does not finish in {} ms, cancelling it.",
+                            REFRESH_CLOSE_TIMEOUT.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+            refreshFuture = null;
+        }
+
         if (stateFactory != null) {
-            stateFactory.close();
-            stateFactory = null;
+            // a cancelled refresh checks the lookup table under the lock before applying its data
+            synchronized (lock) {
+                lookupTable = null;
+                stateFactory.close();
+                stateFactory = null;
+            }
         }
 
         if (path != null) {
@@ -227,20 +514,21 @@ public class FileStoreLookupFunction implements Serializable, Closeable {
         }
     }
 
-    private static String getTmpDirectory(FunctionContext context) {
+    private static StreamingRuntimeContext getRuntimeContext(FunctionContext context) {
         try {
             Field field = context.getClass().getDeclaredField("context");
             field.setAccessible(true);
-            StreamingRuntimeContext runtimeContext =
-                    extractStreamingRuntimeContext(field.get(context));
-            String[] tmpDirectories =
-                    runtimeContext.getTaskManagerRuntimeInfo().getTmpDirectories();
-            return tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+            return extractStreamingRuntimeContext(field.get(context));
         } catch (NoSuchFieldException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private static String getTmpDirectory(StreamingRuntimeContext runtimeContext) {
+        String[] tmpDirectories = runtimeContext.getTaskManagerRuntimeInfo().getTmpDirectories();
+        return tmpDirectories[ThreadLocalRandom.current().nextInt(tmpDirectories.length)];
+    }
+
     private static StreamingRuntimeContext extractStreamingRuntimeContext(Object runtimeContext)
             throws NoSuchFieldException, IllegalAccessException {
         if (runtimeContext instanceof StreamingRuntimeContext) {
@@ -34,7 +34,7 @@ import static org.apache.paimon.utils.Preconditions.checkNotNull;
  */
 public final class ListDelimitedSerializer {
 
-    private static final byte DELIMITER = ',';
+    static final byte DELIMITER = ',';
 
     private final DataInputDeserializer dataInputView = new DataInputDeserializer();
     private final DataOutputSerializer dataOutputView = new DataOutputSerializer(128);
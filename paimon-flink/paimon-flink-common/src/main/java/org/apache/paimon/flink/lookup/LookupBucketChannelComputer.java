@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.flink.lookup;
+
+import org.apache.paimon.CoreOptions;
+import org.apache.paimon.codegen.CodeGenUtils;
+import org.apache.paimon.codegen.Projection;
+import org.apache.paimon.data.BinaryRow;
+import org.apache.paimon.flink.FlinkConnectorOptions;
+import org.apache.paimon.flink.FlinkRowWrapper;
+import org.apache.paimon.flink.sink.ChannelComputer;
+import org.apache.paimon.schema.TableSchema;
+import org.apache.paimon.table.sink.KeyAndBucketExtractor;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.ProjectedRow;
+
+import org.apache.flink.table.data.RowData;
+
+import java.util.stream.IntStream;
+
+import static org.apache.paimon.utils.Preconditions.checkArgument;
+
+/**
+ * {@link ChannelComputer} to partition the input of a lookup join by the bucket of the join keys,
+ * each input row is sent to the subtask which loads the bucket of its keys when {@link
+ * FlinkConnectorOptions#LOOKUP_BUCKET_SHARDED} is enabled.
+ */
+public class LookupBucketChannelComputer implements ChannelComputer<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TableSchema schema;
+    private final int[] bucketKeyIndexes;
+
+    private transient int numChannels;
+    private transient int numBuckets;
+    private transient ProjectedRow bucketKeyRow;
+    private transient Projection bucketKeyProjection;
+
+    /**
+     * @param schema the schema of the lookup table.
+     * @param bucketKeyIndexes the indexes of the input fields joined with the bucket keys of the
+     *     lookup table, in the order of {@link TableSchema#bucketKeys()}.
+     */
+    public LookupBucketChannelComputer(TableSchema schema, int[] bucketKeyIndexes) {
+        checkArgument(
+                bucketKeyIndexes.length == schema.bucketKeys().size(),
+                "The input fields must be joined with the bucket keys %s, but %s fields are given.",
+                schema.bucketKeys(),
+                bucketKeyIndexes.length);
+        this.schema = schema;
+        this.bucketKeyIndexes = bucketKeyIndexes;
+    }
+
+    @Override
+    public void setup(int numChannels) {
+        this.numChannels = numChannels;
+        this.numBuckets = new CoreOptions(schema.options()).bucket();
+        checkArgument(numBuckets > 0, "Num bucket is illegal: " + numBuckets);
+        RowType bucketKeyType = schema.logicalBucketKeyType();
+        this.bucketKeyRow = ProjectedRow.from(bucketKeyIndexes);
+        this.bucketKeyProjection =
+                CodeGenUtils.newProjection(
+                        bucketKeyType, IntStream.range(0, bucketKeyIndexes.length).toArray());
+    }
+
+    @Override
+    public int channel(RowData record) {
+        BinaryRow bucketKey =
+                bucketKeyProjection.apply(bucketKeyRow.replaceRow(new FlinkRowWrapper(record)));
+        int bucket =
+                KeyAndBucketExtractor.bucket(
+                        KeyAndBucketExtractor.bucketKeyHashCode(bucketKey), numBuckets);
+        return ChannelComputer.select(bucket, numChannels);
+    }
+
+    @Override
+    public String toString() {
+        return "shuffle by lookup bucket";
+    }
+}
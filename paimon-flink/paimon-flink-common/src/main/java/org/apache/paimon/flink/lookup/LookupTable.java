@@ -34,6 +34,13 @@ public interface LookupTable {
 
     void refresh(Iterator<InternalRow> incremental) throws IOException;
 
+    /**
+     * Loads the initial data into this empty table by bulk loading, which is much faster than
+     * {@link #refresh}. The data should be a full snapshot, in which a primary key appears at most
+     * once.
+     */
+    void bootstrap(Iterator<InternalRow> data) throws IOException;
+
     static LookupTable create(
             RocksDBStateFactory stateFactory,
             RowType rowType,
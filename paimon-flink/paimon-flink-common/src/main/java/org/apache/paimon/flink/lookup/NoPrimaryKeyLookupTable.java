@@ -35,6 +35,8 @@ import java.util.function.Predicate;
 /** A {@link LookupTable} for table without primary key. */
 public class NoPrimaryKeyLookupTable implements LookupTable {
 
+    private final RocksDBStateFactory stateFactory;
+
     private final RocksDBListState<InternalRow, InternalRow> state;
 
     private final Predicate<InternalRow> recordFilter;
@@ -48,6 +50,7 @@ public class NoPrimaryKeyLookupTable implements LookupTable {
             Predicate<InternalRow> recordFilter,
             long lruCacheSize)
             throws IOException {
+        this.stateFactory = stateFactory;
         List<String> fieldNames = rowType.getFieldNames();
         int[] joinKeyMapping = joinKeys.stream().mapToInt(fieldNames::indexOf).toArray();
         this.joinKeyRow = new KeyProjectedRow(joinKeyMapping);
@@ -82,4 +85,24 @@ public class NoPrimaryKeyLookupTable implements LookupTable {
             }
         }
     }
+
+    @Override
+    public void bootstrap(Iterator<InternalRow> data) throws IOException {
+        RocksDBBulkLoader loader = stateFactory.bulkLoader(state);
+        while (data.hasNext()) {
+            InternalRow row = data.next();
+            joinKeyRow.replaceRow(row);
+            if (row.getRowKind() == RowKind.INSERT || row.getRowKind() == RowKind.UPDATE_AFTER) {
+                if (recordFilter.test(row)) {
+                    state.bulkLoad(loader, joinKeyRow, row);
+                }
+            } else {
+                throw new RuntimeException(
+                        String.format(
+                                "Received %s message. Only INSERT/UPDATE_AFTER values are expected here.",
+                                row.getRowKind()));
+            }
+        }
+        loader.finish();
+    }
 }
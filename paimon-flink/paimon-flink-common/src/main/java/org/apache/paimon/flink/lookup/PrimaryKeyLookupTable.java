@@ -34,6 +34,8 @@ import java.util.function.Predicate;
 /** A {@link LookupTable} for primary key table. */
 public class PrimaryKeyLookupTable implements LookupTable {
 
+    protected final RocksDBStateFactory stateFactory;
+
     protected final RocksDBValueState<InternalRow, InternalRow> tableState;
 
     protected final Predicate<InternalRow> recordFilter;
@@ -49,6 +51,7 @@ public class PrimaryKeyLookupTable implements LookupTable {
             Predicate<InternalRow> recordFilter,
             long lruCacheSize)
             throws IOException {
+        this.stateFactory = stateFactory;
         List<String> fieldNames = rowType.getFieldNames();
         this.primaryKeyMapping = primaryKey.stream().mapToInt(fieldNames::indexOf).toArray();
         this.primaryKey = new KeyProjectedRow(primaryKeyMapping);
@@ -85,4 +88,20 @@ public class PrimaryKeyLookupTable implements LookupTable {
             }
         }
     }
+
+    @Override
+    public void bootstrap(Iterator<InternalRow> data) throws IOException {
+        RocksDBBulkLoader loader = stateFactory.bulkLoader(tableState);
+        while (data.hasNext()) {
+            InternalRow row = data.next();
+            if (isAdd(row) && recordFilter.test(row)) {
+                tableState.bulkLoad(loader, primaryKey.replaceRow(row), row);
+            }
+        }
+        loader.finish();
+    }
+
+    protected static boolean isAdd(InternalRow row) {
+        return row.getRowKind() == RowKind.INSERT || row.getRowKind() == RowKind.UPDATE_AFTER;
+    }
 }
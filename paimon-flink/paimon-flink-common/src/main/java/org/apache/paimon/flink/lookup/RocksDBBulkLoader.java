@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.flink.lookup;
+
+import org.apache.paimon.shade.guava30.com.google.common.primitives.UnsignedBytes;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk loads the initial data of an empty {@link RocksDBState}. Instead of putting records one by
+ * one through the memtable and the compactions, records are buffered, sorted by key, written to
+ * SST files and ingested into RocksDB.
+ *
+ * <p>Records of the same key are deduplicated, the last one wins, or are combined into a list if
+ * the state is a {@link RocksDBListState}.
+ */
+public class RocksDBBulkLoader {
+
+    private static final Comparator<byte[]> KEY_COMPARATOR =
+            UnsignedBytes.lexicographicalComparator();
+
+    private final RocksDB db;
+    private final Options options;
+    private final ColumnFamilyHandle columnFamily;
+    private final String path;
+    private final boolean merge;
+    private final long bufferSize;
+
+    private final List<byte[]> keys;
+    private final List<byte[]> values;
+    private long bufferedBytes;
+    private boolean sorted;
+
+    RocksDBBulkLoader(
+            RocksDB db,
+            Options options,
+            ColumnFamilyHandle columnFamily,
+            String path,
+            boolean merge,
+            long bufferSize) {
+        this.db = db;
+        this.options = options;
+        this.columnFamily = columnFamily;
+        this.path = path;
+        this.merge = merge;
+        this.bufferSize = bufferSize;
+        this.keys = new ArrayList<>();
+        this.values = new ArrayList<>();
+        this.bufferedBytes = 0;
+        this.sorted = true;
+    }
+
+    void write(byte[] key, byte[] value) throws IOException {
+        // data read in key order needs no sorting
+        if (sorted && !keys.isEmpty()) {
+            sorted = KEY_COMPARATOR.compare(keys.get(keys.size() - 1), key) <= 0;
+        }
+        keys.add(key);
+        values.add(value);
+        bufferedBytes += key.length + value.length;
+        if (bufferedBytes >= bufferSize) {
+            flush();
+        }
+    }
+
+    /** Ingests the buffered records, the loaded data is visible to the state after finishing. */
+    public void finish() throws IOException {
+        flush();
+    }
+
+    private void flush() throws IOException {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        if (!sorted) {
+            // stable, so the records of the same key keep their order
+            Arrays.sort(order, (i1, i2) -> KEY_COMPARATOR.compare(keys.get(i1), keys.get(i2)));
+        }
+
+        File file = new File(path, "bulk-load-" + UUID.randomUUID() + ".sst");
+        try (EnvOptions envOptions = new EnvOptions();
+                SstFileWriter writer = new SstFileWriter(envOptions, options);
+                IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions()) {
+            writer.open(file.getPath());
+            int i = 0;
+            while (i < order.length) {
+                byte[] key = keys.get(order[i]);
+                int end = i + 1;
+                while (end < order.length && Arrays.equals(key, keys.get(order[end]))) {
+                    end++;
+                }
+
+                if (merge) {
+                    writer.merge(key, combine(order, i, end));
+                } else {
+                    writer.put(key, values.get(order[end - 1]));
+                }
+                i = end;
+            }
+            writer.finish();
+
+            ingestOptions.setMoveFiles(true);
+            db.ingestExternalFile(
+                    columnFamily, Collections.singletonList(file.getPath()), ingestOptions);
+        } catch (RocksDBException e) {
+            throw new IOException(e);
+        } finally {
+            // the file has been moved into RocksDB if the ingestion succeeded
+            file.delete();
+        }
+
+        keys.clear();
+        values.clear();
+        bufferedBytes = 0;
+        sorted = true;
+    }
+
+    private byte[] combine(Integer[] order, int start, int end) {
+        if (end - start == 1) {
+            return values.get(order[start]);
+        }
+
+        // the same as the merge operator of RocksDBListState
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                out.write(ListDelimitedSerializer.DELIMITER);
+            }
+            byte[] value = values.get(order[i]);
+            out.write(value, 0, value.length);
+        }
+        return out.toByteArray();
+    }
+}
@@ -53,6 +53,11 @@ public class RocksDBListState<K, V> extends RocksDBState<K, V, List<V>> {
         cache.invalidate(wrap(keyBytes));
     }
 
+    /** Adds the value by the bulk loader of this state, see {@link RocksDBBulkLoader}. */
+    public void bulkLoad(RocksDBBulkLoader loader, K key, V value) throws IOException {
+        loader.write(serializeKey(key), serializeValue(value));
+    }
+
     public List<V> get(K key) throws IOException {
         byte[] keyBytes = serializeKey(key);
         return cache.get(
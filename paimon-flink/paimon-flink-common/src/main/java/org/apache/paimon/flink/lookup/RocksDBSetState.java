@@ -94,6 +94,11 @@ public class RocksDBSetState<K, V> extends RocksDBState<K, V, List<byte[]>> {
         }
     }
 
+    /** Adds the value by the bulk loader of this state, see {@link RocksDBBulkLoader}. */
+    public void bulkLoad(RocksDBBulkLoader loader, K key, V value) throws IOException {
+        loader.write(invalidKeyAndGetKVBytes(key, value), EMPTY);
+    }
+
     private byte[] invalidKeyAndGetKVBytes(K key, V value) throws IOException {
         checkArgument(value != null);
 
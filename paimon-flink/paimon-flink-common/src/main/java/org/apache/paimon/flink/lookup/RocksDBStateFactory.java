@@ -40,10 +40,17 @@ public class RocksDBStateFactory implements Closeable {
 
     private RocksDB db;
 
+    private final String path;
+
+    private final Options options;
+
     private final ColumnFamilyOptions columnFamilyOptions;
 
+    private final long bulkLoadBufferSize;
+
     public RocksDBStateFactory(String path, org.apache.paimon.options.Options conf)
             throws IOException {
+        this.path = path;
         DBOptions dbOptions =
                 RocksDBOptions.createDBOptions(
                         new DBOptions()
@@ -54,9 +61,11 @@ public class RocksDBStateFactory implements Closeable {
         this.columnFamilyOptions =
                 RocksDBOptions.createColumnOptions(new ColumnFamilyOptions(), conf)
                         .setMergeOperatorName(MERGE_OPERATOR_NAME);
+        this.options = new Options(dbOptions, columnFamilyOptions);
+        this.bulkLoadBufferSize = conf.get(RocksDBOptions.WRITE_BUFFER_SIZE).getBytes();
 
         try {
-            this.db = RocksDB.open(new Options(dbOptions, columnFamilyOptions), path);
+            this.db = RocksDB.open(options, path);
         } catch (RocksDBException e) {
             throw new IOException("Error while opening RocksDB instance.", e);
         }
@@ -93,6 +102,20 @@ public class RocksDBStateFactory implements Closeable {
                 db, createColumnFamily(name), keySerializer, valueSerializer, lruCacheSize);
     }
 
+    /**
+     * Creates a {@link RocksDBBulkLoader} to load the initial data of the state, the state must be
+     * empty and should not be accessed until the loader is finished.
+     */
+    public RocksDBBulkLoader bulkLoader(RocksDBState<?, ?, ?> state) {
+        return new RocksDBBulkLoader(
+                db,
+                options,
+                state.columnFamily,
+                path,
+                state instanceof RocksDBListState,
+                bulkLoadBufferSize);
+    }
+
     private ColumnFamilyHandle createColumnFamily(String name) throws IOException {
         try {
             return db.createColumnFamily(
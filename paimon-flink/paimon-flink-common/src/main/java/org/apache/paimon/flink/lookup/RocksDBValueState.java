@@ -75,6 +75,12 @@ public class RocksDBValueState<K, V> extends RocksDBState<K, V, RocksDBState.Ref
         }
     }
 
+    /** Puts the value by the bulk loader of this state, see {@link RocksDBBulkLoader}. */
+    public void bulkLoad(RocksDBBulkLoader loader, K key, V value) throws IOException {
+        checkArgument(value != null);
+        loader.write(serializeKey(key), serializeValue(value));
+    }
+
     public void delete(K key) throws IOException {
         try {
             byte[] keyBytes = serializeKey(key);
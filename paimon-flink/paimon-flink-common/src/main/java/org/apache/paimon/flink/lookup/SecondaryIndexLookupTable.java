@@ -94,4 +94,20 @@ public class SecondaryIndexLookupTable extends PrimaryKeyLookupTable {
             }
         }
     }
+
+    @Override
+    public void bootstrap(Iterator<InternalRow> data) throws IOException {
+        RocksDBBulkLoader tableLoader = stateFactory.bulkLoader(tableState);
+        RocksDBBulkLoader indexLoader = stateFactory.bulkLoader(indexState);
+        while (data.hasNext()) {
+            InternalRow row = data.next();
+            if (isAdd(row) && recordFilter.test(row)) {
+                primaryKey.replaceRow(row);
+                tableState.bulkLoad(tableLoader, primaryKey, row);
+                indexState.bulkLoad(indexLoader, secKeyRow.replaceRow(row), primaryKey);
+            }
+        }
+        tableLoader.finish();
+        indexLoader.finish();
+    }
 }
@@ -19,19 +19,21 @@
 package org.apache.paimon.flink.lookup;
 
 import org.apache.paimon.CoreOptions;
+import org.apache.paimon.codegen.CodeGenUtils;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.mergetree.compact.ConcatRecordReader;
 import org.apache.paimon.predicate.Predicate;
 import org.apache.paimon.predicate.PredicateFilter;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.table.Table;
+import org.apache.paimon.table.source.AbstractInnerTableScan;
 import org.apache.paimon.table.source.EndOfScanException;
 import org.apache.paimon.table.source.ReadBuilder;
 import org.apache.paimon.table.source.Split;
 import org.apache.paimon.table.source.StreamTableScan;
 import org.apache.paimon.table.source.TableRead;
 import org.apache.paimon.table.source.TableScan;
-import org.apache.paimon.utils.TypeUtils;
+import org.apache.paimon.utils.Filter;
 
 import org.apache.paimon.shade.guava30.com.google.common.primitives.Ints;
 
@@ -54,6 +56,14 @@ public class TableStreamingReader {
     private final StreamTableScan scan;
 
     public TableStreamingReader(Table table, int[] projection, @Nullable Predicate predicate) {
+        this(table, projection, predicate, null);
+    }
+
+    public TableStreamingReader(
+            Table table,
+            int[] projection,
+            @Nullable Predicate predicate,
+            @Nullable Filter<Integer> bucketFilter) {
         if (CoreOptions.fromMap(table.options()).startupMode()
                 != CoreOptions.StartupMode.COMPACTED_FULL) {
             table =
@@ -65,6 +75,9 @@ public class TableStreamingReader {
 
         this.readBuilder = table.newReadBuilder().withProjection(projection).withFilter(predicate);
         scan = readBuilder.newStreamScan();
+        if (bucketFilter != null) {
+            ((AbstractInnerTableScan) scan).withBucketFilter(bucketFilter);
+        }
 
         if (predicate != null) {
             List<String> fieldNames = table.rowType().getFieldNames();
@@ -84,8 +97,7 @@ public class TableStreamingReader {
                     IntStream.range(0, table.rowType().getFieldCount()).map(operator).toArray();
 
             this.recordFilter =
-                    new PredicateFilter(
-                            TypeUtils.project(table.rowType(), projection),
+                    CodeGenUtils.newPredicateFilter(
                             transformFieldMapping(predicate, fieldIdxToProjectionIdx).orElse(null));
         } else {
             recordFilter = null;
@@ -27,6 +27,8 @@ import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.flink.FlinkRowData;
 import org.apache.paimon.flink.FlinkRowWrapper;
 import org.apache.paimon.memory.HeapMemorySegmentPool;
+import org.apache.paimon.memory.MemorySegmentPool;
+import org.apache.paimon.memory.OffHeapMemorySegmentPool;
 import org.apache.paimon.mergetree.SortBufferWriteBuffer;
 import org.apache.paimon.mergetree.compact.MergeFunction;
 import org.apache.paimon.schema.TableSchema;
@@ -63,6 +65,7 @@ public class LocalMergeOperator extends AbstractStreamOperator<RowData>
     private transient SequenceGenerator sequenceGenerator;
     private transient MergeFunction<KeyValue> mergeFunction;
 
+    private transient MemorySegmentPool memoryPool;
     private transient SortBufferWriteBuffer buffer;
     private transient long currentWatermark;
 
@@ -95,12 +98,17 @@ public class LocalMergeOperator extends AbstractStreamOperator<RowData>
         sequenceGenerator = SequenceGenerator.create(schema, options);
         mergeFunction = ChangelogWithKeyTableUtils.createMergeFunctionFactory(schema).create();
 
+        memoryPool =
+                options.writeBufferOffHeap()
+                        ? new OffHeapMemorySegmentPool(
+                                options.localMergeBufferSize(), options.pageSize())
+                        : new HeapMemorySegmentPool(
+                                options.localMergeBufferSize(), options.pageSize());
         buffer =
                 new SortBufferWriteBuffer(
                         keyType,
                         valueType,
-                        new HeapMemorySegmentPool(
-                                options.localMergeBufferSize(), options.pageSize()),
+                        memoryPool,
                         false,
                         options.localSortMaxNumFileHandles(),
                         null);
@@ -157,6 +165,9 @@ public class LocalMergeOperator extends AbstractStreamOperator<RowData>
         if (buffer != null) {
             buffer.clear();
         }
+        if (memoryPool instanceof OffHeapMemorySegmentPool) {
+            ((OffHeapMemorySegmentPool) memoryPool).close();
+        }
 
         super.close();
     }
@@ -134,7 +134,11 @@ public class StoreSinkWriteImpl implements StoreSinkWrite {
                                 commitUser,
                                 (part, bucket) ->
                                         state.stateValueFilter().filter(table.name(), part, bucket))
-                        .withIOManager(new IOManagerImpl(ioManager.getSpillingDirectoriesPaths()))
+                        .withIOManager(
+                                new IOManagerImpl(
+                                        ioManager.getSpillingDirectoriesPaths(),
+                                        table.coreOptions().spillAsyncIOEnabled(),
+                                        table.coreOptions().spillAsyncIOMaxMemory()))
                         .withIgnorePreviousFiles(ignorePreviousFiles)
                         .isStreamingMode(isStreamingMode);
 
@@ -23,6 +23,7 @@ import org.apache.paimon.CoreOptions.MergeEngine;
 import org.apache.paimon.data.BinaryRow;
 import org.apache.paimon.data.InternalRow;
 import org.apache.paimon.data.serializer.RowCompactedSerializer;
+import org.apache.paimon.flink.lookup.RocksDBBulkLoader;
 import org.apache.paimon.flink.lookup.RocksDBStateFactory;
 import org.apache.paimon.flink.lookup.RocksDBValueState;
 import org.apache.paimon.options.Options;
@@ -40,6 +41,8 @@ import org.apache.paimon.utils.PositiveIntIntSerializer;
 import org.apache.paimon.utils.SerBiFunction;
 import org.apache.paimon.utils.SerializableFunction;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
@@ -71,6 +74,7 @@ public class GlobalIndexAssigner<T> implements Serializable {
     private transient File path;
     private transient RocksDBStateFactory stateFactory;
     private transient RocksDBValueState<InternalRow, PositiveIntInt> keyIndex;
+    @Nullable private transient RocksDBBulkLoader bootstrapLoader;
 
     private transient IDMapping<BinaryRow> partMapping;
     private transient BucketAssigner bucketAssigner;
@@ -114,6 +118,7 @@ public class GlobalIndexAssigner<T> implements Serializable {
                         new RowCompactedSerializer(keyType),
                         new PositiveIntIntSerializer(),
                         cacheSize);
+        this.bootstrapLoader = stateFactory.bulkLoader(keyIndex);
 
         this.partMapping = new IDMapping<>(BinaryRow::copy);
         this.bucketAssigner = new BucketAssigner();
@@ -121,6 +126,8 @@ public class GlobalIndexAssigner<T> implements Serializable {
     }
 
     public void process(T value) throws Exception {
+        endBootstrap();
+
         BinaryRow partition = extractor.partition(value);
         BinaryRow key = extractor.trimmedPrimaryKey(value);
 
@@ -172,7 +179,22 @@ public class GlobalIndexAssigner<T> implements Serializable {
         int bucket = bootstrapBucketFunction.apply(value);
         bucketAssigner.bootstrapBucket(partition, bucket);
         PositiveIntInt partAndBucket = new PositiveIntInt(partId, bucket);
-        keyIndex.put(key, partAndBucket);
+        if (bootstrapLoader != null) {
+            keyIndex.bulkLoad(bootstrapLoader, key, partAndBucket);
+        } else {
+            keyIndex.put(key, partAndBucket);
+        }
+    }
+
+    /**
+     * Ingests the bootstrapped keys into the key index. Keys bootstrapped before are bulk loaded,
+     * and keys bootstrapped after are put one by one.
+     */
+    public void endBootstrap() throws IOException {
+        if (bootstrapLoader != null) {
+            bootstrapLoader.finish();
+            bootstrapLoader = null;
+        }
     }
 
     private void processNewRecord(BinaryRow partition, int partId, BinaryRow key, T value)
@@ -125,6 +125,7 @@ public class GlobalIndexAssignerOperator<T> extends AbstractStreamOperator<Tuple
     }
 
     private void endBootstrap() throws Exception {
+        assigner.endBootstrap();
         if (bootstrapBuffer != null) {
             bootstrapBuffer.complete();
             try (ExternalBuffer.BufferIterator iterator = bootstrapBuffer.newIterator()) {
@@ -62,6 +62,7 @@ import static org.apache.paimon.CoreOptions.LOG_CHANGELOG_MODE;
 import static org.apache.paimon.CoreOptions.LOG_CONSISTENCY;
 import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_ASYNC;
 import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_ASYNC_THREAD_NUMBER;
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_BUCKET_SHARDED;
 import static org.apache.paimon.flink.FlinkConnectorOptions.SCAN_REMOVE_NORMALIZE;
 import static org.apache.paimon.flink.FlinkConnectorOptions.SCAN_WATERMARK_ALIGNMENT_GROUP;
 import static org.apache.paimon.flink.FlinkConnectorOptions.SCAN_WATERMARK_ALIGNMENT_MAX_DRIFT;
@@ -279,6 +280,15 @@ public class DataTableSource extends FlinkTableSource {
                         : Projection.of(projectFields).toTopLevelIndexes();
         int[] joinKey = Projection.of(context.getKeys()).toTopLevelIndexes();
         Options options = new Options(table.options());
+        if (options.get(LOOKUP_BUCKET_SHARDED)) {
+            // the planner does not partition the input of lookup joins by bucket, keys would be
+            // looked up in subtasks which do not load their buckets
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "%s is not supported by SQL lookup joins, because their input is not "
+                                    + "partitioned by bucket.",
+                            LOOKUP_BUCKET_SHARDED.key()));
+        }
         boolean enableAsync = options.get(LOOKUP_ASYNC);
         int asyncThreadNumber = options.get(LOOKUP_ASYNC_THREAD_NUMBER);
         return LookupRuntimeProviderFactory.create(
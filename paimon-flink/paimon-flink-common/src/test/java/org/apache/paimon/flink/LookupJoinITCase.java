@@ -472,6 +472,19 @@ public class LookupJoinITCase extends CatalogITCaseBase {
                                 + "You can use 'lookup' or 'full-compaction' changelog producer to support streaming reading.");
     }
 
+    @Test
+    public void testLookupBucketShardedIllegal() {
+        sql(
+                "CREATE TABLE DIM2 (i INT PRIMARY KEY NOT ENFORCED, j INT, k1 INT, k2 INT) WITH"
+                        + " ('bucket'='2', 'lookup.bucket-sharded'='true')");
+        String query =
+                "SELECT T.i, D.j, D.k1, D.k2 FROM T LEFT JOIN DIM2 for system_time as of T.proctime AS D ON T.i = D.i";
+        assertThatThrownBy(() -> sEnv.executeSql(query))
+                .hasRootCauseMessage(
+                        "lookup.bucket-sharded is not supported by SQL lookup joins, "
+                                + "because their input is not partitioned by bucket.");
+    }
+
     @Test
     public void testLookupPartialUpdate() throws Exception {
         sql(
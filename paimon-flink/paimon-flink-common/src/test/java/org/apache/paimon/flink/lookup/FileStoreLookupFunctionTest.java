@@ -36,6 +36,7 @@ import org.apache.paimon.types.DataTypes;
 import org.apache.paimon.types.RowType;
 import org.apache.paimon.utils.TraceableFileIO;
 
+import org.apache.flink.table.data.RowData;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,11 +47,17 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_BUCKET_SHARDED;
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_REFRESH_ASYNC;
+import static org.apache.paimon.flink.FlinkConnectorOptions.LOOKUP_REFRESH_ASYNC_MAX_STALENESS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Tests for {@link FileStoreLookupFunction}. */
 public class FileStoreLookupFunctionTest {
@@ -135,6 +142,134 @@ public class FileStoreLookupFunctionTest {
         fileStoreLookupFunction.lookup(new FlinkRowData(GenericRow.of(1, 1, 10L)));
     }
 
+    @Test
+    public void testLookupRefreshAsync() throws Exception {
+        FileStoreTable table =
+                fileStoreTable.copy(Collections.singletonMap(LOOKUP_REFRESH_ASYNC.key(), "true"));
+        FileStoreLookupFunction function =
+                new FileStoreLookupFunction(table, new int[] {0, 1}, new int[] {1}, null);
+        function.open(tempDir.toString());
+        try {
+            RowData key = new FlinkRowData(GenericRow.of(1));
+            assertThat(function.lookup(key)).isEmpty();
+
+            commit(writeCommit(GenericRow.of(1, 1, 1L)));
+
+            // the new snapshot is loaded in background
+            while (function.lookup(key).isEmpty()) {
+                Thread.sleep(100);
+            }
+            assertThat(function.lookup(key)).hasSize(1);
+        } finally {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testLookupRefreshAsyncInChunks() throws Exception {
+        FileStoreTable table =
+                fileStoreTable.copy(Collections.singletonMap(LOOKUP_REFRESH_ASYNC.key(), "true"));
+        FileStoreLookupFunction function =
+                new FileStoreLookupFunction(table, new int[] {0, 1}, new int[] {1}, null);
+        function.open(tempDir.toString());
+        try {
+            // a snapshot larger than the staged rows of a refresh
+            int numRows = FileStoreLookupFunction.REFRESH_CHUNK_ROWS * 2 + 1;
+            try (StreamTableWrite writer = fileStoreTable.newStreamWriteBuilder().newWrite()) {
+                for (int i = 0; i < numRows; i++) {
+                    writer.write(GenericRow.of(1, i, (long) i));
+                }
+                commit(writer.prepareCommit(true, 0));
+            }
+
+            // all rows are loaded, none is lost between the chunks
+            for (int i = 0; i < numRows; i++) {
+                RowData key = new FlinkRowData(GenericRow.of(i));
+                while (function.lookup(key).isEmpty()) {
+                    Thread.sleep(100);
+                }
+                assertThat(function.lookup(key)).hasSize(1);
+            }
+        } finally {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testLookupRefreshAsyncMaxStaleness() throws Exception {
+        Map<String, String> options = new HashMap<>();
+        options.put(LOOKUP_REFRESH_ASYNC.key(), "true");
+        options.put(LOOKUP_REFRESH_ASYNC_MAX_STALENESS.key(), "0 ms");
+        FileStoreTable table = fileStoreTable.copy(options);
+        FileStoreLookupFunction function =
+                new FileStoreLookupFunction(table, new int[] {0, 1}, new int[] {1}, null);
+        function.open(tempDir.toString());
+        try {
+            RowData key = new FlinkRowData(GenericRow.of(1));
+            assertThat(function.lookup(key)).isEmpty();
+
+            commit(writeCommit(GenericRow.of(1, 1, 1L)));
+            Thread.sleep(10);
+
+            // the lookup table is too stale, the lookup waits for the refresh
+            assertThat(function.lookup(key)).hasSize(1);
+        } finally {
+            function.close();
+        }
+    }
+
+    @Test
+    public void testLookupBucketSharded() throws Exception {
+        FileStoreTable table =
+                fileStoreTable.copy(
+                        Collections.singletonMap(LOOKUP_BUCKET_SHARDED.key(), "true"));
+        StreamTableWrite writer = table.newStreamWriteBuilder().newWrite();
+        for (int i = 0; i < 100; i++) {
+            writer.write(GenericRow.of(1, i, (long) i));
+        }
+        commit(writer.prepareCommit(true, 0));
+        writer.close();
+
+        LookupBucketChannelComputer channelComputer =
+                new LookupBucketChannelComputer(table.schema(), new int[] {0});
+        channelComputer.setup(2);
+        FileStoreLookupFunction[] functions = new FileStoreLookupFunction[2];
+        try {
+            for (int i = 0; i < functions.length; i++) {
+                functions[i] =
+                        new FileStoreLookupFunction(table, new int[] {0, 1}, new int[] {1}, null);
+                functions[i].open(tempDir.toString(), i, functions.length);
+            }
+
+            // each key is only loaded by the subtask its input is sent to
+            for (int i = 0; i < 100; i++) {
+                RowData key = new FlinkRowData(GenericRow.of(i));
+                int channel = channelComputer.channel(key);
+                assertThat(functions[channel].lookup(key)).hasSize(1);
+                assertThat(functions[1 - channel].lookup(key)).isEmpty();
+            }
+        } finally {
+            for (FileStoreLookupFunction function : functions) {
+                if (function != null) {
+                    function.close();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBucketShardedWithoutBucketKeys() {
+        FileStoreTable table =
+                fileStoreTable.copy(
+                        Collections.singletonMap(LOOKUP_BUCKET_SHARDED.key(), "true"));
+        assertThatThrownBy(
+                        () ->
+                                new FileStoreLookupFunction(
+                                        table, new int[] {0, 1}, new int[] {0}, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("to contain the bucket keys [k]");
+    }
+
     private void commit(List<CommitMessage> messages) {
         fileStoreTable.newCommit(commitUser).commit(messages);
     }
@@ -149,6 +284,13 @@ public class FileStoreLookupFunctionTest {
         return messages;
     }
 
+    private List<CommitMessage> writeCommit(InternalRow row) throws Exception {
+        try (StreamTableWrite writer = fileStoreTable.newStreamWriteBuilder().newWrite()) {
+            writer.write(row);
+            return writer.prepareCommit(true, 0);
+        }
+    }
+
     private InternalRow randomRow() {
         return GenericRow.of(RANDOM.nextInt(100), RANDOM.nextInt(100), RANDOM.nextLong());
     }
@@ -20,6 +20,8 @@ package org.apache.paimon.flink.lookup;
 
 import org.apache.paimon.data.GenericRow;
 import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.flink.RocksDBOptions;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.types.IntType;
 import org.apache.paimon.types.RowKind;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
@@ -174,6 +177,112 @@ public class LookupTableTest {
         assertRow(result.get(1), 1, 11, 111);
     }
 
+    @Test
+    public void testPkTableBootstrap() throws IOException {
+        LookupTable table =
+                LookupTable.create(
+                        bulkLoadStateFactory(),
+                        rowType,
+                        singletonList("f0"),
+                        singletonList("f0"),
+                        r -> r.getInt(0) % 10 != 0,
+                        ThreadLocalRandom.current().nextInt(2) * 10);
+
+        List<InternalRow> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            data.add(row(i, i * 10, i * 100));
+        }
+        Collections.shuffle(data);
+        data.add(row(RowKind.DELETE, 10001, 1, 1));
+        table.bootstrap(data.iterator());
+
+        for (int i = 0; i < 10000; i++) {
+            List<InternalRow> result = table.get(row(i));
+            if (i % 10 == 0) {
+                assertThat(result).isEmpty();
+            } else {
+                assertThat(result).hasSize(1);
+                assertRow(result.get(0), i, i * 10, i * 100);
+            }
+        }
+        assertThat(table.get(row(10001))).isEmpty();
+
+        table.refresh(singletonList(row(1, 22, 222)).iterator());
+        List<InternalRow> result = table.get(row(1));
+        assertThat(result).hasSize(1);
+        assertRow(result.get(0), 1, 22, 222);
+    }
+
+    @Test
+    public void testSecKeyTableBootstrap() throws IOException {
+        LookupTable table =
+                LookupTable.create(
+                        bulkLoadStateFactory(),
+                        rowType,
+                        singletonList("f0"),
+                        singletonList("f1"),
+                        r -> true,
+                        ThreadLocalRandom.current().nextInt(2) * 10);
+
+        List<InternalRow> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            data.add(row(i, i % 10, i));
+        }
+        Collections.shuffle(data);
+        table.bootstrap(data.iterator());
+
+        for (int i = 0; i < 10; i++) {
+            List<InternalRow> result = table.get(row(i));
+            assertThat(result).hasSize(1000);
+            for (InternalRow r : result) {
+                assertThat(r.getInt(1)).isEqualTo(i);
+            }
+        }
+
+        table.refresh(singletonList(row(1, 11, 1)).iterator());
+        assertThat(table.get(row(1))).hasSize(999);
+        assertThat(table.get(row(11))).hasSize(1);
+    }
+
+    @Test
+    public void testNoPkTableBootstrap() throws IOException {
+        LookupTable table =
+                LookupTable.create(
+                        bulkLoadStateFactory(),
+                        rowType,
+                        Collections.emptyList(),
+                        singletonList("f0"),
+                        r -> true,
+                        ThreadLocalRandom.current().nextInt(2) * 10);
+
+        List<InternalRow> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            data.add(row(i % 100, i, i));
+        }
+        Collections.shuffle(data);
+        table.bootstrap(data.iterator());
+
+        for (int i = 0; i < 100; i++) {
+            List<InternalRow> result = table.get(row(i));
+            assertThat(result).hasSize(100);
+            for (InternalRow r : result) {
+                assertThat(r.getInt(1) % 100).isEqualTo(i);
+            }
+        }
+
+        table.refresh(singletonList(row(1, 1, 1)).iterator());
+        assertThat(table.get(row(1))).hasSize(101);
+    }
+
+    /** A state factory bulk loading in small chunks, so that multiple files are ingested. */
+    private RocksDBStateFactory bulkLoadStateFactory() throws IOException {
+        stateFactory.close();
+        Options options = new Options();
+        options.set(RocksDBOptions.WRITE_BUFFER_SIZE, MemorySize.parse("64kb"));
+        stateFactory = new RocksDBStateFactory(tempDir.toString(), options);
+        return stateFactory;
+    }
+
     private static InternalRow row(Object... values) {
         return row(RowKind.INSERT, values);
     }
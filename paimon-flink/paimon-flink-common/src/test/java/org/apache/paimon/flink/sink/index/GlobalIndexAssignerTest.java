@@ -98,6 +98,41 @@ public class GlobalIndexAssignerTest extends TableTestBase {
         assigner.close();
     }
 
+    @Test
+    public void testBootstrap() throws Exception {
+        GlobalIndexAssigner<RowData> assigner = createAssigner(MergeEngine.DEDUPLICATE);
+        List<Tuple2<RowData, Integer>> output = new ArrayList<>();
+        assigner.open(
+                new File(warehouse.getPath()),
+                2,
+                0,
+                (row, bucket) -> output.add(new Tuple2<>(row, bucket)));
+
+        // bootstrap rows are (pk, pt, bucket), bulk loaded until the end of bootstrap
+        assigner.bootstrap(GenericRowData.of(3, 1, 5));
+        assigner.bootstrap(GenericRowData.of(1, 1, 5));
+        assigner.bootstrap(GenericRowData.of(2, 1, 6));
+        assigner.endBootstrap();
+        assigner.bootstrap(GenericRowData.of(4, 1, 7));
+
+        assigner.process(GenericRowData.of(1, 1, 1));
+        assigner.process(GenericRowData.of(1, 2, 2));
+        assigner.process(GenericRowData.of(1, 3, 3));
+        assigner.process(GenericRowData.of(1, 4, 4));
+        assertThat(output.stream().map(t -> t.f1)).containsExactly(5, 6, 5, 7);
+        output.clear();
+
+        // change partition
+        assigner.process(GenericRowData.of(2, 1, 1));
+        assertThat(output)
+                .containsExactly(
+                        new Tuple2<>(GenericRowData.ofKind(RowKind.DELETE, 1, 1, 1), 5),
+                        new Tuple2<>(GenericRowData.of(2, 1, 1), 0));
+        output.clear();
+
+        assigner.close();
+    }
+
     @Test
     public void testUpsert() throws Exception {
         GlobalIndexAssigner<RowData> assigner = createAssigner(MergeEngine.DEDUPLICATE);
@@ -19,7 +19,9 @@
 package org.apache.paimon.format.fs;
 
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.FileRange;
 import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadUtils;
 import org.apache.paimon.utils.IOUtils;
 
 import org.apache.hadoop.fs.FSDataInputStream;
@@ -35,14 +37,28 @@ import org.apache.hadoop.util.Progressable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Collections;
 
 /** A read only {@link FileSystem} that wraps an {@link FileIO}. */
 public class HadoopReadOnlyFileSystem extends FileSystem {
 
     private final FileIO fileIO;
+    private final boolean vectoredRead;
+    private final long vectoredReadMinSize;
 
     public HadoopReadOnlyFileSystem(FileIO fileIO) {
+        this(fileIO, false, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param vectoredRead whether to serve positioned reads by vectored reads on object stores.
+     * @param vectoredReadMinSize the min length of a positioned read to be served by a vectored
+     *     read, smaller reads are read from the stream directly.
+     */
+    public HadoopReadOnlyFileSystem(FileIO fileIO, boolean vectoredRead, long vectoredReadMinSize) {
         this.fileIO = fileIO;
+        this.vectoredRead = vectoredRead;
+        this.vectoredReadMinSize = vectoredReadMinSize;
     }
 
     @Override
@@ -53,7 +69,11 @@ public class HadoopReadOnlyFileSystem extends FileSystem {
     @Override
     public FSDataInputStream open(Path path) throws IOException {
         return new FSDataInputStream(
-                new FSDataWrappedInputStream(fileIO.newInputStream(toPaimonPath(path))));
+                new FSDataWrappedInputStream(
+                        fileIO.newInputStream(toPaimonPath(path)),
+                        vectoredRead && fileIO.isObjectStore()
+                                ? vectoredReadMinSize
+                                : Long.MAX_VALUE));
     }
 
     @Override
@@ -145,8 +165,18 @@ public class HadoopReadOnlyFileSystem extends FileSystem {
 
         private final SeekableInputStream seekableInputStream;
 
-        private FSDataWrappedInputStream(SeekableInputStream seekableInputStream) {
+        /**
+         * The min length of the positioned ranges of orc, such as the streams of a stripe, to read
+         * by {@link SeekableInputStream#readVectored}, so object stores can fetch large ranges
+         * concurrently. Small ranges are fetched by a single request anyway, they are read from
+         * the stream directly.
+         */
+        private final long vectoredReadMinSize;
+
+        private FSDataWrappedInputStream(
+                SeekableInputStream seekableInputStream, long vectoredReadMinSize) {
             this.seekableInputStream = seekableInputStream;
+            this.vectoredReadMinSize = vectoredReadMinSize;
         }
 
         @Override
@@ -163,6 +193,13 @@ public class HadoopReadOnlyFileSystem extends FileSystem {
         @Override
         public void readFully(long position, byte[] buffer, int offset, int length)
                 throws IOException {
+            if (length >= vectoredReadMinSize) {
+                FileRange range = FileRange.createFileRange(position, length);
+                seekableInputStream.readVectored(Collections.singletonList(range));
+                System.arraycopy(VectoredReadUtils.awaitData(range), 0, buffer, offset, length);
+                return;
+            }
+
             seekableInputStream.seek(position);
             IOUtils.readFully(seekableInputStream, buffer, offset, length);
         }
@@ -28,6 +28,7 @@ import org.apache.paimon.format.fs.HadoopReadOnlyFileSystem;
 import org.apache.paimon.format.orc.filter.OrcFilters;
 import org.apache.paimon.fs.FileIO;
 import org.apache.paimon.fs.Path;
+import org.apache.paimon.options.MemorySize;
 import org.apache.paimon.reader.RecordReader.RecordIterator;
 import org.apache.paimon.types.DataType;
 import org.apache.paimon.types.RowType;
@@ -49,6 +50,8 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.List;
 
+import static org.apache.paimon.CoreOptions.ORC_READ_VECTORED_ENABLED;
+import static org.apache.paimon.CoreOptions.ORC_READ_VECTORED_MIN_SIZE;
 import static org.apache.paimon.format.orc.reader.AbstractOrcColumnVector.createPaimonVector;
 import static org.apache.paimon.format.orc.reader.OrcSplitReaderUtil.toOrcType;
 import static org.apache.paimon.utils.Preconditions.checkNotNull;
@@ -358,7 +361,17 @@ public class OrcReaderFactory implements FormatReaderFactory {
         OrcFile.ReaderOptions readerOptions = OrcFile.readerOptions(conf);
 
         // configure filesystem from Paimon FileIO
-        readerOptions.filesystem(new HadoopReadOnlyFileSystem(fileIO));
+        boolean vectoredRead =
+                conf.getBoolean(
+                        ORC_READ_VECTORED_ENABLED.key(), ORC_READ_VECTORED_ENABLED.defaultValue());
+        MemorySize vectoredReadMinSize =
+                MemorySize.parse(
+                        conf.get(
+                                ORC_READ_VECTORED_MIN_SIZE.key(),
+                                ORC_READ_VECTORED_MIN_SIZE.defaultValue().toString()));
+        readerOptions.filesystem(
+                new HadoopReadOnlyFileSystem(
+                        fileIO, vectoredRead, vectoredReadMinSize.getBytes()));
 
         return OrcFile.createReader(hPath, readerOptions);
     }
@@ -57,7 +57,8 @@ public class ParquetFileFormat extends FileFormat {
         return new ParquetReaderFactory(
                 getParquetConfiguration(formatContext.formatOptions()),
                 Projection.of(projection).project(type),
-                formatContext.readBatchSize());
+                formatContext.readBatchSize(),
+                ParquetFilters.convert(filters));
     }
 
     @Override
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.format.parquet;
+
+import org.apache.paimon.predicate.FieldRef;
+import org.apache.paimon.predicate.FunctionVisitor;
+import org.apache.paimon.predicate.Predicate;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.io.api.Binary;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Converts {@link Predicate}s to parquet {@link FilterPredicate}, so that row groups can be skipped
+ * by their statistics, dictionaries and bloom filters.
+ *
+ * <p>The converted filter only needs to keep all the matched rows, so the conjuncts which can not
+ * be converted are ignored.
+ */
+public class ParquetFilters {
+
+    private static final ConvertFilterToParquet CONVERTER = new ConvertFilterToParquet();
+
+    private ParquetFilters() {}
+
+    /** Converts the conjunction of the predicates, returns null if none of them is convertible. */
+    @Nullable
+    public static FilterPredicate convert(@Nullable List<Predicate> predicates) {
+        FilterPredicate result = null;
+        if (predicates != null) {
+            for (Predicate predicate : predicates) {
+                result = and(result, predicate.visit(CONVERTER));
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static FilterPredicate and(
+            @Nullable FilterPredicate left, @Nullable FilterPredicate right) {
+        if (left == null) {
+            return right;
+        }
+        return right == null ? left : FilterApi.and(left, right);
+    }
+
+    @Nullable
+    private static FilterPredicate or(
+            @Nullable FilterPredicate left, @Nullable FilterPredicate right) {
+        return left == null || right == null ? null : FilterApi.or(left, right);
+    }
+
+    private static class ConvertFilterToParquet implements FunctionVisitor<FilterPredicate> {
+
+        @Override
+        public FilterPredicate visitIsNotNull(FieldRef fieldRef) {
+            return convertEq(fieldRef, null, FilterApi::notEq);
+        }
+
+        @Override
+        public FilterPredicate visitIsNull(FieldRef fieldRef) {
+            return convertEq(fieldRef, null, FilterApi::eq);
+        }
+
+        @Override
+        public FilterPredicate visitStartsWith(FieldRef fieldRef, Object literal) {
+            return null;
+        }
+
+        @Override
+        public FilterPredicate visitLessThan(FieldRef fieldRef, Object literal) {
+            return convertLtGt(fieldRef, literal, FilterApi::lt);
+        }
+
+        @Override
+        public FilterPredicate visitGreaterOrEqual(FieldRef fieldRef, Object literal) {
+            return convertLtGt(fieldRef, literal, FilterApi::gtEq);
+        }
+
+        @Override
+        public FilterPredicate visitNotEqual(FieldRef fieldRef, Object literal) {
+            return literal == null ? null : convertEq(fieldRef, literal, FilterApi::notEq);
+        }
+
+        @Override
+        public FilterPredicate visitLessOrEqual(FieldRef fieldRef, Object literal) {
+            return convertLtGt(fieldRef, literal, FilterApi::ltEq);
+        }
+
+        @Override
+        public FilterPredicate visitEqual(FieldRef fieldRef, Object literal) {
+            return literal == null ? null : convertEq(fieldRef, literal, FilterApi::eq);
+        }
+
+        @Override
+        public FilterPredicate visitGreaterThan(FieldRef fieldRef, Object literal) {
+            return convertLtGt(fieldRef, literal, FilterApi::gt);
+        }
+
+        @Override
+        public FilterPredicate visitIn(FieldRef fieldRef, List<Object> literals) {
+            FilterPredicate result = null;
+            for (Object literal : literals) {
+                FilterPredicate equal = visitEqual(fieldRef, literal);
+                if (equal == null) {
+                    // null literals match nothing
+                    if (literal == null) {
+                        continue;
+                    }
+                    return null;
+                }
+                result = result == null ? equal : FilterApi.or(result, equal);
+            }
+            return result;
+        }
+
+        @Override
+        public FilterPredicate visitNotIn(FieldRef fieldRef, List<Object> literals) {
+            FilterPredicate result = null;
+            for (Object literal : literals) {
+                result = and(result, visitNotEqual(fieldRef, literal));
+            }
+            return result;
+        }
+
+        @Override
+        public FilterPredicate visitAnd(List<FilterPredicate> children) {
+            FilterPredicate result = null;
+            for (FilterPredicate child : children) {
+                result = and(result, child);
+            }
+            return result;
+        }
+
+        @Override
+        public FilterPredicate visitOr(List<FilterPredicate> children) {
+            FilterPredicate result = children.get(0);
+            for (int i = 1; i < children.size(); i++) {
+                result = or(result, children.get(i));
+            }
+            return result;
+        }
+    }
+
+    @Nullable
+    private static FilterPredicate convertEq(
+            FieldRef fieldRef, @Nullable Object literal, EqFunction function) {
+        if (!isConvertible(fieldRef)) {
+            return null;
+        }
+
+        String name = fieldRef.name();
+        switch (fieldRef.type().getTypeRoot()) {
+            case BOOLEAN:
+                return function.apply(FilterApi.booleanColumn(name), (Boolean) literal);
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+                return function.apply(
+                        FilterApi.intColumn(name),
+                        literal == null ? null : ((Number) literal).intValue());
+            case BIGINT:
+                return function.apply(
+                        FilterApi.longColumn(name),
+                        literal == null ? null : ((Number) literal).longValue());
+            case FLOAT:
+                return function.apply(
+                        FilterApi.floatColumn(name),
+                        literal == null ? null : ((Number) literal).floatValue());
+            case DOUBLE:
+                return function.apply(
+                        FilterApi.doubleColumn(name),
+                        literal == null ? null : ((Number) literal).doubleValue());
+            case CHAR:
+            case VARCHAR:
+                return function.apply(
+                        FilterApi.binaryColumn(name),
+                        literal == null ? null : Binary.fromString(literal.toString()));
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static FilterPredicate convertLtGt(
+            FieldRef fieldRef, @Nullable Object literal, LtGtFunction function) {
+        if (literal == null || !isConvertible(fieldRef)) {
+            return null;
+        }
+
+        String name = fieldRef.name();
+        switch (fieldRef.type().getTypeRoot()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+                return function.apply(FilterApi.intColumn(name), ((Number) literal).intValue());
+            case BIGINT:
+                return function.apply(FilterApi.longColumn(name), ((Number) literal).longValue());
+            case FLOAT:
+                return function.apply(FilterApi.floatColumn(name), ((Number) literal).floatValue());
+            case DOUBLE:
+                return function.apply(
+                        FilterApi.doubleColumn(name), ((Number) literal).doubleValue());
+            case CHAR:
+            case VARCHAR:
+                return function.apply(
+                        FilterApi.binaryColumn(name), Binary.fromString(literal.toString()));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parquet splits the column names of filters by dots into the paths of nested columns, so a top
+     * level column with a dot in its name would be treated as a missing column whose values are all
+     * null, and row groups would be dropped wrongly.
+     */
+    private static boolean isConvertible(FieldRef fieldRef) {
+        return !fieldRef.name().contains(".");
+    }
+
+    /** Function to create an equality predicate, such as {@link FilterApi#eq}. */
+    private interface EqFunction {
+        <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsEqNotEq>
+                FilterPredicate apply(C column, @Nullable T value);
+    }
+
+    /** Function to create a comparison predicate, such as {@link FilterApi#lt}. */
+    private interface LtGtFunction {
+        <T extends Comparable<T>, C extends Operators.Column<T> & Operators.SupportsLtGt>
+                FilterPredicate apply(C column, T value);
+    }
+}
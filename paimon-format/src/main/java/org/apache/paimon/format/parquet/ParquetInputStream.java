@@ -18,29 +18,147 @@
 
 package org.apache.paimon.format.parquet;
 
+import org.apache.paimon.fs.FileRange;
 import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadUtils;
 
 import org.apache.parquet.io.DelegatingSeekableInputStream;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
-/** A {@link SeekableInputStream} for paimon. */
+/**
+ * A {@link SeekableInputStream} for paimon.
+ *
+ * <p>Ranges can be fetched in advance by {@link #prefetch}, reads inside the fetched ranges are
+ * served from the fetched data. Seeks are applied lazily to the underlying stream, so skipping
+ * over fetched data does not cost reads.
+ */
 public class ParquetInputStream extends DelegatingSeekableInputStream {
 
-    private final SeekableInputStream in;
+    private final LazySeekInputStream in;
+    private final List<FileRange> prefetched;
 
     public ParquetInputStream(SeekableInputStream in) {
+        this(new LazySeekInputStream(in));
+    }
+
+    private ParquetInputStream(LazySeekInputStream in) {
         super(in);
         this.in = in;
+        this.prefetched = new ArrayList<>();
+    }
+
+    @Override
+    public long getPos() {
+        return in.pos;
     }
 
     @Override
-    public long getPos() throws IOException {
-        return in.getPos();
+    public void seek(long newPos) {
+        in.pos = newPos;
+    }
+
+    /** Fetches the ranges by a vectored read, the previously fetched ranges are discarded. */
+    public void prefetch(List<FileRange> ranges) throws IOException {
+        prefetched.clear();
+        if (!ranges.isEmpty()) {
+            in.in.readVectored(ranges);
+            prefetched.addAll(ranges);
+        }
     }
 
     @Override
-    public void seek(long newPos) throws IOException {
-        in.seek(newPos);
+    public void readFully(byte[] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+        if (!readPrefetched(ByteBuffer.wrap(bytes, start, len))) {
+            super.readFully(bytes, start, len);
+        }
+    }
+
+    @Override
+    public void readFully(ByteBuffer buf) throws IOException {
+        if (!readPrefetched(buf)) {
+            super.readFully(buf);
+        }
+    }
+
+    private boolean readPrefetched(ByteBuffer buf) throws IOException {
+        long start = in.pos;
+        long end = start + buf.remaining();
+        Iterator<FileRange> iterator = prefetched.iterator();
+        while (iterator.hasNext()) {
+            FileRange range = iterator.next();
+            if (range.getOffset() <= start && end <= range.getEnd()) {
+                byte[] data = VectoredReadUtils.awaitData(range);
+                buf.put(data, (int) (start - range.getOffset()), buf.remaining());
+                in.pos = end;
+                // ranges are read sequentially, release the data once it is consumed
+                if (end == range.getEnd()) {
+                    iterator.remove();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** An {@link InputStream} which seeks the underlying stream only when reading. */
+    private static class LazySeekInputStream extends InputStream {
+
+        private final SeekableInputStream in;
+
+        private long pos;
+
+        private LazySeekInputStream(SeekableInputStream in) {
+            this.in = in;
+        }
+
+        private void seekIfNeeded() throws IOException {
+            if (in.getPos() != pos) {
+                in.seek(pos);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            seekIfNeeded();
+            int b = in.read();
+            if (b >= 0) {
+                pos++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            seekIfNeeded();
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                pos += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            seekIfNeeded();
+            long skipped = in.skip(n);
+            pos += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
     }
 }
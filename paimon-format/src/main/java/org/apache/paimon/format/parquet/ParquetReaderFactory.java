@@ -29,6 +29,7 @@ import org.apache.paimon.format.parquet.reader.ColumnReader;
 import org.apache.paimon.format.parquet.reader.ParquetDecimalVector;
 import org.apache.paimon.format.parquet.reader.ParquetTimestampVector;
 import org.apache.paimon.fs.FileIO;
+import org.apache.paimon.fs.FileRange;
 import org.apache.paimon.fs.Path;
 import org.apache.paimon.options.Options;
 import org.apache.paimon.reader.RecordReader;
@@ -40,8 +41,15 @@ import org.apache.paimon.utils.Pool;
 import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Type;
@@ -52,6 +60,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -77,13 +86,23 @@ public class ParquetReaderFactory implements FormatReaderFactory {
     private final String[] projectedFields;
     private final DataType[] projectedTypes;
     private final int batchSize;
-    private final Set<Integer> unknownFieldsIndices = new HashSet<>();
+    @Nullable private final FilterPredicate filter;
 
     public ParquetReaderFactory(Options conf, RowType projectedType, int batchSize) {
+        this(conf, projectedType, batchSize, null);
+    }
+
+    /**
+     * @param filter the filter to skip row groups by statistics, dictionaries and bloom filters,
+     *     the returned rows are not filtered by it.
+     */
+    public ParquetReaderFactory(
+            Options conf, RowType projectedType, int batchSize, @Nullable FilterPredicate filter) {
         this.conf = conf;
         this.projectedFields = projectedType.getFieldNames().toArray(new String[0]);
         this.projectedTypes = projectedType.getFieldTypes().toArray(new DataType[0]);
         this.batchSize = batchSize;
+        this.filter = filter;
     }
 
     @Override
@@ -95,17 +114,40 @@ public class ParquetReaderFactory implements FormatReaderFactory {
                 ParquetReadOptions.builder().withRange(splitOffset, splitOffset + splitLength);
         setReadOptions(builder);
 
+        ParquetInputFile inputFile = ParquetInputFile.fromPath(fileIO, filePath);
+        // the parquet reader opens its stream once, keep it to prefetch the row groups
+        ParquetInputStream inputStream = inputFile.newStream();
         ParquetFileReader reader =
-                new ParquetFileReader(ParquetInputFile.fromPath(fileIO, filePath), builder.build());
+                new ParquetFileReader(
+                        new InputFile() {
+                            @Override
+                            public long getLength() {
+                                return inputFile.getLength();
+                            }
+
+                            @Override
+                            public SeekableInputStream newStream() {
+                                return inputStream;
+                            }
+                        },
+                        builder.build());
         MessageType fileSchema = reader.getFileMetaData().getSchema();
-        MessageType requestedSchema = clipParquetSchema(fileSchema);
+        // each reader has its own missing fields, readers may be created concurrently
+        Set<Integer> unknownFieldsIndices = new HashSet<>();
+        MessageType requestedSchema = clipParquetSchema(fileSchema, unknownFieldsIndices);
         reader.setRequestedSchema(requestedSchema);
 
         checkSchema(fileSchema, requestedSchema);
 
         Pool<ParquetReaderBatch> poolOfBatches = createPoolOfBatches(requestedSchema);
 
-        return new ParquetReader(reader, requestedSchema, reader.getRecordCount(), poolOfBatches);
+        return new ParquetReader(
+                reader,
+                requestedSchema,
+                unknownFieldsIndices,
+                reader.getRecordCount(),
+                poolOfBatches,
+                fileIO.isObjectStore() ? inputStream : null);
     }
 
     private void setReadOptions(ParquetReadOptions.Builder builder) {
@@ -121,14 +163,21 @@ public class ParquetReaderFactory implements FormatReaderFactory {
                 conf.getBoolean(ParquetInputFormat.PAGE_VERIFY_CHECKSUM_ENABLED, false));
         builder.useBloomFilter(conf.getBoolean(ParquetInputFormat.BLOOM_FILTERING_ENABLED, true));
         builder.withMaxAllocationInBytes(conf.getInteger(ALLOCATION_SIZE, 8388608));
+        if (filter != null) {
+            builder.withRecordFilter(FilterCompat.get(filter));
+        }
         String badRecordThresh = conf.getString(BAD_RECORD_THRESHOLD_CONF_KEY, null);
         if (badRecordThresh != null) {
             builder.set(BAD_RECORD_THRESHOLD_CONF_KEY, badRecordThresh);
         }
     }
 
-    /** Clips `parquetSchema` according to `fieldNames`. */
-    private MessageType clipParquetSchema(GroupType parquetSchema) {
+    /**
+     * Clips `parquetSchema` according to `fieldNames`, the indices of the fields missing in the
+     * file are added to `unknownFieldsIndices`.
+     */
+    private MessageType clipParquetSchema(
+            GroupType parquetSchema, Set<Integer> unknownFieldsIndices) {
         Type[] types = new Type[projectedFields.length];
         for (int i = 0; i < projectedFields.length; ++i) {
             String fieldName = projectedFields[i];
@@ -238,6 +287,9 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
         private final MessageType requestedSchema;
 
+        /** The indices of the requested fields missing in the file, they are filled with nulls. */
+        private final Set<Integer> unknownFieldsIndices;
+
         /**
          * The total number of rows this RecordReader will eventually read. The sum of the rows of
          * all the row groups.
@@ -246,6 +298,15 @@ public class ParquetReaderFactory implements FormatReaderFactory {
 
         private final Pool<ParquetReaderBatch> pool;
 
+        /**
+         * The stream to prefetch the column chunks of the next row group by a vectored read, NULL
+         * if prefetching is disabled.
+         */
+        @Nullable private final ParquetInputStream prefetchStream;
+
+        /** The index of the next row group in the row groups of the reader. */
+        private int nextRowGroup;
+
         /** The number of rows that have been returned. */
         private long rowsReturned;
 
@@ -262,12 +323,17 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         private ParquetReader(
                 ParquetFileReader reader,
                 MessageType requestedSchema,
+                Set<Integer> unknownFieldsIndices,
                 long totalRowCount,
-                Pool<ParquetReaderBatch> pool) {
+                Pool<ParquetReaderBatch> pool,
+                @Nullable ParquetInputStream prefetchStream) {
             this.reader = reader;
             this.requestedSchema = requestedSchema;
+            this.unknownFieldsIndices = unknownFieldsIndices;
             this.totalRowCount = totalRowCount;
             this.pool = pool;
+            this.prefetchStream = prefetchStream;
+            this.nextRowGroup = 0;
             this.rowsReturned = 0;
             this.totalCountLoadedSoFar = 0;
         }
@@ -313,6 +379,15 @@ public class ParquetReaderFactory implements FormatReaderFactory {
         }
 
         private void readNextRowGroup() throws IOException {
+            List<BlockMetaData> rowGroups = reader.getRowGroups();
+            if (prefetchStream != null
+                    && nextRowGroup < rowGroups.size()
+                    // the length of a range is an int
+                    && rowGroups.get(nextRowGroup).getCompressedSize() <= Integer.MAX_VALUE) {
+                prefetchStream.prefetch(columnChunkRanges(rowGroups.get(nextRowGroup)));
+            }
+            nextRowGroup++;
+
             PageReadStore pages = reader.readNextRowGroup();
             if (pages == null) {
                 throw new IOException(
@@ -338,6 +413,37 @@ public class ParquetReaderFactory implements FormatReaderFactory {
             totalCountLoadedSoFar += pages.getRowCount();
         }
 
+        /**
+         * The ranges of the requested column chunks of a row group, adjacent chunks are in one
+         * range as the parquet reader reads them together.
+         */
+        private List<FileRange> columnChunkRanges(BlockMetaData rowGroup) {
+            Set<ColumnPath> paths = new HashSet<>();
+            for (ColumnDescriptor column : requestedSchema.getColumns()) {
+                paths.add(ColumnPath.get(column.getPath()));
+            }
+
+            List<FileRange> ranges = new ArrayList<>();
+            long start = -1;
+            long end = -1;
+            for (ColumnChunkMetaData chunk : rowGroup.getColumns()) {
+                if (!paths.contains(chunk.getPath())) {
+                    continue;
+                }
+                if (chunk.getStartingPos() != end) {
+                    if (start >= 0) {
+                        ranges.add(FileRange.createFileRange(start, (int) (end - start)));
+                    }
+                    start = chunk.getStartingPos();
+                }
+                end = chunk.getStartingPos() + chunk.getTotalSize();
+            }
+            if (start >= 0) {
+                ranges.add(FileRange.createFileRange(start, (int) (end - start)));
+            }
+            return ranges;
+        }
+
         private ParquetReaderBatch getCachedEntry() throws IOException {
             try {
                 return pool.pollEntry();
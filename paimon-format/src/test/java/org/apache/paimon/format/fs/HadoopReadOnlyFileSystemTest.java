@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.format.fs;
+
+import org.apache.paimon.fs.PositionOutputStream;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link HadoopReadOnlyFileSystem}. */
+public class HadoopReadOnlyFileSystemTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private final LatencyFileIO fileIO = new LatencyFileIO(5);
+
+    private byte[] data;
+    private org.apache.paimon.fs.Path path;
+
+    @BeforeEach
+    public void before() throws IOException {
+        data = new byte[1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(data);
+        path = new org.apache.paimon.fs.Path(tempDir.toString(), "file");
+        try (PositionOutputStream out = fileIO.newOutputStream(path, false)) {
+            out.write(data);
+        }
+    }
+
+    @Test
+    public void testVectoredReadMinSize() throws IOException {
+        HadoopReadOnlyFileSystem fs = new HadoopReadOnlyFileSystem(fileIO, true, 100_000);
+        try (FSDataInputStream in = fs.open(new Path(path.toUri()))) {
+            // small reads are read from the stream
+            byte[] bytes = new byte[1000];
+            in.readFully(500, bytes);
+            assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 500, 1500));
+            assertThat(fileIO.openedStreams()).isEqualTo(1);
+
+            // large reads are fetched by concurrent parts, each part opens its own stream
+            bytes = new byte[200_000];
+            in.readFully(300_000, bytes);
+            assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 300_000, 500_000));
+            assertThat(fileIO.openedStreams()).isEqualTo(1 + 4);
+        }
+    }
+
+    @Test
+    public void testVectoredReadDisabled() throws IOException {
+        HadoopReadOnlyFileSystem fs = new HadoopReadOnlyFileSystem(fileIO, false, 100_000);
+        try (FSDataInputStream in = fs.open(new Path(path.toUri()))) {
+            byte[] bytes = new byte[200_000];
+            in.readFully(300_000, bytes);
+            assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 300_000, 500_000));
+            assertThat(fileIO.openedStreams()).isEqualTo(1);
+        }
+    }
+}
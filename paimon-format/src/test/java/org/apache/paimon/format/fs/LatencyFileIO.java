@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.format.fs;
+
+import org.apache.paimon.fs.FileRange;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.SeekableInputStream;
+import org.apache.paimon.fs.VectoredReadUtils;
+import org.apache.paimon.fs.local.LocalFileIO;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link LocalFileIO} acting as an object store. Reading from a new position of its streams
+ * starts a request which takes a latency, and vectored reads fetch the ranges by concurrent
+ * streams, the same as the streams of S3 and OSS.
+ */
+public class LatencyFileIO extends LocalFileIO {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Ranges of vectored reads are fetched by parts of this size. */
+    public static final int MAX_READ_SIZE = 64 * 1024;
+
+    private final long latencyMillis;
+    private final AtomicInteger openedStreams;
+
+    public LatencyFileIO(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        this.openedStreams = new AtomicInteger();
+    }
+
+    @Override
+    public boolean isObjectStore() {
+        return true;
+    }
+
+    @Override
+    public LatencyInputStream newInputStream(Path path) throws IOException {
+        openedStreams.incrementAndGet();
+        return new LatencyInputStream(path, super.newInputStream(path));
+    }
+
+    /** The number of streams opened, including the streams opened by vectored reads. */
+    public int openedStreams() {
+        return openedStreams.get();
+    }
+
+    /** A {@link SeekableInputStream} of {@link LatencyFileIO}. */
+    public class LatencyInputStream extends SeekableInputStream {
+
+        private final Path path;
+        private final SeekableInputStream in;
+
+        private boolean requested;
+        private int requests;
+
+        private LatencyInputStream(Path path, SeekableInputStream in) {
+            this.path = path;
+            this.in = in;
+            this.requested = false;
+            this.requests = 0;
+        }
+
+        /** The number of requests started by the reads of this stream. */
+        public int requests() {
+            return requests;
+        }
+
+        @Override
+        public void seek(long desired) throws IOException {
+            if (desired != in.getPos()) {
+                in.seek(desired);
+                requested = false;
+            }
+        }
+
+        @Override
+        public long getPos() throws IOException {
+            return in.getPos();
+        }
+
+        @Override
+        public int read() throws IOException {
+            request();
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            request();
+            return in.read(b, off, len);
+        }
+
+        @Override
+        public void readVectored(List<? extends FileRange> ranges) {
+            VectoredReadUtils.readVectored(
+                    ranges,
+                    () -> newInputStream(path),
+                    VectoredReadUtils.ioExecutor(),
+                    VectoredReadUtils.DEFAULT_MIN_SEEK_FOR_VECTORED_READS,
+                    MAX_READ_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private void request() throws IOException {
+            if (requested) {
+                return;
+            }
+
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            requested = true;
+            requests++;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.format.parquet;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
+import org.apache.paimon.types.BigIntType;
+import org.apache.paimon.types.BooleanType;
+import org.apache.paimon.types.DataField;
+import org.apache.paimon.types.DecimalType;
+import org.apache.paimon.types.IntType;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.types.VarCharType;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
+import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.filter2.predicate.Operators.LongColumn;
+import org.apache.parquet.io.api.Binary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link ParquetFilters}. */
+public class ParquetFiltersTest {
+
+    private static final RowType ROW_TYPE =
+            new RowType(
+                    Arrays.asList(
+                            new DataField(0, "i", new IntType()),
+                            new DataField(1, "l", new BigIntType()),
+                            new DataField(2, "s", new VarCharType()),
+                            new DataField(3, "b", new BooleanType()),
+                            new DataField(4, "d", new DecimalType(10, 2)),
+                            new DataField(5, "a.b", new IntType())));
+
+    private static final PredicateBuilder BUILDER = new PredicateBuilder(ROW_TYPE);
+
+    private static final IntColumn I = FilterApi.intColumn("i");
+    private static final LongColumn L = FilterApi.longColumn("l");
+    private static final BinaryColumn S = FilterApi.binaryColumn("s");
+
+    @Test
+    public void testLeafPredicates() {
+        test(BUILDER.isNull(0), FilterApi.eq(I, null));
+        test(BUILDER.isNotNull(0), FilterApi.notEq(I, null));
+        test(BUILDER.equal(0, 5), FilterApi.eq(I, 5));
+        test(BUILDER.notEqual(0, 5), FilterApi.notEq(I, 5));
+        test(BUILDER.lessThan(1, 5L), FilterApi.lt(L, 5L));
+        test(BUILDER.lessOrEqual(1, 5L), FilterApi.ltEq(L, 5L));
+        test(BUILDER.greaterThan(1, 5L), FilterApi.gt(L, 5L));
+        test(BUILDER.greaterOrEqual(1, 5L), FilterApi.gtEq(L, 5L));
+        test(
+                BUILDER.equal(2, BinaryString.fromString("a")),
+                FilterApi.eq(S, Binary.fromString("a")));
+        test(BUILDER.equal(3, true), FilterApi.eq(FilterApi.booleanColumn("b"), true));
+    }
+
+    @Test
+    public void testUnsupportedPredicates() {
+        test(BUILDER.greaterThan(3, true), null);
+        test(BUILDER.isNull(4), null);
+        test(BUILDER.startsWith(2, BinaryString.fromString("a")), null);
+        test(BUILDER.equal(0, null), null);
+
+        // names with dots are the paths of nested columns for parquet
+        test(BUILDER.equal(5, 1), null);
+        test(BUILDER.lessThan(5, 1), null);
+        test(BUILDER.isNull(5), null);
+    }
+
+    @Test
+    public void testCompoundPredicates() {
+        test(
+                BUILDER.in(0, Arrays.asList(1, 2, 3)),
+                FilterApi.or(
+                        FilterApi.or(FilterApi.eq(I, 1), FilterApi.eq(I, 2)),
+                        FilterApi.eq(I, 3)));
+        test(
+                BUILDER.between(1, 1L, 3L),
+                FilterApi.and(FilterApi.gtEq(L, 1L), FilterApi.ltEq(L, 3L)));
+
+        // the convertible side of an and is kept
+        test(
+                PredicateBuilder.and(BUILDER.equal(0, 1), BUILDER.isNull(4)),
+                FilterApi.eq(I, 1));
+        // an or is dropped if any side is not convertible
+        test(PredicateBuilder.or(BUILDER.equal(0, 1), BUILDER.isNull(4)), null);
+    }
+
+    @Test
+    public void testConjunction() {
+        assertThat(
+                        ParquetFilters.convert(
+                                Arrays.asList(
+                                        BUILDER.equal(0, 1),
+                                        BUILDER.isNull(4),
+                                        BUILDER.lessThan(1, 5L))))
+                .isEqualTo(FilterApi.and(FilterApi.eq(I, 1), FilterApi.lt(L, 5L)));
+        assertThat(ParquetFilters.convert(Collections.emptyList())).isNull();
+        assertThat(ParquetFilters.convert(null)).isNull();
+    }
+
+    private static void test(Predicate predicate, FilterPredicate expected) {
+        assertThat(ParquetFilters.convert(Collections.singletonList(predicate)))
+                .isEqualTo(expected);
+    }
+}
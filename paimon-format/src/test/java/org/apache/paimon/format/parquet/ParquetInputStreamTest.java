@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.format.parquet;
+
+import org.apache.paimon.format.fs.LatencyFileIO;
+import org.apache.paimon.format.fs.LatencyFileIO.LatencyInputStream;
+import org.apache.paimon.fs.FileRange;
+import org.apache.paimon.fs.Path;
+import org.apache.paimon.fs.PositionOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Test for {@link ParquetInputStream}. */
+public class ParquetInputStreamTest {
+
+    @TempDir java.nio.file.Path tempDir;
+
+    private final LatencyFileIO fileIO = new LatencyFileIO(5);
+
+    private byte[] data;
+    private Path path;
+
+    @BeforeEach
+    public void before() throws IOException {
+        data = new byte[1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(data);
+        path = new Path(tempDir.toString(), "file");
+        try (PositionOutputStream out = fileIO.newOutputStream(path, false)) {
+            out.write(data);
+        }
+    }
+
+    @Test
+    public void testReadPrefetched() throws IOException {
+        LatencyInputStream in = fileIO.newInputStream(path);
+        ParquetInputStream stream = new ParquetInputStream(in);
+        stream.prefetch(
+                Arrays.asList(
+                        FileRange.createFileRange(1000, 5000),
+                        FileRange.createFileRange(200_000, 300_000)));
+
+        // reads inside the fetched ranges are served without requests of the stream
+        stream.seek(1000);
+        byte[] bytes = new byte[2000];
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 1000, 3000));
+        ByteBuffer buffer = ByteBuffer.allocate(3000);
+        stream.readFully(buffer);
+        assertThat(buffer.array()).isEqualTo(Arrays.copyOfRange(data, 3000, 6000));
+        assertThat(stream.getPos()).isEqualTo(6000);
+
+        // the range is fetched by concurrent parts
+        stream.seek(200_000);
+        bytes = new byte[300_000];
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 200_000, 500_000));
+        assertThat(in.requests()).isEqualTo(0);
+        // the stream itself, one part of the first range and five parts of the second range
+        assertThat(fileIO.openedStreams()).isEqualTo(7);
+
+        // the consumed ranges are released, reads fall back to the stream
+        stream.seek(1000);
+        bytes = new byte[100];
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 1000, 1100));
+        assertThat(in.requests()).isEqualTo(1);
+        stream.close();
+    }
+
+    @Test
+    public void testReadAcrossPrefetchedRange() throws IOException {
+        LatencyInputStream in = fileIO.newInputStream(path);
+        ParquetInputStream stream = new ParquetInputStream(in);
+        stream.prefetch(Arrays.asList(FileRange.createFileRange(10_000, 1000)));
+
+        // a read crossing the end of a fetched range is read from the stream
+        stream.seek(10_500);
+        byte[] bytes = new byte[1000];
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 10_500, 11_500));
+        assertThat(in.requests()).isEqualTo(1);
+
+        // the range is not consumed, it still serves the reads inside it
+        stream.seek(10_000);
+        stream.readFully(bytes, 0, 500);
+        assertThat(Arrays.copyOf(bytes, 500)).isEqualTo(Arrays.copyOfRange(data, 10_000, 10_500));
+        assertThat(in.requests()).isEqualTo(1);
+        stream.close();
+    }
+
+    @Test
+    public void testLazySeek() throws IOException {
+        LatencyInputStream in = fileIO.newInputStream(path);
+        ParquetInputStream stream = new ParquetInputStream(in);
+
+        // seeks are applied to the underlying stream only when reading
+        stream.seek(100);
+        stream.seek(5000);
+        stream.seek(300);
+        assertThat(stream.getPos()).isEqualTo(300);
+        assertThat(in.getPos()).isEqualTo(0);
+
+        byte[] bytes = new byte[100];
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 300, 400));
+        assertThat(stream.read()).isEqualTo(data[400] & 0xFF);
+        assertThat(stream.getPos()).isEqualTo(401);
+
+        // seeking to the current position continues the request
+        stream.seek(401);
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 401, 501));
+        assertThat(in.requests()).isEqualTo(1);
+
+        stream.seek(100_000);
+        stream.readFully(bytes);
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(data, 100_000, 100_100));
+        assertThat(stream.getPos()).isEqualTo(100_100);
+        assertThat(in.requests()).isEqualTo(2);
+        stream.close();
+    }
+}
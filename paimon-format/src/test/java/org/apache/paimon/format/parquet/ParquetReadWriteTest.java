@@ -30,6 +30,7 @@ import org.apache.paimon.format.parquet.writer.RowDataParquetBuilder;
 import org.apache.paimon.fs.Path;
 import org.apache.paimon.fs.local.LocalFileIO;
 import org.apache.paimon.options.Options;
+import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.reader.RecordReader;
 import org.apache.paimon.types.ArrayType;
 import org.apache.paimon.types.BigIntType;
@@ -48,6 +49,7 @@ import org.apache.paimon.types.TinyIntType;
 import org.apache.paimon.types.VarCharType;
 import org.apache.paimon.utils.InstantiationUtil;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -59,6 +61,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +70,7 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -281,6 +285,72 @@ public class ParquetReadWriteTest {
                 });
     }
 
+    @Test
+    void testReadUnknownFieldOfOtherFile() throws IOException {
+        Path withoutField = createTempParquetFile(folder, Collections.singletonList(newRow(1)), 10);
+
+        RowType rowType =
+                RowType.builder()
+                        .fields(
+                                new DataType[] {new IntType(), new VarCharType()},
+                                new String[] {"f4", "f99"})
+                        .build();
+        Path withField = new Path(folder.getPath(), UUID.randomUUID().toString());
+        FormatWriter writer =
+                new ParquetWriterFactory(new RowDataParquetBuilder(rowType, new Options()))
+                        .create(new LocalFileIO().newOutputStream(withField, false), "snappy");
+        writer.addElement(GenericRow.of(2, BinaryString.fromString("v")));
+        writer.flush();
+        writer.finish();
+
+        // the missing fields of one file must not affect the other files of the factory
+        ParquetReaderFactory format = new ParquetReaderFactory(new Options(), rowType, 500);
+        RecordReader<InternalRow> first = format.createReader(new LocalFileIO(), withoutField);
+        RecordReader<InternalRow> second = format.createReader(new LocalFileIO(), withField);
+
+        List<String> values = new ArrayList<>();
+        first.forEachRemaining(row -> values.add(row.getInt(0) + "|" + row.isNullAt(1)));
+        second.forEachRemaining(row -> values.add(row.getInt(0) + "|" + row.getString(1)));
+        assertThat(values).containsExactly("1|true", "2|v");
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void testFilterRowGroups(int rowGroupSize) throws IOException {
+        int number = 1000;
+        List<InternalRow> records = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            Integer v = i;
+            records.add(newRow(v));
+        }
+
+        Path testPath = createTempParquetFile(folder, records, rowGroupSize);
+
+        // test reader
+        RowType projectedType =
+                RowType.builder()
+                        .fields(new DataType[] {new IntType()}, new String[] {"f4"})
+                        .build();
+        PredicateBuilder builder = new PredicateBuilder(ROW_TYPE);
+        ParquetReaderFactory format =
+                new ParquetReaderFactory(
+                        new Options(),
+                        projectedType,
+                        500,
+                        ParquetFilters.convert(
+                                Collections.singletonList(builder.lessThan(4, 150))));
+
+        List<Integer> values = new ArrayList<>();
+        RecordReader<InternalRow> reader = format.createReader(new LocalFileIO(), testPath);
+        reader.forEachRemaining(row -> values.add(row.getInt(0)));
+
+        // rows are not filtered, but row groups without matched rows are skipped
+        assertThat(values.size()).isLessThan(number);
+        assertThat(values.subList(0, 150))
+                .containsExactlyElementsOf(
+                        IntStream.range(0, 150).boxed().collect(Collectors.toList()));
+    }
+
     private void innerTestTypes(File folder, List<Integer> records, int rowGroupSize)
             throws IOException {
         List<InternalRow> rows = records.stream().map(this::newRow).collect(Collectors.toList());